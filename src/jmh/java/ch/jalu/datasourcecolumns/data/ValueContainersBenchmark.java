@@ -0,0 +1,93 @@
+package ch.jalu.datasourcecolumns.data;
+
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation and the access of the value containers {@link UpdateValues} and {@link DataSourceValuesImpl}
+ * with three and six columns. Run with {@code -prof gc} to see the allocation per container.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueContainersBenchmark {
+
+    private String name = "Bobby";
+    private String email = "bobby@example.org";
+    private String ip = "127.0.0.1";
+    private Integer isLocked = 1;
+    private Long lastLogin = 1234567L;
+    private DataSourceValuesImpl filledValues;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        filledValues = putSixColumns();
+    }
+
+    @Benchmark
+    public UpdateValues<SampleContext> buildUpdateValuesThreeColumns() {
+        return UpdateValues.with(SampleColumns.NAME, name)
+            .and(SampleColumns.EMAIL, email)
+            .and(SampleColumns.IS_LOCKED, isLocked)
+            .build();
+    }
+
+    @Benchmark
+    public UpdateValues<SampleContext> buildUpdateValuesSixColumns() {
+        return UpdateValues.with(SampleColumns.NAME, name)
+            .and(SampleColumns.EMAIL, email)
+            .and(SampleColumns.IS_LOCKED, isLocked)
+            .and(SampleColumns.IP, ip)
+            .and(SampleColumns.IS_ACTIVE, isLocked)
+            .and(SampleColumns.LAST_LOGIN, lastLogin)
+            .build();
+    }
+
+    @Benchmark
+    public DataSourceValuesImpl putThreeColumns() {
+        DataSourceValuesImpl values = new DataSourceValuesImpl();
+        values.put(SampleColumns.NAME, name);
+        values.put(SampleColumns.EMAIL, email);
+        values.put(SampleColumns.IS_LOCKED, isLocked);
+        return values;
+    }
+
+    @Benchmark
+    public DataSourceValuesImpl putSixColumns() {
+        DataSourceValuesImpl values = new DataSourceValuesImpl();
+        values.put(SampleColumns.NAME, name);
+        values.put(SampleColumns.EMAIL, email);
+        values.put(SampleColumns.IS_LOCKED, isLocked);
+        values.put(SampleColumns.IP, ip);
+        values.put(SampleColumns.IS_ACTIVE, isLocked);
+        values.put(SampleColumns.LAST_LOGIN, lastLogin);
+        return values;
+    }
+
+    @Benchmark
+    public void getSixColumns(Blackhole blackhole) {
+        blackhole.consume(filledValues.get(SampleColumns.NAME));
+        blackhole.consume(filledValues.get(SampleColumns.EMAIL));
+        blackhole.consume(filledValues.get(SampleColumns.IS_LOCKED));
+        blackhole.consume(filledValues.get(SampleColumns.IP));
+        blackhole.consume(filledValues.get(SampleColumns.IS_ACTIVE));
+        blackhole.consume(filledValues.get(SampleColumns.LAST_LOGIN));
+    }
+}
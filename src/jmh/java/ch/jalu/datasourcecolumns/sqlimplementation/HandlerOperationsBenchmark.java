@@ -0,0 +1,250 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnLayout;
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.TestUtils;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.UpdateValues;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.and;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThan;
+
+/**
+ * End-to-end throughput of {@link SqlColumnsHandler} operations against in-memory H2 and file-backed SQLite,
+ * with a single connection or a HikariCP pool, for different numbers of columns per operation.
+ * <p>
+ * JMH runs all threads of a benchmark with the same thread count ({@code -t}). Run this class's {@link #main}
+ * to measure the full matrix with 1, 4 and 8 threads and the GC profiler (allocation per operation):
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *   -Djmh.mainClass=ch.jalu.datasourcecolumns.sqlimplementation.HandlerOperationsBenchmark
+ * </pre>
+ * Further JMH options can be passed with {@code -Djmh.args}, e.g. {@code -Djmh.args="-p database=H2"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HandlerOperationsBenchmark {
+
+    /** Thread counts used by {@link #main}. */
+    private static final int[] THREAD_COUNTS = { 1, 4, 8 };
+
+    private static final int MAX_POOL_SIZE = 8;
+    private static final int SAMPLE_ROW_COUNT = 12;
+
+    private static final Column<?, SampleContext>[] RETRIEVE_COLUMNS = new Column[]{
+        SampleColumns.NAME, SampleColumns.IP, SampleColumns.EMAIL,
+        SampleColumns.IS_LOCKED, SampleColumns.IS_ACTIVE, SampleColumns.LAST_LOGIN };
+
+    @Param({"H2", "SQLITE"})
+    private Database database;
+
+    @Param({"SINGLE", "POOLED"})
+    private ConnectionMode connectionMode;
+
+    @Param({"1", "3", "6"})
+    private int columnCount;
+
+    private Path sqliteFile;
+    private Connection connection;
+    private HikariDataSource pool;
+    private SqlColumnsHandler<SampleContext, Integer> handler;
+    private Column<?, SampleContext>[] retrieveColumns;
+    private UpdateValues<SampleContext> updateValues;
+    private Predicate<SampleContext> countPredicate;
+    private final AtomicInteger nextInsertId = new AtomicInteger(1000);
+
+    public static void main(String... args) throws Exception {
+        for (int threads : THREAD_COUNTS) {
+            new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(HandlerOperationsBenchmark.class.getSimpleName())
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUpDatabase() throws Exception {
+        final DataSource dataSource;
+        if (database == Database.H2) {
+            JdbcDataSource h2DataSource = new JdbcDataSource();
+            h2DataSource.setURL("jdbc:h2:mem:handlerbenchmark;DB_CLOSE_DELAY=-1");
+            dataSource = h2DataSource;
+        } else {
+            sqliteFile = Files.createTempFile("handlerbenchmark", ".db");
+            SQLiteDataSource sqliteDataSource = new SQLiteDataSource();
+            sqliteDataSource.setUrl("jdbc:sqlite:" + sqliteFile.toAbsolutePath());
+            sqliteDataSource.setJournalMode("WAL");
+            sqliteDataSource.setBusyTimeout(10_000);
+            dataSource = sqliteDataSource;
+        }
+
+        try (Connection initConnection = dataSource.getConnection()) {
+            initializeTable(initConnection);
+        }
+
+        SampleContext context = new SampleContext();
+        final SqlColumnsHandlerConfig<SampleContext> config;
+        if (connectionMode == ConnectionMode.SINGLE) {
+            connection = dataSource.getConnection();
+            config = SqlColumnsHandlerConfig.forSingleConnection(connection, "testingdata", "id", context);
+        } else {
+            HikariConfig hikariConfig = new HikariConfig();
+            hikariConfig.setDataSource(dataSource);
+            hikariConfig.setMaximumPoolSize(MAX_POOL_SIZE);
+            pool = new HikariDataSource(hikariConfig);
+            config = SqlColumnsHandlerConfig.forConnectionPool(pool::getConnection, "testingdata", "id", context);
+        }
+        handler = new SqlColumnsHandler<>(config.setColumnLayout(ColumnLayout.snapshot(context)));
+
+        retrieveColumns = Arrays.copyOf(RETRIEVE_COLUMNS, columnCount);
+        updateValues = createUpdateValues(columnCount);
+        countPredicate = and(eq(SampleColumns.IS_LOCKED, 0), greaterThan(SampleColumns.LAST_LOGIN, 100_000L));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        handler.close();
+        if (connection != null) {
+            connection.close();
+        }
+        if (pool != null) {
+            pool.close();
+        }
+        if (sqliteFile != null) {
+            Files.deleteIfExists(sqliteFile);
+            Files.deleteIfExists(sqliteFile.resolveSibling(sqliteFile.getFileName() + "-wal"));
+            Files.deleteIfExists(sqliteFile.resolveSibling(sqliteFile.getFileName() + "-shm"));
+        }
+    }
+
+    @Benchmark
+    public DataSourceValues retrieve() throws SQLException {
+        return handler.retrieve(randomSampleId(), retrieveColumns);
+    }
+
+    @Benchmark
+    public boolean update() throws SQLException {
+        return handler.update(randomSampleId(), updateValues);
+    }
+
+    /**
+     * Inserts a new row with the id, the mandatory column {@code is_locked} and up to {@code columnCount - 2}
+     * further columns.
+     *
+     * @return insert result
+     */
+    @Benchmark
+    public boolean insert() throws SQLException {
+        UpdateValues.Builder<SampleContext> builder =
+            UpdateValues.with(SampleColumns.ID, nextInsertId.getAndIncrement())
+                .and(SampleColumns.IS_LOCKED, 0);
+        if (columnCount > 2) {
+            builder.and(SampleColumns.NAME, "bench");
+        }
+        if (columnCount > 3) {
+            builder.and(SampleColumns.EMAIL, "bench@example.org")
+                .and(SampleColumns.IP, "127.0.0.1")
+                .and(SampleColumns.LAST_LOGIN, 1234L);
+        }
+        return handler.insert(builder.build());
+    }
+
+    @Benchmark
+    public int count() throws SQLException {
+        return handler.count(countPredicate);
+    }
+
+    private static int randomSampleId() {
+        return ThreadLocalRandom.current().nextInt(1, SAMPLE_ROW_COUNT + 1);
+    }
+
+    private static UpdateValues<SampleContext> createUpdateValues(int columnCount) {
+        UpdateValues.Builder<SampleContext> builder = UpdateValues.with(SampleColumns.LAST_LOGIN, 1234L);
+        if (columnCount >= 3) {
+            builder.and(SampleColumns.IP, "127.0.0.1")
+                .and(SampleColumns.EMAIL, "bench@example.org");
+        }
+        if (columnCount >= 6) {
+            builder.and(SampleColumns.IS_LOCKED, 0)
+                .and(SampleColumns.IS_ACTIVE, 1)
+                .and(SampleColumns.NAME, "bench");
+        }
+        return builder.build();
+    }
+
+    private static void initializeTable(Connection connection) throws Exception {
+        String initializationScript = String.join("\n",
+            Files.readAllLines(TestUtils.getResourceFile("/sample-database.sql")));
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS testingdata");
+            for (String statement : initializationScript.split(";(\\r?)\\n")) {
+                st.execute(statement);
+            }
+        }
+    }
+
+    /** Database to run the benchmarks against. */
+    public enum Database {
+
+        /** In-memory H2 database. */
+        H2,
+
+        /** SQLite database in a temporary file (WAL journal mode). */
+        SQLITE
+
+    }
+
+    /** How the handler obtains its connections. */
+    public enum ConnectionMode {
+
+        /** One long-living connection with cached prepared statements. */
+        SINGLE,
+
+        /** HikariCP connection pool. */
+        POOLED
+
+    }
+}
@@ -0,0 +1,88 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.and;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eqIgnoreCase;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThan;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.isNotNull;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.isNull;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.lessThanEquals;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notEq;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.or;
+
+/**
+ * Measures {@link PredicateSqlGenerator#generateWhereClause(Predicate)} without any database access, for a single
+ * comparison and for a tree of 16 predicates, with and without the cache of SQL per predicate shape.
+ * Run with {@code -prof gc} to see the allocation per generated clause.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredicateSqlGeneratorBenchmark {
+
+    @Param({"true", "false"})
+    private boolean cacheTemplates;
+
+    private PredicateSqlGenerator<SampleContext> generator;
+    private Predicate<SampleContext> shallowPredicate;
+    private Predicate<SampleContext> deepPredicate;
+
+    @Setup(Level.Trial)
+    public void createPredicates() {
+        generator = new PredicateSqlGenerator<>(new SampleContext(), false, cacheTemplates);
+        shallowPredicate = eq(SampleColumns.IS_LOCKED, 0);
+        deepPredicate = and(
+            or(
+                and(createLeafGroup(0), createLeafGroup(1)),
+                or(createLeafGroup(2), createLeafGroup(3))),
+            or(
+                and(createLeafGroup(4), createLeafGroup(5)),
+                and(createLeafGroup(6), createLeafGroup(7))));
+    }
+
+    @Benchmark
+    public GeneratedSqlWithBindings generateShallowClause() {
+        return generator.generateWhereClause(shallowPredicate);
+    }
+
+    @Benchmark
+    public GeneratedSqlWithBindings generateDeepClause() {
+        return generator.generateWhereClause(deepPredicate);
+    }
+
+    /**
+     * Creates a combination of two predicates, using all standard predicate types over the different groups.
+     *
+     * @param group the number of the group (0-7)
+     * @return predicate with two leaves
+     */
+    private static Predicate<SampleContext> createLeafGroup(int group) {
+        switch (group % 4) {
+            case 0:  return and(eq(SampleColumns.IS_LOCKED, group), greaterThan(SampleColumns.LAST_LOGIN, 1000L));
+            case 1:  return or(eqIgnoreCase(SampleColumns.NAME, "user" + group), isNull(SampleColumns.EMAIL));
+            case 2:  return and(notEq(SampleColumns.IP, "127.0.0." + group), isNotNull(SampleColumns.LAST_LOGIN));
+            default: return or(lessThanEquals(SampleColumns.IS_ACTIVE, group), eq(SampleColumns.ID, group));
+        }
+    }
+}
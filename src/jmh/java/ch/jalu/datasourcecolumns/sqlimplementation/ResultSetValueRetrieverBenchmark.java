@@ -0,0 +1,85 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the dispatch of {@link ResultSetValueRetriever} by column name and by column index, on an in-memory
+ * result set without database access. The {@code direct*} benchmarks read the same values straight from the result
+ * set and serve as baseline, so the difference is the overhead of the retriever.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultSetValueRetrieverBenchmark {
+
+    private ResultSetValueRetriever<SampleContext> retriever;
+    private ResultSet resultSet;
+
+    @Setup(Level.Trial)
+    public void createResultSet() throws SQLException {
+        retriever = new ResultSetValueRetriever<>(new SampleContext());
+
+        SimpleResultSet simpleResultSet = new SimpleResultSet();
+        simpleResultSet.addColumn("username", Types.VARCHAR, 255, 0);
+        simpleResultSet.addColumn("is_locked", Types.INTEGER, 10, 0);
+        simpleResultSet.addColumn("last_login", Types.BIGINT, 19, 0);
+        simpleResultSet.addColumn("email", Types.VARCHAR, 255, 0);
+        simpleResultSet.addRow("Bobby", 1, 1234567L, null);
+        simpleResultSet.next();
+        resultSet = simpleResultSet;
+    }
+
+    @Benchmark
+    public void retrieveByName(Blackhole blackhole) throws SQLException {
+        blackhole.consume(retriever.get(resultSet, SampleColumns.NAME));
+        blackhole.consume(retriever.get(resultSet, SampleColumns.IS_LOCKED));
+        blackhole.consume(retriever.get(resultSet, SampleColumns.LAST_LOGIN));
+        blackhole.consume(retriever.get(resultSet, SampleColumns.EMAIL));
+    }
+
+    @Benchmark
+    public void retrieveByIndex(Blackhole blackhole) throws SQLException {
+        blackhole.consume(retriever.get(resultSet, 1, SampleColumns.NAME));
+        blackhole.consume(retriever.get(resultSet, 2, SampleColumns.IS_LOCKED));
+        blackhole.consume(retriever.get(resultSet, 3, SampleColumns.LAST_LOGIN));
+        blackhole.consume(retriever.get(resultSet, 4, SampleColumns.EMAIL));
+    }
+
+    @Benchmark
+    public void directByName(Blackhole blackhole) throws SQLException {
+        blackhole.consume(resultSet.getString("username"));
+        blackhole.consume(resultSet.getInt("is_locked"));
+        blackhole.consume(resultSet.getLong("last_login"));
+        blackhole.consume(resultSet.getString("email"));
+    }
+
+    @Benchmark
+    public void directByIndex(Blackhole blackhole) throws SQLException {
+        blackhole.consume(resultSet.getString(1));
+        blackhole.consume(resultSet.getInt(2));
+        blackhole.consume(resultSet.getLong(3));
+        blackhole.consume(resultSet.getString(4));
+    }
+}
@@ -0,0 +1,95 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.TestUtils;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.UpdateValues;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
+
+/**
+ * Compares {@link SqlColumnsHandler} operations with and without the cache of generated SQL code.
+ * Run with {@code -prof gc} to see the difference in allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlCacheBenchmark {
+
+    @Param({"true", "false"})
+    private boolean sqlCacheEnabled;
+
+    private Connection connection;
+    private SqlColumnsHandler<SampleContext, Integer> handler;
+    private UpdateValues<SampleContext> updateValues;
+
+    @Setup(Level.Trial)
+    public void setUpDatabase() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sqlcachebenchmark");
+        connection = dataSource.getConnection();
+
+        String initializationScript = String.join("\n",
+            Files.readAllLines(TestUtils.getResourceFile("/sample-database.sql")));
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS testingdata");
+            for (String statement : initializationScript.split(";(\\r?)\\n")) {
+                st.execute(statement);
+            }
+        }
+
+        SampleContext context = new SampleContext();
+        SqlColumnsHandlerConfig<SampleContext> config =
+            SqlColumnsHandlerConfig.forSingleConnection(connection, "testingdata", "id", context)
+                .setSqlCacheEnabled(sqlCacheEnabled);
+        handler = new SqlColumnsHandler<>(config);
+        updateValues = UpdateValues.with(SampleColumns.EMAIL, "bench@example.org")
+            .and(SampleColumns.LAST_LOGIN, 1234L)
+            .and(SampleColumns.IS_LOCKED, 0)
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeConnection() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public DataSourceValues retrieveMultipleColumns() throws SQLException {
+        return handler.retrieve(3, SampleColumns.NAME, SampleColumns.EMAIL, SampleColumns.LAST_LOGIN);
+    }
+
+    @Benchmark
+    public boolean updateMultipleColumns() throws SQLException {
+        return handler.update(4, updateValues);
+    }
+
+    @Benchmark
+    public int count() throws SQLException {
+        return handler.count(eq(SampleColumns.IS_LOCKED, 0));
+    }
+}
@@ -0,0 +1,169 @@
+package ch.jalu.datasourcecolumns;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Provides the properties of columns which depend on the context: name, whether the column is used, and whether
+ * {@code DEFAULT} is used for null values. Handlers read these properties through a column layout.
+ * <p>
+ * A {@link #live live} layout asks the columns every time, so changes to the context apply immediately. A
+ * {@link #snapshot snapshot} layout resolves the properties once per column (keyed by identity) and keeps them
+ * until {@link #refresh()} is called, which avoids calling the columns over and over on hot paths.
+ * <p>
+ * Components which derive data from column properties (e.g. caches of generated SQL code) can register a listener
+ * that is run when the layout is refreshed. Since data may be derived concurrently to a refresh, such components
+ * should also tag their entries with the {@link #getGeneration generation} and discard entries of older ones.
+ *
+ * @param <C> the context type
+ */
+public final class ColumnLayout<C> {
+
+    private final C context;
+    private final boolean isSnapshot;
+    private final List<Runnable> refreshListeners = new CopyOnWriteArrayList<>();
+    private volatile Map<Column<?, C>, ResolvedColumn> resolvedColumns = new IdentityHashMap<>();
+    private volatile int generation;
+
+    private ColumnLayout(C context, boolean isSnapshot) {
+        this.context = context;
+        this.isSnapshot = isSnapshot;
+    }
+
+    /**
+     * Creates a layout which queries the columns for each call, i.e. which always reflects the current state
+     * of the context.
+     *
+     * @param context the context
+     * @param <C> the context type
+     * @return live layout
+     */
+    public static <C> ColumnLayout<C> live(C context) {
+        return new ColumnLayout<>(context, false);
+    }
+
+    /**
+     * Creates a layout which resolves the properties of each column once and keeps them until {@link #refresh()}
+     * is called. The context should not change in the meantime, or {@link #refresh()} must be called afterwards.
+     *
+     * @param context the context
+     * @param <C> the context type
+     * @return snapshot layout
+     */
+    public static <C> ColumnLayout<C> snapshot(C context) {
+        return new ColumnLayout<>(context, true);
+    }
+
+    /**
+     * @return the context
+     */
+    public C getContext() {
+        return context;
+    }
+
+    /**
+     * @return true if this layout keeps resolved column properties until refreshed, false if it is live
+     */
+    public boolean isSnapshot() {
+        return isSnapshot;
+    }
+
+    /**
+     * Returns the generation of this layout, which is incremented whenever the layout is {@link #refresh refreshed}.
+     * Data derived from the column properties after reading a generation is up to date as long as the generation
+     * has not changed.
+     *
+     * @return the current generation
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the name of the column, see {@link Column#resolveName}.
+     *
+     * @param column the column
+     * @return the column's name
+     */
+    public String getName(Column<?, C> column) {
+        return isSnapshot ? resolve(column).name : column.resolveName(context);
+    }
+
+    /**
+     * Returns whether the column is used, see {@link Column#isColumnUsed}.
+     *
+     * @param column the column
+     * @return true if the column is used, false otherwise
+     */
+    public boolean isUsed(Column<?, C> column) {
+        return isSnapshot ? resolve(column).isUsed : column.isColumnUsed(context);
+    }
+
+    /**
+     * Returns whether {@code DEFAULT} should be used for null values, see {@link Column#useDefaultForNullValue}.
+     *
+     * @param column the column
+     * @return true if DEFAULT should be used instead of null, false otherwise
+     */
+    public boolean useDefaultForNull(Column<?, C> column) {
+        return isSnapshot ? resolve(column).useDefaultForNull : column.useDefaultForNullValue(context);
+    }
+
+    /**
+     * Discards all resolved column properties (for snapshot layouts) and runs the refresh listeners. Call this
+     * method when the context has changed, e.g. after the configuration has been reloaded.
+     */
+    public void refresh() {
+        synchronized (this) {
+            resolvedColumns = new IdentityHashMap<>();
+            // Incremented after the reset so that the new generation never sees properties of the previous one
+            ++generation;
+        }
+        for (Runnable listener : refreshListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Adds a listener which is run whenever this layout is {@link #refresh refreshed}.
+     *
+     * @param listener the listener to add
+     */
+    public void addRefreshListener(Runnable listener) {
+        refreshListeners.add(listener);
+    }
+
+    private ResolvedColumn resolve(Column<?, C> column) {
+        ResolvedColumn resolvedColumn = resolvedColumns.get(column);
+        if (resolvedColumn == null) {
+            synchronized (this) {
+                resolvedColumn = resolvedColumns.get(column);
+                if (resolvedColumn == null) {
+                    // Copy on write so that readers never see a map that is being modified
+                    Map<Column<?, C>, ResolvedColumn> newResolvedColumns = new IdentityHashMap<>(resolvedColumns);
+                    resolvedColumn = new ResolvedColumn(column.resolveName(context), column.isColumnUsed(context),
+                        column.useDefaultForNullValue(context));
+                    newResolvedColumns.put(column, resolvedColumn);
+                    resolvedColumns = newResolvedColumns;
+                }
+            }
+        }
+        return resolvedColumn;
+    }
+
+    /** Properties of a column, resolved with the context. */
+    private static final class ResolvedColumn {
+
+        private final String name;
+        private final boolean isUsed;
+        private final boolean useDefaultForNull;
+
+        ResolvedColumn(String name, boolean isUsed, boolean useDefaultForNull) {
+            this.name = name;
+            this.isUsed = isUsed;
+            this.useDefaultForNull = useDefaultForNull;
+        }
+    }
+}
@@ -5,7 +5,10 @@ import ch.jalu.datasourcecolumns.data.DataSourceValues;
 import ch.jalu.datasourcecolumns.data.UpdateValues;
 import ch.jalu.datasourcecolumns.predicate.Predicate;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Handler which performs operations on the data source based on the given
@@ -36,6 +39,28 @@ public interface ColumnsHandler<C, I> {
      */
     DataSourceValues retrieve(I identifier, Column<?, C>... columns) throws Exception;
 
+    /**
+     * Retrieves multiple values from the rows with the given ids. The returned map has an entry for each
+     * given id; ids without any row are mapped to a values object whose {@link DataSourceValues#rowExists()}
+     * returns false.
+     * <p>
+     * The default implementation retrieves the rows one by one with {@link #retrieve(Object, Column[])}.
+     *
+     * @param identifiers the ids of the rows to look up
+     * @param columns the columns to retrieve
+     * @return the retrieved values by id
+     */
+    default Map<I, DataSourceValues> retrieveAll(Collection<I> identifiers, Column<?, C>... columns)
+        throws Exception {
+        final Map<I, DataSourceValues> valuesById = new LinkedHashMap<>();
+        for (I identifier : identifiers) {
+            if (!valuesById.containsKey(identifier)) {
+                valuesById.put(identifier, retrieve(identifier, columns));
+            }
+        }
+        return valuesById;
+    }
+
     /**
      * Retrieves a column's value for all rows that satisfy the given predicate.
      *
@@ -86,6 +111,24 @@ public interface ColumnsHandler<C, I> {
      */
     <D> boolean update(I identifier, D dependent, DependentColumn<?, C, D>... columns) throws Exception;
 
+    /**
+     * Updates multiple rows, each to have the given values.
+     * <p>
+     * The default implementation updates the rows one by one with {@link #update(Object, UpdateValues)}.
+     *
+     * @param valuesById the values to set, by id of the row to modify
+     * @return the number of updated rows
+     */
+    default int updateAll(Map<I, UpdateValues<C>> valuesById) throws Exception {
+        int updatedRows = 0;
+        for (Map.Entry<I, UpdateValues<C>> entry : valuesById.entrySet()) {
+            if (update(entry.getKey(), entry.getValue())) {
+                ++updatedRows;
+            }
+        }
+        return updatedRows;
+    }
+
     /**
      * Sets the given value to the provided column for all rows which match the predicate.
      *
@@ -126,6 +169,44 @@ public interface ColumnsHandler<C, I> {
      */
     <D> boolean insert(D dependent, DependentColumn<?, C, D>... columns) throws Exception;
 
+    /**
+     * Inserts a new row for each entry of the given collection.
+     * <p>
+     * The default implementation inserts the rows one by one with {@link #insert(UpdateValues)}.
+     *
+     * @param rows the values of the rows to insert
+     * @return for each row (in the order of the collection), the number of inserted rows
+     * @throws IllegalStateException if a row does not have at least one column that is not skipped
+     */
+    default int[] insertAll(Collection<UpdateValues<C>> rows) throws Exception {
+        final int[] insertedRows = new int[rows.size()];
+        int i = 0;
+        for (UpdateValues<C> row : rows) {
+            insertedRows[i++] = insert(row) ? 1 : 0;
+        }
+        return insertedRows;
+    }
+
+    /**
+     * Inserts a new row for each dependent of the given collection, with the values taken from the dependent.
+     * <p>
+     * The default implementation inserts the rows one by one with {@link #insert(Object, DependentColumn[])}.
+     *
+     * @param dependents the dependents to get values from
+     * @param columns the columns to insert
+     * @param <D> the dependent type
+     * @return for each dependent (in the order of the collection), the number of inserted rows
+     * @throws IllegalStateException if there is not at least one column that is not skipped
+     */
+    default <D> int[] insertAll(Collection<D> dependents, DependentColumn<?, C, D>... columns) throws Exception {
+        final int[] insertedRows = new int[dependents.size()];
+        int i = 0;
+        for (D dependent : dependents) {
+            insertedRows[i++] = insert(dependent, columns) ? 1 : 0;
+        }
+        return insertedRows;
+    }
+
     /**
      * Returns the number of rows that match the provided predicate.
      *
@@ -0,0 +1,239 @@
+package ch.jalu.datasourcecolumns.async;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnsHandler;
+import ch.jalu.datasourcecolumns.DependentColumn;
+import ch.jalu.datasourcecolumns.data.DataSourceValue;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.UpdateValues;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Performs the operations of a {@link ColumnsHandler} on an executor and returns their results as
+ * {@link CompletableFuture}, so that the calling thread never blocks on the data source. Each method corresponds
+ * to the method of the same name in {@link ColumnsHandler}; exceptions of the handler complete the future
+ * exceptionally.
+ * <p>
+ * The number of submitted operations which have not started yet ({@link #getQueuedCount()}) and of operations
+ * which are running ({@link #getInFlightCount()}) are tracked, e.g. to size the executor against a connection pool.
+ *
+ * @param <C> the context type
+ * @param <I> the identifier type
+ */
+public class AsyncColumnsHandler<C, I> implements AutoCloseable {
+
+    /** Number of threads of the default executor if virtual threads are not available. */
+    public static final int DEFAULT_THREAD_COUNT = 4;
+
+    private final ColumnsHandler<C, I> handler;
+    private final Executor executor;
+    private final boolean shutDownExecutorOnClose;
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+
+    /**
+     * Constructor. The executor is not shut down by {@link #close()}.
+     *
+     * @param handler the handler to perform the operations with
+     * @param executor the executor to run the operations on
+     */
+    public AsyncColumnsHandler(ColumnsHandler<C, I> handler, Executor executor) {
+        this(handler, executor, false);
+    }
+
+    private AsyncColumnsHandler(ColumnsHandler<C, I> handler, Executor executor, boolean shutDownExecutorOnClose) {
+        this.handler = handler;
+        this.executor = executor;
+        this.shutDownExecutorOnClose = shutDownExecutorOnClose;
+    }
+
+    /**
+     * Creates an async handler with a default executor, which is shut down when the async handler is closed.
+     * See {@link #createDefaultExecutor()}.
+     *
+     * @param handler the handler to perform the operations with
+     * @param <C> the context type
+     * @param <I> the identifier type
+     * @return async handler with a default executor
+     */
+    public static <C, I> AsyncColumnsHandler<C, I> withDefaultExecutor(ColumnsHandler<C, I> handler) {
+        return new AsyncColumnsHandler<>(handler, createDefaultExecutor(), true);
+    }
+
+    /**
+     * Creates an executor which starts a virtual thread per task when running on Java 21 or newer. On older
+     * versions, a pool of {@link #DEFAULT_THREAD_COUNT} daemon threads is returned.
+     * <p>
+     * Note that virtual threads do not limit the number of concurrent operations: use a connection pool with
+     * a suitable maximum size, or provide a bounded executor, to avoid exhausting the database.
+     *
+     * @return new executor
+     */
+    public static ExecutorService createDefaultExecutor() {
+        try {
+            // Executors#newVirtualThreadPerTaskExecutor only exists in Java 21+
+            Method virtualThreadExecutorMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtualThreadExecutorMethod.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(DEFAULT_THREAD_COUNT, new DaemonThreadFactory());
+        }
+    }
+
+    public <T> CompletableFuture<DataSourceValue<T>> retrieve(I identifier, Column<T, C> column) {
+        return submit(() -> handler.retrieve(identifier, column));
+    }
+
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<DataSourceValues> retrieve(I identifier, Column<?, C>... columns) {
+        return submit(() -> handler.retrieve(identifier, columns));
+    }
+
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Map<I, DataSourceValues>> retrieveAll(Collection<I> identifiers,
+                                                                   Column<?, C>... columns) {
+        return submit(() -> handler.retrieveAll(identifiers, columns));
+    }
+
+    public <T> CompletableFuture<List<T>> retrieve(Predicate<C> predicate, Column<T, C> column) {
+        return submit(() -> handler.retrieve(predicate, column));
+    }
+
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<List<DataSourceValues>> retrieve(Predicate<C> predicate, Column<?, C>... columns) {
+        return submit(() -> handler.retrieve(predicate, columns));
+    }
+
+    public <T> CompletableFuture<Boolean> update(I identifier, Column<T, C> column, T value) {
+        return submit(() -> handler.update(identifier, column, value));
+    }
+
+    public CompletableFuture<Boolean> update(I identifier, UpdateValues<C> updateValues) {
+        return submit(() -> handler.update(identifier, updateValues));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <D> CompletableFuture<Boolean> update(I identifier, D dependent, DependentColumn<?, C, D>... columns) {
+        return submit(() -> handler.update(identifier, dependent, columns));
+    }
+
+    public CompletableFuture<Integer> updateAll(Map<I, UpdateValues<C>> valuesById) {
+        return submit(() -> handler.updateAll(valuesById));
+    }
+
+    public <T> CompletableFuture<Integer> update(Predicate<C> predicate, Column<T, C> column, T value) {
+        return submit(() -> handler.update(predicate, column, value));
+    }
+
+    public CompletableFuture<Integer> update(Predicate<C> predicate, UpdateValues<C> updateValues) {
+        return submit(() -> handler.update(predicate, updateValues));
+    }
+
+    public CompletableFuture<Boolean> insert(UpdateValues<C> updateValues) {
+        return submit(() -> handler.insert(updateValues));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <D> CompletableFuture<Boolean> insert(D dependent, DependentColumn<?, C, D>... columns) {
+        return submit(() -> handler.insert(dependent, columns));
+    }
+
+    public CompletableFuture<int[]> insertAll(Collection<UpdateValues<C>> rows) {
+        return submit(() -> handler.insertAll(rows));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <D> CompletableFuture<int[]> insertAll(Collection<D> dependents, DependentColumn<?, C, D>... columns) {
+        return submit(() -> handler.insertAll(dependents, columns));
+    }
+
+    public CompletableFuture<Integer> count(Predicate<C> predicate) {
+        return submit(() -> handler.count(predicate));
+    }
+
+    /**
+     * @return the number of operations which have been submitted but have not started yet
+     */
+    public int getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * @return the number of operations which are currently being performed
+     */
+    public int getInFlightCount() {
+        return inFlightCount.get();
+    }
+
+    /**
+     * @return the wrapped handler
+     */
+    public ColumnsHandler<C, I> getHandler() {
+        return handler;
+    }
+
+    /**
+     * Shuts down the executor if it was created by this class (see {@link #withDefaultExecutor}).
+     * Operations that have already been submitted are still performed. The wrapped handler is not closed.
+     */
+    @Override
+    public void close() {
+        if (shutDownExecutorOnClose) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    /**
+     * Runs the given operation on the executor.
+     *
+     * @param operation the operation to perform
+     * @param <R> the result type
+     * @return future with the operation's result
+     */
+    protected <R> CompletableFuture<R> submit(Callable<R> operation) {
+        final CompletableFuture<R> future = new CompletableFuture<>();
+        queuedCount.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                queuedCount.decrementAndGet();
+                inFlightCount.incrementAndGet();
+                try {
+                    future.complete(operation.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlightCount.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedCount.decrementAndGet();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /** Creates daemon threads for the default executor. */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "datasourcecolumns-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ch.jalu.datasourcecolumns.data;
+
+import ch.jalu.datasourcecolumns.Column;
+
+/**
+ * Implementation of {@link DataSourceValues} which stores the values in an array according to a
+ * {@link DataSourceValuesLayout}. As with {@link DataSourceValuesImpl}, values are checked against the column's
+ * type when they are set, but the type of each slot is resolved only once by the layout.
+ */
+public final class ArrayDataSourceValues implements DataSourceValues {
+
+    private final DataSourceValuesLayout layout;
+    private final Object[] values;
+
+    /**
+     * Constructor. Use {@link DataSourceValuesLayout#createValues()}.
+     *
+     * @param layout the layout of the row
+     */
+    ArrayDataSourceValues(DataSourceValuesLayout layout) {
+        this.layout = layout;
+        this.values = new Object[layout.size()];
+    }
+
+    /**
+     * Sets the value of the given slot. The value must be of the type of the slot's column.
+     *
+     * @param slot the slot to set
+     * @param value the value of the slot's column
+     * @throws IllegalArgumentException if the value does not have the type of the slot's column
+     */
+    public void set(int slot, Object value) {
+        if (value != null && !layout.getValueType(slot).isInstance(value)) {
+            throw new IllegalArgumentException("Value '" + value + "' does not have the correct type for column '"
+                + layout.getColumn(slot) + "'");
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Sets the value of the given column.
+     *
+     * @param column the column to set the value for
+     * @param value the value to set
+     * @param <T> the value type
+     */
+    public <T> void put(Column<T, ?> column, T value) {
+        set(getSlotOrThrow(column), value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Column<T, ?> column) {
+        return (T) values[getSlotOrThrow(column)];
+    }
+
+    @Override
+    public boolean rowExists() {
+        return true;
+    }
+
+    /**
+     * @return the layout of this row
+     */
+    public DataSourceValuesLayout getLayout() {
+        return layout;
+    }
+
+    private int getSlotOrThrow(Column<?, ?> column) {
+        final int slot = layout.getSlot(column);
+        if (slot < 0) {
+            throw new IllegalArgumentException("No value available for column '" + column + "'");
+        }
+        return slot;
+    }
+}
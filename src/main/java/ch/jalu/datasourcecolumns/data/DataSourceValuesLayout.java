@@ -0,0 +1,114 @@
+package ch.jalu.datasourcecolumns.data;
+
+import ch.jalu.datasourcecolumns.Column;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable assignment of columns to slots, shared by all {@link ArrayDataSourceValues} rows of a query.
+ * Each distinct column has one slot; the slot of a column is looked up by identity first, which is
+ * the common case when the same column constants are used to request and to read values.
+ * <p>
+ * The value type of each slot is resolved and validated once when the layout is created, so that
+ * {@link ArrayDataSourceValues} can check values against it without querying the columns again.
+ */
+public final class DataSourceValuesLayout {
+
+    private final Column<?, ?>[] columns;
+    private final Class<?>[] valueTypes;
+    private final Map<Column<?, ?>, Integer> slotsByColumn;
+
+    private DataSourceValuesLayout(Column<?, ?>[] columns, Class<?>[] valueTypes,
+                                   Map<Column<?, ?>, Integer> slotsByColumn) {
+        this.columns = columns;
+        this.valueTypes = valueTypes;
+        this.slotsByColumn = slotsByColumn;
+    }
+
+    /**
+     * Creates a layout for the given columns. Duplicate columns are assigned the same slot.
+     *
+     * @param columns the columns to create the layout for
+     * @return the layout
+     * @throws IllegalArgumentException if a column has no value type, or if equal columns have different types
+     */
+    public static DataSourceValuesLayout of(Column<?, ?>... columns) {
+        final List<Column<?, ?>> distinctColumns = new ArrayList<>(columns.length);
+        final List<Class<?>> valueTypes = new ArrayList<>(columns.length);
+        final Map<Column<?, ?>, Integer> slotsByColumn = new HashMap<>();
+        for (Column<?, ?> column : columns) {
+            final Class<?> valueType = getValueType(column);
+            final Integer existingSlot = slotsByColumn.putIfAbsent(column, distinctColumns.size());
+            if (existingSlot == null) {
+                distinctColumns.add(column);
+                valueTypes.add(valueType);
+            } else if (valueTypes.get(existingSlot) != valueType) {
+                throw new IllegalArgumentException("Column '" + column + "' has type " + valueType.getName()
+                    + ", but an equal column has type " + valueTypes.get(existingSlot).getName());
+            }
+        }
+        return new DataSourceValuesLayout(distinctColumns.toArray(new Column<?, ?>[0]),
+            valueTypes.toArray(new Class<?>[0]), slotsByColumn);
+    }
+
+    /**
+     * @return the number of slots
+     */
+    public int size() {
+        return columns.length;
+    }
+
+    /**
+     * Returns the column of the given slot.
+     *
+     * @param slot the slot (0-based)
+     * @return the column of the slot
+     */
+    public Column<?, ?> getColumn(int slot) {
+        return columns[slot];
+    }
+
+    /**
+     * Returns the class of the values of the given slot's column.
+     *
+     * @param slot the slot (0-based)
+     * @return the value type of the slot
+     */
+    public Class<?> getValueType(int slot) {
+        return valueTypes[slot];
+    }
+
+    /**
+     * Returns the slot of the given column.
+     *
+     * @param column the column to look up
+     * @return the column's slot, or -1 if the column is not part of this layout
+     */
+    public int getSlot(Column<?, ?> column) {
+        for (int i = 0; i < columns.length; ++i) {
+            if (columns[i] == column) {
+                return i;
+            }
+        }
+        final Integer slot = slotsByColumn.get(column);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @return new row with this layout, with all values set to null
+     */
+    public ArrayDataSourceValues createValues() {
+        return new ArrayDataSourceValues(this);
+    }
+
+    private static Class<?> getValueType(Column<?, ?> column) {
+        final Class<?> valueType = column.getType() == null ? null : column.getType().getClazz();
+        if (valueType == null) {
+            throw new IllegalArgumentException("Column '" + column + "' does not define a value type");
+        }
+        return valueType;
+    }
+}
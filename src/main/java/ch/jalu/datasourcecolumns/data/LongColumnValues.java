@@ -0,0 +1,73 @@
+package ch.jalu.datasourcecolumns.data;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Values of a Long column for multiple rows, stored as primitive array. Null values are tracked in a bit set
+ * and are represented by 0 in the array.
+ */
+public final class LongColumnValues extends PrimitiveColumnValues<long[]> {
+
+    private final long[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param values the values (0 for null values)
+     * @param nulls the indices of the values that are null
+     */
+    public LongColumnValues(long[] values, BitSet nulls) {
+        super(values, nulls, values.length);
+        this.values = values;
+    }
+
+    /**
+     * Returns the value at the given index. Returns 0 for null values, see {@link #isNull}.
+     *
+     * @param index the index of the value
+     * @return the value
+     */
+    public long get(int index) {
+        return values[index];
+    }
+
+    /** Builder class, which grows its array as values are added. */
+    public static final class Builder extends PrimitiveColumnValues.Builder<long[], Builder> {
+
+        public Builder() {
+            super(new long[INITIAL_CAPACITY]);
+        }
+
+        /**
+         * Adds the given value.
+         *
+         * @param value the value to add
+         * @return this instance
+         */
+        public Builder add(long value) {
+            final int index = nextIndex();
+            values()[index] = value;
+            return this;
+        }
+
+        /**
+         * Creates a {@link LongColumnValues} instance with the values provided to this builder.
+         *
+         * @return the generated values object
+         */
+        public LongColumnValues build() {
+            return new LongColumnValues(copyValues(), copyNulls());
+        }
+
+        @Override
+        long[] copyOf(long[] array, int length) {
+            return Arrays.copyOf(array, length);
+        }
+
+        @Override
+        Builder self() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package ch.jalu.datasourcecolumns.data;
+
+import java.util.BitSet;
+
+/**
+ * Common base of the values of a column for multiple rows which are stored as primitive array. Null values are
+ * tracked in a bit set and are represented by 0 in the array.
+ *
+ * @param <A> the primitive array type
+ */
+abstract class PrimitiveColumnValues<A> {
+
+    private final A values;
+    private final BitSet nulls;
+    private final int size;
+
+    /**
+     * Constructor.
+     *
+     * @param values the values (0 for null values)
+     * @param nulls the indices of the values that are null
+     * @param size the length of the values array
+     */
+    PrimitiveColumnValues(A values, BitSet nulls, int size) {
+        this.values = values;
+        this.nulls = nulls;
+        this.size = size;
+    }
+
+    /**
+     * @return the number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the value at the given index is null.
+     *
+     * @param index the index of the value
+     * @return true if the value is null, false otherwise
+     */
+    public boolean isNull(int index) {
+        return nulls.get(index);
+    }
+
+    /**
+     * @return the values as array, with 0 for null values (not a copy)
+     */
+    public A getValues() {
+        return values;
+    }
+
+    /**
+     * @return bit set with the indices of the null values (not a copy)
+     */
+    public BitSet getNulls() {
+        return nulls;
+    }
+
+    /**
+     * Base of the builders, which grow their array as values are added.
+     *
+     * @param <A> the primitive array type
+     * @param <B> the builder type
+     */
+    abstract static class Builder<A, B extends Builder<A, B>> {
+
+        /** Length of the array the builders start with. */
+        static final int INITIAL_CAPACITY = 16;
+
+        private final BitSet nulls = new BitSet();
+        private A values;
+        private int capacity;
+        private int size;
+
+        /**
+         * Constructor.
+         *
+         * @param initialValues empty array of length {@link #INITIAL_CAPACITY}
+         */
+        Builder(A initialValues) {
+            this.values = initialValues;
+            this.capacity = INITIAL_CAPACITY;
+        }
+
+        /**
+         * Adds a null value.
+         *
+         * @return this instance
+         */
+        public B addNull() {
+            nulls.set(nextIndex());
+            return self();
+        }
+
+        /**
+         * Reserves the next index for a value to add, growing the array if needed. The array must be obtained with
+         * {@link #values()} after calling this method.
+         *
+         * @return the index of the value to add
+         */
+        int nextIndex() {
+            if (size == capacity) {
+                capacity *= 2;
+                values = copyOf(values, capacity);
+            }
+            return size++;
+        }
+
+        /**
+         * @return the array of the values added so far (may have more entries than values)
+         */
+        A values() {
+            return values;
+        }
+
+        /**
+         * @return array with exactly the values added so far
+         */
+        A copyValues() {
+            return copyOf(values, size);
+        }
+
+        /**
+         * @return copy of the bit set with the indices of the null values
+         */
+        BitSet copyNulls() {
+            return (BitSet) nulls.clone();
+        }
+
+        /**
+         * Creates a copy of the given array with the given length, see {@link java.util.Arrays#copyOf}.
+         *
+         * @param array the array to copy
+         * @param length the length of the new array
+         * @return new array
+         */
+        abstract A copyOf(A array, int length);
+
+        abstract B self();
+    }
+}
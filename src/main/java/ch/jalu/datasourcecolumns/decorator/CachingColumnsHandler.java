@@ -0,0 +1,503 @@
+package ch.jalu.datasourcecolumns.decorator;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnsHandler;
+import ch.jalu.datasourcecolumns.DependentColumn;
+import ch.jalu.datasourcecolumns.data.DataSourceValue;
+import ch.jalu.datasourcecolumns.data.DataSourceValueImpl;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.DataSourceValuesImpl;
+import ch.jalu.datasourcecolumns.data.UpdateValues;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Columns handler which caches the values of rows retrieved by id. Only the requested columns are fetched and
+ * cached; each cached row keeps track of which columns it has values for, so that a later retrieval of a subset
+ * of them is served from the cache and a retrieval of other columns only fetches the columns that are missing.
+ * Rows which do not exist are cached as well.
+ * <p>
+ * The least recently used row is evicted when the cache exceeds its maximum size, and rows expire after the
+ * configured time since they were first loaded. Any write performed with this handler invalidates the affected
+ * rows: updates by id invalidate the row, updates by predicate invalidate all rows, and inserts invalidate all
+ * cached non-existent rows. Writes that bypass this handler are only seen once the rows expire. Call
+ * {@link #invalidateAll()} if the context changes which columns are used.
+ * <p>
+ * Retrievals by predicate and counts are not cached and are always delegated to the wrapped handler.
+ *
+ * @param <C> the context type
+ * @param <I> the identifier type
+ */
+public class CachingColumnsHandler<C, I> implements ColumnsHandler<C, I> {
+
+    private final ColumnsHandler<C, I> handler;
+    private final int maxSize;
+    private final long expireAfterNanos;
+    private final LinkedHashMap<I, CachedRow> cachedRows = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Column<?, C>, Integer> columnIndices = new ConcurrentHashMap<>();
+    private int nextColumnIndex;
+    /** Incremented on every invalidation, so that values loaded concurrently to a write are not cached. */
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param handler the handler to load and write rows with
+     * @param maxSize the maximum number of rows to cache
+     * @param expireAfter the time after which a cached row is loaded again
+     * @param unit the time unit of the expiration time
+     */
+    public CachingColumnsHandler(ColumnsHandler<C, I> handler, int maxSize, long expireAfter, TimeUnit unit) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be positive, but got " + maxSize);
+        } else if (expireAfter <= 0) {
+            throw new IllegalArgumentException("Expiration time must be positive, but got " + expireAfter);
+        }
+        this.handler = handler;
+        this.maxSize = maxSize;
+        this.expireAfterNanos = unit.toNanos(expireAfter);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> DataSourceValue<T> retrieve(I identifier, Column<T, C> column) throws Exception {
+        final int[] indices = { getColumnIndex(column) };
+        final CachedRow cachedRow = getCachedRow(identifier);
+        if (cachedRow != null && cachedRow.hasColumns(indices)) {
+            hitCount.increment();
+            return cachedRow.exists
+                ? DataSourceValueImpl.of((T) cachedRow.getValue(indices[0]))
+                : DataSourceValueImpl.unknownRow();
+        }
+
+        missCount.increment();
+        final long invalidationsBeforeLoad = invalidationCount.get();
+        final DataSourceValue<T> value = handler.retrieve(identifier, column);
+        saveRow(identifier, invalidationsBeforeLoad, value.rowExists(), indices, new Object[]{ value.getValue() });
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DataSourceValues retrieve(I identifier, Column<?, C>... columns) throws Exception {
+        final int[] indices = getColumnIndices(columns);
+        final CachedRow cachedRow = getCachedRow(identifier);
+        if (cachedRow != null && cachedRow.hasColumns(indices)) {
+            hitCount.increment();
+            return cachedRow.toValues(columns, indices);
+        }
+
+        missCount.increment();
+        final long invalidationsBeforeLoad = invalidationCount.get();
+        if (cachedRow == null || !cachedRow.exists) {
+            final DataSourceValues values = handler.retrieve(identifier, columns);
+            saveRow(identifier, invalidationsBeforeLoad, values, columns, indices);
+            return values;
+        }
+
+        // Only fetch the columns which are not yet cached
+        final List<Column<?, C>> missingColumns = new ArrayList<>();
+        final List<Integer> missingIndices = new ArrayList<>();
+        for (int i = 0; i < columns.length; ++i) {
+            if (!cachedRow.hasColumn(indices[i])) {
+                missingColumns.add(columns[i]);
+                missingIndices.add(indices[i]);
+            }
+        }
+        final Column<?, C>[] columnsToFetch = (Column<?, C>[]) missingColumns.toArray(new Column<?, ?>[0]);
+        final DataSourceValues fetchedValues = handler.retrieve(identifier, columnsToFetch);
+        if (!fetchedValues.rowExists()) {
+            saveRow(identifier, invalidationsBeforeLoad, fetchedValues, columnsToFetch, new int[0]);
+            return fetchedValues;
+        }
+        final int[] fetchedIndices = missingIndices.stream().mapToInt(Integer::intValue).toArray();
+        final CachedRow mergedRow = cachedRow.withValues(fetchedIndices, getValues(fetchedValues, columnsToFetch));
+        saveRow(identifier, invalidationsBeforeLoad, fetchedValues, columnsToFetch, fetchedIndices);
+        return mergedRow.toValues(columns, indices);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<I, DataSourceValues> retrieveAll(Collection<I> identifiers, Column<?, C>... columns) throws Exception {
+        final int[] indices = getColumnIndices(columns);
+        final Map<I, DataSourceValues> valuesById = new LinkedHashMap<>();
+        final List<I> identifiersToLoad = new ArrayList<>();
+        for (I identifier : identifiers) {
+            if (!valuesById.containsKey(identifier)) {
+                final CachedRow cachedRow = getCachedRow(identifier);
+                if (cachedRow != null && cachedRow.hasColumns(indices)) {
+                    hitCount.increment();
+                    valuesById.put(identifier, cachedRow.toValues(columns, indices));
+                } else {
+                    missCount.increment();
+                    valuesById.put(identifier, null); // keeps the order of the identifiers
+                    identifiersToLoad.add(identifier);
+                }
+            }
+        }
+
+        if (!identifiersToLoad.isEmpty()) {
+            final long invalidationsBeforeLoad = invalidationCount.get();
+            final Map<I, DataSourceValues> loadedValues = handler.retrieveAll(identifiersToLoad, columns);
+            for (I identifier : identifiersToLoad) {
+                final DataSourceValues values = loadedValues.get(identifier);
+                saveRow(identifier, invalidationsBeforeLoad, values, columns, indices);
+                valuesById.put(identifier, values);
+            }
+        }
+        return valuesById;
+    }
+
+    @Override
+    public <T> List<T> retrieve(Predicate<C> predicate, Column<T, C> column) throws Exception {
+        return handler.retrieve(predicate, column);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<DataSourceValues> retrieve(Predicate<C> predicate, Column<?, C>... columns) throws Exception {
+        return handler.retrieve(predicate, columns);
+    }
+
+    @Override
+    public <T> boolean update(I identifier, Column<T, C> column, T value) throws Exception {
+        try {
+            return handler.update(identifier, column, value);
+        } finally {
+            invalidate(identifier);
+        }
+    }
+
+    @Override
+    public boolean update(I identifier, UpdateValues<C> updateValues) throws Exception {
+        try {
+            return handler.update(identifier, updateValues);
+        } finally {
+            invalidate(identifier);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <D> boolean update(I identifier, D dependent, DependentColumn<?, C, D>... columns) throws Exception {
+        try {
+            return handler.update(identifier, dependent, columns);
+        } finally {
+            invalidate(identifier);
+        }
+    }
+
+    @Override
+    public int updateAll(Map<I, UpdateValues<C>> valuesById) throws Exception {
+        try {
+            return handler.updateAll(valuesById);
+        } finally {
+            synchronized (this) {
+                invalidationCount.incrementAndGet();
+                cachedRows.keySet().removeAll(valuesById.keySet());
+            }
+        }
+    }
+
+    @Override
+    public <T> int update(Predicate<C> predicate, Column<T, C> column, T value) throws Exception {
+        try {
+            return handler.update(predicate, column, value);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public int update(Predicate<C> predicate, UpdateValues<C> updateValues) throws Exception {
+        try {
+            return handler.update(predicate, updateValues);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean insert(UpdateValues<C> updateValues) throws Exception {
+        try {
+            return handler.insert(updateValues);
+        } finally {
+            invalidateNonExistentRows();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <D> boolean insert(D dependent, DependentColumn<?, C, D>... columns) throws Exception {
+        try {
+            return handler.insert(dependent, columns);
+        } finally {
+            invalidateNonExistentRows();
+        }
+    }
+
+    @Override
+    public int[] insertAll(Collection<UpdateValues<C>> rows) throws Exception {
+        try {
+            return handler.insertAll(rows);
+        } finally {
+            invalidateNonExistentRows();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <D> int[] insertAll(Collection<D> dependents, DependentColumn<?, C, D>... columns) throws Exception {
+        try {
+            return handler.insertAll(dependents, columns);
+        } finally {
+            invalidateNonExistentRows();
+        }
+    }
+
+    @Override
+    public int count(Predicate<C> predicate) throws Exception {
+        return handler.count(predicate);
+    }
+
+    /**
+     * Removes the given row from the cache.
+     *
+     * @param identifier the id of the row to remove
+     */
+    public synchronized void invalidate(I identifier) {
+        invalidationCount.incrementAndGet();
+        cachedRows.remove(identifier);
+    }
+
+    /**
+     * Removes all rows from the cache.
+     */
+    public synchronized void invalidateAll() {
+        invalidationCount.incrementAndGet();
+        cachedRows.clear();
+    }
+
+    /**
+     * @return the number of cached rows (including expired rows which have not been removed yet)
+     */
+    public synchronized int getSize() {
+        return cachedRows.size();
+    }
+
+    /**
+     * @return the number of retrievals by id that were fully served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of retrievals by id for which the wrapped handler had to be called
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of rows removed because the cache was full or because they expired
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return the wrapped handler
+     */
+    public ColumnsHandler<C, I> getHandler() {
+        return handler;
+    }
+
+    /**
+     * Returns the current time, used to determine whether a row has expired.
+     *
+     * @return current time in nanoseconds, as defined by {@link System#nanoTime()}
+     */
+    protected long currentTimeNanos() {
+        return System.nanoTime();
+    }
+
+    private synchronized CachedRow getCachedRow(I identifier) {
+        final CachedRow cachedRow = cachedRows.get(identifier);
+        if (cachedRow != null && currentTimeNanos() - cachedRow.loadedAtNanos >= expireAfterNanos) {
+            cachedRows.remove(identifier);
+            evictionCount.increment();
+            return null;
+        }
+        return cachedRow;
+    }
+
+    private void saveRow(I identifier, long invalidationsBeforeLoad, DataSourceValues values,
+                         Column<?, C>[] columns, int[] indices) {
+        if (values.rowExists()) {
+            saveRow(identifier, invalidationsBeforeLoad, true, indices, getValues(values, columns));
+        } else {
+            saveRow(identifier, invalidationsBeforeLoad, false, indices, null);
+        }
+    }
+
+    private synchronized void saveRow(I identifier, long invalidationsBeforeLoad, boolean exists,
+                                      int[] indices, Object[] values) {
+        if (invalidationCount.get() != invalidationsBeforeLoad) {
+            return; // a write happened while the row was being loaded, so the loaded values may be outdated
+        }
+
+        final CachedRow cachedRow = cachedRows.get(identifier);
+        final CachedRow newRow;
+        if (!exists) {
+            newRow = CachedRow.nonExistent(currentTimeNanos());
+        } else if (cachedRow != null && cachedRow.exists) {
+            newRow = cachedRow.withValues(indices, values);
+        } else {
+            newRow = CachedRow.nonExistent(currentTimeNanos()).withValues(indices, values);
+        }
+        cachedRows.put(identifier, newRow);
+
+        final Iterator<CachedRow> it = cachedRows.values().iterator();
+        while (cachedRows.size() > maxSize) {
+            it.next();
+            it.remove();
+            evictionCount.increment();
+        }
+    }
+
+    private synchronized void invalidateNonExistentRows() {
+        invalidationCount.incrementAndGet();
+        cachedRows.values().removeIf(row -> !row.exists);
+    }
+
+    private int[] getColumnIndices(Column<?, C>[] columns) {
+        final int[] indices = new int[columns.length];
+        for (int i = 0; i < columns.length; ++i) {
+            indices[i] = getColumnIndex(columns[i]);
+        }
+        return indices;
+    }
+
+    private int getColumnIndex(Column<?, C> column) {
+        final Integer index = columnIndices.get(column);
+        if (index != null) {
+            return index;
+        }
+        synchronized (columnIndices) {
+            return columnIndices.computeIfAbsent(column, col -> nextColumnIndex++);
+        }
+    }
+
+    private static Object[] getValues(DataSourceValues values, Column<?, ?>[] columns) {
+        final Object[] result = new Object[columns.length];
+        for (int i = 0; i < columns.length; ++i) {
+            result[i] = values.get(columns[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Immutable cached row: the values of the columns that have been loaded, with a mask of which columns
+     * (by index assigned by the handler) have a value.
+     */
+    private static final class CachedRow {
+
+        private final boolean exists;
+        private final long loadedAtNanos;
+        private final BitSet presentColumns;
+        private final Object[] values;
+
+        private CachedRow(boolean exists, long loadedAtNanos, BitSet presentColumns, Object[] values) {
+            this.exists = exists;
+            this.loadedAtNanos = loadedAtNanos;
+            this.presentColumns = presentColumns;
+            this.values = values;
+        }
+
+        /**
+         * Creates an entry for a row that does not exist. Use {@link #withValues} to create an existing row.
+         *
+         * @param loadedAtNanos the time at which the row was loaded
+         * @return cached row for a non-existent row
+         */
+        static CachedRow nonExistent(long loadedAtNanos) {
+            return new CachedRow(false, loadedAtNanos, new BitSet(), new Object[0]);
+        }
+
+        boolean hasColumn(int index) {
+            return presentColumns.get(index);
+        }
+
+        /**
+         * Returns whether this row can provide values for all of the given columns. Always true for
+         * non-existent rows.
+         *
+         * @param indices indices of the columns to check
+         * @return true if the row can be served from the cache, false otherwise
+         */
+        boolean hasColumns(int[] indices) {
+            if (!exists) {
+                return true;
+            }
+            for (int index : indices) {
+                if (!presentColumns.get(index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Object getValue(int index) {
+            return values[index];
+        }
+
+        /**
+         * Returns an existing row with this row's values and the given values. The load time is kept so that
+         * the oldest value determines when the row expires.
+         *
+         * @param indices the indices of the columns to set
+         * @param newValues the values to set (same order as the indices)
+         * @return new row with the combined values
+         */
+        CachedRow withValues(int[] indices, Object[] newValues) {
+            int length = values.length;
+            for (int index : indices) {
+                length = Math.max(length, index + 1);
+            }
+            final Object[] mergedValues = Arrays.copyOf(values, length);
+            final BitSet mergedPresentColumns = (BitSet) presentColumns.clone();
+            for (int i = 0; i < indices.length; ++i) {
+                mergedValues[indices[i]] = newValues[i];
+                mergedPresentColumns.set(indices[i]);
+            }
+            return new CachedRow(true, loadedAtNanos, mergedPresentColumns, mergedValues);
+        }
+
+        DataSourceValues toValues(Column<?, ?>[] columns, int[] indices) {
+            if (!exists) {
+                return DataSourceValuesImpl.unknownRow();
+            }
+            final DataSourceValuesImpl result = new DataSourceValuesImpl();
+            for (int i = 0; i < columns.length; ++i) {
+                result.put(columns[i], values[indices[i]]);
+            }
+            return result;
+        }
+    }
+}
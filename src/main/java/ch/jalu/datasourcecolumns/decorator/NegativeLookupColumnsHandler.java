@@ -0,0 +1,272 @@
+package ch.jalu.datasourcecolumns.decorator;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnsHandler;
+import ch.jalu.datasourcecolumns.DependentColumn;
+import ch.jalu.datasourcecolumns.data.DataSourceValue;
+import ch.jalu.datasourcecolumns.data.DataSourceValueImpl;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.DataSourceValuesImpl;
+import ch.jalu.datasourcecolumns.data.UpdateValues;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Columns handler which remembers identifiers for which no row exists, so that repeated retrievals of them are
+ * answered without querying the data source. Unlike {@link CachingColumnsHandler}, no values are cached, which
+ * keeps the memory footprint per entry small and never serves outdated values of existing rows.
+ * <p>
+ * Entries are kept for the configured time and the least recently used entry is removed when the maximum size is
+ * exceeded. All entries are removed when a row is inserted or rows are updated by predicate with this handler,
+ * as these operations may create a row for any identifier. Updates by id are assumed not to change the identifier
+ * of a row. Rows created without this handler are only seen once the entry expires.
+ *
+ * @param <C> the context type
+ * @param <I> the identifier type
+ */
+@SuppressWarnings("unchecked")
+public class NegativeLookupColumnsHandler<C, I> implements ColumnsHandler<C, I> {
+
+    private final ColumnsHandler<C, I> handler;
+    private final int maxSize;
+    private final long expireAfterNanos;
+    /** Identifiers without row, with the time at which the row was found to be missing. */
+    private final LinkedHashMap<I, Long> missingIdentifiers = new LinkedHashMap<>(16, 0.75f, true);
+    /** Incremented on every invalidation, so that lookups concurrent to an insert are not remembered. */
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param handler the handler to perform the operations with
+     * @param maxSize the maximum number of identifiers to remember
+     * @param expireAfter the time after which an identifier is looked up in the data source again
+     * @param unit the time unit of the expiration time
+     */
+    public NegativeLookupColumnsHandler(ColumnsHandler<C, I> handler, int maxSize, long expireAfter, TimeUnit unit) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be positive, but got " + maxSize);
+        } else if (expireAfter <= 0) {
+            throw new IllegalArgumentException("Expiration time must be positive, but got " + expireAfter);
+        }
+        this.handler = handler;
+        this.maxSize = maxSize;
+        this.expireAfterNanos = unit.toNanos(expireAfter);
+    }
+
+    @Override
+    public <T> DataSourceValue<T> retrieve(I identifier, Column<T, C> column) throws Exception {
+        if (isKnownMissing(identifier)) {
+            return DataSourceValueImpl.unknownRow();
+        }
+        final long invalidationsBeforeLoad = invalidationCount.get();
+        final DataSourceValue<T> value = handler.retrieve(identifier, column);
+        if (!value.rowExists()) {
+            addMissingIdentifier(identifier, invalidationsBeforeLoad);
+        }
+        return value;
+    }
+
+    @Override
+    public DataSourceValues retrieve(I identifier, Column<?, C>... columns) throws Exception {
+        if (isKnownMissing(identifier)) {
+            return DataSourceValuesImpl.unknownRow();
+        }
+        final long invalidationsBeforeLoad = invalidationCount.get();
+        final DataSourceValues values = handler.retrieve(identifier, columns);
+        if (!values.rowExists()) {
+            addMissingIdentifier(identifier, invalidationsBeforeLoad);
+        }
+        return values;
+    }
+
+    @Override
+    public Map<I, DataSourceValues> retrieveAll(Collection<I> identifiers, Column<?, C>... columns) throws Exception {
+        final Map<I, DataSourceValues> valuesById = new LinkedHashMap<>();
+        final List<I> identifiersToLoad = new ArrayList<>();
+        for (I identifier : identifiers) {
+            if (!valuesById.containsKey(identifier)) {
+                if (isKnownMissing(identifier)) {
+                    valuesById.put(identifier, DataSourceValuesImpl.unknownRow());
+                } else {
+                    valuesById.put(identifier, null); // keeps the order of the identifiers
+                    identifiersToLoad.add(identifier);
+                }
+            }
+        }
+
+        if (!identifiersToLoad.isEmpty()) {
+            final long invalidationsBeforeLoad = invalidationCount.get();
+            final Map<I, DataSourceValues> loadedValues = handler.retrieveAll(identifiersToLoad, columns);
+            for (I identifier : identifiersToLoad) {
+                final DataSourceValues values = loadedValues.get(identifier);
+                if (!values.rowExists()) {
+                    addMissingIdentifier(identifier, invalidationsBeforeLoad);
+                }
+                valuesById.put(identifier, values);
+            }
+        }
+        return valuesById;
+    }
+
+    @Override
+    public <T> List<T> retrieve(Predicate<C> predicate, Column<T, C> column) throws Exception {
+        return handler.retrieve(predicate, column);
+    }
+
+    @Override
+    public List<DataSourceValues> retrieve(Predicate<C> predicate, Column<?, C>... columns) throws Exception {
+        return handler.retrieve(predicate, columns);
+    }
+
+    @Override
+    public <T> boolean update(I identifier, Column<T, C> column, T value) throws Exception {
+        return handler.update(identifier, column, value);
+    }
+
+    @Override
+    public boolean update(I identifier, UpdateValues<C> updateValues) throws Exception {
+        return handler.update(identifier, updateValues);
+    }
+
+    @Override
+    public <D> boolean update(I identifier, D dependent, DependentColumn<?, C, D>... columns) throws Exception {
+        return handler.update(identifier, dependent, columns);
+    }
+
+    @Override
+    public int updateAll(Map<I, UpdateValues<C>> valuesById) throws Exception {
+        return handler.updateAll(valuesById);
+    }
+
+    @Override
+    public <T> int update(Predicate<C> predicate, Column<T, C> column, T value) throws Exception {
+        try {
+            return handler.update(predicate, column, value);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public int update(Predicate<C> predicate, UpdateValues<C> updateValues) throws Exception {
+        try {
+            return handler.update(predicate, updateValues);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean insert(UpdateValues<C> updateValues) throws Exception {
+        try {
+            return handler.insert(updateValues);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public <D> boolean insert(D dependent, DependentColumn<?, C, D>... columns) throws Exception {
+        try {
+            return handler.insert(dependent, columns);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public int[] insertAll(Collection<UpdateValues<C>> rows) throws Exception {
+        try {
+            return handler.insertAll(rows);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public <D> int[] insertAll(Collection<D> dependents, DependentColumn<?, C, D>... columns) throws Exception {
+        try {
+            return handler.insertAll(dependents, columns);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public int count(Predicate<C> predicate) throws Exception {
+        return handler.count(predicate);
+    }
+
+    /**
+     * Forgets all identifiers that were found to have no row.
+     */
+    public synchronized void invalidateAll() {
+        invalidationCount.incrementAndGet();
+        missingIdentifiers.clear();
+    }
+
+    /**
+     * @return the number of remembered identifiers (including expired entries which have not been removed yet)
+     */
+    public synchronized int getSize() {
+        return missingIdentifiers.size();
+    }
+
+    /**
+     * @return the number of retrievals which were answered without querying the data source
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the wrapped handler
+     */
+    public ColumnsHandler<C, I> getHandler() {
+        return handler;
+    }
+
+    /**
+     * Returns the current time, used to determine whether an entry has expired.
+     *
+     * @return current time in nanoseconds, as defined by {@link System#nanoTime()}
+     */
+    protected long currentTimeNanos() {
+        return System.nanoTime();
+    }
+
+    private synchronized boolean isKnownMissing(I identifier) {
+        final Long missingSince = missingIdentifiers.get(identifier);
+        if (missingSince == null) {
+            return false;
+        } else if (currentTimeNanos() - missingSince >= expireAfterNanos) {
+            missingIdentifiers.remove(identifier);
+            return false;
+        }
+        hitCount.increment();
+        return true;
+    }
+
+    private synchronized void addMissingIdentifier(I identifier, long invalidationsBeforeLoad) {
+        if (invalidationCount.get() != invalidationsBeforeLoad) {
+            return; // a row may have been inserted while the identifier was being looked up
+        }
+        missingIdentifiers.put(identifier, currentTimeNanos());
+        final Iterator<Long> it = missingIdentifiers.values().iterator();
+        while (missingIdentifiers.size() > maxSize) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package ch.jalu.datasourcecolumns.decorator;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnsHandler;
+import ch.jalu.datasourcecolumns.DependentColumn;
+import ch.jalu.datasourcecolumns.data.DataSourceValue;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.UpdateValues;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Columns handler which defers updates by id and writes them to the wrapped handler in bulk. Updates of the
+ * same row are merged until they are written, the last value for each column winning, so that a frequently
+ * updated row results in one statement per flush.
+ * <p>
+ * Pending updates are written with {@link ColumnsHandler#updateAll} when {@link #flush()} is called, when the
+ * number of rows with pending updates reaches the configured maximum, periodically if {@link #scheduleFlush} has
+ * been called, and when this handler is closed. Before any other operation is delegated, the pending updates it
+ * could observe are flushed: retrieving a row by id flushes if the row has pending updates or is being written by
+ * another thread (waiting for that write to finish), and all other operations always flush first. Writes are
+ * therefore never reordered with respect to operations of this handler; only direct access to the data source may
+ * see outdated values.
+ * <p>
+ * Updates by id return {@code true} once they have been queued: whether the row exists is only known when the
+ * updates are written. If writing the pending rows in bulk fails, each row is written separately so that only the
+ * rows which cannot be written fail. Failed rows are queued again (values that were updated in the meantime take
+ * precedence) and the exception of the bulk write is rethrown. By default, failed rows are retried until they can be
+ * written; if a handler for discarded rows is given, rows whose write has failed the configured number of times are
+ * passed to it instead of being queued again, so that a row which cannot be written does not make all subsequent
+ * flushes fail.
+ *
+ * @param <C> the context type
+ * @param <I> the identifier type
+ */
+@SuppressWarnings("unchecked")
+public class WriteBehindColumnsHandler<C, I> implements ColumnsHandler<C, I>, AutoCloseable {
+
+    private final ColumnsHandler<C, I> handler;
+    private final int maxPendingRows;
+    private final int maxWriteAttempts;
+    private final Consumer<Map<I, UpdateValues<C>>> discardedRowsHandler;
+    private final Object pendingLock = new Object();
+    private final Object flushLock = new Object();
+    private Map<I, Map<Column<?, C>, Object>> pendingRows = new LinkedHashMap<>();
+    private Map<I, Map<Column<?, C>, Object>> inFlightRows = Collections.emptyMap();
+    private final Map<I, Integer> failedWriteCounts = new HashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Constructor. Rows whose write fails are retried with every flush until they can be written.
+     *
+     * @param handler the handler to write the updates with
+     * @param maxPendingRows number of rows with pending updates at which the updates are written
+     */
+    public WriteBehindColumnsHandler(ColumnsHandler<C, I> handler, int maxPendingRows) {
+        checkMaxPendingRows(maxPendingRows);
+        this.handler = handler;
+        this.maxPendingRows = maxPendingRows;
+        this.maxWriteAttempts = Integer.MAX_VALUE;
+        this.discardedRowsHandler = null;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param handler the handler to write the updates with
+     * @param maxPendingRows number of rows with pending updates at which the updates are written
+     * @param maxWriteAttempts number of failed writes of a row after which it is discarded
+     * @param discardedRowsHandler receives the updates of rows that are discarded, by id
+     */
+    public WriteBehindColumnsHandler(ColumnsHandler<C, I> handler, int maxPendingRows, int maxWriteAttempts,
+                                     Consumer<Map<I, UpdateValues<C>>> discardedRowsHandler) {
+        checkMaxPendingRows(maxPendingRows);
+        if (maxWriteAttempts < 1) {
+            throw new IllegalArgumentException("Max write attempts must be positive, but got " + maxWriteAttempts);
+        }
+        this.handler = handler;
+        this.maxPendingRows = maxPendingRows;
+        this.maxWriteAttempts = maxWriteAttempts;
+        this.discardedRowsHandler = Objects.requireNonNull(discardedRowsHandler, "discardedRowsHandler");
+    }
+
+    /**
+     * Periodically writes the pending updates with the given executor. Exceptions thrown by a scheduled flush are
+     * passed to the error handler; the rows which could not be written remain pending and are retried with the next
+     * flush, unless they have reached the maximum number of write attempts.
+     * The schedule is cancelled when this handler is closed.
+     *
+     * @param executor the executor to run the flushes on
+     * @param period the time between two flushes
+     * @param unit the time unit of the period
+     * @param errorHandler handles exceptions of scheduled flushes
+     */
+    public synchronized void scheduleFlush(ScheduledExecutorService executor, long period, TimeUnit unit,
+                                           Consumer<Exception> errorHandler) {
+        if (scheduledFlush != null) {
+            throw new IllegalStateException("A periodic flush has already been scheduled");
+        }
+        scheduledFlush = executor.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                errorHandler.accept(e);
+            }
+        }, period, period, unit);
+    }
+
+    @Override
+    public <T> DataSourceValue<T> retrieve(I identifier, Column<T, C> column) throws Exception {
+        flushIfPending(identifier);
+        return handler.retrieve(identifier, column);
+    }
+
+    @Override
+    public DataSourceValues retrieve(I identifier, Column<?, C>... columns) throws Exception {
+        flushIfPending(identifier);
+        return handler.retrieve(identifier, columns);
+    }
+
+    @Override
+    public Map<I, DataSourceValues> retrieveAll(Collection<I> identifiers, Column<?, C>... columns) throws Exception {
+        flush();
+        return handler.retrieveAll(identifiers, columns);
+    }
+
+    @Override
+    public <T> List<T> retrieve(Predicate<C> predicate, Column<T, C> column) throws Exception {
+        flush();
+        return handler.retrieve(predicate, column);
+    }
+
+    @Override
+    public List<DataSourceValues> retrieve(Predicate<C> predicate, Column<?, C>... columns) throws Exception {
+        flush();
+        return handler.retrieve(predicate, columns);
+    }
+
+    @Override
+    public <T> boolean update(I identifier, Column<T, C> column, T value) throws Exception {
+        final boolean isFull;
+        synchronized (pendingLock) {
+            getPendingRow(identifier).put(column, value);
+            isFull = pendingRows.size() >= maxPendingRows;
+        }
+        flushIf(isFull);
+        return true;
+    }
+
+    @Override
+    public boolean update(I identifier, UpdateValues<C> updateValues) throws Exception {
+        final boolean isFull;
+        synchronized (pendingLock) {
+            final Map<Column<?, C>, Object> pendingRow = getPendingRow(identifier);
+            for (Column<?, C> column : updateValues.getColumns()) {
+                pendingRow.put(column, updateValues.get(column));
+            }
+            isFull = pendingRows.size() >= maxPendingRows;
+        }
+        flushIf(isFull);
+        return true;
+    }
+
+    @Override
+    public <D> boolean update(I identifier, D dependent, DependentColumn<?, C, D>... columns) throws Exception {
+        final boolean isFull;
+        synchronized (pendingLock) {
+            final Map<Column<?, C>, Object> pendingRow = getPendingRow(identifier);
+            for (DependentColumn<?, C, D> column : columns) {
+                pendingRow.put(column, column.getValueFromDependent(dependent));
+            }
+            isFull = pendingRows.size() >= maxPendingRows;
+        }
+        flushIf(isFull);
+        return true;
+    }
+
+    @Override
+    public int updateAll(Map<I, UpdateValues<C>> valuesById) throws Exception {
+        flush();
+        return handler.updateAll(valuesById);
+    }
+
+    @Override
+    public <T> int update(Predicate<C> predicate, Column<T, C> column, T value) throws Exception {
+        flush();
+        return handler.update(predicate, column, value);
+    }
+
+    @Override
+    public int update(Predicate<C> predicate, UpdateValues<C> updateValues) throws Exception {
+        flush();
+        return handler.update(predicate, updateValues);
+    }
+
+    @Override
+    public boolean insert(UpdateValues<C> updateValues) throws Exception {
+        flush();
+        return handler.insert(updateValues);
+    }
+
+    @Override
+    public <D> boolean insert(D dependent, DependentColumn<?, C, D>... columns) throws Exception {
+        flush();
+        return handler.insert(dependent, columns);
+    }
+
+    @Override
+    public int[] insertAll(Collection<UpdateValues<C>> rows) throws Exception {
+        flush();
+        return handler.insertAll(rows);
+    }
+
+    @Override
+    public <D> int[] insertAll(Collection<D> dependents, DependentColumn<?, C, D>... columns) throws Exception {
+        flush();
+        return handler.insertAll(dependents, columns);
+    }
+
+    @Override
+    public int count(Predicate<C> predicate) throws Exception {
+        flush();
+        return handler.count(predicate);
+    }
+
+    /**
+     * Writes all pending updates to the wrapped handler with {@link ColumnsHandler#updateAll}. If the handler throws
+     * an exception, each row is written separately. The rows which still cannot be written are queued again and the
+     * exception of the bulk write is rethrown. Only these rows count as failed write attempts; rows which have
+     * reached the maximum number of attempts are passed to the handler for discarded rows instead of being queued.
+     *
+     * @return the number of updated rows
+     */
+    public int flush() throws Exception {
+        synchronized (flushLock) {
+            final Map<I, Map<Column<?, C>, Object>> rowsToWrite;
+            synchronized (pendingLock) {
+                if (pendingRows.isEmpty()) {
+                    return 0;
+                }
+                rowsToWrite = pendingRows;
+                pendingRows = new LinkedHashMap<>();
+                inFlightRows = rowsToWrite;
+            }
+
+            final Map<I, UpdateValues<C>> valuesById = new LinkedHashMap<>();
+            for (Map.Entry<I, Map<Column<?, C>, Object>> row : rowsToWrite.entrySet()) {
+                valuesById.put(row.getKey(), toUpdateValues(row.getValue()));
+            }
+            int updatedRows;
+            try {
+                updatedRows = handler.updateAll(valuesById);
+            } catch (Exception e) {
+                updatedRows = 0;
+                final Map<I, Map<Column<?, C>, Object>> failedRows = new LinkedHashMap<>();
+                for (Map.Entry<I, UpdateValues<C>> row : valuesById.entrySet()) {
+                    try {
+                        updatedRows += handler.update(row.getKey(), row.getValue()) ? 1 : 0;
+                    } catch (Exception rowException) {
+                        failedRows.put(row.getKey(), rowsToWrite.get(row.getKey()));
+                    }
+                }
+                if (!failedRows.isEmpty()) {
+                    final Map<I, UpdateValues<C>> discardedRows = requeue(rowsToWrite.keySet(), failedRows);
+                    if (!discardedRows.isEmpty()) {
+                        discardedRowsHandler.accept(discardedRows);
+                    }
+                    throw e;
+                }
+            }
+            synchronized (pendingLock) {
+                inFlightRows = Collections.emptyMap();
+                failedWriteCounts.keySet().removeAll(rowsToWrite.keySet());
+            }
+            return updatedRows;
+        }
+    }
+
+    /**
+     * @return the number of rows with updates that have not been written yet
+     */
+    public int getPendingRowCount() {
+        synchronized (pendingLock) {
+            return pendingRows.size();
+        }
+    }
+
+    /**
+     * @return the wrapped handler
+     */
+    public ColumnsHandler<C, I> getHandler() {
+        return handler;
+    }
+
+    /**
+     * Cancels the periodic flush, if scheduled, and writes all pending updates. The wrapped handler is not closed.
+     *
+     * @throws SQLException if the pending updates could not be written (other checked exceptions of the wrapped
+     *         handler are wrapped into a SQLException)
+     */
+    @Override
+    public void close() throws SQLException {
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+            }
+        }
+        try {
+            flush();
+        } catch (SQLException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new SQLException("Could not write the pending updates", e);
+        }
+    }
+
+    private Map<Column<?, C>, Object> getPendingRow(I identifier) {
+        return pendingRows.computeIfAbsent(identifier, id -> new LinkedHashMap<>());
+    }
+
+    private void flushIf(boolean condition) throws Exception {
+        if (condition) {
+            flush();
+        }
+    }
+
+    private void flushIfPending(I identifier) throws Exception {
+        final boolean hasPendingUpdates;
+        synchronized (pendingLock) {
+            hasPendingUpdates = pendingRows.containsKey(identifier) || inFlightRows.containsKey(identifier);
+        }
+        flushIf(hasPendingUpdates);
+    }
+
+    /**
+     * Queues rows whose write has failed again, keeping the values that have been set since the write was started.
+     * Rows which have reached the maximum number of write attempts are not queued again and are returned instead.
+     *
+     * @param writtenIds the ids of all rows the flush tried to write
+     * @param failedRows the rows that could not be written
+     * @return the update values of the rows which were discarded
+     */
+    private Map<I, UpdateValues<C>> requeue(Collection<I> writtenIds, Map<I, Map<Column<?, C>, Object>> failedRows) {
+        final Map<I, UpdateValues<C>> discardedRows = new LinkedHashMap<>();
+        synchronized (pendingLock) {
+            for (I identifier : writtenIds) {
+                if (!failedRows.containsKey(identifier)) {
+                    failedWriteCounts.remove(identifier);
+                }
+            }
+            final Map<I, Map<Column<?, C>, Object>> rowsToQueue = new LinkedHashMap<>();
+            for (Map.Entry<I, Map<Column<?, C>, Object>> failedRow : failedRows.entrySet()) {
+                final I identifier = failedRow.getKey();
+                if (discardedRowsHandler != null
+                    && failedWriteCounts.merge(identifier, 1, Integer::sum) >= maxWriteAttempts) {
+                    failedWriteCounts.remove(identifier);
+                    discardedRows.put(identifier, toUpdateValues(failedRow.getValue()));
+                } else {
+                    rowsToQueue.put(identifier, failedRow.getValue());
+                }
+            }
+            for (Map.Entry<I, Map<Column<?, C>, Object>> newerRow : pendingRows.entrySet()) {
+                rowsToQueue.merge(newerRow.getKey(), newerRow.getValue(), (failed, newer) -> {
+                    failed.putAll(newer);
+                    return failed;
+                });
+            }
+            pendingRows = rowsToQueue;
+            inFlightRows = Collections.emptyMap();
+        }
+        return discardedRows;
+    }
+
+    private static void checkMaxPendingRows(int maxPendingRows) {
+        if (maxPendingRows < 1) {
+            throw new IllegalArgumentException("Max pending rows must be positive, but got " + maxPendingRows);
+        }
+    }
+
+    private static <C> UpdateValues<C> toUpdateValues(Map<Column<?, C>, Object> values) {
+        final UpdateValues.Builder<C> builder = new UpdateValues.Builder<>();
+        for (Map.Entry<Column<?, C>, Object> entry : values.entrySet()) {
+            builder.and((Column<Object, C>) entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,442 @@
+package ch.jalu.datasourcecolumns.memoryimplementation;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnLayout;
+import ch.jalu.datasourcecolumns.ColumnsHandler;
+import ch.jalu.datasourcecolumns.DependentColumn;
+import ch.jalu.datasourcecolumns.data.DataSourceValue;
+import ch.jalu.datasourcecolumns.data.DataSourceValueImpl;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.DataSourceValuesImpl;
+import ch.jalu.datasourcecolumns.data.UpdateValues;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+import ch.jalu.datasourcecolumns.predicate.PredicateEvaluator;
+import ch.jalu.datasourcecolumns.predicate.RowMatcher;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Implementation of {@link ColumnsHandler} which keeps all rows in memory, e.g. to mirror a frequently used table
+ * or as a fast stand-in for a SQL data source in tests.
+ * <p>
+ * Rows are kept in a concurrent map by identifier and their values are stored by column name, like in a SQL table,
+ * so columns which resolve to the same name share their value. Each row is replaced as a whole when it is changed,
+ * so reads never see a partially updated row. Predicates are evaluated in Java with a {@link PredicateEvaluator}.
+ * The behavior follows {@link ch.jalu.datasourcecolumns.sqlimplementation.SqlColumnsHandler SqlColumnsHandler}:
+ * <ul>
+ *   <li>Unused columns ({@link Column#isColumnUsed}) are skipped in updates and inserts, are retrieved as null,
+ *       and predicates on them match all rows.</li>
+ *   <li>Null values of columns which {@link Column#useDefaultForNullValue use the default value} are replaced with
+ *       the column's {@link #setDefaultValue default value}. Columns not specified in an insert also get their
+ *       default value.</li>
+ *   <li>Comparisons with null never match, as in SQL. Values are compared with their natural order, numbers of
+ *       different types by their numeric value.</li>
+ * </ul>
+ * Identifiers are taken from the value of the id column when a row is inserted. They are matched with
+ * {@link Object#equals}, so the identifiers passed to this handler must have the same type as the inserted values.
+ * Like a primary key, the id must be unique and not null: inserts and updates violating this throw a
+ * {@link SQLIntegrityConstraintViolationException} without changing any rows.
+ *
+ * @param <C> the context type
+ * @param <I> the identifier type
+ */
+@SuppressWarnings("unchecked")
+public class InMemoryColumnsHandler<C, I> implements ColumnsHandler<C, I> {
+
+    private final ColumnLayout<C> columnLayout;
+    private final String idColumn;
+    private final ConcurrentMap<I, Map<String, Object>> rows = new ConcurrentHashMap<>();
+    private final Map<String, Object> defaultValues = new ConcurrentHashMap<>();
+    private final PredicateEvaluator<C> predicateEvaluator;
+
+    /**
+     * Constructor.
+     *
+     * @param context the context
+     * @param idColumn the name of the column holding the identifier of the rows
+     */
+    public InMemoryColumnsHandler(C context, String idColumn) {
+        this(ColumnLayout.live(context), idColumn);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columnLayout the column layout to get the columns' properties from
+     * @param idColumn the name of the column holding the identifier of the rows
+     */
+    public InMemoryColumnsHandler(ColumnLayout<C> columnLayout, String idColumn) {
+        this.columnLayout = columnLayout;
+        this.idColumn = idColumn;
+        this.predicateEvaluator = new PredicateEvaluator<>(columnLayout);
+    }
+
+    /**
+     * Sets the value that the given column has in new rows if no value is given, and which is used instead of
+     * null if the column {@link Column#useDefaultForNullValue uses the default value}. Corresponds to the
+     * {@code DEFAULT} of a column in a SQL table. The column's name is resolved when this method is called.
+     *
+     * @param column the column to set the default value for
+     * @param value the default value (null to remove the default value)
+     * @param <T> the column type
+     */
+    public <T> void setDefaultValue(Column<T, C> column, T value) {
+        final String name = columnLayout.getName(column);
+        if (value == null) {
+            defaultValues.remove(name);
+        } else {
+            defaultValues.put(name, value);
+        }
+    }
+
+    @Override
+    public <T> DataSourceValue<T> retrieve(I identifier, Column<T, C> column) {
+        final Map<String, Object> row = rows.get(identifier);
+        return row == null ? DataSourceValueImpl.unknownRow() : DataSourceValueImpl.of(getValue(row, column));
+    }
+
+    @Override
+    public DataSourceValues retrieve(I identifier, Column<?, C>... columns) {
+        final Map<String, Object> row = rows.get(identifier);
+        return row == null ? DataSourceValuesImpl.unknownRow() : toDataSourceValues(row, columns);
+    }
+
+    @Override
+    public Map<I, DataSourceValues> retrieveAll(Collection<I> identifiers, Column<?, C>... columns) {
+        final Map<I, DataSourceValues> valuesById = new LinkedHashMap<>();
+        for (I identifier : identifiers) {
+            if (!valuesById.containsKey(identifier)) {
+                valuesById.put(identifier, retrieve(identifier, columns));
+            }
+        }
+        return valuesById;
+    }
+
+    @Override
+    public <T> List<T> retrieve(Predicate<C> predicate, Column<T, C> column) {
+        final RowMatcher matcher = predicateEvaluator.compile(predicate);
+        final List<T> values = new ArrayList<>();
+        for (Map<String, Object> row : rows.values()) {
+            if (matches(matcher, row)) {
+                values.add(getValue(row, column));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public List<DataSourceValues> retrieve(Predicate<C> predicate, Column<?, C>... columns) {
+        final RowMatcher matcher = predicateEvaluator.compile(predicate);
+        final List<DataSourceValues> matchingEntries = new ArrayList<>();
+        for (Map<String, Object> row : rows.values()) {
+            if (matches(matcher, row)) {
+                matchingEntries.add(toDataSourceValues(row, columns));
+            }
+        }
+        return matchingEntries;
+    }
+
+    @Override
+    public <T> boolean update(I identifier, Column<T, C> column, T value) throws SQLException {
+        if (!columnLayout.isUsed(column)) {
+            return true;
+        }
+        return updateRow(identifier, null, collectValues(Collections.singletonList(column), c -> value));
+    }
+
+    @Override
+    public boolean update(I identifier, UpdateValues<C> updateValues) throws SQLException {
+        final Map<String, Object> newValues = collectValues(updateValues.getColumns(), updateValues::get);
+        return !newValues.isEmpty() && updateRow(identifier, null, newValues);
+    }
+
+    @Override
+    public <D> boolean update(I identifier, D dependent, DependentColumn<?, C, D>... columns) throws SQLException {
+        final Map<String, Object> newValues =
+            collectValues(Arrays.asList(columns), column -> column.getValueFromDependent(dependent));
+        return !newValues.isEmpty() && updateRow(identifier, null, newValues);
+    }
+
+    @Override
+    public int updateAll(Map<I, UpdateValues<C>> valuesById) throws SQLException {
+        int updatedRows = 0;
+        for (Map.Entry<I, UpdateValues<C>> entry : valuesById.entrySet()) {
+            if (update(entry.getKey(), entry.getValue())) {
+                ++updatedRows;
+            }
+        }
+        return updatedRows;
+    }
+
+    @Override
+    public <T> int update(Predicate<C> predicate, Column<T, C> column, T value) throws SQLException {
+        return update(predicate, UpdateValues.with(column, value).build());
+    }
+
+    @Override
+    public int update(Predicate<C> predicate, UpdateValues<C> updateValues) throws SQLException {
+        final Map<String, Object> newValues = collectValues(updateValues.getColumns(), updateValues::get);
+        if (newValues.isEmpty()) {
+            return 0;
+        }
+
+        final RowMatcher matcher = predicateEvaluator.compile(predicate);
+        final List<I> matchingIdentifiers = new ArrayList<>();
+        for (Map.Entry<I, Map<String, Object>> row : rows.entrySet()) {
+            if (matches(matcher, row.getValue())) {
+                matchingIdentifiers.add(row.getKey());
+            }
+        }
+        if (newValues.containsKey(idColumn)) {
+            validateIdChange(matchingIdentifiers, (I) newValues.get(idColumn));
+        }
+
+        int updatedRows = 0;
+        for (I identifier : matchingIdentifiers) {
+            if (updateRow(identifier, matcher, newValues)) {
+                ++updatedRows;
+            }
+        }
+        return updatedRows;
+    }
+
+    @Override
+    public boolean insert(UpdateValues<C> updateValues) throws SQLException {
+        insertRow(createRow(updateValues.getColumns(), updateValues::get));
+        return true;
+    }
+
+    @Override
+    public <D> boolean insert(D dependent, DependentColumn<?, C, D>... columns) throws SQLException {
+        insertRow(createRow(Arrays.asList(columns), column -> column.getValueFromDependent(dependent)));
+        return true;
+    }
+
+    @Override
+    public int[] insertAll(Collection<UpdateValues<C>> rowsToInsert) throws SQLException {
+        final List<Map<String, Object>> newRows = new ArrayList<>(rowsToInsert.size());
+        for (UpdateValues<C> row : rowsToInsert) {
+            newRows.add(createRow(row.getColumns(), row::get));
+        }
+        return insertRows(newRows);
+    }
+
+    @Override
+    public <D> int[] insertAll(Collection<D> dependents, DependentColumn<?, C, D>... columns) throws SQLException {
+        final List<DependentColumn<?, C, D>> columnList = Arrays.asList(columns);
+        final List<Map<String, Object>> newRows = new ArrayList<>(dependents.size());
+        for (D dependent : dependents) {
+            newRows.add(createRow(columnList, column -> column.getValueFromDependent(dependent)));
+        }
+        return insertRows(newRows);
+    }
+
+    @Override
+    public int count(Predicate<C> predicate) {
+        final RowMatcher matcher = predicateEvaluator.compile(predicate);
+        int count = 0;
+        for (Map<String, Object> row : rows.values()) {
+            if (matches(matcher, row)) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes all rows.
+     */
+    public void clear() {
+        rows.clear();
+    }
+
+    private boolean matches(RowMatcher matcher, Map<String, Object> row) {
+        return matcher.matches(new RowValues(row));
+    }
+
+    /**
+     * Replaces the row with the given id with a copy that has the new values. If the new values change the
+     * identifier, the row is moved to the new identifier.
+     *
+     * @param identifier the id of the row to update
+     * @param matcher the matcher the row must match to be updated, null to update the row in any case
+     * @param newValues the values to set by column name
+     * @return true if the row was updated, false if it does not exist or does not match the predicate
+     */
+    private boolean updateRow(I identifier, RowMatcher matcher, Map<String, Object> newValues) throws SQLException {
+        final I newIdentifier = newValues.containsKey(idColumn) ? (I) newValues.get(idColumn) : identifier;
+        if (Objects.equals(newIdentifier, identifier)) {
+            final boolean[] isUpdated = new boolean[1];
+            rows.computeIfPresent(identifier, (id, row) -> {
+                if (matcher != null && !matches(matcher, row)) {
+                    return row;
+                }
+                isUpdated[0] = true;
+                return withValues(row, newValues);
+            });
+            return isUpdated[0];
+        }
+        return moveRow(identifier, newIdentifier, matcher, newValues);
+    }
+
+    private boolean moveRow(I identifier, I newIdentifier, RowMatcher matcher,
+                            Map<String, Object> newValues) throws SQLException {
+        if (newIdentifier == null) {
+            throw new SQLIntegrityConstraintViolationException(
+                "The id column '" + idColumn + "' cannot be set to null");
+        }
+        while (true) {
+            final Map<String, Object> row = rows.get(identifier);
+            if (row == null || matcher != null && !matches(matcher, row)) {
+                return false;
+            }
+            final Map<String, Object> newRow = withValues(row, newValues);
+            if (rows.putIfAbsent(newIdentifier, newRow) != null) {
+                throw new SQLIntegrityConstraintViolationException("Cannot change id '" + identifier + "' to '"
+                    + newIdentifier + "': a row with this id already exists");
+            }
+            if (rows.remove(identifier, row)) {
+                return true;
+            }
+            // The row was changed in the meantime, so try again with its current values
+            rows.remove(newIdentifier, newRow);
+        }
+    }
+
+    /**
+     * Creates a new row with the given values, using the default value for all other columns.
+     *
+     * @param columns the columns to set
+     * @param valueGetter function returning the value of a column
+     * @param <E> the column type
+     * @return the new row
+     * @throws IllegalStateException if all columns are unused, like in the SQL implementation
+     */
+    private <E extends Column<?, C>> Map<String, Object> createRow(Collection<E> columns,
+                                                                   Function<E, Object> valueGetter) {
+        final Map<String, Object> values = collectValues(columns, valueGetter);
+        if (values.isEmpty()) {
+            throw new IllegalStateException("Cannot perform insert when all columns are empty: " + columns);
+        }
+        return withValues(defaultValues, values);
+    }
+
+    private int[] insertRows(List<Map<String, Object>> newRows) throws SQLException {
+        final int[] updateCounts = new int[newRows.size()];
+        for (int i = 0; i < updateCounts.length; ++i) {
+            insertRow(newRows.get(i));
+            updateCounts[i] = 1;
+        }
+        return updateCounts;
+    }
+
+    private void insertRow(Map<String, Object> row) throws SQLException {
+        final I identifier = (I) row.get(idColumn);
+        if (identifier == null) {
+            throw new SQLIntegrityConstraintViolationException(
+                "Cannot insert row without value for id column '" + idColumn + "'");
+        } else if (rows.putIfAbsent(identifier, row) != null) {
+            throw new SQLIntegrityConstraintViolationException(
+                "Cannot insert row: a row with id '" + identifier + "' already exists");
+        }
+    }
+
+    /**
+     * Checks that the rows with the given ids can all be given the new id, like a unique key in SQL: the
+     * new id may not be null and may only be set on one row, which cannot be another row than the one which has
+     * this id already.
+     *
+     * @param identifiers the ids of the rows to update
+     * @param newIdentifier the id to set
+     * @throws SQLIntegrityConstraintViolationException if the update would result in a null or duplicate id
+     */
+    private void validateIdChange(Collection<I> identifiers, I newIdentifier) throws SQLException {
+        if (identifiers.isEmpty()) {
+            return;
+        } else if (newIdentifier == null) {
+            throw new SQLIntegrityConstraintViolationException(
+                "The id column '" + idColumn + "' cannot be set to null");
+        } else if (identifiers.size() > 1
+            || !identifiers.contains(newIdentifier) && rows.containsKey(newIdentifier)) {
+            throw new SQLIntegrityConstraintViolationException("Cannot change id of " + identifiers.size()
+                + " row(s) to '" + newIdentifier + "': ids must be unique");
+        }
+    }
+
+    /**
+     * Returns the values to set by column name, skipping unused columns and replacing null values with the
+     * default value where applicable.
+     *
+     * @param columns the columns to process
+     * @param valueGetter function returning the value of a column
+     * @param <E> the column type
+     * @return the values by column name (empty if all columns are unused)
+     */
+    private <E extends Column<?, C>> Map<String, Object> collectValues(Collection<E> columns,
+                                                                       Function<E, Object> valueGetter) {
+        final Map<String, Object> values = new HashMap<>();
+        for (E column : columns) {
+            if (columnLayout.isUsed(column)) {
+                final String name = columnLayout.getName(column);
+                final Object value = valueGetter.apply(column);
+                values.put(name, value == null && columnLayout.useDefaultForNull(column)
+                    ? defaultValues.get(name)
+                    : value);
+            }
+        }
+        return values;
+    }
+
+    private <T> T getValue(Map<String, Object> row, Column<T, C> column) {
+        return columnLayout.isUsed(column) ? (T) row.get(columnLayout.getName(column)) : null;
+    }
+
+    private DataSourceValues toDataSourceValues(Map<String, Object> row, Column<?, C>... columns) {
+        final DataSourceValuesImpl values = new DataSourceValuesImpl();
+        for (Column<?, C> column : columns) {
+            values.put(column, getValue(row, column));
+        }
+        return values;
+    }
+
+    private static Map<String, Object> withValues(Map<String, Object> row, Map<String, Object> newValues) {
+        final Map<String, Object> newRow = new HashMap<>(row);
+        newRow.putAll(newValues);
+        return newRow;
+    }
+
+    /**
+     * Exposes a row as {@link DataSourceValues} to test it with a {@link RowMatcher}.
+     */
+    private final class RowValues implements DataSourceValues {
+
+        private final Map<String, Object> row;
+
+        RowValues(Map<String, Object> row) {
+            this.row = row;
+        }
+
+        @Override
+        public boolean rowExists() {
+            return true;
+        }
+
+        @Override
+        public <T> T get(Column<T, ?> column) {
+            return (T) row.get(columnLayout.getName((Column<?, C>) column));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ch.jalu.datasourcecolumns.predicate;
+
+/**
+ * Predicate that always evaluates to false.
+ *
+ * @param <C> the context type (not used here)
+ */
+public class AlwaysFalsePredicate<C> extends AbstractPredicate<C> {
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj != null && obj.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -7,4 +7,13 @@ package ch.jalu.datasourcecolumns.predicate;
  */
 public class AlwaysTruePredicate<C> extends AbstractPredicate<C> {
 
+    @Override
+    public boolean equals(Object obj) {
+        return obj != null && obj.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
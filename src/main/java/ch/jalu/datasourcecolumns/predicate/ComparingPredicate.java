@@ -2,6 +2,8 @@ package ch.jalu.datasourcecolumns.predicate;
 
 import ch.jalu.datasourcecolumns.Column;
 
+import java.util.Objects;
+
 /**
  * Predicate comparing a column with a given value.
  *
@@ -20,11 +22,11 @@ public class ComparingPredicate<T, C> extends AbstractPredicate<C> {
         this.type = type;
     }
 
-    public Column<?, C> getColumn() {
+    public Column<T, C> getColumn() {
         return column;
     }
 
-    public Object getValue() {
+    public T getValue() {
         return value;
     }
 
@@ -32,6 +34,24 @@ public class ComparingPredicate<T, C> extends AbstractPredicate<C> {
         return type;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        ComparingPredicate<?, ?> other = (ComparingPredicate<?, ?>) obj;
+        return Objects.equals(column, other.column)
+            && Objects.equals(value, other.value)
+            && type == other.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), column, value, type);
+    }
+
     /** The comparison type. */
     public enum Type {
         LESS,
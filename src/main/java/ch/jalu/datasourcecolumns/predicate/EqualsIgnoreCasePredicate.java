@@ -2,6 +2,8 @@ package ch.jalu.datasourcecolumns.predicate;
 
 import ch.jalu.datasourcecolumns.Column;
 
+import java.util.Objects;
+
 /**
  * Predicate for a case-insensitive equals check.
  * <p>
@@ -46,4 +48,22 @@ public class EqualsIgnoreCasePredicate<C> extends AbstractPredicate<C> {
     public boolean isNegated() {
         return isNegated;
     }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        EqualsIgnoreCasePredicate<?> other = (EqualsIgnoreCasePredicate<?>) obj;
+        return Objects.equals(column, other.column)
+            && Objects.equals(value, other.value)
+            && isNegated == other.isNegated;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), column, value, isNegated);
+    }
 }
@@ -0,0 +1,60 @@
+package ch.jalu.datasourcecolumns.predicate;
+
+import ch.jalu.datasourcecolumns.Column;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Predicate matching if a column's value is one of the given values ({@code IN}), or if it is none of them
+ * ({@code NOT IN}) if negated. As in SQL, rows where the column is null never match, and a negated predicate
+ * whose values contain null never matches.
+ *
+ * @param <T> the column's value type
+ * @param <C> the context type
+ */
+public class InPredicate<T, C> extends AbstractPredicate<C> {
+
+    private final Column<T, C> column;
+    private final List<T> values;
+    private final boolean isNegated;
+
+    public InPredicate(Column<T, C> column, Collection<? extends T> values, boolean isNegated) {
+        this.column = column;
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+        this.isNegated = isNegated;
+    }
+
+    public Column<T, C> getColumn() {
+        return column;
+    }
+
+    public List<T> getValues() {
+        return values;
+    }
+
+    public boolean isNegated() {
+        return isNegated;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        InPredicate<?, ?> other = (InPredicate<?, ?>) obj;
+        return Objects.equals(column, other.column)
+            && Objects.equals(values, other.values)
+            && isNegated == other.isNegated;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), column, values, isNegated);
+    }
+}
@@ -2,6 +2,8 @@ package ch.jalu.datasourcecolumns.predicate;
 
 import ch.jalu.datasourcecolumns.Column;
 
+import java.util.Objects;
+
 /**
  * Predicate matching if a column is not null.
  *
@@ -18,4 +20,20 @@ public class IsNotNullPredicate<C> extends AbstractPredicate<C> {
     public Column<?, C> getColumn() {
         return column;
     }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        IsNotNullPredicate<?> other = (IsNotNullPredicate<?>) obj;
+        return Objects.equals(column, other.column);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), column);
+    }
 }
@@ -0,0 +1,136 @@
+package ch.jalu.datasourcecolumns.predicate;
+
+import ch.jalu.datasourcecolumns.Column;
+
+import java.util.Objects;
+
+/**
+ * Predicate matching string values against a pattern of SQL's {@code LIKE}: {@code %} matches any sequence of
+ * characters and {@code _} matches any single character. To match these characters literally, they must be preceded
+ * by the {@link #ESCAPE_CHARACTER escape character}; use {@link #escape} to escape a literal text.
+ * <p>
+ * A pattern which is a literal text followed by a single {@code %} is a <i>prefix</i> pattern. If enabled, the
+ * {@link ch.jalu.datasourcecolumns.sqlimplementation.PredicateSqlGenerator PredicateSqlGenerator} rewrites it to a
+ * range condition so that an index on the column can be used. This is only correct for columns with a binary
+ * collation: the range matches case-sensitively, whereas the case sensitivity of {@code LIKE} depends on the database
+ * engine (e.g. it is case-insensitive in SQLite and MySQL by default). Rows whose value is null never match, also if
+ * the predicate is negated ({@code NOT LIKE}).
+ *
+ * @param <C> the context type
+ */
+public class LikePredicate<C> extends AbstractPredicate<C> {
+
+    /** Character escaping {@code %}, {@code _} and itself in patterns. */
+    public static final char ESCAPE_CHARACTER = '!';
+
+    private final Column<String, C> column;
+    private final String pattern;
+    private final String prefix;
+    private final boolean isNegated;
+
+    /**
+     * Constructor.
+     *
+     * @param column the column
+     * @param pattern the pattern (see class JavaDoc)
+     * @throws IllegalArgumentException if the pattern ends with an unescaped escape character
+     */
+    public LikePredicate(Column<String, C> column, String pattern) {
+        this(column, pattern, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param column the column
+     * @param pattern the pattern (see class JavaDoc)
+     * @param isNegated true to match values which do not match the pattern ({@code NOT LIKE})
+     * @throws IllegalArgumentException if the pattern ends with an unescaped escape character
+     */
+    public LikePredicate(Column<String, C> column, String pattern, boolean isNegated) {
+        this.column = column;
+        this.pattern = pattern;
+        this.prefix = pattern == null ? null : extractPrefix(pattern);
+        this.isNegated = isNegated;
+    }
+
+    /**
+     * Escapes the given text so that all of its characters are matched literally.
+     *
+     * @param text the text to escape
+     * @return the text to use in a pattern
+     */
+    public static String escape(String text) {
+        final StringBuilder sb = new StringBuilder(text.length() + 4);
+        for (int i = 0; i < text.length(); ++i) {
+            final char chr = text.charAt(i);
+            if (chr == '%' || chr == '_' || chr == ESCAPE_CHARACTER) {
+                sb.append(ESCAPE_CHARACTER);
+            }
+            sb.append(chr);
+        }
+        return sb.toString();
+    }
+
+    public Column<String, C> getColumn() {
+        return column;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the literal (unescaped) prefix if the pattern is a prefix pattern, i.e. a literal text followed by
+     * {@code %}. Returns null for all other patterns.
+     *
+     * @return the prefix of a prefix pattern, otherwise null
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public boolean isNegated() {
+        return isNegated;
+    }
+
+    private static String extractPrefix(String pattern) {
+        final StringBuilder literal = new StringBuilder(pattern.length());
+        boolean isPrefixPattern = false;
+        boolean hasOtherWildcard = false;
+        for (int i = 0; i < pattern.length(); ++i) {
+            final char chr = pattern.charAt(i);
+            if (chr == ESCAPE_CHARACTER) {
+                if (i + 1 == pattern.length()) {
+                    throw new IllegalArgumentException("Pattern '" + pattern + "' ends with escape character");
+                }
+                literal.append(pattern.charAt(++i));
+            } else if (chr == '%' && i + 1 == pattern.length()) {
+                isPrefixPattern = true;
+            } else if (chr == '%' || chr == '_') {
+                hasOtherWildcard = true;
+            } else {
+                literal.append(chr);
+            }
+        }
+        return isPrefixPattern && !hasOtherWildcard ? literal.toString() : null;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        LikePredicate<?> other = (LikePredicate<?>) obj;
+        return Objects.equals(column, other.column)
+            && Objects.equals(pattern, other.pattern)
+            && isNegated == other.isNegated;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), column, pattern, isNegated);
+    }
+}
@@ -0,0 +1,41 @@
+package ch.jalu.datasourcecolumns.predicate;
+
+import java.util.Objects;
+
+/**
+ * Predicate negating another predicate.
+ * <p>
+ * {@link PredicateNormalizer} pushes negations down to the leaves of the predicate tree, e.g. {@code NOT (a = 1)}
+ * becomes {@code a <> 1} and {@code NOT (x AND y)} becomes {@code NOT x OR NOT y}. As in SQL, negating a comparison
+ * with null does not make it match: rows whose column is null match neither {@code a = 1} nor its negation.
+ * Predicates on unused columns are ignored (always true) regardless of negation.
+ *
+ * @param <C> the context type
+ */
+public class NotPredicate<C> extends AbstractPredicate<C> {
+
+    private final Predicate<C> predicate;
+
+    public NotPredicate(Predicate<C> predicate) {
+        this.predicate = predicate;
+    }
+
+    public Predicate<C> getPredicate() {
+        return predicate;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        return Objects.equals(predicate, ((NotPredicate<?>) obj).predicate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), predicate);
+    }
+}
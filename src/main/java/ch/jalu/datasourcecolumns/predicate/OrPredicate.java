@@ -1,5 +1,7 @@
 package ch.jalu.datasourcecolumns.predicate;
 
+import java.util.Objects;
+
 /**
  * Predicate combining two predicates as a boolean {@code OR}.
  *
@@ -22,4 +24,21 @@ public class OrPredicate<C> extends AbstractPredicate<C> {
     public Predicate<C> getRight() {
         return right;
     }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        OrPredicate<?> other = (OrPredicate<?>) obj;
+        return Objects.equals(left, other.left)
+            && Objects.equals(right, other.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), left, right);
+    }
 }
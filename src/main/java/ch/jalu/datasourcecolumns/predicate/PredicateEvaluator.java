@@ -0,0 +1,370 @@
+package ch.jalu.datasourcecolumns.predicate;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnLayout;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates {@link Predicate} instances in Java, e.g. to filter rows that are held in memory without querying
+ * the data source.
+ * <p>
+ * A predicate is {@link #compile compiled} once into a {@link RowMatcher}, which resolves everything that does not
+ * depend on the row (column usage, comparison operator, type of the required value) so that testing a row only
+ * reads and compares values. {@code AND} and {@code OR} are short-circuited, and branches that are always true
+ * or always false are folded away.
+ * <p>
+ * The results are the same as those of the SQL created by
+ * {@link ch.jalu.datasourcecolumns.sqlimplementation.PredicateSqlGenerator PredicateSqlGenerator}:
+ * <ul>
+ *   <li>Predicates on unused columns ({@link Column#isColumnUsed}) match all rows. Column usage is resolved when
+ *       the predicate is compiled.</li>
+ *   <li>Comparisons involving null, including {@code <>} and case-insensitive (in)equality, never match. As
+ *       {@link NotPredicate negations} are pushed down to the leaves by the {@link PredicateNormalizer}, a comparison
+ *       which would be <i>unknown</i> in SQL can be treated as false. Likewise, {@code NOT IN} with a null value
+ *       never matches.</li>
+ *   <li>Values are compared by their natural order; numbers of different types are compared by their numeric
+ *       value. Strings are compared case-sensitively, which may differ from the collation of a database.</li>
+ * </ul>
+ *
+ * @param <C> the context type
+ */
+@SuppressWarnings("unchecked")
+public class PredicateEvaluator<C> {
+
+    private static final RowMatcher ALWAYS_TRUE = row -> true;
+    private static final RowMatcher ALWAYS_FALSE = row -> false;
+
+    private final ColumnLayout<C> columnLayout;
+    private final PredicateNormalizer<C> normalizer;
+
+    /**
+     * Constructor.
+     *
+     * @param context the context
+     */
+    public PredicateEvaluator(C context) {
+        this(ColumnLayout.live(context));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columnLayout the column layout to get the columns' properties from
+     */
+    public PredicateEvaluator(ColumnLayout<C> columnLayout) {
+        this.columnLayout = columnLayout;
+        this.normalizer = new PredicateNormalizer<>(columnLayout);
+    }
+
+    /**
+     * Creates a matcher which tests rows against the given predicate.
+     *
+     * @param predicate the predicate to compile
+     * @return matcher for the predicate
+     */
+    public RowMatcher compile(Predicate<C> predicate) {
+        final Class<?> clazz = predicate.getClass();
+        if (clazz == ComparingPredicate.class) {
+            return compileComparingPredicate((ComparingPredicate<?, C>) predicate);
+        } else if (clazz == EqualsIgnoreCasePredicate.class) {
+            return compileEqualsIgnoreCasePredicate((EqualsIgnoreCasePredicate<C>) predicate);
+        } else if (clazz == InPredicate.class) {
+            return compileInPredicate((InPredicate<?, C>) predicate);
+        } else if (clazz == RangePredicate.class) {
+            return compileRangePredicate((RangePredicate<?, C>) predicate);
+        } else if (clazz == LikePredicate.class) {
+            return compileLikePredicate((LikePredicate<C>) predicate);
+        } else if (clazz == OrPredicate.class) {
+            OrPredicate<C> or = (OrPredicate<C>) predicate;
+            return compileOr(compile(or.getLeft()), compile(or.getRight()));
+        } else if (clazz == AndPredicate.class) {
+            AndPredicate<C> and = (AndPredicate<C>) predicate;
+            return compileAnd(compile(and.getLeft()), compile(and.getRight()));
+        } else if (clazz == IsNullPredicate.class) {
+            return compileIsNullPredicate(false, ((IsNullPredicate<C>) predicate).getColumn());
+        } else if (clazz == IsNotNullPredicate.class) {
+            return compileIsNullPredicate(true, ((IsNotNullPredicate<C>) predicate).getColumn());
+        } else if (clazz == NotPredicate.class) {
+            final Predicate<C> negated = normalizer.negate(((NotPredicate<C>) predicate).getPredicate());
+            if (negated.getClass() != NotPredicate.class) {
+                return compile(negated);
+            }
+        } else if (clazz == AlwaysTruePredicate.class) {
+            return ALWAYS_TRUE;
+        } else if (clazz == AlwaysFalsePredicate.class) {
+            return ALWAYS_FALSE;
+        }
+        throw new IllegalStateException("Unhandled predicate '" + predicate + "'");
+    }
+
+    /**
+     * Returns whether the given row matches the predicate. Prefer {@link #compile compiling} the predicate if it is
+     * used to test multiple rows.
+     *
+     * @param predicate the predicate to evaluate
+     * @param row the row to test
+     * @return true if the row matches, false otherwise
+     */
+    public boolean matches(Predicate<C> predicate, DataSourceValues row) {
+        return compile(predicate).matches(row);
+    }
+
+    /**
+     * @return the column layout to get the columns' properties from
+     */
+    protected ColumnLayout<C> getColumnLayout() {
+        return columnLayout;
+    }
+
+    protected RowMatcher compileComparingPredicate(ComparingPredicate<?, C> predicate) {
+        final Column<?, C> column = predicate.getColumn();
+        final Object requiredValue = predicate.getValue();
+        if (!columnLayout.isUsed(column)) {
+            return ALWAYS_TRUE;
+        } else if (requiredValue == null) {
+            return ALWAYS_FALSE;
+        }
+
+        final IntPredicate comparisonCheck = createComparisonCheck(predicate.getType());
+        return row -> {
+            final Object value = row.get(column);
+            return value != null && comparisonCheck.test(compareValues(value, requiredValue));
+        };
+    }
+
+    protected RowMatcher compileEqualsIgnoreCasePredicate(EqualsIgnoreCasePredicate<C> predicate) {
+        final Column<String, C> column = predicate.getColumn();
+        final String requiredValue = predicate.getValue();
+        if (!columnLayout.isUsed(column)) {
+            return ALWAYS_TRUE;
+        } else if (requiredValue == null) {
+            return ALWAYS_FALSE;
+        }
+
+        final boolean isNegated = predicate.isNegated();
+        return row -> {
+            final String value = row.get(column);
+            return value != null && value.equalsIgnoreCase(requiredValue) != isNegated;
+        };
+    }
+
+    protected RowMatcher compileInPredicate(InPredicate<?, C> predicate) {
+        final Column<?, C> column = predicate.getColumn();
+        final List<?> values = predicate.getValues();
+        if (!columnLayout.isUsed(column)) {
+            return ALWAYS_TRUE;
+        } else if (values.isEmpty()) {
+            return predicate.isNegated() ? ALWAYS_TRUE : ALWAYS_FALSE;
+        } else if (predicate.isNegated() && values.contains(null)) {
+            return ALWAYS_FALSE;
+        }
+
+        final Set<Object> valueSet = new HashSet<>(values.size());
+        for (Object value : values) {
+            if (value != null) {
+                valueSet.add(toLookupKey(value));
+            }
+        }
+        final boolean isNegated = predicate.isNegated();
+        return row -> {
+            final Object value = row.get(column);
+            return value != null && containsValue(valueSet, value) != isNegated;
+        };
+    }
+
+    protected RowMatcher compileRangePredicate(RangePredicate<?, C> predicate) {
+        final Column<?, C> column = predicate.getColumn();
+        final Object lowerBound = predicate.getLowerBound();
+        final Object upperBound = predicate.getUpperBound();
+        if (!columnLayout.isUsed(column)) {
+            return ALWAYS_TRUE;
+        } else if (lowerBound == null || upperBound == null) {
+            return ALWAYS_FALSE;
+        }
+
+        final boolean isUpperBoundInclusive = predicate.isUpperBoundInclusive();
+        return row -> {
+            final Object value = row.get(column);
+            if (value == null || compareValues(value, lowerBound) < 0) {
+                return false;
+            }
+            final int upperComparison = compareValues(value, upperBound);
+            return upperComparison < 0 || isUpperBoundInclusive && upperComparison == 0;
+        };
+    }
+
+    protected RowMatcher compileLikePredicate(LikePredicate<C> predicate) {
+        final Column<String, C> column = predicate.getColumn();
+        if (!columnLayout.isUsed(column)) {
+            return ALWAYS_TRUE;
+        } else if (predicate.getPattern() == null) {
+            return ALWAYS_FALSE;
+        }
+
+        final String prefix = predicate.getPrefix();
+        final boolean isNegated = predicate.isNegated();
+        if (prefix != null) {
+            return row -> {
+                final String value = row.get(column);
+                return value != null && value.startsWith(prefix) != isNegated;
+            };
+        }
+        final Pattern regex = convertLikePatternToRegex(predicate.getPattern());
+        return row -> {
+            final String value = row.get(column);
+            return value != null && regex.matcher(value).matches() != isNegated;
+        };
+    }
+
+    protected RowMatcher compileIsNullPredicate(boolean isNegated, Column<?, C> column) {
+        if (!columnLayout.isUsed(column)) {
+            return ALWAYS_TRUE;
+        }
+        return isNegated
+            ? row -> row.get(column) != null
+            : row -> row.get(column) == null;
+    }
+
+    protected RowMatcher compileAnd(RowMatcher left, RowMatcher right) {
+        if (left == ALWAYS_FALSE || right == ALWAYS_FALSE) {
+            return ALWAYS_FALSE;
+        } else if (left == ALWAYS_TRUE) {
+            return right;
+        } else if (right == ALWAYS_TRUE) {
+            return left;
+        }
+        return row -> left.matches(row) && right.matches(row);
+    }
+
+    protected RowMatcher compileOr(RowMatcher left, RowMatcher right) {
+        if (left == ALWAYS_TRUE || right == ALWAYS_TRUE) {
+            return ALWAYS_TRUE;
+        } else if (left == ALWAYS_FALSE) {
+            return right;
+        } else if (right == ALWAYS_FALSE) {
+            return left;
+        }
+        return row -> left.matches(row) || right.matches(row);
+    }
+
+    /**
+     * Compares two non-null values. Numbers of different types are compared by their numeric value; all other
+     * values must be comparable with each other.
+     *
+     * @param value the value of the row
+     * @param requiredValue the value to compare with
+     * @return negative number, zero or positive number as the value is less than, equal to or greater than the
+     *         required value
+     */
+    protected int compareValues(Object value, Object requiredValue) {
+        if (value.getClass() != requiredValue.getClass()
+            && value instanceof Number && requiredValue instanceof Number) {
+            return compareNumbers((Number) value, (Number) requiredValue);
+        }
+        return ((Comparable<Object>) value).compareTo(requiredValue);
+    }
+
+    /**
+     * Returns whether the given set contains a value equal to the given one, as determined by
+     * {@link #compareValues}.
+     *
+     * @param values the lookup keys to search in, as created by {@link #toLookupKey}
+     * @param value the value to search for
+     * @return true if the value is contained, false otherwise
+     */
+    protected boolean containsValue(Set<Object> values, Object value) {
+        return values.contains(toLookupKey(value));
+    }
+
+    /**
+     * Returns the key with which the given value is looked up in a set of values. Numbers are converted to a
+     * canonical form so that numbers of different types with the same numeric value have equal keys; all other
+     * values are returned as is.
+     *
+     * @param value the value to convert (not null)
+     * @return the lookup key
+     */
+    protected Object toLookupKey(Object value) {
+        if (!(value instanceof Number)) {
+            return value;
+        } else if (isIntegral((Number) value)) {
+            return ((Number) value).longValue();
+        } else if (value instanceof Double || value instanceof Float) {
+            final double doubleValue = ((Number) value).doubleValue();
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                return doubleValue;
+            }
+            return toLookupKey(new BigDecimal(Double.toString(doubleValue)));
+        }
+
+        final BigDecimal decimal = value instanceof BigDecimal
+            ? (BigDecimal) value
+            : new BigDecimal(value.toString());
+        if (decimal.signum() == 0) {
+            return 0L;
+        }
+        final BigDecimal stripped = decimal.stripTrailingZeros();
+        if (stripped.scale() <= 0 && stripped.precision() - stripped.scale() <= 18) {
+            return stripped.longValueExact();
+        }
+        return stripped;
+    }
+
+    private static Pattern convertLikePatternToRegex(String likePattern) {
+        final StringBuilder regex = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < likePattern.length(); ++i) {
+            final char chr = likePattern.charAt(i);
+            if (chr == LikePredicate.ESCAPE_CHARACTER) {
+                literal.append(likePattern.charAt(++i));
+            } else if (chr == '%' || chr == '_') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(chr == '%' ? ".*" : ".");
+            } else {
+                literal.append(chr);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static int compareNumbers(Number value, Number requiredValue) {
+        if (isIntegral(value) && isIntegral(requiredValue)) {
+            return Long.compare(value.longValue(), requiredValue.longValue());
+        } else if (value instanceof Double || value instanceof Float
+            || requiredValue instanceof Double || requiredValue instanceof Float) {
+            return Double.compare(value.doubleValue(), requiredValue.doubleValue());
+        }
+        return new BigDecimal(value.toString()).compareTo(new BigDecimal(requiredValue.toString()));
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long
+            || number instanceof Short || number instanceof Byte;
+    }
+
+    private static IntPredicate createComparisonCheck(ComparingPredicate.Type type) {
+        switch (type) {
+            case LESS:           return comparison -> comparison < 0;
+            case LESS_EQUALS:    return comparison -> comparison <= 0;
+            case EQUALS:         return comparison -> comparison == 0;
+            case NOT_EQUALS:     return comparison -> comparison != 0;
+            case GREATER:        return comparison -> comparison > 0;
+            case GREATER_EQUALS: return comparison -> comparison >= 0;
+            default:
+                throw new IllegalStateException("Unknown comparing predicate type '" + type + "'");
+        }
+    }
+}
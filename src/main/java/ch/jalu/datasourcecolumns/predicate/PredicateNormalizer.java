@@ -0,0 +1,263 @@
+package ch.jalu.datasourcecolumns.predicate;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnLayout;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Rewrites predicates into an equivalent, simpler form before they are converted to SQL or evaluated:
+ * <ul>
+ *   <li>{@link NotPredicate Negations} are pushed down to the leaves, e.g. {@code NOT (a = 1 AND b IS NULL)}
+ *       becomes {@code a <> 1 OR b IS NOT NULL}. Only predicates which cannot be negated (custom predicates)
+ *       remain wrapped in a {@link NotPredicate}.</li>
+ *   <li>Leaves which are always true or always false are replaced by {@link AlwaysTruePredicate} and
+ *       {@link AlwaysFalsePredicate}: predicates on unused columns are always true; comparisons with null and
+ *       {@code IN} without any values never match.</li>
+ *   <li>Nested {@code AND} and {@code OR} predicates are flattened, duplicate operands are removed and constant
+ *       operands are folded, e.g. {@code TRUE AND (x OR FALSE OR x)} becomes {@code x}.</li>
+ * </ul>
+ * Combined predicates are rebuilt as left-deep chains, so predicates which only differ in nesting, duplicates or
+ * operands on unused columns result in the same predicate.
+ * <p>
+ * Replacing comparisons with null by false is only valid because the negations have been pushed down: in SQL, such
+ * comparisons are <i>unknown</i>, which behaves like false as long as it is not negated.
+ *
+ * @param <C> the context type
+ */
+public class PredicateNormalizer<C> {
+
+    private final ColumnLayout<C> columnLayout;
+
+    /**
+     * Constructor.
+     *
+     * @param context the context
+     */
+    public PredicateNormalizer(C context) {
+        this(ColumnLayout.live(context));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columnLayout the column layout to get the columns' properties from
+     */
+    public PredicateNormalizer(ColumnLayout<C> columnLayout) {
+        this.columnLayout = columnLayout;
+    }
+
+    /**
+     * Returns the normalized form of the given predicate (see class JavaDoc).
+     *
+     * @param predicate the predicate to normalize
+     * @return the normalized predicate
+     */
+    public Predicate<C> normalize(Predicate<C> predicate) {
+        final Class<?> clazz = predicate.getClass();
+        if (clazz == AndPredicate.class || clazz == OrPredicate.class) {
+            return normalizeCombination(predicate, clazz == AndPredicate.class);
+        } else if (clazz == NotPredicate.class) {
+            final Predicate<C> innerPredicate = ((NotPredicate<C>) predicate).getPredicate();
+            final Predicate<C> negated = negate(innerPredicate);
+            return negated.getClass() == NotPredicate.class
+                ? new NotPredicate<>(normalize(innerPredicate))
+                : normalize(negated);
+        }
+        return normalizeLeaf(predicate);
+    }
+
+    /**
+     * Returns the negation of the given predicate, with the negation pushed down to its leaves. Predicates which
+     * cannot be negated are wrapped in a {@link NotPredicate}. The result is not normalized otherwise.
+     *
+     * @param predicate the predicate to negate
+     * @return the negated predicate
+     */
+    public Predicate<C> negate(Predicate<C> predicate) {
+        final Class<?> clazz = predicate.getClass();
+        if (clazz == ComparingPredicate.class) {
+            return negateComparingPredicate((ComparingPredicate<?, C>) predicate);
+        } else if (clazz == EqualsIgnoreCasePredicate.class) {
+            EqualsIgnoreCasePredicate<C> equalsIgnoreCase = (EqualsIgnoreCasePredicate<C>) predicate;
+            return new EqualsIgnoreCasePredicate<>(equalsIgnoreCase.getColumn(), equalsIgnoreCase.getValue(),
+                !equalsIgnoreCase.isNegated());
+        } else if (clazz == InPredicate.class) {
+            return negateInPredicate((InPredicate<?, C>) predicate);
+        } else if (clazz == RangePredicate.class) {
+            return negateRangePredicate((RangePredicate<?, C>) predicate);
+        } else if (clazz == LikePredicate.class) {
+            LikePredicate<C> like = (LikePredicate<C>) predicate;
+            return new LikePredicate<>(like.getColumn(), like.getPattern(), !like.isNegated());
+        } else if (clazz == IsNullPredicate.class) {
+            return new IsNotNullPredicate<>(((IsNullPredicate<C>) predicate).getColumn());
+        } else if (clazz == IsNotNullPredicate.class) {
+            return new IsNullPredicate<>(((IsNotNullPredicate<C>) predicate).getColumn());
+        } else if (clazz == AndPredicate.class) {
+            AndPredicate<C> and = (AndPredicate<C>) predicate;
+            return new OrPredicate<>(negate(and.getLeft()), negate(and.getRight()));
+        } else if (clazz == OrPredicate.class) {
+            OrPredicate<C> or = (OrPredicate<C>) predicate;
+            return new AndPredicate<>(negate(or.getLeft()), negate(or.getRight()));
+        } else if (clazz == NotPredicate.class) {
+            return ((NotPredicate<C>) predicate).getPredicate();
+        } else if (clazz == AlwaysTruePredicate.class) {
+            return new AlwaysFalsePredicate<>();
+        } else if (clazz == AlwaysFalsePredicate.class) {
+            return new AlwaysTruePredicate<>();
+        }
+        return new NotPredicate<>(predicate);
+    }
+
+    /**
+     * @return the column layout to get the columns' properties from
+     */
+    protected ColumnLayout<C> getColumnLayout() {
+        return columnLayout;
+    }
+
+    /**
+     * Normalizes a predicate which is not a combination or negation of other predicates. Predicates which are
+     * not known are returned as is.
+     *
+     * @param predicate the predicate to process
+     * @return the normalized predicate
+     */
+    protected Predicate<C> normalizeLeaf(Predicate<C> predicate) {
+        final Class<?> clazz = predicate.getClass();
+        if (clazz == ComparingPredicate.class) {
+            ComparingPredicate<?, C> comparing = (ComparingPredicate<?, C>) predicate;
+            return foldLeaf(predicate, comparing.getColumn(), comparing.getValue() != null);
+        } else if (clazz == EqualsIgnoreCasePredicate.class) {
+            EqualsIgnoreCasePredicate<C> equalsIgnoreCase = (EqualsIgnoreCasePredicate<C>) predicate;
+            return foldLeaf(predicate, equalsIgnoreCase.getColumn(), equalsIgnoreCase.getValue() != null);
+        } else if (clazz == InPredicate.class) {
+            return normalizeInPredicate((InPredicate<?, C>) predicate);
+        } else if (clazz == RangePredicate.class) {
+            RangePredicate<?, C> range = (RangePredicate<?, C>) predicate;
+            return foldLeaf(predicate, range.getColumn(),
+                range.getLowerBound() != null && range.getUpperBound() != null);
+        } else if (clazz == LikePredicate.class) {
+            LikePredicate<C> like = (LikePredicate<C>) predicate;
+            return foldLeaf(predicate, like.getColumn(), like.getPattern() != null);
+        } else if (clazz == IsNullPredicate.class) {
+            return foldLeaf(predicate, ((IsNullPredicate<C>) predicate).getColumn(), true);
+        } else if (clazz == IsNotNullPredicate.class) {
+            return foldLeaf(predicate, ((IsNotNullPredicate<C>) predicate).getColumn(), true);
+        }
+        return predicate;
+    }
+
+    private Predicate<C> normalizeInPredicate(InPredicate<?, C> in) {
+        if (!columnLayout.isUsed(in.getColumn())) {
+            return new AlwaysTruePredicate<>();
+        }
+        final List<?> values = in.getValues();
+        if (values.contains(null)) {
+            if (in.isNegated()) {
+                return new AlwaysFalsePredicate<>();
+            }
+            return normalizeInPredicate(removeNullValues(in));
+        } else if (values.isEmpty()) {
+            return in.isNegated() ? new AlwaysTruePredicate<>() : new AlwaysFalsePredicate<>();
+        }
+        return in;
+    }
+
+    private static <T, C> InPredicate<T, C> removeNullValues(InPredicate<T, C> in) {
+        final List<T> nonNullValues = new ArrayList<>(in.getValues());
+        nonNullValues.removeIf(Objects::isNull);
+        return new InPredicate<>(in.getColumn(), nonNullValues, in.isNegated());
+    }
+
+    private Predicate<C> foldLeaf(Predicate<C> predicate, Column<?, C> column, boolean canMatch) {
+        if (!columnLayout.isUsed(column)) {
+            return new AlwaysTruePredicate<>();
+        }
+        return canMatch ? predicate : new AlwaysFalsePredicate<>();
+    }
+
+    private Predicate<C> normalizeCombination(Predicate<C> predicate, boolean isAnd) {
+        final Class<?> combinationClass = predicate.getClass();
+        final Class<?> absorbingClass = isAnd ? AlwaysFalsePredicate.class : AlwaysTruePredicate.class;
+        final Class<?> neutralClass = isAnd ? AlwaysTruePredicate.class : AlwaysFalsePredicate.class;
+
+        final List<Predicate<C>> rawOperands = new ArrayList<>();
+        collectOperands(predicate, combinationClass, rawOperands);
+        final Set<Predicate<C>> operands = new LinkedHashSet<>();
+        for (Predicate<C> rawOperand : rawOperands) {
+            final Predicate<C> operand = normalize(rawOperand);
+            if (operand.getClass() == absorbingClass) {
+                return operand;
+            } else if (operand.getClass() == combinationClass) {
+                collectOperands(operand, combinationClass, operands);
+            } else if (operand.getClass() != neutralClass) {
+                operands.add(operand);
+            }
+        }
+
+        if (operands.isEmpty()) {
+            return isAnd ? new AlwaysTruePredicate<>() : new AlwaysFalsePredicate<>();
+        }
+        Predicate<C> result = null;
+        for (Predicate<C> operand : operands) {
+            if (result == null) {
+                result = operand;
+            } else {
+                result = isAnd ? new AndPredicate<>(result, operand) : new OrPredicate<>(result, operand);
+            }
+        }
+        return result;
+    }
+
+    private static <C> void collectOperands(Predicate<C> predicate, Class<?> combinationClass,
+                                            Collection<Predicate<C>> operands) {
+        if (predicate.getClass() == AndPredicate.class && combinationClass == AndPredicate.class) {
+            AndPredicate<C> and = (AndPredicate<C>) predicate;
+            collectOperands(and.getLeft(), combinationClass, operands);
+            collectOperands(and.getRight(), combinationClass, operands);
+        } else if (predicate.getClass() == OrPredicate.class && combinationClass == OrPredicate.class) {
+            OrPredicate<C> or = (OrPredicate<C>) predicate;
+            collectOperands(or.getLeft(), combinationClass, operands);
+            collectOperands(or.getRight(), combinationClass, operands);
+        } else {
+            operands.add(predicate);
+        }
+    }
+
+    private static <T, C> ComparingPredicate<T, C> negateComparingPredicate(ComparingPredicate<T, C> comparing) {
+        return new ComparingPredicate<>(comparing.getColumn(), comparing.getValue(),
+            negateComparingType(comparing.getType()));
+    }
+
+    private static <T, C> InPredicate<T, C> negateInPredicate(InPredicate<T, C> in) {
+        return new InPredicate<>(in.getColumn(), in.getValues(), !in.isNegated());
+    }
+
+    private static <T, C> Predicate<C> negateRangePredicate(RangePredicate<T, C> range) {
+        final ComparingPredicate.Type upperType = range.isUpperBoundInclusive()
+            ? ComparingPredicate.Type.GREATER
+            : ComparingPredicate.Type.GREATER_EQUALS;
+        return new OrPredicate<>(
+            new ComparingPredicate<>(range.getColumn(), range.getLowerBound(), ComparingPredicate.Type.LESS),
+            new ComparingPredicate<>(range.getColumn(), range.getUpperBound(), upperType));
+    }
+
+    private static ComparingPredicate.Type negateComparingType(ComparingPredicate.Type type) {
+        switch (type) {
+            case LESS:           return ComparingPredicate.Type.GREATER_EQUALS;
+            case LESS_EQUALS:    return ComparingPredicate.Type.GREATER;
+            case EQUALS:         return ComparingPredicate.Type.NOT_EQUALS;
+            case NOT_EQUALS:     return ComparingPredicate.Type.EQUALS;
+            case GREATER:        return ComparingPredicate.Type.LESS_EQUALS;
+            case GREATER_EQUALS: return ComparingPredicate.Type.LESS;
+            default:
+                throw new IllegalStateException("Unknown comparing predicate type '" + type + "'");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ch.jalu.datasourcecolumns.predicate;
+
+import ch.jalu.datasourcecolumns.Column;
+
+import java.util.Objects;
+
+/**
+ * Predicate matching if a column's value is within a range: greater than or equal to the lower bound, and less than
+ * or equal to the upper bound ({@code BETWEEN}) or less than the upper bound (half-open range). As in SQL, the
+ * predicate never matches if the column's value or one of the bounds is null.
+ *
+ * @param <T> the column's value type
+ * @param <C> the context type
+ */
+public class RangePredicate<T, C> extends AbstractPredicate<C> {
+
+    private final Column<T, C> column;
+    private final T lowerBound;
+    private final T upperBound;
+    private final boolean isUpperBoundInclusive;
+
+    public RangePredicate(Column<T, C> column, T lowerBound, T upperBound, boolean isUpperBoundInclusive) {
+        this.column = column;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.isUpperBoundInclusive = isUpperBoundInclusive;
+    }
+
+    public Column<T, C> getColumn() {
+        return column;
+    }
+
+    public T getLowerBound() {
+        return lowerBound;
+    }
+
+    public T getUpperBound() {
+        return upperBound;
+    }
+
+    public boolean isUpperBoundInclusive() {
+        return isUpperBoundInclusive;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        RangePredicate<?, ?> other = (RangePredicate<?, ?>) obj;
+        return Objects.equals(column, other.column)
+            && Objects.equals(lowerBound, other.lowerBound)
+            && Objects.equals(upperBound, other.upperBound)
+            && isUpperBoundInclusive == other.isUpperBoundInclusive;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), column, lowerBound, upperBound, isUpperBoundInclusive);
+    }
+}
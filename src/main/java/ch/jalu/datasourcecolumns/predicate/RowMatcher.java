@@ -0,0 +1,20 @@
+package ch.jalu.datasourcecolumns.predicate;
+
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+
+/**
+ * Tests rows in Java. Created from a {@link Predicate} with {@link PredicateEvaluator#compile}.
+ */
+@FunctionalInterface
+public interface RowMatcher {
+
+    /**
+     * Returns whether the given row matches. The row must have values for all columns of the predicate the matcher
+     * was created from; it may also be a cursor which reflects the current row of a result set.
+     *
+     * @param row the values of the row to test
+     * @return true if the row matches, false otherwise
+     */
+    boolean matches(DataSourceValues row);
+
+}
@@ -2,6 +2,8 @@ package ch.jalu.datasourcecolumns.predicate;
 
 import ch.jalu.datasourcecolumns.Column;
 
+import java.util.Collection;
+
 import static ch.jalu.datasourcecolumns.predicate.ComparingPredicate.Type.EQUALS;
 import static ch.jalu.datasourcecolumns.predicate.ComparingPredicate.Type.GREATER;
 import static ch.jalu.datasourcecolumns.predicate.ComparingPredicate.Type.GREATER_EQUALS;
@@ -51,6 +53,100 @@ public class StandardPredicates {
         return new ComparingPredicate<>(column, requiredValue, LESS_EQUALS);
     }
 
+    /**
+     * Creates a predicate matching values between the given bounds, including both bounds ({@code BETWEEN}).
+     *
+     * @param column the column
+     * @param lowerBound the lowest value to match
+     * @param upperBound the highest value to match
+     * @param <T> the column type
+     * @param <C> the context type
+     * @return the predicate
+     */
+    public static <T, C> RangePredicate<T, C> between(Column<T, C> column, T lowerBound, T upperBound) {
+        return new RangePredicate<>(column, lowerBound, upperBound, true);
+    }
+
+    /**
+     * Creates a predicate matching values in the half-open range {@code [lowerBound, upperBound)}, e.g. for time
+     * windows where the end of one window is the start of the next one.
+     *
+     * @param column the column
+     * @param lowerBound the lowest value to match
+     * @param upperBound the first value greater than the lower bound which should not match
+     * @param <T> the column type
+     * @param <C> the context type
+     * @return the predicate
+     */
+    public static <T, C> RangePredicate<T, C> inRange(Column<T, C> column, T lowerBound, T upperBound) {
+        return new RangePredicate<>(column, lowerBound, upperBound, false);
+    }
+
+    /**
+     * Creates a predicate matching values which start with the given text. Wildcard characters in the prefix are
+     * matched literally.
+     *
+     * @param column the column
+     * @param prefix the text the values should start with
+     * @param <C> the context type
+     * @return the predicate
+     */
+    public static <C> LikePredicate<C> startsWith(Column<String, C> column, String prefix) {
+        return new LikePredicate<>(column, LikePredicate.escape(prefix) + "%");
+    }
+
+    /**
+     * Creates a predicate matching values against the given {@code LIKE} pattern. See {@link LikePredicate}.
+     *
+     * @param column the column
+     * @param pattern the pattern to match
+     * @param <C> the context type
+     * @return the predicate
+     */
+    public static <C> LikePredicate<C> like(Column<String, C> column, String pattern) {
+        return new LikePredicate<>(column, pattern);
+    }
+
+    /**
+     * Creates a predicate matching values which do not match the given {@code LIKE} pattern ({@code NOT LIKE}).
+     * See {@link LikePredicate}.
+     *
+     * @param column the column
+     * @param pattern the pattern the values should not match
+     * @param <C> the context type
+     * @return the predicate
+     */
+    public static <C> LikePredicate<C> notLike(Column<String, C> column, String pattern) {
+        return new LikePredicate<>(column, pattern, true);
+    }
+
+    /**
+     * Creates a predicate matching values equal to any of the given values ({@code IN}). See {@link InPredicate}.
+     *
+     * @param column the column
+     * @param values the values to match
+     * @param <T> the column type
+     * @param <C> the context type
+     * @return the predicate
+     */
+    public static <T, C> InPredicate<T, C> in(Column<T, C> column, Collection<? extends T> values) {
+        return new InPredicate<>(column, values, false);
+    }
+
+    /**
+     * Creates a predicate matching values different from all of the given values ({@code NOT IN}).
+     * See {@link InPredicate}.
+     *
+     * @param column the column
+     * @param values the values not to match
+     * @param <T> the column type
+     * @param <C> the context type
+     * @return the predicate
+     */
+    public static <T, C> InPredicate<T, C> notIn(Column<T, C> column, Collection<? extends T> values) {
+        return new InPredicate<>(column, values, true);
+    }
+
     public static <C> IsNullPredicate<C> isNull(Column<?, C> column) {
         return new IsNullPredicate<>(column);
     }
@@ -66,4 +162,15 @@ public class StandardPredicates {
     public static <C> OrPredicate<C> or(Predicate<C> left, Predicate<C> right) {
         return new OrPredicate<>(left, right);
     }
+
+    /**
+     * Creates a predicate negating the given predicate ({@code NOT}). See {@link NotPredicate}.
+     *
+     * @param predicate the predicate to negate
+     * @param <C> the context type
+     * @return the predicate
+     */
+    public static <C> NotPredicate<C> not(Predicate<C> predicate) {
+        return new NotPredicate<>(predicate);
+    }
 }
@@ -0,0 +1,24 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+/**
+ * Maximum number of bind parameters ({@code ?}) that various databases support in one SQL statement.
+ *
+ * @see SqlColumnsHandlerConfig#setMaxBindParameters
+ */
+public final class BindParameterLimits {
+
+    /** SQLite versions before 3.32.0. */
+    public static final int SQLITE_LEGACY = 999;
+
+    /** SQLite 3.32.0 and newer. */
+    public static final int SQLITE = 32766;
+
+    /** MySQL and MariaDB. */
+    public static final int MYSQL = 65535;
+
+    /** PostgreSQL. */
+    public static final int POSTGRESQL = 32767;
+
+    private BindParameterLimits() {
+    }
+}
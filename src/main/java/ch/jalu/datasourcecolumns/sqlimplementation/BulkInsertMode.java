@@ -0,0 +1,24 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+/**
+ * Defines how {@link SqlColumnsHandler} sends multiple rows to the database in bulk inserts.
+ *
+ * @see SqlColumnsHandlerConfig#setBulkInsertMode
+ */
+public enum BulkInsertMode {
+
+    /**
+     * One single-row INSERT statement which is executed as JDBC batch, i.e. with
+     * {@link java.sql.PreparedStatement#addBatch()} and {@link java.sql.PreparedStatement#executeBatch()}.
+     */
+    JDBC_BATCH,
+
+    /**
+     * INSERT statements with multiple rows in their VALUES clause, e.g. {@code INSERT INTO t (a, b) VALUES (?, ?),
+     * (?, ?)}. The number of rows per statement is limited by the batch size and by the maximum number of bind
+     * parameters the database supports. Rows with more values than bind parameters are supported are inserted as
+     * with {@link #JDBC_BATCH}.
+     */
+    MULTI_ROW_VALUES
+
+}
@@ -0,0 +1,27 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+/**
+ * Defines how {@link PredicateSqlGenerator} binds the values of an
+ * {@link ch.jalu.datasourcecolumns.predicate.InPredicate InPredicate}.
+ *
+ * @see SqlColumnsHandlerConfig#setInListBinding
+ */
+public enum InListBinding {
+
+    /**
+     * One placeholder per value, e.g. {@code col IN (?, ?, ?, ?)}. The number of placeholders is rounded up to a
+     * power of two (repeating the last value) so that only few different SQL statements are needed. Lists with
+     * more than {@link PredicateSqlGenerator#MAX_IN_LIST_SIZE} values are split into multiple {@code IN} lists.
+     * Supported by all databases, but each value counts towards the maximum number of bind parameters.
+     */
+    PLACEHOLDERS,
+
+    /**
+     * All values are bound as one Java array ({@code Object[]}) with {@link java.sql.PreparedStatement#setObject},
+     * using {@code col = ANY(?)}. Results in the same SQL code for any number of values. Requires a database which
+     * supports {@code ANY} with an array parameter and a driver which accepts Java arrays in {@code setObject},
+     * such as H2. Drivers which only accept {@link java.sql.Array} instances (e.g. PostgreSQL's) are not supported.
+     */
+    ARRAY
+
+}
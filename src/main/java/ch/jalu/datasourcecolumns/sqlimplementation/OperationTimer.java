@@ -0,0 +1,119 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationEvent;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationListener;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationPhase;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationType;
+
+/**
+ * Measures the phases of one operation of {@link SqlColumnsHandler} and passes the result to the
+ * {@link OperationListener} when closed. Each method marks the end of a phase, the phase's time being the time
+ * since the previous mark. If no listener is configured, the shared {@link #DISABLED} instance is used, whose
+ * methods do nothing, so that no time is measured and nothing is allocated.
+ */
+final class OperationTimer implements AutoCloseable {
+
+    /** Instance used when no listener is configured. */
+    static final OperationTimer DISABLED = new OperationTimer(null, null);
+
+    private final OperationListener listener;
+    private final OperationType type;
+    private final long startNanos;
+    private final long[] phaseNanos;
+    private long lastMarkNanos;
+    private String sql;
+    private int statementCount;
+    private int bindCount;
+    private int rowCount;
+    private boolean successful;
+
+    private OperationTimer(OperationListener listener, OperationType type) {
+        this.listener = listener;
+        this.type = type;
+        if (listener == null) {
+            this.startNanos = 0;
+            this.phaseNanos = null;
+        } else {
+            this.startNanos = System.nanoTime();
+            this.phaseNanos = new long[OperationPhase.values().length];
+            this.lastMarkNanos = startNanos;
+        }
+    }
+
+    /**
+     * Starts measuring an operation.
+     *
+     * @param listener the listener to notify (null if disabled)
+     * @param type the type of operation
+     * @return timer for the operation
+     */
+    static OperationTimer start(OperationListener listener, OperationType type) {
+        return listener == null ? DISABLED : new OperationTimer(listener, type);
+    }
+
+    /**
+     * Marks the end of the SQL generation for a statement.
+     *
+     * @param sql the generated SQL code
+     */
+    void sqlGenerated(String sql) {
+        if (listener != null) {
+            mark(OperationPhase.SQL_GENERATION);
+            if (this.sql == null) {
+                this.sql = sql;
+            }
+            ++statementCount;
+        }
+    }
+
+    /**
+     * Marks that the prepared statement has been obtained.
+     */
+    void statementPrepared() {
+        if (listener != null) {
+            mark(OperationPhase.STATEMENT_PREPARATION);
+        }
+    }
+
+    /**
+     * Marks that the statement has been executed.
+     *
+     * @param bindings the number of values that were bound for the execution
+     */
+    void executed(int bindings) {
+        if (listener != null) {
+            mark(OperationPhase.EXECUTION);
+            bindCount += bindings;
+        }
+    }
+
+    /**
+     * Marks that the operation has completed successfully and the result has been created.
+     *
+     * @param rows the number of rows returned or affected
+     */
+    void succeeded(int rows) {
+        if (listener != null) {
+            mark(OperationPhase.RESULT_MAPPING);
+            rowCount = rows;
+            successful = true;
+        }
+    }
+
+    /**
+     * Notifies the listener. The operation is reported as failed if {@link #succeeded} has not been called.
+     */
+    @Override
+    public void close() {
+        if (listener != null) {
+            listener.onOperation(new OperationEvent(type, sql, statementCount, phaseNanos,
+                System.nanoTime() - startNanos, rowCount, bindCount, successful));
+        }
+    }
+
+    private void mark(OperationPhase phase) {
+        final long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - lastMarkNanos;
+        lastMarkNanos = now;
+    }
+}
@@ -0,0 +1,235 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnLayout;
+import ch.jalu.datasourcecolumns.predicate.AlwaysFalsePredicate;
+import ch.jalu.datasourcecolumns.predicate.AlwaysTruePredicate;
+import ch.jalu.datasourcecolumns.predicate.AndPredicate;
+import ch.jalu.datasourcecolumns.predicate.ComparingPredicate;
+import ch.jalu.datasourcecolumns.predicate.EqualsIgnoreCasePredicate;
+import ch.jalu.datasourcecolumns.predicate.InPredicate;
+import ch.jalu.datasourcecolumns.predicate.IsNotNullPredicate;
+import ch.jalu.datasourcecolumns.predicate.IsNullPredicate;
+import ch.jalu.datasourcecolumns.predicate.LikePredicate;
+import ch.jalu.datasourcecolumns.predicate.NotPredicate;
+import ch.jalu.datasourcecolumns.predicate.OrPredicate;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+import ch.jalu.datasourcecolumns.predicate.RangePredicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The structure of a predicate, i.e. everything the SQL generated by {@link PredicateSqlGenerator} depends on
+ * (predicate classes, columns, operators, negation flags and whether the columns are used) but without the values.
+ * Predicates with the same shape result in the same SQL code and only differ in the values that are bound to it.
+ * For {@link InPredicate}, the shape contains the number of placeholders, so lists whose sizes round up to the
+ * same bucket share the same SQL code.
+ */
+final class PredicateShape {
+
+    /** Stands in for a column which is not used in the given context. */
+    private static final Object UNUSED_COLUMN = new Object();
+
+    /** Stands in for the values of an {@link InPredicate} which are bound as one array. */
+    private static final Object ARRAY_BINDING = new Object();
+
+    private final Object[] elements;
+    private final BitSet usedValueLeaves;
+    private final int bindingCount;
+    private final int hashCode;
+
+    private PredicateShape(List<Object> elements, BitSet usedValueLeaves, int bindingCount) {
+        this.elements = elements.toArray();
+        this.usedValueLeaves = usedValueLeaves;
+        this.bindingCount = bindingCount;
+        this.hashCode = Arrays.hashCode(this.elements);
+    }
+
+    /**
+     * Creates the shape of the given predicate. Returns null if the predicate contains a predicate type whose
+     * shape cannot be determined (e.g. custom predicates handled by an extension of {@link PredicateSqlGenerator}).
+     *
+     * @param predicate the predicate to process
+     * @param columnLayout the column layout
+     * @param inListBinding how the values of {@link InPredicate} are bound
+     * @param maxBindParameters the max number of bind parameters, which {@code IN} lists are not padded beyond
+     * @param usePrefixRanges true if prefix patterns of {@link LikePredicate} are converted to ranges
+     * @param <C> the context type
+     * @return the predicate's shape, or null if not supported
+     */
+    static <C> PredicateShape of(Predicate<C> predicate, ColumnLayout<C> columnLayout, InListBinding inListBinding,
+                                 int maxBindParameters, boolean usePrefixRanges) {
+        ShapeBuilder<C> builder = new ShapeBuilder<>(columnLayout, inListBinding, maxBindParameters,
+            usePrefixRanges);
+        return builder.add(predicate)
+            ? new PredicateShape(builder.elements, builder.usedValueLeaves, builder.bindingCount)
+            : null;
+    }
+
+    /**
+     * Returns which predicates with values (in the order they appear in the predicate tree) have a column that is
+     * used, i.e. whose values need to be bound to the generated SQL code.
+     *
+     * @return bit set of value leaves to bind
+     */
+    BitSet getUsedValueLeaves() {
+        return usedValueLeaves;
+    }
+
+    /**
+     * @return total number of values bound to the generated SQL code
+     */
+    int getBindingCount() {
+        return bindingCount;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (!(obj instanceof PredicateShape)) {
+            return false;
+        }
+        PredicateShape other = (PredicateShape) obj;
+        return hashCode == other.hashCode && Arrays.equals(elements, other.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "PredicateShape" + Arrays.toString(elements);
+    }
+
+    /**
+     * Walks through a predicate tree and saves its structure in prefix order.
+     *
+     * @param <C> the context type
+     */
+    private static final class ShapeBuilder<C> {
+
+        private final ColumnLayout<C> columnLayout;
+        private final InListBinding inListBinding;
+        private final int maxBindParameters;
+        private final boolean usePrefixRanges;
+        private final List<Object> elements = new ArrayList<>();
+        private final BitSet usedValueLeaves = new BitSet();
+        private int valueLeafCount;
+        private int bindingCount;
+
+        ShapeBuilder(ColumnLayout<C> columnLayout, InListBinding inListBinding, int maxBindParameters,
+                     boolean usePrefixRanges) {
+            this.columnLayout = columnLayout;
+            this.inListBinding = inListBinding;
+            this.maxBindParameters = maxBindParameters;
+            this.usePrefixRanges = usePrefixRanges;
+        }
+
+        boolean add(Predicate<C> predicate) {
+            final Class<?> clazz = predicate.getClass();
+            if (clazz == ComparingPredicate.class) {
+                ComparingPredicate<?, C> comparing = (ComparingPredicate<?, C>) predicate;
+                elements.add(comparing.getType());
+                addValueLeafColumn(comparing.getColumn());
+            } else if (clazz == EqualsIgnoreCasePredicate.class) {
+                EqualsIgnoreCasePredicate<C> equalsIgnoreCase = (EqualsIgnoreCasePredicate<C>) predicate;
+                elements.add(clazz);
+                elements.add(equalsIgnoreCase.isNegated());
+                addValueLeafColumn(equalsIgnoreCase.getColumn());
+            } else if (clazz == InPredicate.class) {
+                InPredicate<?, C> in = (InPredicate<?, C>) predicate;
+                elements.add(clazz);
+                elements.add(in.isNegated());
+                addInValues(in);
+            } else if (clazz == RangePredicate.class) {
+                RangePredicate<?, C> range = (RangePredicate<?, C>) predicate;
+                elements.add(clazz);
+                elements.add(range.isUpperBoundInclusive());
+                addValueLeafColumn(range.getColumn(), 2);
+            } else if (clazz == LikePredicate.class) {
+                LikePredicate<C> like = (LikePredicate<C>) predicate;
+                elements.add(clazz);
+                elements.add(like.isNegated());
+                addLikeForm(like);
+            } else if (clazz == OrPredicate.class) {
+                OrPredicate<C> or = (OrPredicate<C>) predicate;
+                elements.add(clazz);
+                return add(or.getLeft()) && add(or.getRight());
+            } else if (clazz == AndPredicate.class) {
+                AndPredicate<C> and = (AndPredicate<C>) predicate;
+                elements.add(clazz);
+                return add(and.getLeft()) && add(and.getRight());
+            } else if (clazz == IsNullPredicate.class) {
+                elements.add(clazz);
+                addColumn(((IsNullPredicate<C>) predicate).getColumn());
+            } else if (clazz == IsNotNullPredicate.class) {
+                elements.add(clazz);
+                addColumn(((IsNotNullPredicate<C>) predicate).getColumn());
+            } else if (clazz == NotPredicate.class) {
+                elements.add(clazz);
+                return add(((NotPredicate<C>) predicate).getPredicate());
+            } else if (clazz == AlwaysTruePredicate.class || clazz == AlwaysFalsePredicate.class) {
+                elements.add(clazz);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        private void addValueLeafColumn(Column<?, C> column) {
+            addValueLeafColumn(column, 1);
+        }
+
+        private void addValueLeafColumn(Column<?, C> column, int valueCount) {
+            if (addColumn(column)) {
+                usedValueLeaves.set(valueLeafCount);
+                bindingCount += valueCount;
+            }
+            ++valueLeafCount;
+        }
+
+        private void addLikeForm(LikePredicate<C> like) {
+            final String prefix = usePrefixRanges ? like.getPrefix() : null;
+            if (prefix == null) {
+                elements.add(null);
+                addValueLeafColumn(like.getColumn(), 1);
+            } else {
+                // Prefix range with or without upper bound
+                final boolean hasUpperBound = PredicateSqlGenerator.getPrefixSuccessor(prefix) != null;
+                elements.add(hasUpperBound);
+                addValueLeafColumn(like.getColumn(), hasUpperBound ? 2 : 1);
+            }
+        }
+
+        private void addInValues(InPredicate<?, C> in) {
+            final int valueCount = in.getValues().size();
+            if (addColumn(in.getColumn()) && valueCount > 0) {
+                usedValueLeaves.set(valueLeafCount);
+                if (inListBinding == InListBinding.ARRAY) {
+                    elements.add(ARRAY_BINDING);
+                    ++bindingCount;
+                } else {
+                    final int placeholderCount = PredicateSqlGenerator.getInListPlaceholderCount(valueCount,
+                        maxBindParameters);
+                    elements.add(placeholderCount);
+                    bindingCount += placeholderCount;
+                }
+            } else {
+                elements.add(valueCount > 0);
+            }
+            ++valueLeafCount;
+        }
+
+        private boolean addColumn(Column<?, C> column) {
+            final boolean isUsed = columnLayout.isUsed(column);
+            elements.add(isUsed ? column : UNUSED_COLUMN);
+            return isUsed;
+        }
+    }
+}
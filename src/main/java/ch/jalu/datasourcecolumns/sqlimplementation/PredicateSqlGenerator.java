@@ -1,27 +1,63 @@
 package ch.jalu.datasourcecolumns.sqlimplementation;
 
 import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnLayout;
+import ch.jalu.datasourcecolumns.predicate.AlwaysFalsePredicate;
 import ch.jalu.datasourcecolumns.predicate.AlwaysTruePredicate;
 import ch.jalu.datasourcecolumns.predicate.AndPredicate;
 import ch.jalu.datasourcecolumns.predicate.ComparingPredicate;
 import ch.jalu.datasourcecolumns.predicate.EqualsIgnoreCasePredicate;
+import ch.jalu.datasourcecolumns.predicate.InPredicate;
 import ch.jalu.datasourcecolumns.predicate.IsNotNullPredicate;
 import ch.jalu.datasourcecolumns.predicate.IsNullPredicate;
+import ch.jalu.datasourcecolumns.predicate.LikePredicate;
+import ch.jalu.datasourcecolumns.predicate.NotPredicate;
 import ch.jalu.datasourcecolumns.predicate.OrPredicate;
 import ch.jalu.datasourcecolumns.predicate.Predicate;
+import ch.jalu.datasourcecolumns.predicate.PredicateNormalizer;
+import ch.jalu.datasourcecolumns.predicate.RangePredicate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Converts {@link Predicate} instances to SQL.
+ * <p>
+ * Predicates are {@link PredicateNormalizer normalized} before SQL is generated: negations are pushed down to the
+ * leaves, predicates on unused columns and other constant conditions are folded away, and nested {@code AND}/{@code OR}
+ * predicates are flattened. Override {@link #normalize} to change this.
+ * <p>
+ * The generated SQL can be cached per {@link PredicateShape shape} of the predicate (the predicate types,
+ * columns, operators and negation flags, without the values). For a predicate with a known shape, only the values
+ * to bind are collected, without normalizing the predicate: the SQL cached for a normalized predicate is the same as
+ * the SQL generated directly for any predicate of the same shape. Predicates whose normalized form has another shape
+ * are normalized on every call. Since a shape refers to the columns and not to their names, caching is only enabled by
+ * default for {@link ColumnLayout#snapshot snapshot} layouts, whose refresh clears the cache. Predicates of other
+ * types than the standard ones are never cached, but extensions of this class which change the bindings of standard
+ * predicates should disable the cache in the constructor.
  *
  * @param <C> the context type
  */
 public class PredicateSqlGenerator<C> {
 
-    private final C context;
+    /** Maximum number of values in one {@code IN (...)} list; longer lists are split. */
+    public static final int MAX_IN_LIST_SIZE = 1000;
+
+    /** Comma-separated placeholders by number of placeholders, for the sizes of {@code IN} lists. */
+    private static final Map<Integer, String> PLACEHOLDER_LISTS = new ConcurrentHashMap<>();
+
+    private final ColumnLayout<C> columnLayout;
     private final boolean useNoCaseCollationForCaseInsensitiveEquals;
+    private final InListBinding inListBinding;
+    private final int maxBindParameters;
+    private final boolean usePrefixRanges;
+    private final PredicateNormalizer<C> normalizer;
+    private final Map<PredicateShape, PredicateTemplate> templates;
 
     /**
      * Constructor.
@@ -41,17 +77,246 @@ public class PredicateSqlGenerator<C> {
      *        see class JavaDoc on {@link EqualsIgnoreCasePredicate}.
      */
     public PredicateSqlGenerator(C context, boolean useNoCaseCollationForCaseInsensitiveEquals) {
-        this.context = context;
+        this(context, useNoCaseCollationForCaseInsensitiveEquals, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param context the context
+     * @param useNoCaseCollationForCaseInsensitiveEquals true to generate SQL with {@code COLLATE NOCASE} for
+     *        {@link EqualsIgnoreCasePredicate}. Not supported and/or needed by all database engines;
+     *        see class JavaDoc on {@link EqualsIgnoreCasePredicate}.
+     * @param cacheTemplates true to cache the generated SQL per predicate shape, false to always generate SQL.
+     *        Column names are resolved once per shape when enabled, so the cache must not be enabled if the name
+     *        of a column may change during the lifetime of this generator.
+     */
+    public PredicateSqlGenerator(C context, boolean useNoCaseCollationForCaseInsensitiveEquals,
+                                 boolean cacheTemplates) {
+        this(ColumnLayout.live(context), useNoCaseCollationForCaseInsensitiveEquals, cacheTemplates);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columnLayout the column layout to get the columns' properties from
+     * @param useNoCaseCollationForCaseInsensitiveEquals true to generate SQL with {@code COLLATE NOCASE} for
+     *        {@link EqualsIgnoreCasePredicate}. Not supported and/or needed by all database engines;
+     *        see class JavaDoc on {@link EqualsIgnoreCasePredicate}.
+     * @param cacheTemplates true to cache the generated SQL per predicate shape, false to always generate SQL.
+     *        The cache is cleared when the column layout is refreshed.
+     */
+    public PredicateSqlGenerator(ColumnLayout<C> columnLayout, boolean useNoCaseCollationForCaseInsensitiveEquals,
+                                 boolean cacheTemplates) {
+        this(columnLayout, useNoCaseCollationForCaseInsensitiveEquals, cacheTemplates, InListBinding.PLACEHOLDERS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columnLayout the column layout to get the columns' properties from
+     * @param useNoCaseCollationForCaseInsensitiveEquals true to generate SQL with {@code COLLATE NOCASE} for
+     *        {@link EqualsIgnoreCasePredicate}. Not supported and/or needed by all database engines;
+     *        see class JavaDoc on {@link EqualsIgnoreCasePredicate}.
+     * @param cacheTemplates true to cache the generated SQL per predicate shape, false to always generate SQL.
+     *        The cache is cleared when the column layout is refreshed.
+     * @param inListBinding how the values of {@link InPredicate} are bound
+     */
+    public PredicateSqlGenerator(ColumnLayout<C> columnLayout, boolean useNoCaseCollationForCaseInsensitiveEquals,
+                                 boolean cacheTemplates, InListBinding inListBinding) {
+        this(columnLayout, useNoCaseCollationForCaseInsensitiveEquals, cacheTemplates, inListBinding,
+            SqlColumnsHandlerConfig.DEFAULT_MAX_BIND_PARAMETERS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columnLayout the column layout to get the columns' properties from
+     * @param useNoCaseCollationForCaseInsensitiveEquals true to generate SQL with {@code COLLATE NOCASE} for
+     *        {@link EqualsIgnoreCasePredicate}. Not supported and/or needed by all database engines;
+     *        see class JavaDoc on {@link EqualsIgnoreCasePredicate}.
+     * @param cacheTemplates true to cache the generated SQL per predicate shape, false to always generate SQL.
+     *        The cache is cleared when the column layout is refreshed.
+     * @param inListBinding how the values of {@link InPredicate} are bound
+     * @param maxBindParameters the max number of bind parameters per statement; {@code IN} lists are not padded
+     *        beyond this number of placeholders
+     */
+    public PredicateSqlGenerator(ColumnLayout<C> columnLayout, boolean useNoCaseCollationForCaseInsensitiveEquals,
+                                 boolean cacheTemplates, InListBinding inListBinding, int maxBindParameters) {
+        this(columnLayout, useNoCaseCollationForCaseInsensitiveEquals, cacheTemplates, inListBinding,
+            maxBindParameters, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columnLayout the column layout to get the columns' properties from
+     * @param useNoCaseCollationForCaseInsensitiveEquals true to generate SQL with {@code COLLATE NOCASE} for
+     *        {@link EqualsIgnoreCasePredicate}. Not supported and/or needed by all database engines;
+     *        see class JavaDoc on {@link EqualsIgnoreCasePredicate}.
+     * @param cacheTemplates true to cache the generated SQL per predicate shape, false to always generate SQL.
+     *        The cache is cleared when the column layout is refreshed.
+     * @param inListBinding how the values of {@link InPredicate} are bound
+     * @param maxBindParameters the max number of bind parameters per statement; {@code IN} lists are not padded
+     *        beyond this number of placeholders
+     * @param usePrefixRanges true to generate a range condition for prefix patterns of {@link LikePredicate}
+     *        instead of {@code LIKE}; only correct for columns with a binary collation, see
+     *        {@link #processLikePredicate}
+     */
+    public PredicateSqlGenerator(ColumnLayout<C> columnLayout, boolean useNoCaseCollationForCaseInsensitiveEquals,
+                                 boolean cacheTemplates, InListBinding inListBinding, int maxBindParameters,
+                                 boolean usePrefixRanges) {
+        this.columnLayout = columnLayout;
         this.useNoCaseCollationForCaseInsensitiveEquals = useNoCaseCollationForCaseInsensitiveEquals;
+        this.inListBinding = inListBinding;
+        this.maxBindParameters = maxBindParameters;
+        this.usePrefixRanges = usePrefixRanges;
+        this.normalizer = new PredicateNormalizer<>(columnLayout);
+        this.templates = cacheTemplates ? new ConcurrentHashMap<>() : null;
+        if (templates != null) {
+            columnLayout.addRefreshListener(templates::clear);
+        }
     }
 
     /**
      * Generates SQL to use as {@code WHERE} clause in a query.
      *
-     * @param predicate the predicate to convert to SQL
+     * @param originalPredicate the predicate to convert to SQL
      * @return the generated SQL code
      */
-    public GeneratedSqlWithBindings generateWhereClause(Predicate<C> predicate) {
+    public GeneratedSqlWithBindings generateWhereClause(Predicate<C> originalPredicate) {
+        if (templates != null) {
+            final PredicateTemplate template = getTemplate(originalPredicate);
+            if (template != null) {
+                return new GeneratedSqlWithBindings(template.getSql(), template.extractBindings(originalPredicate));
+            }
+        }
+
+        final Predicate<C> predicate = normalize(originalPredicate);
+        if (templates != null) {
+            final PredicateShape shape = createShape(predicate);
+            if (shape != null) {
+                final PredicateTemplate template = templates.computeIfAbsent(shape,
+                    s -> new PredicateTemplate(generateSql(predicate).getGeneratedSql(), s, inListBinding,
+                        maxBindParameters, usePrefixRanges));
+                return new GeneratedSqlWithBindings(template.getSql(), template.extractBindings(predicate));
+            }
+        }
+        return generateSql(predicate);
+    }
+
+    /**
+     * @return the column layout to get the columns' properties from
+     */
+    protected ColumnLayout<C> getColumnLayout() {
+        return columnLayout;
+    }
+
+    /**
+     * Normalizes the predicate before SQL is generated for it. Extensions which handle custom predicates can
+     * override this method to normalize them as well, or to return the predicate unchanged.
+     *
+     * @param predicate the predicate to normalize
+     * @return the predicate to generate SQL for
+     */
+    protected Predicate<C> normalize(Predicate<C> predicate) {
+        return normalizer.normalize(predicate);
+    }
+
+    /**
+     * Returns the number of placeholders used for an {@code IN} predicate with the given number of values when
+     * the values are bound as {@link InListBinding#PLACEHOLDERS placeholders}: full lists of
+     * {@link #MAX_IN_LIST_SIZE} and the remaining values rounded up to a power of two. The values are not padded
+     * beyond the max number of bind parameters.
+     *
+     * @param valueCount the number of values
+     * @param maxBindParameters the max number of bind parameters per statement
+     * @return the number of placeholders
+     */
+    static int getInListPlaceholderCount(int valueCount, int maxBindParameters) {
+        final int remainder = valueCount % MAX_IN_LIST_SIZE;
+        if (remainder == 0) {
+            return valueCount;
+        }
+        final int highestOneBit = Integer.highestOneBit(remainder);
+        final int roundedRemainder = highestOneBit == remainder ? remainder : highestOneBit << 1;
+        final int paddedCount = valueCount - remainder + Math.min(MAX_IN_LIST_SIZE, roundedRemainder);
+        return Math.max(valueCount, Math.min(paddedCount, maxBindParameters));
+    }
+
+    /**
+     * Adds the values of an {@code IN} predicate for the given number of placeholders, repeating the last value
+     * for the placeholders that exceed the number of values.
+     *
+     * @param values the values of the predicate (not empty)
+     * @param placeholderCount the number of placeholders, see {@link #getInListPlaceholderCount}
+     * @param bindings the list to add the values to
+     */
+    static void addInListBindings(List<?> values, int placeholderCount, List<Object> bindings) {
+        bindings.addAll(values);
+        final Object lastValue = values.get(values.size() - 1);
+        for (int i = values.size(); i < placeholderCount; ++i) {
+            bindings.add(lastValue);
+        }
+    }
+
+    /**
+     * Returns the smallest string which is greater than all strings starting with the given prefix (by code point),
+     * or null if there is none. For example, the successor of "abc" is "abd".
+     *
+     * @param prefix the prefix
+     * @return upper bound (exclusive) of strings with the prefix, or null if there is none
+     */
+    static String getPrefixSuccessor(String prefix) {
+        int end = prefix.length();
+        while (end > 0) {
+            final int lastCodePoint = prefix.codePointBefore(end);
+            final int charCount = Character.charCount(lastCodePoint);
+            if (lastCodePoint < Character.MAX_CODE_POINT) {
+                final int successor = lastCodePoint + 1 == Character.MIN_SURROGATE
+                    ? Character.MAX_SURROGATE + 1
+                    : lastCodePoint + 1;
+                return new StringBuilder(end - charCount + 2)
+                    .append(prefix, 0, end - charCount)
+                    .appendCodePoint(successor)
+                    .toString();
+            }
+            end -= charCount;
+        }
+        return null;
+    }
+
+    /**
+     * Adds the values to bind for the given predicate: the pattern, or the prefix and its successor if the pattern
+     * is a prefix pattern and prefix ranges are used.
+     *
+     * @param predicate the predicate to process
+     * @param usePrefixRanges true if prefix patterns are converted to ranges
+     * @param bindings the list to add the values to
+     */
+    static void addLikeBindings(LikePredicate<?> predicate, boolean usePrefixRanges, List<Object> bindings) {
+        final String prefix = usePrefixRanges ? predicate.getPrefix() : null;
+        if (prefix == null) {
+            bindings.add(predicate.getPattern());
+        } else {
+            bindings.add(prefix);
+            final String successor = getPrefixSuccessor(prefix);
+            if (successor != null) {
+                bindings.add(successor);
+            }
+        }
+    }
+
+    private PredicateTemplate getTemplate(Predicate<C> predicate) {
+        final PredicateShape shape = createShape(predicate);
+        return shape == null ? null : templates.get(shape);
+    }
+
+    private PredicateShape createShape(Predicate<C> predicate) {
+        return PredicateShape.of(predicate, columnLayout, inListBinding, maxBindParameters, usePrefixRanges);
+    }
+
+    private GeneratedSqlWithBindings generateSql(Predicate<C> predicate) {
         StringBuilder sqlResult = new StringBuilder();
         List<Object> bindings = new LinkedList<>();
         generateWhereClause(predicate, sqlResult, bindings);
@@ -66,12 +331,20 @@ public class PredicateSqlGenerator<C> {
         } else if (clazz == EqualsIgnoreCasePredicate.class) {
             EqualsIgnoreCasePredicate<C> equalsIgnore = (EqualsIgnoreCasePredicate<C>) predicate;
             processEqualsIgnoreCasePredicate(equalsIgnore, sqlResult, objects);
-        } else if (clazz == OrPredicate.class) {
-            OrPredicate<C> or = (OrPredicate<C>) predicate;
-            processCombiningClause(or.getLeft(), or.getRight(), "OR", sqlResult, objects);
-        } else if (clazz == AndPredicate.class) {
-            AndPredicate<C> and = (AndPredicate<C>) predicate;
-            processCombiningClause(and.getLeft(), and.getRight(), "AND", sqlResult, objects);
+        } else if (clazz == InPredicate.class) {
+            processInPredicate((InPredicate<?, C>) predicate, sqlResult, objects);
+        } else if (clazz == RangePredicate.class) {
+            processRangePredicate((RangePredicate<?, C>) predicate, sqlResult, objects);
+        } else if (clazz == LikePredicate.class) {
+            processLikePredicate((LikePredicate<C>) predicate, sqlResult, objects);
+        } else if (clazz == OrPredicate.class || clazz == AndPredicate.class) {
+            final List<Predicate<C>> operands = new ArrayList<>();
+            collectOperands(predicate, clazz, operands);
+            processCombiningClause(operands, clazz == AndPredicate.class ? "AND" : "OR", sqlResult, objects);
+        } else if (clazz == NotPredicate.class) {
+            sqlResult.append("NOT (");
+            generateWhereClause(((NotPredicate<C>) predicate).getPredicate(), sqlResult, objects);
+            sqlResult.append(")");
         } else if (clazz == IsNullPredicate.class) {
             IsNullPredicate<C> isNull = (IsNullPredicate<C>) predicate;
             processIsNullAndNotNullPredicate(false, isNull.getColumn(), sqlResult);
@@ -80,6 +353,8 @@ public class PredicateSqlGenerator<C> {
             processIsNullAndNotNullPredicate(true, isNotNull.getColumn(), sqlResult);
         } else if (clazz == AlwaysTruePredicate.class) {
             addAlwaysTruePredicate(sqlResult);
+        } else if (clazz == AlwaysFalsePredicate.class) {
+            addAlwaysFalsePredicate(sqlResult);
         } else {
             throw new IllegalStateException("Unhandled predicate '" + predicate + "'");
         }
@@ -89,10 +364,14 @@ public class PredicateSqlGenerator<C> {
         sqlResult.append("1 = 1");
     }
 
+    protected void addAlwaysFalsePredicate(StringBuilder sqlResult) {
+        sqlResult.append("1 = 0");
+    }
+
     protected void processComparingClause(ComparingPredicate<?, C> predicate, StringBuilder sqlResult,
                                           List<Object> objects) {
-        if (predicate.getColumn().isColumnUsed(context)) {
-            sqlResult.append(predicate.getColumn().resolveName(context))
+        if (columnLayout.isUsed(predicate.getColumn())) {
+            sqlResult.append(columnLayout.getName(predicate.getColumn()))
                 .append(convertComparingTypeToSqlOperator(predicate.getType()))
                 .append("?");
             objects.add(predicate.getValue());
@@ -111,9 +390,9 @@ public class PredicateSqlGenerator<C> {
      */
     protected void processEqualsIgnoreCasePredicate(EqualsIgnoreCasePredicate<C> predicate, StringBuilder sqlResult,
                                                     List<Object> objects) {
-        if (predicate.getColumn().isColumnUsed(context)) {
+        if (columnLayout.isUsed(predicate.getColumn())) {
             final String operator = predicate.isNegated() ? " <> ?" : " = ?";
-            sqlResult.append(predicate.getColumn().resolveName(context))
+            sqlResult.append(columnLayout.getName(predicate.getColumn()))
                 .append(operator);
             if (useNoCaseCollationForCaseInsensitiveEquals) {
                 sqlResult.append(" COLLATE NOCASE");
@@ -124,6 +403,118 @@ public class PredicateSqlGenerator<C> {
         }
     }
 
+    /**
+     * Adds the SQL code for the given {@code IN} predicate, binding the values as configured by the
+     * {@link InListBinding}. A predicate without any values matches no rows, or all rows if it is negated.
+     *
+     * @param predicate the predicate to generate SQL for
+     * @param sqlResult the string builder saving the SQL for all predicates
+     * @param objects list objects to bind to the generated SQL code
+     */
+    protected void processInPredicate(InPredicate<?, C> predicate, StringBuilder sqlResult, List<Object> objects) {
+        final List<?> values = predicate.getValues();
+        if (!columnLayout.isUsed(predicate.getColumn()) || values.isEmpty() && predicate.isNegated()) {
+            addAlwaysTruePredicate(sqlResult);
+            return;
+        } else if (values.isEmpty()) {
+            addAlwaysFalsePredicate(sqlResult);
+            return;
+        }
+
+        final String column = columnLayout.getName(predicate.getColumn());
+        if (inListBinding == InListBinding.ARRAY) {
+            if (predicate.isNegated()) {
+                sqlResult.append("NOT (").append(column).append(" = ANY(?))");
+            } else {
+                sqlResult.append(column).append(" = ANY(?)");
+            }
+            objects.add(values.toArray());
+            return;
+        }
+
+        final int placeholderCount = getInListPlaceholderCount(values.size(), maxBindParameters);
+        final String operator = predicate.isNegated() ? " NOT IN (" : " IN (";
+        final boolean isSplit = placeholderCount > MAX_IN_LIST_SIZE;
+        if (isSplit) {
+            sqlResult.append("(");
+        }
+        for (int start = 0; start < placeholderCount; start += MAX_IN_LIST_SIZE) {
+            if (start > 0) {
+                sqlResult.append(predicate.isNegated() ? " AND " : " OR ");
+            }
+            final int listSize = Math.min(MAX_IN_LIST_SIZE, placeholderCount - start);
+            sqlResult.append(column).append(operator)
+                .append(PLACEHOLDER_LISTS.computeIfAbsent(listSize,
+                    size -> String.join(", ", Collections.nCopies(size, "?"))))
+                .append(")");
+        }
+        if (isSplit) {
+            sqlResult.append(")");
+        }
+        addInListBindings(values, placeholderCount, objects);
+    }
+
+    /**
+     * Adds the SQL code for the given range predicate as one condition on the column, i.e. {@code col BETWEEN ? AND ?}
+     * or {@code col >= ? AND col < ?} for half-open ranges, which database engines can resolve with a range scan.
+     *
+     * @param predicate the predicate to generate SQL for
+     * @param sqlResult the string builder saving the SQL for all predicates
+     * @param objects list objects to bind to the generated SQL code
+     */
+    protected void processRangePredicate(RangePredicate<?, C> predicate, StringBuilder sqlResult,
+                                         List<Object> objects) {
+        if (columnLayout.isUsed(predicate.getColumn())) {
+            final String column = columnLayout.getName(predicate.getColumn());
+            if (predicate.isUpperBoundInclusive()) {
+                sqlResult.append(column).append(" BETWEEN ? AND ?");
+            } else {
+                sqlResult.append(column).append(" >= ? AND ").append(column).append(" < ?");
+            }
+            objects.add(predicate.getLowerBound());
+            objects.add(predicate.getUpperBound());
+        } else {
+            addAlwaysTruePredicate(sqlResult);
+        }
+    }
+
+    /**
+     * Adds the SQL code for the given {@code LIKE} predicate, i.e. {@code col LIKE ? ESCAPE '!'}.
+     * <p>
+     * If prefix ranges are enabled, prefix patterns are rewritten to the range {@code col >= ? AND col < ?} with the
+     * prefix and its {@link #getPrefixSuccessor successor}, which (unlike {@code LIKE}) can be resolved with an index
+     * range scan by all database engines. Negated prefix patterns become {@code col < ? OR col >= ?}. The successor
+     * is determined by code point, so the range only matches the same values as the prefix if the column has a
+     * binary collation: with other collations (such as the case-insensitive defaults of MySQL), the range may
+     * exclude matching values or even be empty, e.g. {@code 'Liz' <= col < 'Li{'}. The range is also always
+     * case-sensitive, whereas {@code LIKE} is case-insensitive in some database engines.
+     *
+     * @param predicate the predicate to generate SQL for
+     * @param sqlResult the string builder saving the SQL for all predicates
+     * @param objects list objects to bind to the generated SQL code
+     */
+    protected void processLikePredicate(LikePredicate<C> predicate, StringBuilder sqlResult, List<Object> objects) {
+        if (!columnLayout.isUsed(predicate.getColumn())) {
+            addAlwaysTruePredicate(sqlResult);
+            return;
+        }
+
+        final String column = columnLayout.getName(predicate.getColumn());
+        final String prefix = usePrefixRanges ? predicate.getPrefix() : null;
+        final boolean isNegated = predicate.isNegated();
+        if (prefix == null) {
+            sqlResult.append(column).append(isNegated ? " NOT LIKE ? ESCAPE '" : " LIKE ? ESCAPE '")
+                .append(LikePredicate.ESCAPE_CHARACTER).append("'");
+        } else if (getPrefixSuccessor(prefix) == null) {
+            sqlResult.append(column).append(isNegated ? " < ?" : " >= ?");
+        } else if (isNegated) {
+            sqlResult.append(column).append(" < ? OR ").append(column).append(" >= ?");
+        } else {
+            sqlResult.append(column).append(" >= ? AND ").append(column).append(" < ?");
+        }
+        addLikeBindings(predicate, usePrefixRanges, objects);
+    }
+
     protected String convertComparingTypeToSqlOperator(ComparingPredicate.Type type) {
         switch (type) {
             case LESS:           return " < ";
@@ -138,9 +529,9 @@ public class PredicateSqlGenerator<C> {
     }
 
     protected void processIsNullAndNotNullPredicate(boolean isNegated, Column<?, C> column, StringBuilder sqlResult) {
-        if (column.isColumnUsed(context)) {
+        if (columnLayout.isUsed(column)) {
             final String condition = isNegated ? " IS NOT NULL" : " IS NULL";
-            sqlResult.append(column.resolveName(context)).append(condition);
+            sqlResult.append(columnLayout.getName(column)).append(condition);
         } else {
             addAlwaysTruePredicate(sqlResult);
         }
@@ -148,10 +539,52 @@ public class PredicateSqlGenerator<C> {
 
     protected void processCombiningClause(Predicate<C> left, Predicate<C> right, String operator,
                                           StringBuilder sqlResult, List<Object> objects) {
-        sqlResult.append("(");
-        generateWhereClause(left, sqlResult, objects);
-        sqlResult.append(") ").append(operator).append(" (");
-        generateWhereClause(right, sqlResult, objects);
-        sqlResult.append(")");
+        processCombiningClause(Arrays.asList(left, right), operator, sqlResult, objects);
+    }
+
+    /**
+     * Adds the SQL code for the given operands, combined with the given operator, e.g.
+     * {@code (a = ?) AND (b = ?) AND (c IS NULL)}.
+     *
+     * @param operands the predicates to combine
+     * @param operator the operator to combine the predicates with
+     * @param sqlResult the string builder saving the SQL for all predicates
+     * @param objects list objects to bind to the generated SQL code
+     */
+    protected void processCombiningClause(List<Predicate<C>> operands, String operator,
+                                          StringBuilder sqlResult, List<Object> objects) {
+        boolean isFirst = true;
+        for (Predicate<C> operand : operands) {
+            if (!isFirst) {
+                sqlResult.append(" ").append(operator).append(" ");
+            }
+            sqlResult.append("(");
+            generateWhereClause(operand, sqlResult, objects);
+            sqlResult.append(")");
+            isFirst = false;
+        }
+    }
+
+    /**
+     * Collects the operands of nested {@code AND} or {@code OR} predicates in the order they appear, e.g. the
+     * operands {@code a, b, c} for {@code (a AND b) AND c}.
+     *
+     * @param predicate the predicate to process
+     * @param combinationClass the class of the combination whose operands should be collected
+     * @param operands list to add the operands to
+     */
+    private static <C> void collectOperands(Predicate<C> predicate, Class<?> combinationClass,
+                                            List<Predicate<C>> operands) {
+        if (predicate.getClass() != combinationClass) {
+            operands.add(predicate);
+        } else if (combinationClass == AndPredicate.class) {
+            AndPredicate<C> and = (AndPredicate<C>) predicate;
+            collectOperands(and.getLeft(), combinationClass, operands);
+            collectOperands(and.getRight(), combinationClass, operands);
+        } else {
+            OrPredicate<C> or = (OrPredicate<C>) predicate;
+            collectOperands(or.getLeft(), combinationClass, operands);
+            collectOperands(or.getRight(), combinationClass, operands);
+        }
     }
 }
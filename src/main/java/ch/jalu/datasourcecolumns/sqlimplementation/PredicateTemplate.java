@@ -0,0 +1,142 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.predicate.AndPredicate;
+import ch.jalu.datasourcecolumns.predicate.ComparingPredicate;
+import ch.jalu.datasourcecolumns.predicate.EqualsIgnoreCasePredicate;
+import ch.jalu.datasourcecolumns.predicate.InPredicate;
+import ch.jalu.datasourcecolumns.predicate.LikePredicate;
+import ch.jalu.datasourcecolumns.predicate.NotPredicate;
+import ch.jalu.datasourcecolumns.predicate.OrPredicate;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+import ch.jalu.datasourcecolumns.predicate.RangePredicate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL code generated for a {@link PredicateShape}. Can be used for any predicate of the same shape,
+ * whose values can be extracted with {@link #extractBindings}.
+ */
+final class PredicateTemplate {
+
+    private final String sql;
+    private final BitSet usedValueLeaves;
+    private final int bindingCount;
+    private final InListBinding inListBinding;
+    private final int maxBindParameters;
+    private final boolean usePrefixRanges;
+
+    /**
+     * Constructor.
+     *
+     * @param sql the SQL code generated for the shape
+     * @param shape the shape the SQL code was generated for
+     * @param inListBinding how the values of {@link InPredicate} are bound
+     * @param maxBindParameters the max number of bind parameters, which {@code IN} lists are not padded beyond
+     * @param usePrefixRanges true if prefix patterns of {@link LikePredicate} are converted to ranges
+     */
+    PredicateTemplate(String sql, PredicateShape shape, InListBinding inListBinding, int maxBindParameters,
+                      boolean usePrefixRanges) {
+        this.sql = sql;
+        this.usedValueLeaves = shape.getUsedValueLeaves();
+        this.bindingCount = shape.getBindingCount();
+        this.inListBinding = inListBinding;
+        this.maxBindParameters = maxBindParameters;
+        this.usePrefixRanges = usePrefixRanges;
+    }
+
+    /**
+     * @return the generated SQL code
+     */
+    String getSql() {
+        return sql;
+    }
+
+    /**
+     * Returns the values to bind to this template's SQL code from the given predicate, which must
+     * have the same shape as the one the template was created for.
+     *
+     * @param predicate the predicate to get the values from
+     * @return the values to bind
+     */
+    List<Object> extractBindings(Predicate<?> predicate) {
+        if (bindingCount == 0) {
+            return Collections.emptyList();
+        }
+        final BindingCollector collector = new BindingCollector(new ArrayList<>(bindingCount));
+        collector.collect(predicate);
+        return collector.bindings;
+    }
+
+    /**
+     * Collects the values of a predicate tree in the same order as they appear in the SQL code.
+     */
+    private final class BindingCollector {
+
+        private final List<Object> bindings;
+        private int leafIndex;
+
+        BindingCollector(List<Object> bindings) {
+            this.bindings = bindings;
+        }
+
+        void collect(Predicate<?> predicate) {
+            final Class<?> clazz = predicate.getClass();
+            if (clazz == ComparingPredicate.class) {
+                addValue(((ComparingPredicate<?, ?>) predicate).getValue());
+            } else if (clazz == EqualsIgnoreCasePredicate.class) {
+                addValue(((EqualsIgnoreCasePredicate<?>) predicate).getValue());
+            } else if (clazz == InPredicate.class) {
+                addInValues(((InPredicate<?, ?>) predicate).getValues());
+            } else if (clazz == RangePredicate.class) {
+                RangePredicate<?, ?> range = (RangePredicate<?, ?>) predicate;
+                addValues(range.getLowerBound(), range.getUpperBound());
+            } else if (clazz == LikePredicate.class) {
+                if (usedValueLeaves.get(leafIndex)) {
+                    PredicateSqlGenerator.addLikeBindings((LikePredicate<?>) predicate, usePrefixRanges, bindings);
+                }
+                ++leafIndex;
+            } else if (clazz == NotPredicate.class) {
+                collect(((NotPredicate<?>) predicate).getPredicate());
+            } else if (clazz == OrPredicate.class) {
+                OrPredicate<?> or = (OrPredicate<?>) predicate;
+                collect(or.getLeft());
+                collect(or.getRight());
+            } else if (clazz == AndPredicate.class) {
+                AndPredicate<?> and = (AndPredicate<?>) predicate;
+                collect(and.getLeft());
+                collect(and.getRight());
+            }
+            // Other predicates supported by PredicateShape have no values
+        }
+
+        private void addValue(Object value) {
+            if (usedValueLeaves.get(leafIndex)) {
+                bindings.add(value);
+            }
+            ++leafIndex;
+        }
+
+        private void addValues(Object value1, Object value2) {
+            if (usedValueLeaves.get(leafIndex)) {
+                bindings.add(value1);
+                bindings.add(value2);
+            }
+            ++leafIndex;
+        }
+
+        private void addInValues(List<?> values) {
+            if (usedValueLeaves.get(leafIndex)) {
+                if (inListBinding == InListBinding.ARRAY) {
+                    bindings.add(values.toArray());
+                } else {
+                    PredicateSqlGenerator.addInListBindings(values,
+                        PredicateSqlGenerator.getInListPlaceholderCount(values.size(), maxBindParameters), bindings);
+                }
+            }
+            ++leafIndex;
+        }
+    }
+}
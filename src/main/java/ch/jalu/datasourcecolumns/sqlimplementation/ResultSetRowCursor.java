@@ -0,0 +1,48 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Values of the current row of a result set, which are read from the result set when requested.
+ * The same instance is used for all rows of the result set.
+ *
+ * @param <C> the context type
+ */
+final class ResultSetRowCursor<C> implements DataSourceValues {
+
+    private final ResultSet resultSet;
+    private final ResultSetValueRetriever<C> resultSetValueRetriever;
+    private final RowProjection<C> projection;
+
+    /**
+     * Constructor.
+     *
+     * @param resultSet the result set to read from
+     * @param resultSetValueRetriever the value retriever
+     * @param projection the projection of the query the result set belongs to
+     */
+    ResultSetRowCursor(ResultSet resultSet, ResultSetValueRetriever<C> resultSetValueRetriever,
+                       RowProjection<C> projection) {
+        this.resultSet = resultSet;
+        this.resultSetValueRetriever = resultSetValueRetriever;
+        this.projection = projection;
+    }
+
+    @Override
+    public boolean rowExists() {
+        return true;
+    }
+
+    @Override
+    public <T> T get(Column<T, ?> column) {
+        try {
+            return projection.readValue(resultSet, resultSetValueRetriever, column);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read value of column '" + column + "'", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator.PreparedStatementGenerator;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spliterator which reads the rows of an open result set one by one. Used to create streams whose rows
+ * are only fetched from the database as they are consumed.
+ *
+ * @param <T> the type each row is mapped to
+ */
+final class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final ResultSet resultSet;
+    private final RowMapper<T> rowMapper;
+
+    private ResultSetSpliterator(ResultSet resultSet, RowMapper<T> rowMapper) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.resultSet = resultSet;
+        this.rowMapper = rowMapper;
+    }
+
+    /**
+     * Creates a sequential stream over the rows of the given result set. Closing the stream closes the result
+     * set and the statement generator (and thereby releases the statement and the connection).
+     *
+     * @param generator the generator of the statement the result set belongs to
+     * @param resultSet the result set to read from
+     * @param rowMapper maps the current row of the result set to an object
+     * @param <T> the type each row is mapped to
+     * @return stream of the result set's rows
+     */
+    static <T> Stream<T> stream(PreparedStatementGenerator generator, ResultSet resultSet,
+                                RowMapper<T> rowMapper) {
+        return StreamSupport.stream(new ResultSetSpliterator<>(resultSet, rowMapper), false)
+            .onClose(() -> closeResources(generator, resultSet));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        final T row;
+        try {
+            if (!resultSet.next()) {
+                return false;
+            }
+            row = rowMapper.map(resultSet);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the next row from the result set", e);
+        }
+        action.accept(row);
+        return true;
+    }
+
+    /**
+     * Closes the result set and then the generator, also if closing the result set fails.
+     *
+     * @param generator the generator to close
+     * @param resultSet the result set to close
+     */
+    private static void closeResources(PreparedStatementGenerator generator, ResultSet resultSet) {
+        SQLException exception = null;
+        try {
+            resultSet.close();
+        } catch (SQLException e) {
+            exception = e;
+        }
+        try {
+            generator.close();
+        } catch (SQLException e) {
+            if (exception == null) {
+                exception = e;
+            } else {
+                exception.addSuppressed(e);
+            }
+        }
+        if (exception != null) {
+            throw new IllegalStateException("Could not close the result set", exception);
+        }
+    }
+
+    /**
+     * Maps the current row of a result set to an object.
+     *
+     * @param <T> the type to map to
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+
+        T map(ResultSet rs) throws SQLException;
+
+    }
+}
@@ -1,11 +1,15 @@
 package ch.jalu.datasourcecolumns.sqlimplementation;
 
 import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnLayout;
 import ch.jalu.datasourcecolumns.ColumnType;
 import ch.jalu.datasourcecolumns.StandardTypes;
 
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -16,8 +20,13 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ResultSetValueRetriever<C> {
 
-    private final C context;
+    private static final Map<ColumnType<?>, ResultSetGetter<?>> STANDARD_GETTERS = createStandardGetters();
+    private static final Map<ColumnType<?>, ResultSetIndexGetter<?>> STANDARD_INDEX_GETTERS =
+        createStandardIndexGetters();
+
+    private final ColumnLayout<C> columnLayout;
     private final Map<ColumnType, ResultSetGetter> resultSetGetters = new ConcurrentHashMap<>();
+    private final Map<ColumnType<?>, ResultSetIndexGetter<?>> resultSetIndexGetters = new ConcurrentHashMap<>();
 
     /**
      * Constructor.
@@ -25,7 +34,16 @@ public class ResultSetValueRetriever<C> {
      * @param context the context
      */
     public ResultSetValueRetriever(C context) {
-        this.context = context;
+        this(ColumnLayout.live(context));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columnLayout the column layout to resolve the columns' names with
+     */
+    public ResultSetValueRetriever(ColumnLayout<C> columnLayout) {
+        this.columnLayout = columnLayout;
     }
 
     /**
@@ -39,7 +57,24 @@ public class ResultSetValueRetriever<C> {
     @SuppressWarnings("unchecked")
     public <T> T get(ResultSet rs, Column<T, C> column) throws SQLException {
         return ((ResultSetGetter<T>) resultSetGetters.computeIfAbsent(column.getType(), this::createResultSetGetter))
-            .getValue(rs, column.resolveName(context));
+            .getValue(rs, columnLayout.getName(column));
+    }
+
+    /**
+     * Gets the value for the column from the given result set by the column's position in the result set.
+     * Faster than {@link #get(ResultSet, Column)} as the column's name does not need to be resolved and looked up.
+     *
+     * @param rs the result set to fetch from
+     * @param columnIndex the index of the column in the result set (1-based)
+     * @param column the column to fetch the value for
+     * @param <T> the value type
+     * @return the fetched value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ResultSet rs, int columnIndex, Column<T, C> column) throws SQLException {
+        return ((ResultSetIndexGetter<T>) resultSetIndexGetters
+            .computeIfAbsent(column.getType(), this::createResultSetIndexGetter))
+            .getValue(rs, columnIndex);
     }
 
     /**
@@ -52,23 +87,67 @@ public class ResultSetValueRetriever<C> {
      */
     @SuppressWarnings("unchecked")
     protected <T> ResultSetGetter<T> createResultSetGetter(ColumnType<T> type) {
-        final ResultSetGetter resultSetGetter;
-        if (type == StandardTypes.STRING) {
-            resultSetGetter = ResultSet::getString;
-        } else if (type == StandardTypes.LONG) {
-            resultSetGetter = getTypeNullable(ResultSet::getLong, 0L);
-        } else if (type == StandardTypes.INTEGER) {
-            resultSetGetter = getTypeNullable(ResultSet::getInt, 0);
-        } else if (type == StandardTypes.BOOLEAN) {
-            resultSetGetter = getTypeNullable(ResultSet::getBoolean, false);
-        } else if (type == StandardTypes.DOUBLE) {
-            resultSetGetter = getTypeNullable(ResultSet::getDouble, 0.0);
-        } else if (type == StandardTypes.FLOAT) {
-            resultSetGetter = getTypeNullable(ResultSet::getFloat, 0.0f);
-        } else {
+        final ResultSetGetter<?> resultSetGetter = STANDARD_GETTERS.get(type);
+        if (resultSetGetter == null) {
             throw new IllegalArgumentException("Unhandled type '" + type + "'");
         }
-        return resultSetGetter;
+        return (ResultSetGetter<T>) resultSetGetter;
+    }
+
+    /**
+     * Returns a function based on the input type from which a value can be retrieved from the given result set
+     * by column index. Standard types are read by index directly, unless {@link #createResultSetGetter} returns
+     * a custom getter for them. Otherwise, the getter of {@link #createResultSetGetter} is used with the column's
+     * label, which is resolved from the result set's metadata once per result set.
+     *
+     * @param type the type to create a getter for
+     * @param <T> the type
+     * @return the getter to use
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> ResultSetIndexGetter<T> createResultSetIndexGetter(ColumnType<T> type) {
+        final ResultSetGetter<T> getterByName = createResultSetGetter(type);
+        if (getterByName == STANDARD_GETTERS.get(type)) {
+            return (ResultSetIndexGetter<T>) STANDARD_INDEX_GETTERS.get(type);
+        }
+        return new ColumnLabelIndexGetter<>(getterByName);
+    }
+
+    private static Map<ColumnType<?>, ResultSetGetter<?>> createStandardGetters() {
+        final Map<ColumnType<?>, ResultSetGetter<?>> getters = new HashMap<>();
+        getters.put(StandardTypes.STRING, (ResultSetGetter<String>) ResultSet::getString);
+        getters.put(StandardTypes.LONG, getTypeNullable(ResultSet::getLong, 0L));
+        getters.put(StandardTypes.INTEGER, getTypeNullable(ResultSet::getInt, 0));
+        getters.put(StandardTypes.BOOLEAN, getTypeNullable(ResultSet::getBoolean, false));
+        getters.put(StandardTypes.DOUBLE, getTypeNullable(ResultSet::getDouble, 0.0));
+        getters.put(StandardTypes.FLOAT, getTypeNullable(ResultSet::getFloat, 0.0f));
+        return getters;
+    }
+
+    private static Map<ColumnType<?>, ResultSetIndexGetter<?>> createStandardIndexGetters() {
+        final Map<ColumnType<?>, ResultSetIndexGetter<?>> getters = new HashMap<>();
+        getters.put(StandardTypes.STRING, (ResultSetIndexGetter<String>) ResultSet::getString);
+        getters.put(StandardTypes.LONG, (ResultSetIndexGetter<Long>) (rs, index) -> {
+            final long value = rs.getLong(index);
+            return value == 0L && rs.wasNull() ? null : value;
+        });
+        getters.put(StandardTypes.INTEGER, (ResultSetIndexGetter<Integer>) (rs, index) -> {
+            final int value = rs.getInt(index);
+            return value == 0 && rs.wasNull() ? null : value;
+        });
+        getters.put(StandardTypes.BOOLEAN, (ResultSetIndexGetter<Boolean>) (rs, index) -> {
+            final boolean value = rs.getBoolean(index);
+            return !value && rs.wasNull() ? null : value;
+        });
+        getters.put(StandardTypes.DOUBLE, (ResultSetIndexGetter<Double>) (rs, index) -> {
+            final double value = rs.getDouble(index);
+            return value == 0.0 && rs.wasNull() ? null : value;
+        });
+        getters.put(StandardTypes.FLOAT, (ResultSetIndexGetter<Float>) (rs, index) -> {
+            final float value = rs.getFloat(index);
+            return value == 0.0f && rs.wasNull() ? null : value;
+        });
+        return getters;
     }
 
     private static <T> ResultSetGetter<T> getTypeNullable(ResultSetGetter<T> getter, T standInValue) {
@@ -91,4 +170,58 @@ public class ResultSetValueRetriever<C> {
         T getValue(ResultSet rs, String column) throws SQLException;
 
     }
+
+    @FunctionalInterface
+    public interface ResultSetIndexGetter<T> {
+
+        /**
+         * Retrieves the value from the provided ResultSet for the given column index.
+         *
+         * @param rs the result set to fetch a value from
+         * @param columnIndex index of the column to fetch the value for (1-based)
+         * @return the retrieved value, may be null
+         */
+        T getValue(ResultSet rs, int columnIndex) throws SQLException;
+
+    }
+
+    /**
+     * Index getter for types which are read by column name: gets the column labels from the result set's metadata
+     * and keeps them for as long as values of the same result set are read.
+     */
+    private static final class ColumnLabelIndexGetter<T> implements ResultSetIndexGetter<T> {
+
+        private final ResultSetGetter<T> getterByName;
+        private volatile ResultSetLabels labels;
+
+        ColumnLabelIndexGetter(ResultSetGetter<T> getterByName) {
+            this.getterByName = getterByName;
+        }
+
+        @Override
+        public T getValue(ResultSet rs, int columnIndex) throws SQLException {
+            ResultSetLabels currentLabels = labels;
+            if (currentLabels == null || currentLabels.resultSet.get() != rs) {
+                currentLabels = new ResultSetLabels(rs);
+                labels = currentLabels;
+            }
+            return getterByName.getValue(rs, currentLabels.columnLabels[columnIndex - 1]);
+        }
+    }
+
+    /** The column labels of a result set (which is only weakly referenced). */
+    private static final class ResultSetLabels {
+
+        private final WeakReference<ResultSet> resultSet;
+        private final String[] columnLabels;
+
+        ResultSetLabels(ResultSet rs) throws SQLException {
+            final ResultSetMetaData metaData = rs.getMetaData();
+            this.resultSet = new WeakReference<>(rs);
+            this.columnLabels = new String[metaData.getColumnCount()];
+            for (int i = 0; i < columnLabels.length; ++i) {
+                columnLabels[i] = metaData.getColumnLabel(i + 1);
+            }
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+
+/**
+ * Processes rows one by one, see {@link SqlColumnsHandler#forEach}.
+ */
+@FunctionalInterface
+public interface RowConsumer {
+
+    /**
+     * Processes the current row. The given object is a cursor which is reused for all rows: it always reflects
+     * the current row and must not be used after this method returns. Values should be copied if needed later.
+     *
+     * @param row the current row
+     */
+    void accept(DataSourceValues row);
+
+}
@@ -0,0 +1,107 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.data.ArrayDataSourceValues;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.DataSourceValuesLayout;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The columns requested by a query and which of them are selected from the database, with their position in the
+ * SELECT list. Creates a {@link DataSourceValues} object for each row of the query's result set, all sharing the
+ * same layout, and reads the values by column index.
+ *
+ * @param <C> the context type
+ */
+final class RowProjection<C> {
+
+    private final DataSourceValuesLayout layout;
+    private final Column<?, C>[] selectedColumnsBySlot;
+    private final int[] resultSetIndicesBySlot;
+
+    /**
+     * Constructor.
+     *
+     * @param columns all columns that were requested for retrieval
+     * @param nonEmptyColumns the requested columns which are selected, in the order of the SELECT list
+     * @param firstColumnIndex the result set index of the first column of {@code nonEmptyColumns} (1-based)
+     */
+    @SuppressWarnings("unchecked")
+    RowProjection(Column<?, C>[] columns, Set<Column<?, C>> nonEmptyColumns, int firstColumnIndex) {
+        final Map<Column<?, C>, Integer> indicesByColumn = new HashMap<>();
+        int index = firstColumnIndex;
+        for (Column<?, C> column : nonEmptyColumns) {
+            indicesByColumn.put(column, index);
+            ++index;
+        }
+
+        this.layout = DataSourceValuesLayout.of(columns);
+        this.selectedColumnsBySlot = (Column<?, C>[]) new Column<?, ?>[layout.size()];
+        this.resultSetIndicesBySlot = new int[layout.size()];
+        for (int slot = 0; slot < layout.size(); ++slot) {
+            Column<?, C> column = (Column<?, C>) layout.getColumn(slot);
+            Integer resultSetIndex = indicesByColumn.get(column);
+            if (resultSetIndex != null) {
+                selectedColumnsBySlot[slot] = column;
+                resultSetIndicesBySlot[slot] = resultSetIndex;
+            }
+        }
+    }
+
+    /**
+     * Constructor for SELECT lists which start with the non-empty columns.
+     *
+     * @param columns all columns that were requested for retrieval
+     * @param nonEmptyColumns the requested columns which are selected, in the order of the SELECT list
+     */
+    RowProjection(Column<?, C>[] columns, Set<Column<?, C>> nonEmptyColumns) {
+        this(columns, nonEmptyColumns, 1);
+    }
+
+    /**
+     * Creates a {@link DataSourceValues} object with the values of the result set's current row.
+     * Requested columns which are not selected have a null value.
+     *
+     * @param rs the result set to fetch values from
+     * @param resultSetValueRetriever the value retriever to use
+     * @return values object of the current row
+     */
+    DataSourceValues readRow(ResultSet rs, ResultSetValueRetriever<C> resultSetValueRetriever) throws SQLException {
+        final ArrayDataSourceValues values = layout.createValues();
+        for (int slot = 0; slot < selectedColumnsBySlot.length; ++slot) {
+            final Column<?, C> column = selectedColumnsBySlot[slot];
+            if (column != null) {
+                values.set(slot, resultSetValueRetriever.get(rs, resultSetIndicesBySlot[slot], column));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Reads the value of the given column from the result set's current row.
+     *
+     * @param rs the result set to fetch the value from
+     * @param resultSetValueRetriever the value retriever to use
+     * @param column the column to get the value for
+     * @param <T> the value type
+     * @return the value (null if the column is requested but not selected)
+     * @throws IllegalArgumentException if the column was not requested
+     */
+    @SuppressWarnings("unchecked")
+    <T> T readValue(ResultSet rs, ResultSetValueRetriever<C> resultSetValueRetriever,
+                    Column<T, ?> column) throws SQLException {
+        final int slot = layout.getSlot(column);
+        if (slot < 0) {
+            throw new IllegalArgumentException("No value available for column '" + column + "'");
+        }
+        final Column<?, C> selectedColumn = selectedColumnsBySlot[slot];
+        return selectedColumn == null
+            ? null
+            : resultSetValueRetriever.get(rs, resultSetIndicesBySlot[slot], (Column<T, C>) selectedColumn);
+    }
+}
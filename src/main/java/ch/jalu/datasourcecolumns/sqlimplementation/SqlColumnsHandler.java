@@ -1,44 +1,71 @@
 package ch.jalu.datasourcecolumns.sqlimplementation;
 
 import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnLayout;
 import ch.jalu.datasourcecolumns.ColumnsHandler;
 import ch.jalu.datasourcecolumns.DependentColumn;
 import ch.jalu.datasourcecolumns.data.DataSourceValue;
 import ch.jalu.datasourcecolumns.data.DataSourceValueImpl;
 import ch.jalu.datasourcecolumns.data.DataSourceValues;
 import ch.jalu.datasourcecolumns.data.DataSourceValuesImpl;
+import ch.jalu.datasourcecolumns.data.DoubleColumnValues;
+import ch.jalu.datasourcecolumns.data.IntColumnValues;
+import ch.jalu.datasourcecolumns.data.LongColumnValues;
 import ch.jalu.datasourcecolumns.data.UpdateValues;
 import ch.jalu.datasourcecolumns.predicate.Predicate;
+import ch.jalu.datasourcecolumns.sqlimplementation.StatementShape.Kind;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationListener;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationType;
 import ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator.PreparedStatementGenerator;
 import ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator.PreparedStatementGeneratorFactory;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of {@link ColumnsHandler} for a SQL data source.
+ * <p>
+ * If enabled in the config (the default for {@link ColumnLayout#snapshot snapshot} column layouts), the generated
+ * SQL is cached per {@link StatementShape shape}: the columns' names are resolved when SQL is first generated for a
+ * given combination of columns, so repeated operations with the same columns only need to bind their values.
  *
  * @param <C> the context type
  * @param <I> the identifier type
  */
-public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
+public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I>, AutoCloseable {
 
     private final String tableName;
     private final String idColumn;
-    private final C context;
+    private final ColumnLayout<C> columnLayout;
     private final PreparedStatementGeneratorFactory statementGeneratorFactory;
     private final ResultSetValueRetriever<C> resultSetValueRetriever;
     private final PredicateSqlGenerator<C> predicateSqlGenerator;
+    private final Map<StatementShape, CachedSql> sqlCache;
+    private final String countSqlPrefix;
+    private final int batchSize;
+    private final BulkInsertMode bulkInsertMode;
+    private final int maxBindParameters;
+    private final int fetchSize;
+    private final OperationListener operationListener;
 
     /**
      * Constructor.
@@ -48,27 +75,49 @@ public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
     public SqlColumnsHandler(SqlColumnsHandlerConfig<C> config) {
         this.tableName = config.getTableName();
         this.idColumn = config.getIdColumn();
-        this.context = config.getContext();
+        this.columnLayout = config.getColumnLayout();
         this.statementGeneratorFactory = config.getStatementGeneratorFactory();
         this.resultSetValueRetriever = config.getResultSetValueRetriever();
         this.predicateSqlGenerator = config.getPredicateSqlGenerator();
+        this.sqlCache = config.isSqlCacheEnabled() ? new ConcurrentHashMap<>() : null;
+        if (sqlCache != null) {
+            columnLayout.addRefreshListener(sqlCache::clear);
+        }
+        this.countSqlPrefix = "SELECT COUNT(1) FROM " + tableName + " WHERE ";
+        this.batchSize = config.getBatchSize();
+        this.bulkInsertMode = config.getBulkInsertMode();
+        this.maxBindParameters = config.getMaxBindParameters();
+        this.fetchSize = config.getFetchSize();
+        this.operationListener = config.getOperationListener();
     }
 
     @Override
     public <T> DataSourceValue<T> retrieve(I identifier, Column<T, C> column) throws SQLException {
-        final boolean isColumnUsed = column.isColumnUsed(context);
-        final String columnName = isColumnUsed ? column.resolveName(context) : "1";
-        final String sql = "SELECT " + columnName + " FROM " + tableName + " WHERE " + idColumn + " = ?;";
+        try (OperationTimer timer = startTimer(OperationType.RETRIEVE_BY_ID)) {
+            final boolean isColumnUsed = columnLayout.isUsed(column);
+            final Collection<Column<T, C>> usedColumns = isColumnUsed
+                ? Collections.singletonList(column)
+                : Collections.emptyList();
+            final String sql = getSql(new StatementShape(Kind.RETRIEVE_BY_ID, usedColumns),
+                () -> createSelectByIdSql(usedColumns));
+            timer.sqlGenerated(sql);
 
-        try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
-            final PreparedStatement pst = generator.createStatement();
-            pst.setObject(1, identifier);
-            try (ResultSet rs = pst.executeQuery()) {
-                if (rs.next()) {
-                    return isColumnUsed ? DataSourceValueImpl.of(resultSetValueRetriever.get(rs, column))
-                        : DataSourceValueImpl.of(null);
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                pst.setObject(1, identifier);
+                try (ResultSet rs = pst.executeQuery()) {
+                    timer.executed(1);
+                    final DataSourceValue<T> result;
+                    if (rs.next()) {
+                        result = isColumnUsed ? DataSourceValueImpl.of(resultSetValueRetriever.get(rs, 1, column))
+                            : DataSourceValueImpl.of(null);
+                    } else {
+                        result = DataSourceValueImpl.unknownRow();
+                    }
+                    timer.succeeded(result.rowExists() ? 1 : 0);
+                    return result;
                 }
-                return DataSourceValueImpl.unknownRow();
             }
         }
     }
@@ -76,89 +125,321 @@ public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
     @Override
     @SuppressWarnings("unchecked")
     public DataSourceValues retrieve(I identifier, Column<?, C>... columns) throws SQLException {
-        final Set<Column<?, C>> nonEmptyColumns = removeSkippedColumns(columns);
-        final String sql = "SELECT " + (nonEmptyColumns.isEmpty() ? "1" : commaSeparatedList(nonEmptyColumns))
-            + " FROM " + tableName + " WHERE " + idColumn + " = ?;";
+        try (OperationTimer timer = startTimer(OperationType.RETRIEVE_BY_ID)) {
+            final Set<Column<?, C>> nonEmptyColumns = removeSkippedColumns(columns);
+            final String sql = getSql(new StatementShape(Kind.RETRIEVE_BY_ID, nonEmptyColumns),
+                () -> createSelectByIdSql(nonEmptyColumns));
+            timer.sqlGenerated(sql);
 
-        try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
-            final PreparedStatement pst = generator.createStatement();
-            pst.setObject(1, identifier);
-            try (ResultSet rs = pst.executeQuery()) {
-                return rs.next()
-                    ? generateDataSourceValuesObject(rs, nonEmptyColumns, columns)
-                    : DataSourceValuesImpl.unknownRow();
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                pst.setObject(1, identifier);
+                try (ResultSet rs = pst.executeQuery()) {
+                    timer.executed(1);
+                    final DataSourceValues result = rs.next()
+                        ? new RowProjection<>(columns, nonEmptyColumns).readRow(rs, resultSetValueRetriever)
+                        : DataSourceValuesImpl.unknownRow();
+                    timer.succeeded(result.rowExists() ? 1 : 0);
+                    return result;
+                }
             }
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The rows are fetched with {@code IN (...)} queries with at most as many ids as bind parameters are allowed.
+     * The number of placeholders is rounded up to a power of two (repeating the last id) so that only few
+     * different SQL statements are needed.
+     * <p>
+     * The ids of the returned rows are matched with the given ids by {@link #toIdKey}, which ignores the case of
+     * string ids as the database may return the id of a row in another case than it was looked up with (e.g. with
+     * MySQL's default collations). If multiple given ids match a row, the row is assigned to the id that is equal to
+     * the row's id, or to all of them if there is no such id.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<I, DataSourceValues> retrieveAll(Collection<I> identifiers, Column<?, C>... columns)
+        throws SQLException {
+        final Map<I, DataSourceValues> valuesById = new LinkedHashMap<>();
+        if (identifiers.isEmpty()) {
+            return valuesById;
+        }
+
+        try (OperationTimer timer = startTimer(OperationType.RETRIEVE_BY_IDS)) {
+            final Set<Column<?, C>> nonEmptyColumns = removeSkippedColumns(columns);
+            final List<I> distinctIds = new ArrayList<>(new LinkedHashSet<>(identifiers));
+            final Map<Object, List<I>> idsByKey = new HashMap<>();
+            for (I id : distinctIds) {
+                idsByKey.computeIfAbsent(toIdKey(id), k -> new ArrayList<>(1)).add(id);
+                valuesById.put(id, DataSourceValuesImpl.unknownRow());
+            }
+
+            // The id column is selected first
+            final RowProjection<C> projection = new RowProjection<>(columns, nonEmptyColumns, 2);
+            int foundRows = 0;
+            int start = 0;
+            while (start < distinctIds.size()) {
+                final int idCount = Math.min(maxBindParameters, distinctIds.size() - start);
+                final int placeholderCount = Math.min(maxBindParameters, roundUpToPowerOfTwo(idCount));
+                final String sql = getSql(
+                    new StatementShape(Kind.RETRIEVE_BY_IDS, nonEmptyColumns, null, placeholderCount),
+                    () -> createSelectByIdsSql(nonEmptyColumns, placeholderCount));
+                timer.sqlGenerated(sql);
+
+                try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                    final PreparedStatement pst = generator.createStatement();
+                    timer.statementPrepared();
+                    for (int i = 0; i < placeholderCount; ++i) {
+                        pst.setObject(i + 1, distinctIds.get(start + Math.min(i, idCount - 1)));
+                    }
+                    try (ResultSet rs = pst.executeQuery()) {
+                        timer.executed(placeholderCount);
+                        while (rs.next()) {
+                            final Object rowId = rs.getObject(1);
+                            final List<I> ids = idsByKey.get(toIdKey(rowId));
+                            if (ids != null) {
+                                foundRows += assignRow(ids, rowId, projection.readRow(rs, resultSetValueRetriever),
+                                    valuesById);
+                            }
+                        }
+                    }
+                }
+                start += idCount;
+            }
+            timer.succeeded(foundRows);
+            return valuesById;
+        }
+    }
+
     @Override
     public <T> List<T> retrieve(Predicate<C> predicate, Column<T, C> column) throws SQLException {
-        final boolean isColumnUsed = column.isColumnUsed(context);
+        final boolean isColumnUsed = columnLayout.isUsed(column);
         if (!isColumnUsed) {
             final int matchingRows = count(predicate);
             return Collections.nCopies(matchingRows, null);
         }
 
-        final GeneratedSqlWithBindings sqlPredicate = predicateSqlGenerator.generateWhereClause(predicate);
-        final String sql = "SELECT " + column.resolveName(context)
-            + " FROM " + tableName + " WHERE " + sqlPredicate.getGeneratedSql();
+        try (OperationTimer timer = startTimer(OperationType.RETRIEVE_BY_PREDICATE)) {
+            final Collection<Column<T, C>> columns = Collections.singletonList(column);
+            final GeneratedSqlWithBindings sqlPredicate = predicateSqlGenerator.generateWhereClause(predicate);
+            final String sql = getSql(new StatementShape(Kind.RETRIEVE_BY_PREDICATE, columns),
+                () -> createSelectWherePrefix(columns)) + sqlPredicate.getGeneratedSql();
+            timer.sqlGenerated(sql);
 
-        List<T> results = new ArrayList<>();
-        try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
-            final PreparedStatement pst = generator.createStatement();
-            bindValues(pst, 1, sqlPredicate.getBindings());
-            try (ResultSet rs = pst.executeQuery()) {
-                while (rs.next()) {
-                    results.add(resultSetValueRetriever.get(rs, column));
+            List<T> results = new ArrayList<>();
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                bindValues(pst, 1, sqlPredicate.getBindings());
+                try (ResultSet rs = pst.executeQuery()) {
+                    timer.executed(sqlPredicate.getBindings().size());
+                    while (rs.next()) {
+                        results.add(resultSetValueRetriever.get(rs, 1, column));
+                    }
                 }
             }
+            timer.succeeded(results.size());
+            return results;
         }
-        return results;
+    }
+
+    /**
+     * Retrieves a Long column's value for all rows that satisfy the given predicate, without creating a Long object
+     * per value. The values are read with {@link ResultSet#getLong(int)}, i.e. the {@link ResultSetValueRetriever}
+     * is not used. If the column is not used, a null value is returned for each matching row.
+     *
+     * @param predicate the predicate to fulfill
+     * @param column the column to retrieve from the matching rows
+     * @return the values of the matching rows
+     */
+    public LongColumnValues retrieveLongs(Predicate<C> predicate, Column<Long, C> column) throws SQLException {
+        final LongColumnValues.Builder builder = new LongColumnValues.Builder();
+        scanColumn(predicate, column, builder::addNull, rs -> {
+            final long value = rs.getLong(1);
+            if (rs.wasNull()) {
+                builder.addNull();
+            } else {
+                builder.add(value);
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * Retrieves an Integer column's value for all rows that satisfy the given predicate, without creating an
+     * Integer object per value. Behaves like {@link #retrieveLongs}, reading with {@link ResultSet#getInt(int)}.
+     *
+     * @param predicate the predicate to fulfill
+     * @param column the column to retrieve from the matching rows
+     * @return the values of the matching rows
+     */
+    public IntColumnValues retrieveInts(Predicate<C> predicate, Column<Integer, C> column) throws SQLException {
+        final IntColumnValues.Builder builder = new IntColumnValues.Builder();
+        scanColumn(predicate, column, builder::addNull, rs -> {
+            final int value = rs.getInt(1);
+            if (rs.wasNull()) {
+                builder.addNull();
+            } else {
+                builder.add(value);
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * Retrieves a Double column's value for all rows that satisfy the given predicate, without creating a
+     * Double object per value. Behaves like {@link #retrieveLongs}, reading with {@link ResultSet#getDouble(int)}.
+     *
+     * @param predicate the predicate to fulfill
+     * @param column the column to retrieve from the matching rows
+     * @return the values of the matching rows
+     */
+    public DoubleColumnValues retrieveDoubles(Predicate<C> predicate, Column<Double, C> column) throws SQLException {
+        final DoubleColumnValues.Builder builder = new DoubleColumnValues.Builder();
+        scanColumn(predicate, column, builder::addNull, rs -> {
+            final double value = rs.getDouble(1);
+            if (rs.wasNull()) {
+                builder.addNull();
+            } else {
+                builder.add(value);
+            }
+        });
+        return builder.build();
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public List<DataSourceValues> retrieve(Predicate<C> predicate, Column<?, C>... columns) throws SQLException {
+        try (OperationTimer timer = startTimer(OperationType.RETRIEVE_BY_PREDICATE)) {
+            final Set<Column<?, C>> nonEmptyColumns = removeSkippedColumns(columns);
+            final GeneratedSqlWithBindings sqlPredicate = predicateSqlGenerator.generateWhereClause(predicate);
+            final String sql = getSql(new StatementShape(Kind.RETRIEVE_BY_PREDICATE, nonEmptyColumns),
+                () -> createSelectWherePrefix(nonEmptyColumns)) + sqlPredicate.getGeneratedSql();
+            timer.sqlGenerated(sql);
+
+            final RowProjection<C> projection = new RowProjection<>(columns, nonEmptyColumns);
+            List<DataSourceValues> matchingEntries = new ArrayList<>();
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                bindValues(pst, 1, sqlPredicate.getBindings());
+                try (ResultSet rs = pst.executeQuery()) {
+                    timer.executed(sqlPredicate.getBindings().size());
+                    while (rs.next()) {
+                        DataSourceValues values = projection.readRow(rs, resultSetValueRetriever);
+                        matchingEntries.add(values);
+                    }
+                }
+            }
+            timer.succeeded(matchingEntries.size());
+            return matchingEntries;
+        }
+    }
+
+    /**
+     * Retrieves the given columns' values from all rows that satisfy the given predicate as a stream. Unlike
+     * {@link #retrieve(Predicate, Column[])}, rows are read from the database as the stream is consumed, with the
+     * configured {@link SqlColumnsHandlerConfig#setFetchSize fetch size}. The statement and its connection are kept
+     * open until the stream is closed, so the stream must always be closed, e.g. with try-with-resources.
+     * SQL exceptions while reading rows are wrapped into an {@link IllegalStateException}.
+     *
+     * @param predicate the predicate to fulfill
+     * @param columns the columns to retrieve from the matching rows
+     * @return stream of the values in the matching rows (to close after use)
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<DataSourceValues> stream(Predicate<C> predicate, Column<?, C>... columns) throws SQLException {
         final Set<Column<?, C>> nonEmptyColumns = removeSkippedColumns(columns);
         final GeneratedSqlWithBindings sqlPredicate = predicateSqlGenerator.generateWhereClause(predicate);
-        final String sql = "SELECT " + (nonEmptyColumns.isEmpty() ? "1" : commaSeparatedList(nonEmptyColumns))
-            + " FROM " + tableName + " WHERE " + sqlPredicate.getGeneratedSql();
+        final String sql = getSql(new StatementShape(Kind.RETRIEVE_BY_PREDICATE, nonEmptyColumns),
+            () -> createSelectWherePrefix(nonEmptyColumns)) + sqlPredicate.getGeneratedSql();
 
-        List<DataSourceValues> matchingEntries = new ArrayList<>();
-        try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+        final PreparedStatementGenerator generator = statementGeneratorFactory.create(sql);
+        try {
             final PreparedStatement pst = generator.createStatement();
+            pst.setFetchSize(fetchSize);
             bindValues(pst, 1, sqlPredicate.getBindings());
-            try (ResultSet rs = pst.executeQuery()) {
-                while (rs.next()) {
-                    DataSourceValues values = generateDataSourceValuesObject(rs, nonEmptyColumns, columns);
-                    matchingEntries.add(values);
+            final ResultSet rs = pst.executeQuery();
+            final RowProjection<C> projection = new RowProjection<>(columns, nonEmptyColumns);
+            return ResultSetSpliterator.stream(generator, rs,
+                resultSet -> projection.readRow(resultSet, resultSetValueRetriever));
+        } catch (SQLException | RuntimeException e) {
+            try {
+                generator.close();
+            } catch (SQLException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Passes the given columns' values of all rows that satisfy the given predicate to the consumer. Unlike the
+     * retrieve methods, no objects are created per row: the consumer receives the same cursor object for each row,
+     * which reads the values from the result set on demand.
+     *
+     * @param predicate the predicate to fulfill
+     * @param consumer the consumer to process the rows with
+     * @param columns the columns whose values can be read from the cursor
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Predicate<C> predicate, RowConsumer consumer, Column<?, C>... columns) throws SQLException {
+        try (OperationTimer timer = startTimer(OperationType.RETRIEVE_BY_PREDICATE)) {
+            final Set<Column<?, C>> nonEmptyColumns = removeSkippedColumns(columns);
+            final GeneratedSqlWithBindings sqlPredicate = predicateSqlGenerator.generateWhereClause(predicate);
+            final String sql = getSql(new StatementShape(Kind.RETRIEVE_BY_PREDICATE, nonEmptyColumns),
+                () -> createSelectWherePrefix(nonEmptyColumns)) + sqlPredicate.getGeneratedSql();
+            timer.sqlGenerated(sql);
+
+            int rowCount = 0;
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                pst.setFetchSize(fetchSize);
+                bindValues(pst, 1, sqlPredicate.getBindings());
+                try (ResultSet rs = pst.executeQuery()) {
+                    timer.executed(sqlPredicate.getBindings().size());
+                    final ResultSetRowCursor<C> cursor = new ResultSetRowCursor<>(rs, resultSetValueRetriever,
+                        new RowProjection<>(columns, nonEmptyColumns));
+                    while (rs.next()) {
+                        consumer.accept(cursor);
+                        ++rowCount;
+                    }
                 }
             }
+            timer.succeeded(rowCount);
         }
-        return matchingEntries;
     }
 
     @Override
     public <T> boolean update(I identifier, Column<T, C> column, T value) throws SQLException {
-        if (!column.isColumnUsed(context)) {
+        if (!columnLayout.isUsed(column)) {
             return true;
-        } else if (value == null && column.useDefaultForNullValue(context)) {
-            String sql = "UPDATE " + tableName + " SET " + column.resolveName(context)
-                + " = DEFAULT WHERE " + idColumn + " = ?;";
+        }
+
+        try (OperationTimer timer = startTimer(OperationType.UPDATE_BY_ID)) {
+            final Collection<Column<T, C>> columns = Collections.singletonList(column);
+            final boolean[] useDefault = { value == null && columnLayout.useDefaultForNull(column) };
+            final String sql = getSql(new StatementShape(Kind.UPDATE_BY_ID, columns, useDefault),
+                () -> createUpdateByIdSql(columns, useDefault));
+            timer.sqlGenerated(sql);
             try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
                 final PreparedStatement pst = generator.createStatement();
-                pst.setObject(1, identifier);
-                return performUpdateAction(pst);
+                timer.statementPrepared();
+                int index = 1;
+                if (!useDefault[0]) {
+                    pst.setObject(index++, value);
+                }
+                pst.setObject(index, identifier);
+                final boolean isUpdated = performUpdateAction(pst);
+                timer.executed(index);
+                timer.succeeded(isUpdated ? 1 : 0);
+                return isUpdated;
             }
         }
-        String sql = "UPDATE " + tableName + " SET " + column.resolveName(context)
-            + " = ? WHERE " + idColumn + " = ?;";
-        try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
-            final PreparedStatement pst = generator.createStatement();
-            pst.setObject(1, value);
-            pst.setObject(2, identifier);
-            return performUpdateAction(pst);
-        }
     }
 
     @Override
@@ -178,6 +459,48 @@ public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
             column -> column.getValueFromDependent(dependent));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Rows are grouped by the SQL code they require and each group is updated with JDBC batches. Rows whose columns
+     * are all unused are skipped. Rows for which the driver returns {@link Statement#SUCCESS_NO_INFO} are counted
+     * as updated.
+     */
+    @Override
+    public int updateAll(Map<I, UpdateValues<C>> valuesById) throws SQLException {
+        try (OperationTimer timer = startTimer(OperationType.UPDATE_BATCH)) {
+            final Map<StatementShape, RowBatch<Column<?, C>>> batchesByShape = new LinkedHashMap<>();
+            int rowIndex = 0;
+            for (Map.Entry<I, UpdateValues<C>> entry : valuesById.entrySet()) {
+                final UpdateValues<C> updateValues = entry.getValue();
+                final Set<Column<?, C>> nonEmptyColumns = removeSkippedColumns(updateValues.getColumns());
+                if (!nonEmptyColumns.isEmpty()) {
+                    final List<Object> bindings = new ArrayList<>(nonEmptyColumns.size() + 1);
+                    final boolean[] useDefault = collectBindings(nonEmptyColumns, updateValues::get, bindings);
+                    bindings.add(entry.getKey());
+                    batchesByShape.computeIfAbsent(
+                        new StatementShape(Kind.UPDATE_BY_ID, nonEmptyColumns, useDefault),
+                        shape -> new RowBatch<>(nonEmptyColumns, useDefault))
+                        .addRow(rowIndex, bindings);
+                    ++rowIndex;
+                }
+            }
+
+            final int[] updateCounts = new int[rowIndex];
+            for (Map.Entry<StatementShape, RowBatch<Column<?, C>>> entry : batchesByShape.entrySet()) {
+                final RowBatch<Column<?, C>> batch = entry.getValue();
+                final String sql = getSql(entry.getKey(),
+                    () -> createUpdateByIdSql(batch.columns, batch.useDefault));
+                timer.sqlGenerated(sql);
+                executeBatch(sql, batch, updateCounts, timer);
+            }
+
+            final int updatedRows = sumUpdateCounts(updateCounts);
+            timer.succeeded(updatedRows);
+            return updatedRows;
+        }
+    }
+
     @Override
     public <T> int update(Predicate<C> predicate, Column<T, C> column, T value) throws SQLException {
         return update(predicate, UpdateValues.with(column, value).build());
@@ -199,22 +522,51 @@ public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
         return performInsert(Arrays.asList(columns), column -> column.getValueFromDependent(dependent));
     }
 
+    @Override
+    public int[] insertAll(Collection<UpdateValues<C>> rows) throws SQLException {
+        return performBatchInsert(rows, UpdateValues::getColumns, UpdateValues::get);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <D> int[] insertAll(Collection<D> dependents, DependentColumn<?, C, D>... columns)
+        throws SQLException {
+        final List<DependentColumn<?, C, D>> columnList = Arrays.asList(columns);
+        return performBatchInsert(dependents, dependent -> columnList, (dependent, column) ->
+            column.getValueFromDependent(dependent));
+    }
+
     @Override
     public int count(Predicate<C> predicate) throws SQLException {
-        GeneratedSqlWithBindings whereResult = predicateSqlGenerator.generateWhereClause(predicate);
-        String sql = "SELECT COUNT(1) FROM " + tableName + " WHERE " + whereResult.getGeneratedSql();
-        try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
-            final PreparedStatement pst = generator.createStatement();
-            bindValues(pst, 1, whereResult.getBindings());
-            try (ResultSet rs = pst.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
+        try (OperationTimer timer = startTimer(OperationType.COUNT)) {
+            GeneratedSqlWithBindings whereResult = predicateSqlGenerator.generateWhereClause(predicate);
+            String sql = countSqlPrefix + whereResult.getGeneratedSql();
+            timer.sqlGenerated(sql);
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                bindValues(pst, 1, whereResult.getBindings());
+                try (ResultSet rs = pst.executeQuery()) {
+                    timer.executed(whereResult.getBindings().size());
+                    if (rs.next()) {
+                        timer.succeeded(1);
+                        return rs.getInt(1);
+                    }
+                    throw new IllegalStateException("Could not fetch count for SQL '" + sql + "'");
                 }
-                throw new IllegalStateException("Could not fetch count for SQL '" + sql + "'");
             }
         }
     }
 
+    /**
+     * Releases resources held by this handler, such as prepared statements that are kept open for reuse.
+     * Connections provided to this handler are not closed.
+     */
+    @Override
+    public void close() throws SQLException {
+        statementGeneratorFactory.close();
+    }
+
     private <E extends Column<?, C>> boolean performUpdate(I identifier, Collection<E> columns,
                                                            Function<E, Object> valueGetter) throws SQLException{
         final Set<E> nonEmptyColumns = removeSkippedColumns(columns);
@@ -222,14 +574,22 @@ public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
             return false;
         }
 
-        final GeneratedSqlWithBindings columnSetList = createColumnsListForUpdate(nonEmptyColumns, valueGetter);
-        final String sql = "UPDATE " + tableName + " SET "
-            + columnSetList.getGeneratedSql() + " WHERE " + idColumn + " = ?;";
-        try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
-            final PreparedStatement pst = generator.createStatement();
-            int index = bindValues(pst, 1, columnSetList.getBindings());
-            pst.setObject(index, identifier);
-            return performUpdateAction(pst);
+        try (OperationTimer timer = startTimer(OperationType.UPDATE_BY_ID)) {
+            final List<Object> bindings = new ArrayList<>(nonEmptyColumns.size());
+            final boolean[] useDefault = collectBindings(nonEmptyColumns, valueGetter, bindings);
+            final String sql = getSql(new StatementShape(Kind.UPDATE_BY_ID, nonEmptyColumns, useDefault),
+                () -> createUpdateByIdSql(nonEmptyColumns, useDefault));
+            timer.sqlGenerated(sql);
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                int index = bindValues(pst, 1, bindings);
+                pst.setObject(index, identifier);
+                final boolean isUpdated = performUpdateAction(pst);
+                timer.executed(index);
+                timer.succeeded(isUpdated ? 1 : 0);
+                return isUpdated;
+            }
         }
     }
 
@@ -239,36 +599,27 @@ public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
             return 0;
         }
 
-        final GeneratedSqlWithBindings columnSetList = createColumnsListForUpdate(nonEmptyColumns, updateValues::get);
-        final GeneratedSqlWithBindings whereClause = predicateSqlGenerator.generateWhereClause(predicate);
-        final String sql = "UPDATE " + tableName + " SET " + columnSetList.getGeneratedSql()
-            + " WHERE " + whereClause.getGeneratedSql();
-        try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
-            final PreparedStatement pst = generator.createStatement();
-            int index = bindValues(pst, 1, columnSetList.getBindings());
-            bindValues(pst, index, whereClause.getBindings());
-            return pst.executeUpdate();
+        try (OperationTimer timer = startTimer(OperationType.UPDATE_BY_PREDICATE)) {
+            final List<Object> bindings = new ArrayList<>(nonEmptyColumns.size());
+            final boolean[] useDefault = collectBindings(nonEmptyColumns, updateValues::get, bindings);
+            final GeneratedSqlWithBindings whereClause = predicateSqlGenerator.generateWhereClause(predicate);
+            final String sql = getSql(new StatementShape(Kind.UPDATE_BY_PREDICATE, nonEmptyColumns, useDefault),
+                () -> "UPDATE " + tableName + " SET " + createColumnsListForUpdate(nonEmptyColumns, useDefault)
+                    + " WHERE ") + whereClause.getGeneratedSql();
+            timer.sqlGenerated(sql);
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                int index = bindValues(pst, 1, bindings);
+                index = bindValues(pst, index, whereClause.getBindings());
+                final int updatedRows = pst.executeUpdate();
+                timer.executed(index - 1);
+                timer.succeeded(updatedRows);
+                return updatedRows;
+            }
         }
     }
 
-    private <E extends Column<?, C>> GeneratedSqlWithBindings createColumnsListForUpdate(
-        Collection<E> columns, Function<E, Object> valueGetter) {
-
-        final List<Object> bindings = new LinkedList<>();
-        final String sql = columns.stream()
-            .map(column -> {
-                final Object value = valueGetter.apply(column);
-                if (value == null && column.useDefaultForNullValue(context)) {
-                    return column.resolveName(context) + " = DEFAULT";
-                } else {
-                    bindings.add(value);
-                    return column.resolveName(context) + " = ?";
-                }
-            })
-            .collect(Collectors.joining(", "));
-        return new GeneratedSqlWithBindings(sql, bindings);
-    }
-
     private <E extends Column<?, C>> boolean performInsert(Collection<E> columns,
                                                            Function<E, Object> valueGetter) throws SQLException {
         final Set<E> nonEmptyColumns = removeSkippedColumns(columns);
@@ -276,53 +627,381 @@ public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
             throw new IllegalStateException("Cannot perform insert when all columns are empty: " + columns);
         }
 
-        final GeneratedSqlWithBindings placeholders = createValuePlaceholdersForInsert(nonEmptyColumns, valueGetter);
-        final String sql = "INSERT INTO " + tableName + " (" + commaSeparatedList(nonEmptyColumns) + ") "
-            + "VALUES(" + placeholders.getGeneratedSql() + ");";
+        try (OperationTimer timer = startTimer(OperationType.INSERT)) {
+            final List<Object> bindings = new ArrayList<>(nonEmptyColumns.size());
+            final boolean[] useDefault = collectBindings(nonEmptyColumns, valueGetter, bindings);
+            final String sql = getSql(new StatementShape(Kind.INSERT, nonEmptyColumns, useDefault),
+                () -> createInsertSql(nonEmptyColumns, useDefault));
+            timer.sqlGenerated(sql);
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                bindValues(pst, 1, bindings);
+                final boolean isInserted = performUpdateAction(pst);
+                timer.executed(bindings.size());
+                timer.succeeded(isInserted ? 1 : 0);
+                return isInserted;
+            }
+        }
+    }
+
+    /**
+     * Inserts the given rows in bulk. Rows are grouped by the SQL code they require (i.e. by their columns and by
+     * which columns use DEFAULT), and each group is inserted according to the configured {@link BulkInsertMode}.
+     * Groups whose rows each need more bind parameters than the configured maximum are always inserted with a JDBC
+     * batch of single-row statements.
+     *
+     * @param rows the rows to insert
+     * @param columnsGetter function returning the columns of a row
+     * @param valueGetter function returning the value of a column for a row
+     * @param <R> the row type
+     * @param <E> the column type
+     * @return the update count for each row, in the order of the given rows
+     */
+    private <R, E extends Column<?, C>> int[] performBatchInsert(Collection<R> rows,
+                                                                 Function<R, Collection<E>> columnsGetter,
+                                                                 BiFunction<R, E, Object> valueGetter)
+                                                                 throws SQLException {
+        try (OperationTimer timer = startTimer(OperationType.INSERT_BATCH)) {
+            final Map<StatementShape, RowBatch<E>> batchesByShape = new LinkedHashMap<>();
+            int rowIndex = 0;
+            for (R row : rows) {
+                final Collection<E> columns = columnsGetter.apply(row);
+                final Set<E> nonEmptyColumns = removeSkippedColumns(columns);
+                if (nonEmptyColumns.isEmpty()) {
+                    throw new IllegalStateException("Cannot perform insert when all columns are empty: " + columns);
+                }
+
+                final List<Object> bindings = new ArrayList<>(nonEmptyColumns.size());
+                final boolean[] useDefault = collectBindings(nonEmptyColumns,
+                    column -> valueGetter.apply(row, column), bindings);
+                batchesByShape.computeIfAbsent(new StatementShape(Kind.INSERT, nonEmptyColumns, useDefault),
+                    shape -> new RowBatch<>(nonEmptyColumns, useDefault))
+                    .addRow(rowIndex, bindings);
+                ++rowIndex;
+            }
+
+            final int[] updateCounts = new int[rowIndex];
+            for (Map.Entry<StatementShape, RowBatch<E>> entry : batchesByShape.entrySet()) {
+                final RowBatch<E> batch = entry.getValue();
+                if (bulkInsertMode == BulkInsertMode.MULTI_ROW_VALUES
+                    && batch.rowBindings.get(0).size() <= maxBindParameters) {
+                    executeMultiRowInserts(batch, updateCounts, timer);
+                } else {
+                    final String sql = getSql(entry.getKey(),
+                        () -> createInsertSql(batch.columns, batch.useDefault));
+                    timer.sqlGenerated(sql);
+                    executeBatch(sql, batch, updateCounts, timer);
+                }
+            }
+            timer.succeeded(sumUpdateCounts(updateCounts));
+            return updateCounts;
+        }
+    }
+
+    /**
+     * Returns the number of rows affected by a batch, as reported by the given update counts. Entries with
+     * {@link Statement#SUCCESS_NO_INFO} are counted as one row; other non-positive counts are not counted.
+     *
+     * @param updateCounts the update counts to sum
+     * @return the number of affected rows
+     */
+    private static int sumUpdateCounts(int[] updateCounts) {
+        int affectedRows = 0;
+        for (int updateCount : updateCounts) {
+            affectedRows += updateCount == Statement.SUCCESS_NO_INFO ? 1 : Math.max(updateCount, 0);
+        }
+        return affectedRows;
+    }
+
+    private void executeBatch(String sql, RowBatch<?> batch, int[] updateCounts,
+                              OperationTimer timer) throws SQLException {
         try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
             final PreparedStatement pst = generator.createStatement();
-            bindValues(pst, 1, placeholders.getBindings());
-            return performUpdateAction(pst);
+            timer.statementPrepared();
+            int executedRows = 0;
+            int bindCount = 0;
+            for (int i = 0; i < batch.rowIndices.size(); ++i) {
+                bindCount += bindValues(pst, 1, batch.rowBindings.get(i)) - 1;
+                pst.addBatch();
+                if (i + 1 - executedRows == batchSize || i + 1 == batch.rowIndices.size()) {
+                    final int[] batchCounts = pst.executeBatch();
+                    timer.executed(bindCount);
+                    bindCount = 0;
+                    for (int j = 0; j < batchCounts.length; ++j) {
+                        updateCounts[batch.rowIndices.get(executedRows + j)] = batchCounts[j];
+                    }
+                    executedRows = i + 1;
+                }
+            }
         }
     }
 
-    private <E extends Column<?, C>> GeneratedSqlWithBindings createValuePlaceholdersForInsert(
-        Collection<E> columns, Function<E, Object> valueGetter) {
+    /**
+     * Inserts the rows of the given batch with INSERT statements that have multiple rows in their VALUES clause.
+     * The number of rows per statement is limited by the batch size and by the max number of bind parameters.
+     * Rows which do not fill a statement of the max size are inserted with statements whose number of rows is a
+     * power of two (e.g. 13 remaining rows are inserted as 8, 4 and 1 rows), so that only few different statements
+     * are generated and cached. Each row's update count is 1 if the statement reported as many inserted rows as it
+     * had, otherwise {@link Statement#SUCCESS_NO_INFO}.
+     * <p>
+     * Must only be called if a single row of the batch does not exceed the max number of bind parameters.
+     *
+     * @param batch the rows to insert
+     * @param updateCounts array to save the update count of each row to
+     * @param <E> the column type
+     */
+    private <E extends Column<?, C>> void executeMultiRowInserts(RowBatch<E> batch, int[] updateCounts,
+                                                                 OperationTimer timer) throws SQLException {
+        final int bindingsPerRow = batch.rowBindings.get(0).size();
+        final int maxRowsPerStatement = bindingsPerRow == 0
+            ? batchSize
+            : Math.min(batchSize, maxBindParameters / bindingsPerRow);
+
+        final int totalRows = batch.rowIndices.size();
+        int start = 0;
+        while (start < totalRows) {
+            final int remainingRows = totalRows - start;
+            final int rowCount = remainingRows >= maxRowsPerStatement
+                ? maxRowsPerStatement
+                : Integer.highestOneBit(remainingRows);
+            final String sql = getSql(
+                new StatementShape(Kind.INSERT_MULTI_ROW, batch.columns, batch.useDefault, rowCount),
+                () -> createMultiRowInsertSql(batch.columns, batch.useDefault, rowCount));
+            timer.sqlGenerated(sql);
 
-        final List<Object> bindings = new LinkedList<>();
-        final String sql = columns.stream()
-            .map(column -> {
-                final Object value = valueGetter.apply(column);
-                if (value == null && column.useDefaultForNullValue(context)) {
-                    return "DEFAULT";
-                } else {
-                    bindings.add(value);
-                    return "?";
+            final int insertedRows;
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                int index = 1;
+                for (int i = start; i < start + rowCount; ++i) {
+                    index = bindValues(pst, index, batch.rowBindings.get(i));
                 }
-            })
-            .collect(Collectors.joining(", "));
-        return new GeneratedSqlWithBindings(sql, bindings);
+                insertedRows = pst.executeUpdate();
+                timer.executed(index - 1);
+            }
+
+            final int rowUpdateCount = insertedRows == rowCount ? 1 : Statement.SUCCESS_NO_INFO;
+            for (int i = start; i < start + rowCount; ++i) {
+                updateCounts[batch.rowIndices.get(i)] = rowUpdateCount;
+            }
+            start += rowCount;
+        }
     }
 
     /**
-     * Creates a {@link DataSourceValues} with all values of the given {@code columns}.
+     * Starts measuring an operation for the configured {@link OperationListener}. Returns a timer which does
+     * nothing if no listener is configured.
      *
-     * @param rs the result set to fetch values from
-     * @param nonEmptyColumns non-empty columns (columns which should not be ignored)
-     * @param columns all columns that were requested for retrieval
-     * @return generated DataSourceValues instance containing the columns' values
+     * @param type the type of the operation
+     * @return timer to measure the operation with (to close once the operation has finished)
      */
-    private DataSourceValues generateDataSourceValuesObject(ResultSet rs, Set<Column<?, C>> nonEmptyColumns,
-                                                            Column<?, C>[] columns) throws SQLException {
-        DataSourceValuesImpl values = new DataSourceValuesImpl();
-        for (Column<?, C> column : columns) {
-            if (nonEmptyColumns.contains(column)) {
-                values.put(column, resultSetValueRetriever.get(rs, column));
+    private OperationTimer startTimer(OperationType type) {
+        return OperationTimer.start(operationListener, type);
+    }
+
+    /**
+     * Returns the SQL code for the given shape, either from the cache or by generating it with the given supplier.
+     * Cached SQL code is only used if it was generated in the current generation of the column layout, so that
+     * SQL generated concurrently to a refresh of the layout is not kept.
+     *
+     * @param shape the shape of the statement
+     * @param sqlGenerator generates the SQL code (if not cached)
+     * @return the SQL code
+     */
+    private String getSql(StatementShape shape, Supplier<String> sqlGenerator) {
+        if (sqlCache == null) {
+            return sqlGenerator.get();
+        }
+        final int generation = columnLayout.getGeneration();
+        final CachedSql cachedSql = sqlCache.get(shape);
+        if (cachedSql != null && cachedSql.generation == generation) {
+            return cachedSql.sql;
+        }
+        final String sql = sqlGenerator.get();
+        sqlCache.put(shape, new CachedSql(sql, generation));
+        return sql;
+    }
+
+    private String createSelectByIdSql(Collection<? extends Column<?, C>> columns) {
+        return "SELECT " + (columns.isEmpty() ? "1" : commaSeparatedList(columns))
+            + " FROM " + tableName + " WHERE " + idColumn + " = ?;";
+    }
+
+    private String createSelectByIdsSql(Collection<? extends Column<?, C>> columns, int idCount) {
+        return "SELECT " + idColumn + (columns.isEmpty() ? "" : ", " + commaSeparatedList(columns))
+            + " FROM " + tableName + " WHERE " + idColumn
+            + " IN (" + String.join(", ", Collections.nCopies(idCount, "?")) + ");";
+    }
+
+    private String createSelectWherePrefix(Collection<? extends Column<?, C>> columns) {
+        return "SELECT " + (columns.isEmpty() ? "1" : commaSeparatedList(columns))
+            + " FROM " + tableName + " WHERE ";
+    }
+
+    private String createInsertSql(Collection<? extends Column<?, C>> columns, boolean[] useDefault) {
+        return "INSERT INTO " + tableName + " (" + commaSeparatedList(columns) + ") "
+            + "VALUES(" + createValuePlaceholdersForInsert(useDefault) + ");";
+    }
+
+    private String createMultiRowInsertSql(Collection<? extends Column<?, C>> columns, boolean[] useDefault,
+                                           int rowCount) {
+        final String rowPlaceholders = "(" + createValuePlaceholdersForInsert(useDefault) + ")";
+        return "INSERT INTO " + tableName + " (" + commaSeparatedList(columns) + ") "
+            + "VALUES" + String.join(", ", Collections.nCopies(rowCount, rowPlaceholders)) + ";";
+    }
+
+    private String createUpdateByIdSql(Collection<? extends Column<?, C>> columns, boolean[] useDefault) {
+        return "UPDATE " + tableName + " SET " + createColumnsListForUpdate(columns, useDefault)
+            + " WHERE " + idColumn + " = ?;";
+    }
+
+    /**
+     * Determines for each column whether the {@code DEFAULT} keyword should be used, and adds the values
+     * of all other columns to the given bindings list.
+     *
+     * @param columns the columns to process
+     * @param valueGetter function returning the value of a column
+     * @param bindings list to add the values to bind to
+     * @param <E> the column type
+     * @return array indicating for each column whether DEFAULT should be used
+     */
+    private <E extends Column<?, C>> boolean[] collectBindings(Collection<E> columns,
+                                                               Function<E, Object> valueGetter,
+                                                               List<Object> bindings) {
+        final boolean[] useDefault = new boolean[columns.size()];
+        int i = 0;
+        for (E column : columns) {
+            final Object value = valueGetter.apply(column);
+            if (value == null && columnLayout.useDefaultForNull(column)) {
+                useDefault[i] = true;
             } else {
-                values.put(column, null);
+                bindings.add(value);
             }
+            ++i;
         }
-        return values;
+        return useDefault;
+    }
+
+    private String createColumnsListForUpdate(Collection<? extends Column<?, C>> columns, boolean[] useDefault) {
+        final StringBuilder sql = new StringBuilder();
+        int i = 0;
+        for (Column<?, C> column : columns) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(columnLayout.getName(column)).append(useDefault[i] ? " = DEFAULT" : " = ?");
+            ++i;
+        }
+        return sql.toString();
+    }
+
+    private static String createValuePlaceholdersForInsert(boolean[] useDefault) {
+        final StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < useDefault.length; ++i) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(useDefault[i] ? "DEFAULT" : "?");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Selects the given column from all rows matching the predicate and passes the result set to the row reader
+     * for each row. If the column is not used, the null value adder is called once for each matching row instead.
+     *
+     * @param predicate the predicate to fulfill
+     * @param column the column to select
+     * @param nullValueAdder called for each matching row if the column is not used
+     * @param rowReader called for each row, with the column's value at index 1 of the result set
+     */
+    private void scanColumn(Predicate<C> predicate, Column<?, C> column, Runnable nullValueAdder,
+                            ResultSetRowReader rowReader) throws SQLException {
+        if (!columnLayout.isUsed(column)) {
+            final int matchingRows = count(predicate);
+            for (int i = 0; i < matchingRows; ++i) {
+                nullValueAdder.run();
+            }
+            return;
+        }
+
+        try (OperationTimer timer = startTimer(OperationType.RETRIEVE_BY_PREDICATE)) {
+            final Collection<Column<?, C>> columns = Collections.singletonList(column);
+            final GeneratedSqlWithBindings sqlPredicate = predicateSqlGenerator.generateWhereClause(predicate);
+            final String sql = getSql(new StatementShape(Kind.RETRIEVE_BY_PREDICATE, columns),
+                () -> createSelectWherePrefix(columns)) + sqlPredicate.getGeneratedSql();
+            timer.sqlGenerated(sql);
+
+            int rowCount = 0;
+            try (PreparedStatementGenerator generator = statementGeneratorFactory.create(sql)) {
+                final PreparedStatement pst = generator.createStatement();
+                timer.statementPrepared();
+                pst.setFetchSize(fetchSize);
+                bindValues(pst, 1, sqlPredicate.getBindings());
+                try (ResultSet rs = pst.executeQuery()) {
+                    timer.executed(sqlPredicate.getBindings().size());
+                    while (rs.next()) {
+                        rowReader.read(rs);
+                        ++rowCount;
+                    }
+                }
+            }
+            timer.succeeded(rowCount);
+        }
+    }
+
+    /**
+     * Returns the key with which an id given to {@link #retrieveAll} is matched with the id value of a result set.
+     * Integral numbers are converted to Long as the JDBC driver may return another type than the given ids have.
+     * Strings are converted to lower case as the database may compare them case-insensitively; override this method
+     * to match ids differently.
+     *
+     * @param id the id to convert (given by the caller or obtained from the result set)
+     * @return key to identify the id with
+     */
+    protected Object toIdKey(Object id) {
+        if (id instanceof Integer || id instanceof Long || id instanceof Short || id instanceof Byte) {
+            return ((Number) id).longValue();
+        } else if (id instanceof String) {
+            return ((String) id).toLowerCase(Locale.ROOT);
+        }
+        return id;
+    }
+
+    /**
+     * Saves the values of a row for the given ids with the same {@link #toIdKey key} as the row's id. If there are
+     * multiple ids, the values are only saved for the id that is equal to the row's id, if there is one.
+     *
+     * @param ids the given ids matching the row's id (not empty)
+     * @param rowId the id of the row as returned by the database
+     * @param values the values of the row
+     * @param valuesById the values by id to save the row to
+     * @return the number of ids the row was saved for
+     */
+    private int assignRow(List<I> ids, Object rowId, DataSourceValues values, Map<I, DataSourceValues> valuesById) {
+        if (ids.size() > 1) {
+            for (I id : ids) {
+                if (id.equals(rowId)) {
+                    valuesById.put(id, values);
+                    return 1;
+                }
+            }
+        }
+        int assignedIds = 0;
+        for (I id : ids) {
+            if (!valuesById.get(id).rowExists()) {
+                valuesById.put(id, values);
+                ++assignedIds;
+            }
+        }
+        return assignedIds;
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        final int highestOneBit = Integer.highestOneBit(value);
+        return highestOneBit == value ? value : highestOneBit << 1;
     }
 
     /**
@@ -350,7 +1029,7 @@ public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
      */
     private String commaSeparatedList(Collection<? extends Column<?, C>> columns) {
         return columns.stream()
-            .map(column -> column.resolveName(context))
+            .map(columnLayout::getName)
             .collect(Collectors.joining(", "));
     }
 
@@ -376,7 +1055,7 @@ public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
 
     /**
      * Returns a Set of columns without any that should be skipped
-     * (as determined by {@link Column#isColumnUsed}).
+     * (as determined by {@link Column#isColumnUsed}). The order of the columns is retained.
      *
      * @param cols the columns to filter
      * @param <E> the column extension type
@@ -384,12 +1063,59 @@ public class SqlColumnsHandler<C, I> implements ColumnsHandler<C, I> {
      */
     private <E extends Column<?, C>> Set<E> removeSkippedColumns(Collection<E> cols) {
         return cols.stream()
-            .filter(column -> column.isColumnUsed(context))
-            .collect(Collectors.toSet());
+            .filter(columnLayout::isUsed)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     @SafeVarargs
     private final Set<Column<?, C>> removeSkippedColumns(Column<?, C>... cols) {
         return removeSkippedColumns(Arrays.asList(cols));
     }
+
+    /**
+     * Reads the current row of a result set.
+     */
+    @FunctionalInterface
+    private interface ResultSetRowReader {
+
+        void read(ResultSet rs) throws SQLException;
+
+    }
+
+    /**
+     * SQL code in the cache, with the generation of the column layout it was generated with.
+     */
+    private static final class CachedSql {
+
+        private final String sql;
+        private final int generation;
+
+        CachedSql(String sql, int generation) {
+            this.sql = sql;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Rows to insert or update which all have the same statement shape.
+     *
+     * @param <E> the column type
+     */
+    private static final class RowBatch<E> {
+
+        private final Set<E> columns;
+        private final boolean[] useDefault;
+        private final List<Integer> rowIndices = new ArrayList<>();
+        private final List<List<Object>> rowBindings = new ArrayList<>();
+
+        RowBatch(Set<E> columns, boolean[] useDefault) {
+            this.columns = columns;
+            this.useDefault = useDefault;
+        }
+
+        void addRow(int rowIndex, List<Object> bindings) {
+            rowIndices.add(rowIndex);
+            rowBindings.add(bindings);
+        }
+    }
 }
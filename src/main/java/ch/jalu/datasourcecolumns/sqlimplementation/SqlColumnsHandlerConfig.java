@@ -1,5 +1,7 @@
 package ch.jalu.datasourcecolumns.sqlimplementation;
 
+import ch.jalu.datasourcecolumns.ColumnLayout;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationListener;
 import ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator.ConnectionSupplier;
 import ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator.PreparedStatementGeneratorFactory;
 
@@ -14,12 +16,30 @@ import java.sql.Connection;
  */
 public class SqlColumnsHandlerConfig<C> {
 
+    /** Default maximum number of prepared statements kept open in single connection mode. */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+
+    /** Default maximum number of rows sent to the database in one JDBC batch. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /** Default maximum number of bind parameters per statement, supported by all common databases. */
+    public static final int DEFAULT_MAX_BIND_PARAMETERS = BindParameterLimits.SQLITE_LEGACY;
+
     private final String tableName;
     private final String idColumn;
     private final C context;
+    private ColumnLayout<C> columnLayout;
     private PreparedStatementGeneratorFactory statementGeneratorFactory;
     private ResultSetValueRetriever<C> resultSetValueRetriever;
     private PredicateSqlGenerator<C> predicateSqlGenerator;
+    private Boolean sqlCacheEnabled;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private BulkInsertMode bulkInsertMode = BulkInsertMode.JDBC_BATCH;
+    private InListBinding inListBinding = InListBinding.PLACEHOLDERS;
+    private int maxBindParameters = DEFAULT_MAX_BIND_PARAMETERS;
+    private boolean usePrefixRanges;
+    private int fetchSize;
+    private OperationListener operationListener;
 
     protected SqlColumnsHandlerConfig(String tableName, String idColumn, C context,
                                       PreparedStatementGeneratorFactory generatorFactory) {
@@ -27,12 +47,13 @@ public class SqlColumnsHandlerConfig<C> {
         this.idColumn = idColumn;
         this.context = context;
         this.statementGeneratorFactory = generatorFactory;
-        this.resultSetValueRetriever = new ResultSetValueRetriever<>(context);
-        this.predicateSqlGenerator = new PredicateSqlGenerator<>(context);
+        this.columnLayout = ColumnLayout.live(context);
     }
 
     /**
      * Creates a configuration with defaults based on a single, long-living Connection that should be used.
+     * Up to {@link #DEFAULT_STATEMENT_CACHE_SIZE} prepared statements are kept open for reuse; they are closed
+     * by {@link SqlColumnsHandler#close()}.
      *
      * @param connection the connection to the database to use
      * @param tableName the table name
@@ -43,8 +64,28 @@ public class SqlColumnsHandlerConfig<C> {
      */
     public static <C> SqlColumnsHandlerConfig<C> forSingleConnection(Connection connection,
                                                                      String tableName, String idColumn, C context) {
-        PreparedStatementGeneratorFactory statementGeneratorFactory =
-            PreparedStatementGeneratorFactory.fromConnection(connection);
+        return forSingleConnection(connection, tableName, idColumn, context, DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a configuration with defaults based on a single, long-living Connection that should be used.
+     * Up to the given number of prepared statements are kept open for reuse (least recently used statements are
+     * closed first); they are closed by {@link SqlColumnsHandler#close()}.
+     *
+     * @param connection the connection to the database to use
+     * @param tableName the table name
+     * @param idColumn name of the ID column
+     * @param context the context
+     * @param statementCacheSize maximum number of prepared statements to keep open; 0 to close them after each use
+     * @param <C> the context type
+     * @return configuration with defaults
+     */
+    public static <C> SqlColumnsHandlerConfig<C> forSingleConnection(Connection connection,
+                                                                     String tableName, String idColumn, C context,
+                                                                     int statementCacheSize) {
+        PreparedStatementGeneratorFactory statementGeneratorFactory = statementCacheSize == 0
+            ? PreparedStatementGeneratorFactory.fromConnection(connection)
+            : PreparedStatementGeneratorFactory.fromConnection(connection, statementCacheSize);
         return new SqlColumnsHandlerConfig<>(tableName, idColumn, context, statementGeneratorFactory);
     }
 
@@ -66,6 +107,26 @@ public class SqlColumnsHandlerConfig<C> {
         return new SqlColumnsHandlerConfig<>(tableName, idColumn, context, statementGeneratorFactory);
     }
 
+    /**
+     * Sets the {@link ColumnLayout} from which the columns' names and other properties are read. Default: a live
+     * layout, i.e. the columns are queried whenever needed. Use {@link ColumnLayout#snapshot} to resolve the
+     * properties only once per column; this also enables caching of generated SQL by default (see
+     * {@link #setSqlCacheEnabled}), which the SQL handler clears when the layout is refreshed.
+     * <p>
+     * The default {@link ResultSetValueRetriever} and {@link PredicateSqlGenerator} use the layout set here;
+     * custom instances should be created with the same layout.
+     *
+     * @param columnLayout the column layout to use (must have this config's context)
+     * @return this instance
+     */
+    public SqlColumnsHandlerConfig<C> setColumnLayout(ColumnLayout<C> columnLayout) {
+        if (columnLayout.getContext() != context) {
+            throw new IllegalArgumentException("The column layout must have the same context as the config");
+        }
+        this.columnLayout = columnLayout;
+        return this;
+    }
+
     /**
      * Sets a custom {@link PreparedStatementGeneratorFactory}.
      *
@@ -99,6 +160,123 @@ public class SqlColumnsHandlerConfig<C> {
         return this;
     }
 
+    /**
+     * Sets whether the SQL handler should cache the SQL code it generates per combination of columns. The columns'
+     * names and usage are resolved once per combination when caching is enabled, so the
+     * {@link #setColumnLayout column layout} must be refreshed if the name of a column may change during the
+     * lifetime of the handler. By default, caching is enabled only if the column layout is a
+     * {@link ColumnLayout#snapshot snapshot}, since a live layout is meant to reflect changes immediately. If caching
+     * is enabled for a live layout, it must be refreshed whenever the context changes as well. The SQL
+     * code of predicates is cached separately by the {@link PredicateSqlGenerator}, see its constructors.
+     *
+     * @param sqlCacheEnabled true to cache generated SQL, false to generate it on every call
+     * @return this instance
+     */
+    public SqlColumnsHandlerConfig<C> setSqlCacheEnabled(boolean sqlCacheEnabled) {
+        this.sqlCacheEnabled = sqlCacheEnabled;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of rows that are sent to the database in one JDBC batch for bulk operations,
+     * such as {@link SqlColumnsHandler#insertAll(java.util.Collection)}. Default: {@link #DEFAULT_BATCH_SIZE}.
+     *
+     * @param batchSize the batch size to use
+     * @return this instance
+     */
+    public SqlColumnsHandlerConfig<C> setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, but got " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets how multiple rows are inserted in bulk inserts (default: {@link BulkInsertMode#JDBC_BATCH}).
+     * With {@link BulkInsertMode#MULTI_ROW_VALUES}, make sure to set the
+     * {@link #setMaxBindParameters max number of bind parameters} of the database if it differs from the default.
+     *
+     * @param bulkInsertMode the mode to use
+     * @return this instance
+     */
+    public SqlColumnsHandlerConfig<C> setBulkInsertMode(BulkInsertMode bulkInsertMode) {
+        this.bulkInsertMode = bulkInsertMode;
+        return this;
+    }
+
+    /**
+     * Sets how the values of {@code IN} predicates are bound by the default {@link PredicateSqlGenerator}
+     * (default: {@link InListBinding#PLACEHOLDERS}). Has no effect if a custom generator is set.
+     *
+     * @param inListBinding the binding to use
+     * @return this instance
+     */
+    public SqlColumnsHandlerConfig<C> setInListBinding(InListBinding inListBinding) {
+        this.inListBinding = inListBinding;
+        return this;
+    }
+
+    /**
+     * Sets whether the default {@link PredicateSqlGenerator} converts prefix patterns of
+     * {@link ch.jalu.datasourcecolumns.predicate.LikePredicate LikePredicate} to range conditions, which can use an
+     * index (default: false, i.e. {@code LIKE} is used). Only enable this if the columns used in such predicates have
+     * a binary collation; see {@link PredicateSqlGenerator#processLikePredicate}. Has no effect if a custom
+     * generator is set.
+     *
+     * @param usePrefixRanges true to use ranges for prefix patterns
+     * @return this instance
+     */
+    public SqlColumnsHandlerConfig<C> setUsePrefixRanges(boolean usePrefixRanges) {
+        this.usePrefixRanges = usePrefixRanges;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of bind parameters the database supports in one statement, which limits the number
+     * of rows per statement in {@link BulkInsertMode#MULTI_ROW_VALUES multi-row inserts} and the number of ids
+     * per query in {@link SqlColumnsHandler#retrieveAll}. See
+     * {@link BindParameterLimits} for the limits of common databases. Default: {@link #DEFAULT_MAX_BIND_PARAMETERS}.
+     *
+     * @param maxBindParameters the max number of bind parameters per statement
+     * @return this instance
+     */
+    public SqlColumnsHandlerConfig<C> setMaxBindParameters(int maxBindParameters) {
+        if (maxBindParameters < 1) {
+            throw new IllegalArgumentException("Max bind parameters must be positive, but got " + maxBindParameters);
+        }
+        this.maxBindParameters = maxBindParameters;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows the JDBC driver should fetch at once when rows are streamed, see
+     * {@link SqlColumnsHandler#stream}, {@link SqlColumnsHandler#forEach} and the primitive retrieval methods
+     * such as {@link SqlColumnsHandler#retrieveLongs}. Default: 0, i.e. the driver's default. Note that some drivers
+     * need special values or connection properties to stream rows (e.g. {@link Integer#MIN_VALUE} for MySQL
+     * Connector/J).
+     *
+     * @param fetchSize the fetch size hint to pass to the statement
+     * @return this instance
+     */
+    public SqlColumnsHandlerConfig<C> setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Sets a listener which is notified of each operation performed by the SQL handler with its timings, e.g.
+     * {@link ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationMetrics OperationMetrics}. Default: null,
+     * i.e. no timings are measured. Operations which return a stream are not reported.
+     *
+     * @param operationListener the listener to notify, or null to disable
+     * @return this instance
+     */
+    public SqlColumnsHandlerConfig<C> setOperationListener(OperationListener operationListener) {
+        this.operationListener = operationListener;
+        return this;
+    }
+
     // ----------
     // Getters
     // ----------
@@ -115,15 +293,54 @@ public class SqlColumnsHandlerConfig<C> {
         return context;
     }
 
+    public ColumnLayout<C> getColumnLayout() {
+        return columnLayout;
+    }
+
     public PreparedStatementGeneratorFactory getStatementGeneratorFactory() {
         return statementGeneratorFactory;
     }
 
     public ResultSetValueRetriever<C> getResultSetValueRetriever() {
+        if (resultSetValueRetriever == null) {
+            resultSetValueRetriever = new ResultSetValueRetriever<>(columnLayout);
+        }
         return resultSetValueRetriever;
     }
 
     public PredicateSqlGenerator<C> getPredicateSqlGenerator() {
+        if (predicateSqlGenerator == null) {
+            predicateSqlGenerator = new PredicateSqlGenerator<>(columnLayout, false, columnLayout.isSnapshot(),
+                inListBinding, maxBindParameters, usePrefixRanges);
+        }
         return predicateSqlGenerator;
     }
+
+    public boolean isSqlCacheEnabled() {
+        return sqlCacheEnabled == null ? columnLayout.isSnapshot() : sqlCacheEnabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public BulkInsertMode getBulkInsertMode() {
+        return bulkInsertMode;
+    }
+
+    public InListBinding getInListBinding() {
+        return inListBinding;
+    }
+
+    public int getMaxBindParameters() {
+        return maxBindParameters;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public OperationListener getOperationListener() {
+        return operationListener;
+    }
 }
@@ -0,0 +1,110 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.Column;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Describes everything that influences the SQL code generated by {@link SqlColumnsHandler} for an operation,
+ * but not the values that are bound to it: the kind of operation, the (used) columns in order, for which
+ * columns the {@code DEFAULT} keyword is used, and the number of rows. Serves as key to cache generated SQL.
+ */
+final class StatementShape {
+
+    private final Kind kind;
+    private final Column<?, ?>[] columns;
+    private final boolean[] useDefault;
+    private final int rowCount;
+    private final int hashCode;
+
+    /**
+     * Constructor.
+     *
+     * @param kind the kind of operation
+     * @param columns the columns used in the SQL code, in the order they appear
+     * @param useDefault for each column, whether {@code DEFAULT} is used instead of a placeholder (nullable)
+     * @param rowCount the number of rows the SQL code is for (only relevant for multi-row statements)
+     */
+    StatementShape(Kind kind, Collection<? extends Column<?, ?>> columns, boolean[] useDefault, int rowCount) {
+        this.kind = kind;
+        this.columns = columns.toArray(new Column<?, ?>[0]);
+        this.useDefault = useDefault;
+        this.rowCount = rowCount;
+        this.hashCode = 31 * (31 * (31 * kind.hashCode() + Arrays.hashCode(this.columns))
+            + Arrays.hashCode(useDefault)) + rowCount;
+    }
+
+    /**
+     * Constructor for shapes of statements with one row.
+     *
+     * @param kind the kind of operation
+     * @param columns the columns used in the SQL code, in the order they appear
+     * @param useDefault for each column, whether {@code DEFAULT} is used instead of a placeholder (nullable)
+     */
+    StatementShape(Kind kind, Collection<? extends Column<?, ?>> columns, boolean[] useDefault) {
+        this(kind, columns, useDefault, 1);
+    }
+
+    /**
+     * Constructor for shapes without any {@code DEFAULT} keywords.
+     *
+     * @param kind the kind of operation
+     * @param columns the columns used in the SQL code, in the order they appear
+     */
+    StatementShape(Kind kind, Collection<? extends Column<?, ?>> columns) {
+        this(kind, columns, null);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (!(obj instanceof StatementShape)) {
+            return false;
+        }
+        StatementShape other = (StatementShape) obj;
+        return kind == other.kind
+            && hashCode == other.hashCode
+            && rowCount == other.rowCount
+            && Arrays.equals(columns, other.columns)
+            && Arrays.equals(useDefault, other.useDefault);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementShape[kind=" + kind + ", columns=" + Arrays.toString(columns)
+            + ", useDefault=" + Arrays.toString(useDefault) + ", rowCount=" + rowCount + "]";
+    }
+
+    /** The kind of operation the SQL code is generated for. */
+    enum Kind {
+
+        /** SELECT statement for a row by identifier. */
+        RETRIEVE_BY_ID,
+
+        /** SELECT statement for multiple rows by identifier, with as many placeholders as the shape's row count. */
+        RETRIEVE_BY_IDS,
+
+        /** SELECT statement for all rows matching a predicate (SQL up to the WHERE clause). */
+        RETRIEVE_BY_PREDICATE,
+
+        /** UPDATE statement for a row by identifier. */
+        UPDATE_BY_ID,
+
+        /** UPDATE statement for all rows matching a predicate (SQL up to the WHERE clause). */
+        UPDATE_BY_PREDICATE,
+
+        /** INSERT statement. */
+        INSERT,
+
+        /** INSERT statement with multiple rows in the VALUES clause. */
+        INSERT_MULTI_ROW
+
+    }
+}
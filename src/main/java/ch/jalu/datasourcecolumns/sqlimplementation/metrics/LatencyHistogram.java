@@ -0,0 +1,89 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations with buckets by powers of two: bucket {@code i} (for {@code i > 0}) counts
+ * durations from 2<sup>i-1</sup> to 2<sup>i</sup> - 1 nanoseconds, and bucket 0 counts durations of zero.
+ * Percentiles are therefore approximated within a factor of two, which is enough to spot outliers and trends
+ * at a fixed memory cost.
+ */
+public final class LatencyHistogram {
+
+    /** Number of buckets, enough for any non-negative long value. */
+    public static final int BUCKET_COUNT = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Records the given duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        buckets.incrementAndGet(getBucketIndex(nanos));
+    }
+
+    /**
+     * @param bucket the index of the bucket
+     * @return the number of durations recorded in the bucket
+     */
+    public long getBucketCount(int bucket) {
+        return buckets.get(bucket);
+    }
+
+    /**
+     * @param bucket the index of the bucket
+     * @return the largest duration in nanoseconds which is counted in the bucket
+     */
+    public static long getBucketUpperBound(int bucket) {
+        return bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * @return the total number of recorded durations
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile of the recorded durations, i.e. the upper bound of the bucket
+     * in which the percentile falls.
+     *
+     * @param percentile the percentile to get, between 0 and 100 (e.g. 99.9)
+     * @return the percentile in nanoseconds (upper bound), or 0 if nothing has been recorded
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, but got " + percentile);
+        }
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= rank) {
+                return getBucketUpperBound(i);
+            }
+        }
+        return getBucketUpperBound(BUCKET_COUNT - 1);
+    }
+
+    private static int getBucketIndex(long nanos) {
+        return nanos <= 0 ? 0 : Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+}
@@ -0,0 +1,109 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.metrics;
+
+/**
+ * Describes an operation performed by {@link ch.jalu.datasourcecolumns.sqlimplementation.SqlColumnsHandler}.
+ * Passed to the configured {@link OperationListener}.
+ */
+public final class OperationEvent {
+
+    private final OperationType type;
+    private final String sql;
+    private final int statementCount;
+    private final long[] phaseNanos;
+    private final long totalNanos;
+    private final int rowCount;
+    private final int bindCount;
+    private final boolean successful;
+
+    /**
+     * Constructor.
+     *
+     * @param type the type of operation
+     * @param sql the SQL code of the first statement, or null if no statement was prepared
+     * @param statementCount the number of statements that were prepared
+     * @param phaseNanos the time spent in each phase, indexed by {@link OperationPhase#ordinal()}
+     * @param totalNanos the total time of the operation
+     * @param rowCount the number of rows returned or affected
+     * @param bindCount the number of values that were bound to the statements
+     * @param successful whether the operation completed without exception
+     */
+    public OperationEvent(OperationType type, String sql, int statementCount, long[] phaseNanos, long totalNanos,
+                          int rowCount, int bindCount, boolean successful) {
+        this.type = type;
+        this.sql = sql;
+        this.statementCount = statementCount;
+        this.phaseNanos = phaseNanos;
+        this.totalNanos = totalNanos;
+        this.rowCount = rowCount;
+        this.bindCount = bindCount;
+        this.successful = successful;
+    }
+
+    /**
+     * @return the type of operation
+     */
+    public OperationType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the SQL code of the operation's (first) statement, with placeholders for the values. As values are
+     * never part of the SQL code, it identifies the shape of the statement.
+     *
+     * @return the SQL code, or null if the operation failed before a statement was prepared
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return the number of statements that were prepared for the operation
+     */
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Returns the time spent in the given phase. Phases that were not reached have a time of 0.
+     *
+     * @param phase the phase to get the time of
+     * @return time of the phase in nanoseconds
+     */
+    public long getPhaseNanos(OperationPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return the total time of the operation in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return the number of rows returned by a retrieval, or affected by an update or insert
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the number of values that were bound to the statements
+     */
+    public int getBindCount() {
+        return bindCount;
+    }
+
+    /**
+     * @return true if the operation completed normally, false if it threw an exception
+     */
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    @Override
+    public String toString() {
+        return "OperationEvent[type=" + type + ", sql=" + sql + ", totalNanos=" + totalNanos
+            + ", rowCount=" + rowCount + ", bindCount=" + bindCount + ", successful=" + successful + "]";
+    }
+}
@@ -0,0 +1,22 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.metrics;
+
+/**
+ * Receives an event for each operation performed by a
+ * {@link ch.jalu.datasourcecolumns.sqlimplementation.SqlColumnsHandler SQL handler}, e.g. to record metrics.
+ * Set with {@link ch.jalu.datasourcecolumns.sqlimplementation.SqlColumnsHandlerConfig#setOperationListener}.
+ * <p>
+ * The listener is called synchronously in the thread that performed the operation, after its resources have been
+ * released, and possibly by multiple threads at the same time. Implementations should therefore be fast and
+ * thread-safe. See {@link OperationMetrics} for a default implementation.
+ */
+@FunctionalInterface
+public interface OperationListener {
+
+    /**
+     * Called when an operation has finished, successfully or not.
+     *
+     * @param event the event describing the operation
+     */
+    void onOperation(OperationEvent event);
+
+}
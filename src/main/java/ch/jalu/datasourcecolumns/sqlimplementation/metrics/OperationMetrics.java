@@ -0,0 +1,45 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Default {@link OperationListener}, which keeps counters and a latency histogram per {@link OperationType}.
+ * The statistics objects are created up front, so recording an event never locks or allocates.
+ */
+public class OperationMetrics implements OperationListener {
+
+    private final Map<OperationType, OperationStats> statsByType;
+
+    /**
+     * Constructor.
+     */
+    public OperationMetrics() {
+        final Map<OperationType, OperationStats> stats = new EnumMap<>(OperationType.class);
+        for (OperationType type : OperationType.values()) {
+            stats.put(type, new OperationStats());
+        }
+        this.statsByType = Collections.unmodifiableMap(stats);
+    }
+
+    @Override
+    public void onOperation(OperationEvent event) {
+        statsByType.get(event.getType()).record(event);
+    }
+
+    /**
+     * @param type the operation type to get the statistics for
+     * @return the statistics of the given operation type
+     */
+    public OperationStats getStats(OperationType type) {
+        return statsByType.get(type);
+    }
+
+    /**
+     * @return the statistics of all operation types
+     */
+    public Map<OperationType, OperationStats> getAllStats() {
+        return statsByType;
+    }
+}
@@ -0,0 +1,21 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.metrics;
+
+/**
+ * Phase of an operation performed by {@link ch.jalu.datasourcecolumns.sqlimplementation.SqlColumnsHandler}.
+ * Operations with multiple statements go through the phases multiple times; the time of each phase is summed up.
+ */
+public enum OperationPhase {
+
+    /** Determining the used columns and generating the SQL code (or getting it from the cache). */
+    SQL_GENERATION,
+
+    /** Obtaining the prepared statement, which includes acquiring a connection from a connection pool. */
+    STATEMENT_PREPARATION,
+
+    /** Binding the values to the statement and executing it. */
+    EXECUTION,
+
+    /** Reading the result set and creating the result objects. */
+    RESULT_MAPPING
+
+}
@@ -0,0 +1,89 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latencies of one {@link OperationType}, kept by {@link OperationMetrics}. All values are updated
+ * without locking; reading them while operations are recorded may yield values which are slightly out of sync
+ * with each other.
+ */
+public final class OperationStats {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder rowCount = new LongAdder();
+    private final LongAdder bindCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder[] phaseNanos = new LongAdder[OperationPhase.values().length];
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    OperationStats() {
+        for (int i = 0; i < phaseNanos.length; ++i) {
+            phaseNanos[i] = new LongAdder();
+        }
+    }
+
+    void record(OperationEvent event) {
+        count.increment();
+        if (!event.isSuccessful()) {
+            failureCount.increment();
+        }
+        rowCount.add(event.getRowCount());
+        bindCount.add(event.getBindCount());
+        totalNanos.add(event.getTotalNanos());
+        for (OperationPhase phase : OperationPhase.values()) {
+            phaseNanos[phase.ordinal()].add(event.getPhaseNanos(phase));
+        }
+        latencies.record(event.getTotalNanos());
+    }
+
+    /**
+     * @return the number of performed operations, including failed ones
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the number of operations that threw an exception
+     */
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * @return the total number of rows returned or affected
+     */
+    public long getRowCount() {
+        return rowCount.sum();
+    }
+
+    /**
+     * @return the total number of values bound to statements
+     */
+    public long getBindCount() {
+        return bindCount.sum();
+    }
+
+    /**
+     * @return the total time of all operations in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @param phase the phase to get the time of
+     * @return the total time spent in the given phase in nanoseconds
+     */
+    public long getPhaseNanos(OperationPhase phase) {
+        return phaseNanos[phase.ordinal()].sum();
+    }
+
+    /**
+     * @return histogram of the total time per operation
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+}
@@ -0,0 +1,35 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.metrics;
+
+/**
+ * Type of an operation performed by {@link ch.jalu.datasourcecolumns.sqlimplementation.SqlColumnsHandler}.
+ */
+public enum OperationType {
+
+    /** Retrieval of one row by id. */
+    RETRIEVE_BY_ID,
+
+    /** Retrieval of multiple rows by id, possibly with multiple statements. */
+    RETRIEVE_BY_IDS,
+
+    /** Retrieval of all rows matching a predicate. */
+    RETRIEVE_BY_PREDICATE,
+
+    /** Update of one row by id. */
+    UPDATE_BY_ID,
+
+    /** Update of multiple rows by id with JDBC batches, possibly with multiple statements. */
+    UPDATE_BATCH,
+
+    /** Update of all rows matching a predicate. */
+    UPDATE_BY_PREDICATE,
+
+    /** Insertion of one row. */
+    INSERT,
+
+    /** Insertion of multiple rows, possibly with multiple statements. */
+    INSERT_BATCH,
+
+    /** Count of the rows matching a predicate. */
+    COUNT
+
+}
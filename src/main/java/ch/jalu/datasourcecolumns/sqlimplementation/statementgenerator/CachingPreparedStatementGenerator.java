@@ -0,0 +1,36 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Implementation of {@link PreparedStatementGenerator} which takes its prepared statement from a
+ * {@link PreparedStatementCache}. Upon closing, the statement is returned to the cache instead of being closed.
+ */
+public class CachingPreparedStatementGenerator implements PreparedStatementGenerator {
+
+    private final PreparedStatementCache statementCache;
+    private final String sql;
+    private PreparedStatement preparedStatement;
+
+    public CachingPreparedStatementGenerator(PreparedStatementCache statementCache, String sql) {
+        this.statementCache = statementCache;
+        this.sql = sql;
+    }
+
+    @Override
+    public PreparedStatement createStatement() throws SQLException {
+        if (preparedStatement == null) {
+            preparedStatement = statementCache.borrow(sql);
+        }
+        return preparedStatement;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (preparedStatement != null) {
+            statementCache.release(sql, preparedStatement);
+            preparedStatement = null;
+        }
+    }
+}
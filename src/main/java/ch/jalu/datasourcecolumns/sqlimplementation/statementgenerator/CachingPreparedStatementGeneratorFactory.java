@@ -0,0 +1,37 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Generator factory for a single, long-living Connection which keeps prepared statements open for reuse
+ * in a {@link PreparedStatementCache}. All cached statements are closed when this factory is closed.
+ */
+public class CachingPreparedStatementGeneratorFactory implements PreparedStatementGeneratorFactory {
+
+    private final PreparedStatementCache statementCache;
+
+    /**
+     * Constructor.
+     *
+     * @param connection the connection to create statements with
+     * @param maxCachedStatements the maximum number of statements to keep open
+     */
+    public CachingPreparedStatementGeneratorFactory(Connection connection, int maxCachedStatements) {
+        this.statementCache = new PreparedStatementCache(connection, maxCachedStatements);
+    }
+
+    @Override
+    public PreparedStatementGenerator create(String sql) {
+        return new CachingPreparedStatementGenerator(statementCache, sql);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        statementCache.close();
+    }
+
+    public PreparedStatementCache getStatementCache() {
+        return statementCache;
+    }
+}
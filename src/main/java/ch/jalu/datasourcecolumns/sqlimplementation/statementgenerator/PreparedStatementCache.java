@@ -0,0 +1,140 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Keeps prepared statements of a long-living Connection open for reuse, keyed by their SQL code.
+ * Statements are borrowed from the cache while in use and returned afterwards, so that a statement is never
+ * used by two callers at the same time. The least recently used statement is closed when the cache is full.
+ * <p>
+ * Parameters, pending batch commands and the fetch size are reset when a statement is given back, so that settings
+ * of one caller do not carry over to the next caller of the same SQL code.
+ */
+public class PreparedStatementCache {
+
+    private final Connection connection;
+    private final int maxSize;
+    private final LinkedHashMap<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean isClosed;
+    private volatile int defaultFetchSize = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param connection the connection to create statements with
+     * @param maxSize the maximum number of statements to keep open
+     */
+    public PreparedStatementCache(Connection connection, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be positive, but got " + maxSize);
+        }
+        this.connection = connection;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL code, either from the cache or newly created. The statement
+     * is removed from the cache until it is given back with {@link #release}.
+     *
+     * @param sql the SQL code to get a statement for
+     * @return prepared statement for the SQL code
+     */
+    public PreparedStatement borrow(String sql) throws SQLException {
+        final PreparedStatement cachedStatement;
+        synchronized (this) {
+            cachedStatement = statements.remove(sql);
+        }
+        if (cachedStatement != null) {
+            return cachedStatement;
+        }
+        final PreparedStatement statement = connection.prepareStatement(sql);
+        if (defaultFetchSize < 0) {
+            defaultFetchSize = statement.getFetchSize();
+        }
+        return statement;
+    }
+
+    /**
+     * Gives back a statement that was obtained with {@link #borrow}. Its parameters and batch are cleared (the batch
+     * still has commands if the caller failed before executing it) and its fetch size is restored to the
+     * connection's default. The statement is closed if there is already a cached statement for
+     * the same SQL code, or if this cache has been closed.
+     *
+     * @param sql the SQL code of the statement
+     * @param statement the statement to return to the cache
+     */
+    public void release(String sql, PreparedStatement statement) throws SQLException {
+        if (statement.isClosed()) {
+            return;
+        }
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+            if (defaultFetchSize >= 0 && statement.getFetchSize() != defaultFetchSize) {
+                statement.setFetchSize(defaultFetchSize);
+            }
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+
+        final List<PreparedStatement> statementsToClose = new ArrayList<>(1);
+        synchronized (this) {
+            if (isClosed || statements.containsKey(sql)) {
+                statementsToClose.add(statement);
+            } else {
+                statements.put(sql, statement);
+                Iterator<PreparedStatement> it = statements.values().iterator();
+                while (statements.size() > maxSize) {
+                    statementsToClose.add(it.next());
+                    it.remove();
+                }
+            }
+        }
+        closeAll(statementsToClose);
+    }
+
+    /**
+     * Closes all cached statements. Statements that are returned after this method has been called are closed.
+     */
+    public void close() throws SQLException {
+        final List<PreparedStatement> statementsToClose;
+        synchronized (this) {
+            isClosed = true;
+            statementsToClose = new ArrayList<>(statements.values());
+            statements.clear();
+        }
+        closeAll(statementsToClose);
+    }
+
+    /**
+     * @return the number of statements in the cache
+     */
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    private static void closeAll(List<PreparedStatement> statementsToClose) throws SQLException {
+        SQLException exception = null;
+        for (PreparedStatement statement : statementsToClose) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
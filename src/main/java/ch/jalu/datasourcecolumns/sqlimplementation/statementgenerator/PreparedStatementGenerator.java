@@ -17,6 +17,10 @@ public interface PreparedStatementGenerator extends AutoCloseable {
      */
     PreparedStatement createStatement() throws SQLException;
 
+    /**
+     * Releases the resources used by this generator. Depending on the implementation, the prepared statement
+     * is closed or returned to a cache for later reuse; either way, it must no longer be used after this call.
+     */
     @Override
     void close() throws SQLException;
 
@@ -1,6 +1,7 @@
 package ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 
 /**
  * Creates {@link PreparedStatementGenerator} objects.
@@ -16,6 +17,13 @@ public interface PreparedStatementGeneratorFactory {
      */
     PreparedStatementGenerator create(String sql);
 
+    /**
+     * Releases any resources held by this factory, such as cached statements. Does nothing by default.
+     */
+    default void close() throws SQLException {
+        // noop
+    }
+
     /**
      * Creates a generator factory based on the given connection.
      *
@@ -26,6 +34,18 @@ public interface PreparedStatementGeneratorFactory {
         return sql -> new SingleConnectionPreparedStatementGenerator(con, sql);
     }
 
+    /**
+     * Creates a generator factory based on the given connection which keeps up to the given number of
+     * prepared statements open for reuse. Cached statements are closed by {@link #close()}.
+     *
+     * @param con the data source connection
+     * @param maxCachedStatements the maximum number of statements to keep open
+     * @return created generator
+     */
+    static PreparedStatementGeneratorFactory fromConnection(Connection con, int maxCachedStatements) {
+        return new CachingPreparedStatementGeneratorFactory(con, maxCachedStatements);
+    }
+
     /**
      * Creates a generator factory which uses the given connection supplier (typically a connection pool).
      *
@@ -0,0 +1,87 @@
+package ch.jalu.datasourcecolumns;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test for {@link ColumnLayout}.
+ */
+class ColumnLayoutTest {
+
+    @Test
+    void shouldResolveSnapshotPropertiesOnce() {
+        // given
+        SampleContext context = new SampleContext();
+        Column<String, SampleContext> column = createColumnMock(context, "name");
+        ColumnLayout<SampleContext> layout = ColumnLayout.snapshot(context);
+
+        // when
+        String name1 = layout.getName(column);
+        boolean isUsed = layout.isUsed(column);
+        boolean useDefault = layout.useDefaultForNull(column);
+        given(column.resolveName(context)).willReturn("changed");
+        String name2 = layout.getName(column);
+
+        // then
+        assertThat(name1, equalTo("name"));
+        assertThat(name2, equalTo("name"));
+        assertThat(isUsed, equalTo(true));
+        assertThat(useDefault, equalTo(false));
+        verify(column).resolveName(context);
+        verify(column).isColumnUsed(context);
+        verify(column).useDefaultForNullValue(context);
+    }
+
+    @Test
+    void shouldResolveAgainAfterRefresh() {
+        // given
+        SampleContext context = new SampleContext();
+        Column<String, SampleContext> column = createColumnMock(context, "name");
+        ColumnLayout<SampleContext> layout = ColumnLayout.snapshot(context);
+        Runnable listener = mock(Runnable.class);
+        layout.addRefreshListener(listener);
+        layout.getName(column);
+        int generation = layout.getGeneration();
+        given(column.resolveName(context)).willReturn("changed");
+
+        // when
+        layout.refresh();
+
+        // then
+        assertThat(layout.getName(column), equalTo("changed"));
+        assertThat(layout.getGeneration(), equalTo(generation + 1));
+        verify(listener).run();
+    }
+
+    @Test
+    void shouldAlwaysQueryColumnForLiveLayout() {
+        // given
+        SampleContext context = new SampleContext();
+        Column<String, SampleContext> column = createColumnMock(context, "name");
+        ColumnLayout<SampleContext> layout = ColumnLayout.live(context);
+
+        // when
+        layout.isUsed(column);
+        layout.isUsed(column);
+        given(column.resolveName(context)).willReturn("changed");
+        String name = layout.getName(column);
+
+        // then
+        assertThat(name, equalTo("changed"));
+        verify(column, times(2)).isColumnUsed(context);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Column<String, SampleContext> createColumnMock(SampleContext context, String name) {
+        Column<String, SampleContext> column = mock(Column.class);
+        given(column.resolveName(context)).willReturn(name);
+        given(column.isColumnUsed(context)).willReturn(true);
+        return column;
+    }
+}
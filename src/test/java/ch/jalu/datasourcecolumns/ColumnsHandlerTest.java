@@ -0,0 +1,83 @@
+package ch.jalu.datasourcecolumns;
+
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.DataSourceValuesImpl;
+import ch.jalu.datasourcecolumns.data.UpdateValues;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static ch.jalu.datasourcecolumns.data.UpdateValues.with;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test for the default methods of {@link ColumnsHandler}.
+ */
+class ColumnsHandlerTest {
+
+    private ColumnsHandler<SampleContext, Integer> handler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void initHandler() {
+        handler = mock(ColumnsHandler.class, CALLS_REAL_METHODS);
+    }
+
+    @Test
+    void shouldRetrieveRowsOneByOne() throws Exception {
+        // given
+        DataSourceValues values1 = mock(DataSourceValues.class);
+        DataSourceValues values3 = DataSourceValuesImpl.unknownRow();
+        given(handler.retrieve(1, SampleColumns.NAME, SampleColumns.IP)).willReturn(values1);
+        given(handler.retrieve(3, SampleColumns.NAME, SampleColumns.IP)).willReturn(values3);
+
+        // when
+        Map<Integer, DataSourceValues> result = handler.retrieveAll(Arrays.asList(3, 1, 3),
+            SampleColumns.NAME, SampleColumns.IP);
+
+        // then
+        assertThat(result.keySet(), contains(3, 1));
+        assertThat(result.get(1), sameInstance(values1));
+        assertThat(result.get(3), sameInstance(values3));
+        verify(handler, times(1)).retrieve(3, SampleColumns.NAME, SampleColumns.IP);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldUpdateAndInsertRowsOneByOne() throws Exception {
+        // given
+        UpdateValues<SampleContext> values1 = with(SampleColumns.NAME, "Ann").build();
+        UpdateValues<SampleContext> values2 = with(SampleColumns.NAME, "Ben").build();
+        Map<Integer, UpdateValues<SampleContext>> valuesById = new LinkedHashMap<>();
+        valuesById.put(1, values1);
+        valuesById.put(2, values2);
+        given(handler.update(1, values1)).willReturn(true);
+        given(handler.update(2, values2)).willReturn(false);
+        given(handler.insert(values1)).willReturn(true);
+        given(handler.insert(values2)).willReturn(false);
+        given(handler.insert(any(SampleDependent.class), any(DependentColumn[].class))).willReturn(true);
+
+        // when
+        int updatedRows = handler.updateAll(valuesById);
+        int[] insertedRows = handler.insertAll(Arrays.asList(values1, values2));
+        int[] insertedDependents = handler.insertAll(
+            Arrays.asList(new SampleDependent(), new SampleDependent()), SampleColumns.NAME);
+
+        // then
+        assertThat(updatedRows, equalTo(1));
+        assertThat(insertedRows, equalTo(new int[]{ 1, 0 }));
+        assertThat(insertedDependents, equalTo(new int[]{ 1, 1 }));
+    }
+}
@@ -0,0 +1,126 @@
+package ch.jalu.datasourcecolumns.async;
+
+import ch.jalu.datasourcecolumns.ColumnsHandler;
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.data.DataSourceValue;
+import ch.jalu.datasourcecolumns.data.DataSourceValueImpl;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test for {@link AsyncColumnsHandler}.
+ */
+class AsyncColumnsHandlerTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRunOperationsOnExecutorAndTrackCounts() throws Exception {
+        // given
+        ColumnsHandler<SampleContext, Integer> handler = mock(ColumnsHandler.class);
+        given(handler.retrieve(3, SampleColumns.NAME)).willReturn(DataSourceValueImpl.of("Cody"));
+        Predicate<SampleContext> predicate = eq(SampleColumns.IS_ACTIVE, 1);
+        given(handler.count(predicate)).willReturn(7);
+        ManualExecutor executor = new ManualExecutor();
+        AsyncColumnsHandler<SampleContext, Integer> asyncHandler = new AsyncColumnsHandler<>(handler, executor);
+
+        // when
+        CompletableFuture<DataSourceValue<String>> retrieveFuture = asyncHandler.retrieve(3, SampleColumns.NAME);
+        CompletableFuture<Integer> countFuture = asyncHandler.count(predicate);
+
+        // then
+        assertThat(asyncHandler.getQueuedCount(), equalTo(2));
+        assertThat(asyncHandler.getInFlightCount(), equalTo(0));
+        assertThat(retrieveFuture.isDone(), equalTo(false));
+
+        executor.runAll();
+        assertThat(retrieveFuture.get().getValue(), equalTo("Cody"));
+        assertThat(countFuture.get(), equalTo(7));
+        assertThat(asyncHandler.getQueuedCount(), equalTo(0));
+        assertThat(asyncHandler.getInFlightCount(), equalTo(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCompleteFutureExceptionally() throws Exception {
+        // given
+        ColumnsHandler<SampleContext, Integer> handler = mock(ColumnsHandler.class);
+        SQLException sqlException = new SQLException("Connection refused");
+        given(handler.update(4, SampleColumns.IP, "1.2.3.4")).willThrow(sqlException);
+        ManualExecutor executor = new ManualExecutor();
+        AsyncColumnsHandler<SampleContext, Integer> asyncHandler = new AsyncColumnsHandler<>(handler, executor);
+
+        // when
+        CompletableFuture<Boolean> future = asyncHandler.update(4, SampleColumns.IP, "1.2.3.4");
+        executor.runAll();
+
+        // then
+        ExecutionException ex = assertThrows(ExecutionException.class, future::get);
+        assertThat(ex.getCause(), sameInstance(sqlException));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRunOnDefaultExecutor() throws Exception {
+        // given
+        ColumnsHandler<SampleContext, Integer> handler = mock(ColumnsHandler.class);
+        Predicate<SampleContext> predicate = eq(SampleColumns.IS_LOCKED, 0);
+        given(handler.count(predicate)).willReturn(3);
+
+        // when
+        int count;
+        try (AsyncColumnsHandler<SampleContext, Integer> asyncHandler =
+                 AsyncColumnsHandler.withDefaultExecutor(handler)) {
+            count = asyncHandler.count(predicate).get(10, TimeUnit.SECONDS);
+        }
+
+        // then
+        assertThat(count, equalTo(3));
+    }
+
+    @Test
+    void shouldCreateDefaultExecutor() throws Exception {
+        // given
+        ExecutorService executor = AsyncColumnsHandler.createDefaultExecutor();
+
+        // when
+        boolean result = executor.submit(() -> true).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertThat(result, equalTo(true));
+    }
+
+    /** Executor which only runs tasks when requested. */
+    private static final class ManualExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            tasks.forEach(Runnable::run);
+            tasks.clear();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package ch.jalu.datasourcecolumns.data;
+
+import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnType;
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.StandardTypes;
+import org.junit.jupiter.api.Test;
+
+import java.util.Objects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link ArrayDataSourceValues} and {@link DataSourceValuesLayout}.
+ */
+class ArrayDataSourceValuesTest {
+
+    @Test
+    void shouldCreateLayoutWithDistinctColumns() {
+        // given / when
+        DataSourceValuesLayout layout = DataSourceValuesLayout.of(
+            SampleColumns.NAME, SampleColumns.IS_ACTIVE, SampleColumns.NAME, SampleColumns.EMAIL);
+
+        // then
+        assertThat(layout.size(), equalTo(3));
+        assertThat(layout.getSlot(SampleColumns.NAME), equalTo(0));
+        assertThat(layout.getSlot(SampleColumns.IS_ACTIVE), equalTo(1));
+        assertThat(layout.getSlot(SampleColumns.EMAIL), equalTo(2));
+        assertThat(layout.getSlot(SampleColumns.IP), equalTo(-1));
+        assertThat(layout.getColumn(2), sameInstance(SampleColumns.EMAIL));
+    }
+
+    @Test
+    void shouldStoreValuesBySlotAndColumn() {
+        // given
+        DataSourceValuesLayout layout = DataSourceValuesLayout.of(
+            SampleColumns.NAME, SampleColumns.IS_ACTIVE, SampleColumns.LAST_LOGIN);
+        ArrayDataSourceValues values = layout.createValues();
+
+        // when
+        values.set(0, "Bobby");
+        values.put(SampleColumns.LAST_LOGIN, 1234L);
+
+        // then
+        assertThat(values.get(SampleColumns.NAME), equalTo("Bobby"));
+        assertThat(values.get(SampleColumns.IS_ACTIVE), nullValue());
+        assertThat(values.get(SampleColumns.LAST_LOGIN), equalTo(1234L));
+        assertThat(values.rowExists(), equalTo(true));
+        assertThat(values.getLayout(), sameInstance(layout));
+    }
+
+    @Test
+    void shouldThrowForColumnNotInLayout() {
+        // given
+        ArrayDataSourceValues values = DataSourceValuesLayout.of(SampleColumns.NAME).createValues();
+
+        // when
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> values.get(SampleColumns.IP));
+
+        // then
+        assertThat(ex.getMessage(), containsString("No value available for column"));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void shouldRejectValueOfWrongType() {
+        // given
+        ArrayDataSourceValues values = DataSourceValuesLayout.of(SampleColumns.NAME, SampleColumns.ID).createValues();
+
+        // when
+        IllegalArgumentException ex1 = assertThrows(IllegalArgumentException.class, () -> values.set(1, "3"));
+        IllegalArgumentException ex2 = assertThrows(IllegalArgumentException.class,
+            () -> values.put((Column) SampleColumns.NAME, 4));
+
+        // then
+        assertThat(ex1.getMessage(), equalTo("Value '3' does not have the correct type for column '"
+            + SampleColumns.ID + "'"));
+        assertThat(ex2.getMessage(), containsString("does not have the correct type"));
+        assertThat(values.get(SampleColumns.ID), nullValue());
+    }
+
+    @Test
+    void shouldValidateColumnTypesWhenLayoutIsCreated() {
+        // given
+        Column<String, SampleContext> stringColumn = new NamedColumn<>("ratio", StandardTypes.STRING);
+        Column<Double, SampleContext> doubleColumn = new NamedColumn<>("ratio", StandardTypes.DOUBLE);
+        Column<String, SampleContext> untypedColumn = new NamedColumn<>("name", null);
+
+        // when
+        IllegalArgumentException ex1 = assertThrows(IllegalArgumentException.class,
+            () -> DataSourceValuesLayout.of(stringColumn, doubleColumn));
+        IllegalArgumentException ex2 = assertThrows(IllegalArgumentException.class,
+            () -> DataSourceValuesLayout.of(SampleColumns.NAME, untypedColumn));
+
+        // then
+        assertThat(ex1.getMessage(), containsString("but an equal column has type java.lang.String"));
+        assertThat(ex2.getMessage(), containsString("does not define a value type"));
+    }
+
+    /** Column which is equal to all columns with the same name. */
+    private static final class NamedColumn<T> implements Column<T, SampleContext> {
+        private final String name;
+        private final ColumnType<T> type;
+
+        NamedColumn(String name, ColumnType<T> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public String resolveName(SampleContext context) {
+            return name;
+        }
+
+        @Override
+        public ColumnType<T> getType() {
+            return type;
+        }
+
+        @Override
+        public boolean isColumnUsed(SampleContext context) {
+            return true;
+        }
+
+        @Override
+        public boolean useDefaultForNullValue(SampleContext context) {
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof NamedColumn && Objects.equals(name, ((NamedColumn<?>) obj).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+}
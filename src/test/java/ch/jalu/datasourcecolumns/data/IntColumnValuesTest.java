@@ -0,0 +1,38 @@
+package ch.jalu.datasourcecolumns.data;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link IntColumnValues}.
+ */
+class IntColumnValuesTest {
+
+    @Test
+    void shouldBuildValuesWithNulls() {
+        // given
+        IntColumnValues.Builder builder = new IntColumnValues.Builder();
+        for (int i = 0; i < 40; ++i) {
+            if (i % 3 == 0) {
+                builder.addNull();
+            } else {
+                builder.add(i * 100);
+            }
+        }
+
+        // when
+        IntColumnValues values = builder.build();
+
+        // then
+        assertThat(values.size(), equalTo(40));
+        assertThat(values.getValues().length, equalTo(40));
+        assertThat(values.isNull(0), equalTo(true));
+        assertThat(values.get(0), equalTo(0));
+        assertThat(values.isNull(38), equalTo(false));
+        assertThat(values.get(38), equalTo(3800));
+        assertThat(values.isNull(39), equalTo(true));
+        assertThat(values.getNulls().cardinality(), equalTo(14));
+    }
+}
@@ -0,0 +1,195 @@
+package ch.jalu.datasourcecolumns.decorator;
+
+import ch.jalu.datasourcecolumns.ColumnsHandler;
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.data.DataSourceValue;
+import ch.jalu.datasourcecolumns.data.DataSourceValueImpl;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.DataSourceValuesImpl;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static ch.jalu.datasourcecolumns.data.UpdateValues.with;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test for {@link CachingColumnsHandler}.
+ */
+class CachingColumnsHandlerTest {
+
+    private ColumnsHandler<SampleContext, Integer> handler;
+    private long currentTime;
+    private CachingColumnsHandler<SampleContext, Integer> cachingHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void initHandler() {
+        handler = mock(ColumnsHandler.class);
+        cachingHandler = new CachingColumnsHandler<SampleContext, Integer>(handler, 3, 10, TimeUnit.SECONDS) {
+            @Override
+            protected long currentTimeNanos() {
+                return currentTime;
+            }
+        };
+    }
+
+    @Test
+    void shouldServeRetrievalFromCache() throws Exception {
+        // given
+        given(handler.retrieve(3, SampleColumns.NAME)).willReturn(DataSourceValueImpl.of("Cody"));
+
+        // when
+        DataSourceValue<String> result1 = cachingHandler.retrieve(3, SampleColumns.NAME);
+        DataSourceValue<String> result2 = cachingHandler.retrieve(3, SampleColumns.NAME);
+
+        // then
+        assertThat(result1.getValue(), equalTo("Cody"));
+        assertThat(result2.getValue(), equalTo("Cody"));
+        verify(handler).retrieve(3, SampleColumns.NAME);
+        assertThat(cachingHandler.getHitCount(), equalTo(1L));
+        assertThat(cachingHandler.getMissCount(), equalTo(1L));
+    }
+
+    @Test
+    void shouldOnlyFetchMissingColumns() throws Exception {
+        // given
+        given(handler.retrieve(3, SampleColumns.NAME)).willReturn(DataSourceValueImpl.of("Cody"));
+        DataSourceValuesImpl ipAndEmail = new DataSourceValuesImpl();
+        ipAndEmail.put(SampleColumns.IP, "22.22.22.22");
+        ipAndEmail.put(SampleColumns.EMAIL, null);
+        given(handler.retrieve(3, SampleColumns.IP, SampleColumns.EMAIL)).willReturn(ipAndEmail);
+
+        // when
+        cachingHandler.retrieve(3, SampleColumns.NAME);
+        DataSourceValues result1 = cachingHandler.retrieve(3, SampleColumns.NAME, SampleColumns.IP, SampleColumns.EMAIL);
+        DataSourceValues result2 = cachingHandler.retrieve(3, SampleColumns.EMAIL, SampleColumns.NAME);
+
+        // then
+        assertThat(result1.get(SampleColumns.NAME), equalTo("Cody"));
+        assertThat(result1.get(SampleColumns.IP), equalTo("22.22.22.22"));
+        assertThat(result2.get(SampleColumns.NAME), equalTo("Cody"));
+        assertThat(result2.get(SampleColumns.EMAIL), equalTo(null));
+        verify(handler).retrieve(3, SampleColumns.IP, SampleColumns.EMAIL);
+        assertThat(cachingHandler.getHitCount(), equalTo(1L));
+        assertThat(cachingHandler.getMissCount(), equalTo(2L));
+    }
+
+    @Test
+    void shouldCacheNonExistentRowUntilInsert() throws Exception {
+        // given
+        given(handler.retrieve(20, SampleColumns.NAME)).willReturn(DataSourceValueImpl.unknownRow());
+
+        // when
+        DataSourceValue<String> result1 = cachingHandler.retrieve(20, SampleColumns.NAME);
+        DataSourceValues result2 = cachingHandler.retrieve(20, SampleColumns.NAME, SampleColumns.IP);
+        cachingHandler.insert(with(SampleColumns.ID, 20).and(SampleColumns.NAME, "Tom").build());
+        cachingHandler.retrieve(20, SampleColumns.NAME);
+
+        // then
+        assertThat(result1.rowExists(), equalTo(false));
+        assertThat(result2.rowExists(), equalTo(false));
+        verify(handler, times(2)).retrieve(20, SampleColumns.NAME);
+    }
+
+    @Test
+    void shouldInvalidateRowOnUpdate() throws Exception {
+        // given
+        given(handler.retrieve(5, SampleColumns.EMAIL))
+            .willReturn(DataSourceValueImpl.of("old@example.org"), DataSourceValueImpl.of("new@example.org"));
+        given(handler.update(5, SampleColumns.EMAIL, "new@example.org")).willReturn(true);
+        cachingHandler.retrieve(5, SampleColumns.EMAIL);
+
+        // when
+        boolean result = cachingHandler.update(5, SampleColumns.EMAIL, "new@example.org");
+        DataSourceValue<String> value = cachingHandler.retrieve(5, SampleColumns.EMAIL);
+
+        // then
+        assertThat(result, equalTo(true));
+        assertThat(value.getValue(), equalTo("new@example.org"));
+        assertThat(cachingHandler.getSize(), equalTo(1));
+    }
+
+    @Test
+    void shouldInvalidateAllRowsOnUpdateByPredicate() throws Exception {
+        // given
+        given(handler.retrieve(5, SampleColumns.EMAIL)).willReturn(DataSourceValueImpl.of("mail@example.org"));
+        given(handler.retrieve(6, SampleColumns.EMAIL)).willReturn(DataSourceValueImpl.of("mail@example.org"));
+        cachingHandler.retrieve(5, SampleColumns.EMAIL);
+        cachingHandler.retrieve(6, SampleColumns.EMAIL);
+        Predicate<SampleContext> predicate = eq(SampleColumns.EMAIL, "mail@example.org");
+
+        // when
+        cachingHandler.update(predicate, SampleColumns.EMAIL, "other@example.org");
+
+        // then
+        assertThat(cachingHandler.getSize(), equalTo(0));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedAndExpiredRows() throws Exception {
+        // given
+        for (int id = 1; id <= 4; ++id) {
+            given(handler.retrieve(id, SampleColumns.NAME)).willReturn(DataSourceValueImpl.of("name" + id));
+        }
+
+        // when
+        cachingHandler.retrieve(1, SampleColumns.NAME);
+        cachingHandler.retrieve(2, SampleColumns.NAME);
+        cachingHandler.retrieve(3, SampleColumns.NAME);
+        cachingHandler.retrieve(1, SampleColumns.NAME);
+        cachingHandler.retrieve(4, SampleColumns.NAME); // evicts 2
+        currentTime = TimeUnit.SECONDS.toNanos(11);
+        cachingHandler.retrieve(3, SampleColumns.NAME); // expired
+
+        // then
+        assertThat(cachingHandler.getEvictionCount(), equalTo(2L));
+        assertThat(cachingHandler.getHitCount(), equalTo(1L));
+        verify(handler).retrieve(1, SampleColumns.NAME);
+        verify(handler).retrieve(2, SampleColumns.NAME);
+        verify(handler, times(2)).retrieve(3, SampleColumns.NAME);
+    }
+
+    @Test
+    void shouldOnlyLoadUncachedRowsForRetrieveAll() throws Exception {
+        // given
+        given(handler.retrieve(2, SampleColumns.NAME)).willReturn(DataSourceValueImpl.of("Bobby"));
+        cachingHandler.retrieve(2, SampleColumns.NAME);
+        DataSourceValuesImpl values7 = new DataSourceValuesImpl();
+        values7.put(SampleColumns.NAME, "Gary");
+        given(handler.retrieveAll(Arrays.asList(7, 30), SampleColumns.NAME)).willReturn(newMap(
+            7, values7, 30, DataSourceValuesImpl.unknownRow()));
+
+        // when
+        Map<Integer, DataSourceValues> result = cachingHandler.retrieveAll(Arrays.asList(7, 2, 30), SampleColumns.NAME);
+
+        // then
+        assertThat(result.keySet(), contains(7, 2, 30));
+        assertThat(result.get(7).get(SampleColumns.NAME), equalTo("Gary"));
+        assertThat(result.get(2).get(SampleColumns.NAME), equalTo("Bobby"));
+        assertThat(result.get(30).rowExists(), equalTo(false));
+        assertThat(cachingHandler.retrieve(30, SampleColumns.NAME).rowExists(), equalTo(false));
+        assertThat(cachingHandler.getHitCount(), equalTo(2L));
+    }
+
+    private static Map<Integer, DataSourceValues> newMap(Integer key1, DataSourceValues value1,
+                                                         Integer key2, DataSourceValues value2) {
+        Map<Integer, DataSourceValues> map = new HashMap<>();
+        map.put(key1, value1);
+        map.put(key2, value2);
+        return map;
+    }
+}
@@ -0,0 +1,128 @@
+package ch.jalu.datasourcecolumns.decorator;
+
+import ch.jalu.datasourcecolumns.ColumnsHandler;
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.data.DataSourceValueImpl;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.DataSourceValuesImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static ch.jalu.datasourcecolumns.data.UpdateValues.with;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test for {@link NegativeLookupColumnsHandler}.
+ */
+class NegativeLookupColumnsHandlerTest {
+
+    private ColumnsHandler<SampleContext, Integer> handler;
+    private long currentTime;
+    private NegativeLookupColumnsHandler<SampleContext, Integer> negativeLookupHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void initHandler() {
+        handler = mock(ColumnsHandler.class);
+        negativeLookupHandler =
+            new NegativeLookupColumnsHandler<SampleContext, Integer>(handler, 2, 1, TimeUnit.MINUTES) {
+                @Override
+                protected long currentTimeNanos() {
+                    return currentTime;
+                }
+            };
+    }
+
+    @Test
+    void shouldAnswerRetrievalOfMissingRowWithoutQuery() throws Exception {
+        // given
+        given(handler.retrieve(20, SampleColumns.NAME)).willReturn(DataSourceValueImpl.unknownRow());
+        given(handler.retrieve(3, SampleColumns.NAME)).willReturn(DataSourceValueImpl.of("Cody"));
+
+        // when
+        negativeLookupHandler.retrieve(20, SampleColumns.NAME);
+        negativeLookupHandler.retrieve(3, SampleColumns.NAME);
+        boolean exists1 = negativeLookupHandler.retrieve(20, SampleColumns.NAME).rowExists();
+        boolean exists2 = negativeLookupHandler.retrieve(20, SampleColumns.NAME, SampleColumns.IP).rowExists();
+        negativeLookupHandler.retrieve(3, SampleColumns.NAME);
+
+        // then
+        assertThat(exists1, equalTo(false));
+        assertThat(exists2, equalTo(false));
+        assertThat(negativeLookupHandler.getHitCount(), equalTo(2L));
+        verify(handler).retrieve(20, SampleColumns.NAME);
+        verify(handler, times(2)).retrieve(3, SampleColumns.NAME);
+    }
+
+    @Test
+    void shouldForgetMissingRowsOnInsert() throws Exception {
+        // given
+        given(handler.retrieve(20, SampleColumns.NAME))
+            .willReturn(DataSourceValueImpl.unknownRow(), DataSourceValueImpl.of("Tom"));
+        negativeLookupHandler.retrieve(20, SampleColumns.NAME);
+
+        // when
+        negativeLookupHandler.insert(with(SampleColumns.ID, 20).and(SampleColumns.NAME, "Tom").build());
+        String name = negativeLookupHandler.retrieve(20, SampleColumns.NAME).getValue();
+
+        // then
+        assertThat(name, equalTo("Tom"));
+        assertThat(negativeLookupHandler.getHitCount(), equalTo(0L));
+    }
+
+    @Test
+    void shouldEvictEntriesBySizeAndTime() throws Exception {
+        // given
+        given(handler.retrieve(20, SampleColumns.NAME)).willReturn(DataSourceValueImpl.unknownRow());
+        given(handler.retrieve(21, SampleColumns.NAME)).willReturn(DataSourceValueImpl.unknownRow());
+        given(handler.retrieve(22, SampleColumns.NAME)).willReturn(DataSourceValueImpl.unknownRow());
+
+        // when
+        negativeLookupHandler.retrieve(20, SampleColumns.NAME);
+        negativeLookupHandler.retrieve(21, SampleColumns.NAME);
+        negativeLookupHandler.retrieve(22, SampleColumns.NAME); // evicts 20
+        negativeLookupHandler.retrieve(20, SampleColumns.NAME);
+        currentTime = TimeUnit.MINUTES.toNanos(2);
+        negativeLookupHandler.retrieve(22, SampleColumns.NAME); // expired
+
+        // then
+        verify(handler, times(2)).retrieve(20, SampleColumns.NAME);
+        verify(handler).retrieve(21, SampleColumns.NAME);
+        verify(handler, times(2)).retrieve(22, SampleColumns.NAME);
+        assertThat(negativeLookupHandler.getHitCount(), equalTo(0L));
+    }
+
+    @Test
+    void shouldOnlyLoadUnknownIdentifiersForRetrieveAll() throws Exception {
+        // given
+        given(handler.retrieve(20, SampleColumns.NAME)).willReturn(DataSourceValueImpl.unknownRow());
+        negativeLookupHandler.retrieve(20, SampleColumns.NAME);
+        DataSourceValuesImpl values2 = new DataSourceValuesImpl();
+        values2.put(SampleColumns.NAME, "Bobby");
+        Map<Integer, DataSourceValues> loadedValues = new HashMap<>();
+        loadedValues.put(2, values2);
+        given(handler.retrieveAll(Collections.singletonList(2), SampleColumns.NAME)).willReturn(loadedValues);
+
+        // when
+        Map<Integer, DataSourceValues> result =
+            negativeLookupHandler.retrieveAll(Arrays.asList(20, 2), SampleColumns.NAME);
+
+        // then
+        assertThat(result.keySet(), contains(20, 2));
+        assertThat(result.get(20).rowExists(), equalTo(false));
+        assertThat(result.get(2).get(SampleColumns.NAME), equalTo("Bobby"));
+    }
+}
@@ -0,0 +1,284 @@
+package ch.jalu.datasourcecolumns.decorator;
+
+import ch.jalu.datasourcecolumns.ColumnsHandler;
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.data.UpdateValues;
+import ch.jalu.datasourcecolumns.predicate.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static ch.jalu.datasourcecolumns.data.UpdateValues.with;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Test for {@link WriteBehindColumnsHandler}.
+ */
+class WriteBehindColumnsHandlerTest {
+
+    private ColumnsHandler<SampleContext, Integer> handler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void initHandler() {
+        handler = mock(ColumnsHandler.class);
+    }
+
+    @Test
+    void shouldMergeUpdatesUntilFlush() throws Exception {
+        // given
+        WriteBehindColumnsHandler<SampleContext, Integer> writeBehindHandler =
+            new WriteBehindColumnsHandler<>(handler, 100);
+        given(handler.updateAll(anyMap())).willReturn(2);
+
+        // when
+        boolean result = writeBehindHandler.update(3, SampleColumns.EMAIL, "old@example.org");
+        writeBehindHandler.update(4, SampleColumns.IS_LOCKED, 1);
+        writeBehindHandler.update(3, with(SampleColumns.EMAIL, "new@example.org")
+            .and(SampleColumns.LAST_LOGIN, 400L).build());
+
+        // then
+        assertThat(result, equalTo(true));
+        assertThat(writeBehindHandler.getPendingRowCount(), equalTo(2));
+        verifyNoInteractions(handler);
+
+        // when
+        int updatedRows = writeBehindHandler.flush();
+
+        // then
+        assertThat(updatedRows, equalTo(2));
+        assertThat(writeBehindHandler.getPendingRowCount(), equalTo(0));
+        Map<Integer, UpdateValues<SampleContext>> valuesById = captureUpdateAll(1);
+        assertThat(valuesById.keySet(), contains(3, 4));
+        UpdateValues<SampleContext> valuesOf3 = valuesById.get(3);
+        assertThat(valuesOf3.getColumns(), containsInAnyOrder(SampleColumns.EMAIL, SampleColumns.LAST_LOGIN));
+        assertThat(valuesOf3.get(SampleColumns.EMAIL), equalTo("new@example.org"));
+        assertThat(valuesOf3.get(SampleColumns.LAST_LOGIN), equalTo(400L));
+        assertThat(valuesById.get(4).get(SampleColumns.IS_LOCKED), equalTo(1));
+    }
+
+    @Test
+    void shouldFlushWhenMaxPendingRowsIsReached() throws Exception {
+        // given
+        WriteBehindColumnsHandler<SampleContext, Integer> writeBehindHandler =
+            new WriteBehindColumnsHandler<>(handler, 2);
+
+        // when
+        writeBehindHandler.update(1, SampleColumns.EMAIL, "a@example.org");
+        writeBehindHandler.update(1, SampleColumns.EMAIL, "b@example.org");
+        verifyNoInteractions(handler);
+        writeBehindHandler.update(2, SampleColumns.EMAIL, "c@example.org");
+
+        // then
+        assertThat(writeBehindHandler.getPendingRowCount(), equalTo(0));
+        assertThat(captureUpdateAll(1).keySet(), contains(1, 2));
+    }
+
+    @Test
+    void shouldFlushBeforeReadingPendingRow() throws Exception {
+        // given
+        WriteBehindColumnsHandler<SampleContext, Integer> writeBehindHandler =
+            new WriteBehindColumnsHandler<>(handler, 100);
+        writeBehindHandler.update(5, SampleColumns.NAME, "Edith");
+
+        // when
+        writeBehindHandler.retrieve(6, SampleColumns.NAME);
+        writeBehindHandler.retrieve(5, SampleColumns.NAME);
+
+        // then
+        InOrder inOrder = inOrder(handler);
+        inOrder.verify(handler).retrieve(6, SampleColumns.NAME);
+        inOrder.verify(handler).updateAll(anyMap());
+        inOrder.verify(handler).retrieve(5, SampleColumns.NAME);
+    }
+
+    @Test
+    void shouldFlushBeforePredicateOperation() throws Exception {
+        // given
+        WriteBehindColumnsHandler<SampleContext, Integer> writeBehindHandler =
+            new WriteBehindColumnsHandler<>(handler, 100);
+        writeBehindHandler.update(7, SampleColumns.IS_ACTIVE, 1);
+        Predicate<SampleContext> predicate = eq(SampleColumns.IS_ACTIVE, 1);
+        given(handler.count(predicate)).willReturn(8);
+
+        // when
+        int count = writeBehindHandler.count(predicate);
+
+        // then
+        assertThat(count, equalTo(8));
+        InOrder inOrder = inOrder(handler);
+        inOrder.verify(handler).updateAll(anyMap());
+        inOrder.verify(handler).count(predicate);
+    }
+
+    @Test
+    void shouldKeepUpdatesIfFlushFails() throws Exception {
+        // given
+        WriteBehindColumnsHandler<SampleContext, Integer> writeBehindHandler =
+            new WriteBehindColumnsHandler<>(handler, 100);
+        writeBehindHandler.update(3, with(SampleColumns.EMAIL, "mail@example.org")
+            .and(SampleColumns.IS_LOCKED, 0).build());
+        SQLException sqlException = new SQLException("Connection lost");
+        given(handler.updateAll(anyMap())).willThrow(sqlException).willReturn(1);
+        given(handler.update(eq(3), any(UpdateValues.class))).willThrow(new SQLException("Connection lost"));
+
+        // when
+        SQLException ex = assertThrows(SQLException.class, writeBehindHandler::flush);
+        writeBehindHandler.update(3, SampleColumns.IS_LOCKED, 1);
+        writeBehindHandler.close();
+
+        // then
+        assertThat(ex, sameInstance(sqlException));
+        assertThat(writeBehindHandler.getPendingRowCount(), equalTo(0));
+        Map<Integer, UpdateValues<SampleContext>> valuesById = captureUpdateAll(2);
+        assertThat(valuesById.get(3).get(SampleColumns.EMAIL), equalTo("mail@example.org"));
+        assertThat(valuesById.get(3).get(SampleColumns.IS_LOCKED), equalTo(1));
+    }
+
+    @Test
+    void shouldDiscardRowsAfterMaxWriteAttempts() throws Exception {
+        // given
+        List<Map<Integer, UpdateValues<SampleContext>>> discardedRows = new ArrayList<>();
+        WriteBehindColumnsHandler<SampleContext, Integer> writeBehindHandler =
+            new WriteBehindColumnsHandler<>(handler, 100, 2, discardedRows::add);
+        writeBehindHandler.update(3, SampleColumns.EMAIL, "invalid");
+        writeBehindHandler.update(5, SampleColumns.EMAIL, "valid@example.org");
+        given(handler.updateAll(anyMap())).willThrow(new SQLException("Constraint violation"));
+        given(handler.update(eq(3), any(UpdateValues.class))).willThrow(new SQLException("Constraint violation"));
+        given(handler.update(eq(5), any(UpdateValues.class))).willThrow(new SQLException("Deadlock")).willReturn(true);
+
+        // when
+        assertThrows(SQLException.class, writeBehindHandler::flush);
+        writeBehindHandler.update(4, SampleColumns.EMAIL, "valid");
+        assertThrows(SQLException.class, writeBehindHandler::flush);
+        writeBehindHandler.update(5, SampleColumns.IS_LOCKED, 1);
+        given(handler.update(eq(5), any(UpdateValues.class))).willThrow(new SQLException("Deadlock"));
+        assertThrows(SQLException.class, writeBehindHandler::flush);
+
+        // then
+        // Row 3 is discarded after two failures; rows 4 and 5 are written separately, which resets the count of row 5
+        assertThat(discardedRows, hasSize(1));
+        assertThat(discardedRows.get(0).keySet(), contains(3));
+        assertThat(discardedRows.get(0).get(3).get(SampleColumns.EMAIL), equalTo("invalid"));
+        assertThat(writeBehindHandler.getPendingRowCount(), equalTo(1));
+        verify(handler).update(eq(4), any(UpdateValues.class));
+        assertThat(captureUpdateAll(3).keySet(), contains(5));
+    }
+
+    @Test
+    void shouldRetryFailedRowsUntilWrittenByDefault() throws Exception {
+        // given
+        WriteBehindColumnsHandler<SampleContext, Integer> writeBehindHandler =
+            new WriteBehindColumnsHandler<>(handler, 100);
+        writeBehindHandler.update(3, SampleColumns.EMAIL, "mail@example.org");
+        given(handler.updateAll(anyMap())).willThrow(new SQLException("Connection lost"));
+        given(handler.update(eq(3), any(UpdateValues.class))).willThrow(new SQLException("Connection lost"));
+
+        // when
+        for (int i = 0; i < 10; ++i) {
+            assertThrows(SQLException.class, writeBehindHandler::flush);
+        }
+        willReturn(1).given(handler).updateAll(anyMap());
+        int updatedRows = writeBehindHandler.flush();
+
+        // then
+        assertThat(updatedRows, equalTo(1));
+        assertThat(writeBehindHandler.getPendingRowCount(), equalTo(0));
+        assertThat(captureUpdateAll(11).get(3).get(SampleColumns.EMAIL), equalTo("mail@example.org"));
+    }
+
+    @Test
+    void shouldWaitForRunningFlushBeforeReadingRowBeingWritten() throws Exception {
+        // given
+        WriteBehindColumnsHandler<SampleContext, Integer> writeBehindHandler =
+            new WriteBehindColumnsHandler<>(handler, 100);
+        writeBehindHandler.update(5, SampleColumns.NAME, "Edith");
+        CountDownLatch flushStarted = new CountDownLatch(1);
+        CountDownLatch finishFlush = new CountDownLatch(1);
+        given(handler.updateAll(anyMap())).willAnswer(invocation -> {
+            flushStarted.countDown();
+            finishFlush.await();
+            return 1;
+        });
+        Thread flushThread = new Thread(() -> {
+            try {
+                writeBehindHandler.flush();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread retrieveThread = new Thread(() -> {
+            try {
+                writeBehindHandler.retrieve(5, SampleColumns.NAME);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // when
+        flushThread.start();
+        flushStarted.await();
+        retrieveThread.start();
+        while (retrieveThread.getState() != Thread.State.BLOCKED
+            && retrieveThread.getState() != Thread.State.TERMINATED) {
+            Thread.sleep(1);
+        }
+        verify(handler, never()).retrieve(5, SampleColumns.NAME);
+        finishFlush.countDown();
+        flushThread.join();
+        retrieveThread.join();
+
+        // then
+        InOrder inOrder = inOrder(handler);
+        inOrder.verify(handler).updateAll(anyMap());
+        inOrder.verify(handler).retrieve(5, SampleColumns.NAME);
+    }
+
+    @Test
+    void shouldNotCallHandlerForFlushWithoutPendingUpdates() throws Exception {
+        // given
+        WriteBehindColumnsHandler<SampleContext, Integer> writeBehindHandler =
+            new WriteBehindColumnsHandler<>(handler, 100);
+
+        // when
+        int updatedRows = writeBehindHandler.flush();
+        writeBehindHandler.close();
+
+        // then
+        assertThat(updatedRows, equalTo(0));
+        verifyNoInteractions(handler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, UpdateValues<SampleContext>> captureUpdateAll(int expectedCalls) throws Exception {
+        ArgumentCaptor<Map<Integer, UpdateValues<SampleContext>>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(handler, times(expectedCalls)).updateAll(captor.capture());
+        return captor.getValue();
+    }
+}
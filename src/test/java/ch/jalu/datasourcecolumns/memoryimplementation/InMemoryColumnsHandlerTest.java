@@ -0,0 +1,102 @@
+package ch.jalu.datasourcecolumns.memoryimplementation;
+
+import ch.jalu.datasourcecolumns.ColumnsHandler;
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.predicate.AlwaysTruePredicate;
+import ch.jalu.datasourcecolumns.sqlimplementation.AbstractSqlColumnsHandlerTest;
+import ch.jalu.datasourcecolumns.sqlimplementation.ConnectionInfo;
+import ch.jalu.datasourcecolumns.sqlimplementation.SqlColumnsHandler;
+import ch.jalu.datasourcecolumns.sqlimplementation.SqlColumnsHandlerConfig;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.Arrays;
+
+import static ch.jalu.datasourcecolumns.data.UpdateValues.with;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.in;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link InMemoryColumnsHandler}, initialized with the rows of the sample database.
+ */
+class InMemoryColumnsHandlerTest extends AbstractSqlColumnsHandlerTest {
+
+    private InMemoryColumnsHandler<SampleContext, Integer> handler;
+
+    @Override
+    protected ConnectionInfo createConnection() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:");
+        return new ConnectionInfo(dataSource.getConnection());
+    }
+
+    @Override
+    protected ColumnsHandler<SampleContext, Integer> createHandler(SqlColumnsHandlerConfig<SampleContext> config)
+                                                                                                throws Exception {
+        handler = new InMemoryColumnsHandler<>(config.getContext(), config.getIdColumn());
+        handler.setDefaultValue(SampleColumns.IS_ACTIVE, 3);
+        handler.setDefaultValue(SampleColumns.LAST_LOGIN, -123L);
+        try (SqlColumnsHandler<SampleContext, Integer> sqlHandler = new SqlColumnsHandler<>(config)) {
+            for (DataSourceValues row : sqlHandler.retrieve(new AlwaysTruePredicate<>(), SampleColumns.ID,
+                SampleColumns.NAME, SampleColumns.IP, SampleColumns.EMAIL, SampleColumns.IS_LOCKED,
+                SampleColumns.IS_ACTIVE, SampleColumns.LAST_LOGIN)) {
+                handler.insert(with(SampleColumns.ID, row.get(SampleColumns.ID))
+                    .and(SampleColumns.NAME, row.get(SampleColumns.NAME))
+                    .and(SampleColumns.IP, row.get(SampleColumns.IP))
+                    .and(SampleColumns.EMAIL, row.get(SampleColumns.EMAIL))
+                    .and(SampleColumns.IS_LOCKED, row.get(SampleColumns.IS_LOCKED))
+                    .and(SampleColumns.IS_ACTIVE, row.get(SampleColumns.IS_ACTIVE))
+                    .and(SampleColumns.LAST_LOGIN, row.get(SampleColumns.LAST_LOGIN))
+                    .build());
+            }
+        }
+        return handler;
+    }
+
+    @Test
+    void shouldRejectInsertWithDuplicateOrMissingId() {
+        // given / when / then
+        assertThrows(SQLIntegrityConstraintViolationException.class,
+            () -> handler.insert(with(SampleColumns.ID, 3).and(SampleColumns.NAME, "Cody").build()));
+        assertThrows(SQLIntegrityConstraintViolationException.class,
+            () -> handler.insert(with(SampleColumns.NAME, "Tom").build()));
+        assertThat(handler.retrieve(3, SampleColumns.NAME).getValue(), equalTo("Cody"));
+        assertThat(handler.count(eq(SampleColumns.NAME, "Tom")), equalTo(0));
+    }
+
+    @Test
+    void shouldMoveRowToNewId() throws SQLException {
+        // given / when
+        boolean isUpdated = handler.update(2, SampleColumns.ID, 22);
+        int updatedRows = handler.update(eq(SampleColumns.NAME, "Cody"), SampleColumns.ID, 33);
+
+        // then
+        assertThat(isUpdated, equalTo(true));
+        assertThat(updatedRows, equalTo(1));
+        assertThat(handler.retrieve(2, SampleColumns.NAME).rowExists(), equalTo(false));
+        assertThat(handler.retrieve(22, SampleColumns.NAME).getValue(), equalTo("Brett"));
+        assertThat(handler.retrieve(3, SampleColumns.NAME).rowExists(), equalTo(false));
+        assertThat(handler.retrieve(33, SampleColumns.NAME).getValue(), equalTo("Cody"));
+    }
+
+    @Test
+    void shouldNotChangeAnyRowForInvalidIdChange() {
+        // given / when / then
+        assertThrows(SQLIntegrityConstraintViolationException.class,
+            () -> handler.update(in(SampleColumns.ID, Arrays.asList(1, 2)), SampleColumns.ID, 20));
+        assertThrows(SQLIntegrityConstraintViolationException.class,
+            () -> handler.update(eq(SampleColumns.ID, 1), SampleColumns.ID, 4));
+        assertThrows(SQLIntegrityConstraintViolationException.class,
+            () -> handler.update(1, SampleColumns.ID, (Integer) null));
+        assertThat(handler.retrieve(in(SampleColumns.ID, Arrays.asList(1, 2, 4, 20)), SampleColumns.NAME),
+            containsInAnyOrder("Alex", "Brett", "Dan"));
+    }
+}
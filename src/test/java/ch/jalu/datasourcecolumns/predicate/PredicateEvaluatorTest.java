@@ -0,0 +1,218 @@
+package ch.jalu.datasourcecolumns.predicate;
+
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.DataSourceValuesImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.and;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.between;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eqIgnoreCase;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThan;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThanEquals;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.in;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.inRange;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.isNotNull;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.isNull;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.lessThan;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.like;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.not;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notEq;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notEqIgnoreCase;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notIn;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notLike;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.or;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Test for {@link PredicateEvaluator}.
+ */
+class PredicateEvaluatorTest {
+
+    private SampleContext context;
+    private PredicateEvaluator<SampleContext> evaluator;
+    private List<DataSourceValues> rows;
+
+    @BeforeEach
+    void initEvaluatorAndRows() {
+        context = new SampleContext();
+        evaluator = new PredicateEvaluator<>(context);
+        rows = Arrays.asList(
+            createRow("Alex", "alex@example.org", 1, 1000L),
+            createRow("Brett", null, 0, 2000L),
+            createRow("Cody", "CODY@example.org", 0, null),
+            createRow("Dan", "dan@example.org", null, 4000L));
+    }
+
+    @Test
+    void shouldEvaluateComparisons() {
+        // given / when / then
+        assertThat(filter(eq(SampleColumns.IS_LOCKED, 0)), contains("Brett", "Cody"));
+        assertThat(filter(notEq(SampleColumns.IS_LOCKED, 0)), contains("Alex"));
+        assertThat(filter(greaterThanEquals(SampleColumns.LAST_LOGIN, 2000L)), contains("Brett", "Dan"));
+        assertThat(filter(lessThan(SampleColumns.NAME, "Brz")), contains("Alex", "Brett"));
+        assertThat(filter(eq(SampleColumns.IS_LOCKED, null)), empty());
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void shouldCompareNumbersOfDifferentTypes() {
+        // given
+        ComparingPredicate<Long, SampleContext> predicate =
+            new ComparingPredicate(SampleColumns.IS_LOCKED, 1L, ComparingPredicate.Type.GREATER_EQUALS);
+
+        // when / then
+        assertThat(filter(predicate), contains("Alex"));
+    }
+
+    @Test
+    void shouldEvaluateEqualsIgnoreCaseAndNullChecks() {
+        // given / when / then
+        assertThat(filter(eqIgnoreCase(SampleColumns.EMAIL, "cody@EXAMPLE.org")), contains("Cody"));
+        assertThat(filter(notEqIgnoreCase(SampleColumns.EMAIL, "cody@example.org")), contains("Alex", "Dan"));
+        assertThat(filter(isNull(SampleColumns.EMAIL)), contains("Brett"));
+        assertThat(filter(isNotNull(SampleColumns.LAST_LOGIN)), contains("Alex", "Brett", "Dan"));
+    }
+
+    @Test
+    void shouldEvaluateInPredicates() {
+        // given / when / then
+        assertThat(filter(in(SampleColumns.NAME, Arrays.asList("Cody", "Alex", "Zed"))), contains("Alex", "Cody"));
+        assertThat(filter(in(SampleColumns.IS_LOCKED, Arrays.asList(1, null))), contains("Alex"));
+        assertThat(filter(notIn(SampleColumns.IS_LOCKED, Arrays.asList(1, 2))), contains("Brett", "Cody"));
+        assertThat(filter(notIn(SampleColumns.IS_LOCKED, Arrays.asList(1, null))), empty());
+        assertThat(filter(in(SampleColumns.NAME, Arrays.asList())), empty());
+        assertThat(filter(notIn(SampleColumns.NAME, Arrays.asList())), contains("Alex", "Brett", "Cody", "Dan"));
+    }
+
+    @Test
+    void shouldEvaluateRangePredicates() {
+        // given / when / then
+        assertThat(filter(between(SampleColumns.LAST_LOGIN, 1000L, 2000L)), contains("Alex", "Brett"));
+        assertThat(filter(inRange(SampleColumns.LAST_LOGIN, 1000L, 2000L)), contains("Alex"));
+        assertThat(filter(inRange(SampleColumns.NAME, "B", "D")), contains("Brett", "Cody"));
+        assertThat(filter(between(SampleColumns.LAST_LOGIN, 1000L, null)), empty());
+    }
+
+    @Test
+    void shouldEvaluateLikePredicates() {
+        // given / when / then
+        assertThat(filter(startsWith(SampleColumns.EMAIL, "c")), empty());
+        assertThat(filter(startsWith(SampleColumns.EMAIL, "CODY@")), contains("Cody"));
+        assertThat(filter(like(SampleColumns.NAME, "_r%")), contains("Brett"));
+        assertThat(filter(like(SampleColumns.EMAIL, "%@example.org")), contains("Alex", "Cody", "Dan"));
+        assertThat(filter(like(SampleColumns.EMAIL, "%!_%")), empty());
+        assertThat(filter(like(SampleColumns.NAME, "D.n")), empty());
+        assertThat(filter(like(SampleColumns.NAME, null)), empty());
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void shouldEvaluateInPredicateWithNumbersOfDifferentTypes() {
+        // given
+        InPredicate<Long, SampleContext> predicate = new InPredicate(SampleColumns.IS_LOCKED, Arrays.asList(1L), false);
+
+        // when / then
+        assertThat(filter(predicate), contains("Alex"));
+    }
+
+    @Test
+    void shouldCreateEqualLookupKeysForEqualNumbers() {
+        // given / when / then
+        assertThat(evaluator.toLookupKey(3), equalTo(evaluator.toLookupKey(3L)));
+        assertThat(evaluator.toLookupKey((short) 3), equalTo(evaluator.toLookupKey(new BigDecimal("3.000"))));
+        assertThat(evaluator.toLookupKey(3.0), equalTo(evaluator.toLookupKey(BigInteger.valueOf(3))));
+        assertThat(evaluator.toLookupKey(0.25f), equalTo(evaluator.toLookupKey(new BigDecimal("0.250"))));
+        assertThat(evaluator.toLookupKey(-0.0), equalTo(evaluator.toLookupKey(BigDecimal.ZERO)));
+        assertThat(evaluator.toLookupKey(new BigDecimal("1E+30")),
+            equalTo(evaluator.toLookupKey(new BigInteger("1000000000000000000000000000000"))));
+        assertThat(evaluator.toLookupKey(Double.NaN), equalTo(evaluator.toLookupKey(Float.NaN)));
+        assertThat(evaluator.toLookupKey(2.5).equals(evaluator.toLookupKey(2)), equalTo(false));
+        assertThat(evaluator.toLookupKey("3"), equalTo("3"));
+    }
+
+    @Test
+    void shouldEvaluateNegatedPredicatesLikeSql() {
+        // given / when / then
+        assertThat(filter(not(eq(SampleColumns.IS_LOCKED, 0))), contains("Alex"));
+        assertThat(filter(not(or(isNull(SampleColumns.EMAIL), eq(SampleColumns.NAME, "Dan")))),
+            contains("Alex", "Cody"));
+        assertThat(filter(not(between(SampleColumns.LAST_LOGIN, 1500L, 3000L))), contains("Alex", "Dan"));
+        assertThat(filter(notLike(SampleColumns.EMAIL, "%@example.org")), empty());
+        assertThat(filter(not(startsWith(SampleColumns.NAME, "B"))), contains("Alex", "Cody", "Dan"));
+        assertThat(filter(not(new AlwaysTruePredicate<>())), empty());
+    }
+
+    @Test
+    void shouldCombinePredicates() {
+        // given
+        Predicate<SampleContext> predicate = or(
+            and(eq(SampleColumns.IS_LOCKED, 0), greaterThan(SampleColumns.LAST_LOGIN, 1500L)),
+            eq(SampleColumns.NAME, "Dan"));
+
+        // when / then
+        assertThat(filter(predicate), contains("Brett", "Dan"));
+        assertThat(filter(new AlwaysTruePredicate<>()), contains("Alex", "Brett", "Cody", "Dan"));
+    }
+
+    @Test
+    void shouldMatchAllRowsForUnusedColumnsWithoutReadingValues() {
+        // given
+        context.setEmptyOptions(true, false, true);
+        DataSourceValues row = mock(DataSourceValues.class);
+
+        // when
+        RowMatcher matcher1 = evaluator.compile(eq(SampleColumns.EMAIL, "test@example.org"));
+        RowMatcher matcher2 = evaluator.compile(or(isNull(SampleColumns.EMAIL), eq(SampleColumns.NAME, "Alex")));
+        RowMatcher matcher3 =
+            evaluator.compile(and(isNull(SampleColumns.LAST_LOGIN), eq(SampleColumns.IS_LOCKED, null)));
+
+        // then
+        assertThat(matcher1.matches(row), equalTo(true));
+        assertThat(matcher2.matches(row), equalTo(true));
+        assertThat(matcher3.matches(row), equalTo(false));
+        verifyNoInteractions(row);
+    }
+
+    @Test
+    void shouldThrowForUnknownPredicate() {
+        // given
+        Predicate<SampleContext> predicate = new AbstractPredicate<SampleContext>() { };
+
+        // when / then
+        assertThrows(IllegalStateException.class, () -> evaluator.compile(predicate));
+    }
+
+    private List<String> filter(Predicate<SampleContext> predicate) {
+        RowMatcher matcher = evaluator.compile(predicate);
+        return rows.stream()
+            .filter(matcher::matches)
+            .map(row -> row.get(SampleColumns.NAME))
+            .collect(Collectors.toList());
+    }
+
+    private static DataSourceValues createRow(String name, String email, Integer isLocked, Long lastLogin) {
+        DataSourceValuesImpl values = new DataSourceValuesImpl();
+        values.put(SampleColumns.NAME, name);
+        values.put(SampleColumns.EMAIL, email);
+        values.put(SampleColumns.IS_LOCKED, isLocked);
+        values.put(SampleColumns.LAST_LOGIN, lastLogin);
+        return values;
+    }
+}
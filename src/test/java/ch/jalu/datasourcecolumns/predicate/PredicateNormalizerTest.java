@@ -0,0 +1,134 @@
+package ch.jalu.datasourcecolumns.predicate;
+
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.and;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.between;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eqIgnoreCase;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThan;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThanEquals;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.in;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.isNotNull;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.isNull;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.lessThan;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.lessThanEquals;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.not;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notEq;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notEqIgnoreCase;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notIn;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notLike;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.or;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Test for {@link PredicateNormalizer}.
+ */
+class PredicateNormalizerTest {
+
+    private SampleContext context;
+    private PredicateNormalizer<SampleContext> normalizer;
+
+    @BeforeEach
+    void initNormalizer() {
+        context = new SampleContext();
+        normalizer = new PredicateNormalizer<>(context);
+    }
+
+    @Test
+    void shouldPushNegationsDownToLeaves() {
+        // given
+        Predicate<SampleContext> predicate1 = not(and(eq(SampleColumns.NAME, "Bob"), isNull(SampleColumns.EMAIL)));
+        Predicate<SampleContext> predicate2 = not(or(
+            lessThanEquals(SampleColumns.IS_LOCKED, 1), notEqIgnoreCase(SampleColumns.EMAIL, "a@b.c")));
+        Predicate<SampleContext> predicate3 = not(and(
+            between(SampleColumns.LAST_LOGIN, 1L, 5L), not(in(SampleColumns.ID, Arrays.asList(1, 2)))));
+        Predicate<SampleContext> predicate4 = not(startsWith(SampleColumns.NAME, "A"));
+
+        // when
+        Predicate<SampleContext> result1 = normalizer.normalize(predicate1);
+        Predicate<SampleContext> result2 = normalizer.normalize(predicate2);
+        Predicate<SampleContext> result3 = normalizer.normalize(predicate3);
+        Predicate<SampleContext> result4 = normalizer.normalize(predicate4);
+
+        // then
+        assertThat(result1, equalTo(or(notEq(SampleColumns.NAME, "Bob"), isNotNull(SampleColumns.EMAIL))));
+        assertThat(result2, equalTo(and(
+            greaterThan(SampleColumns.IS_LOCKED, 1), eqIgnoreCase(SampleColumns.EMAIL, "a@b.c"))));
+        assertThat(result3, equalTo(or(or(
+            lessThan(SampleColumns.LAST_LOGIN, 1L), greaterThan(SampleColumns.LAST_LOGIN, 5L)),
+            in(SampleColumns.ID, Arrays.asList(1, 2)))));
+        assertThat(result4, equalTo(notLike(SampleColumns.NAME, "A%")));
+    }
+
+    @Test
+    void shouldFoldConstantsAndUnusedColumns() {
+        // given
+        context.setEmptyOptions(true, false, true);
+        Predicate<SampleContext> predicate1 = and(new AlwaysTruePredicate<>(),
+            or(eq(SampleColumns.EMAIL, "a@b.c"), isNull(SampleColumns.NAME)));
+        Predicate<SampleContext> predicate2 = and(eq(SampleColumns.LAST_LOGIN, 3L), eq(SampleColumns.NAME, "Ann"));
+        Predicate<SampleContext> predicate3 = or(eq(SampleColumns.NAME, null),
+            in(SampleColumns.IP, Collections.emptyList()));
+        Predicate<SampleContext> predicate4 = or(in(SampleColumns.IP, Arrays.asList("1.2.3.4", null)),
+            and(notIn(SampleColumns.IP, Arrays.asList("1.2.3.4", null)), isNull(SampleColumns.NAME)));
+        Predicate<SampleContext> predicate5 = not(eq(SampleColumns.EMAIL, "a@b.c"));
+
+        // when
+        Predicate<SampleContext> result1 = normalizer.normalize(predicate1);
+        Predicate<SampleContext> result2 = normalizer.normalize(predicate2);
+        Predicate<SampleContext> result3 = normalizer.normalize(predicate3);
+        Predicate<SampleContext> result4 = normalizer.normalize(predicate4);
+        Predicate<SampleContext> result5 = normalizer.normalize(predicate5);
+
+        // then
+        assertThat(result1, equalTo(new AlwaysTruePredicate<>()));
+        assertThat(result2, equalTo(eq(SampleColumns.NAME, "Ann")));
+        assertThat(result3, equalTo(new AlwaysFalsePredicate<>()));
+        assertThat(result4, equalTo(in(SampleColumns.IP, Collections.singletonList("1.2.3.4"))));
+        assertThat(result5, equalTo(new AlwaysTruePredicate<>()));
+    }
+
+    @Test
+    void shouldFlattenAndRemoveDuplicates() {
+        // given
+        Predicate<SampleContext> predicate1 = and(
+            and(eq(SampleColumns.NAME, "Ann"), greaterThanEquals(SampleColumns.IS_LOCKED, 1)),
+            and(eq(SampleColumns.NAME, "Ann"), and(isNull(SampleColumns.IP), isNull(SampleColumns.IP))));
+        Predicate<SampleContext> predicate2 = or(isNull(SampleColumns.IP),
+            not(and(isNotNull(SampleColumns.IP), eq(SampleColumns.NAME, "Ann"))));
+
+        // when
+        Predicate<SampleContext> result1 = normalizer.normalize(predicate1);
+        Predicate<SampleContext> result2 = normalizer.normalize(predicate2);
+
+        // then
+        assertThat(result1, equalTo(and(and(
+            eq(SampleColumns.NAME, "Ann"), greaterThanEquals(SampleColumns.IS_LOCKED, 1)), isNull(SampleColumns.IP))));
+        assertThat(result2, equalTo(or(isNull(SampleColumns.IP), notEq(SampleColumns.NAME, "Ann"))));
+    }
+
+    @Test
+    void shouldKeepNegationOfUnknownPredicate() {
+        // given
+        Predicate<SampleContext> custom = new AbstractPredicate<SampleContext>() { };
+        Predicate<SampleContext> predicate = not(or(custom, eq(SampleColumns.NAME, "Ann")));
+
+        // when
+        Predicate<SampleContext> result1 = normalizer.normalize(predicate);
+        Predicate<SampleContext> result2 = normalizer.normalize(not(not(custom)));
+
+        // then
+        assertThat(result1, equalTo(and(not(custom), notEq(SampleColumns.NAME, "Ann"))));
+        assertThat(result2, sameInstance(custom));
+    }
+}
@@ -1,5 +1,7 @@
 package ch.jalu.datasourcecolumns.predicate;
 
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Constructor;
@@ -8,6 +10,8 @@ import java.lang.reflect.Modifier;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Test for {@link StandardPredicates}.
@@ -24,4 +28,21 @@ class StandardPredicatesTest {
         assertThat(Modifier.isProtected(constructors[0].getModifiers()), equalTo(true));
         constructors[0].newInstance(); // dirty trick for coverage
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCreateLikePredicates() {
+        // given / when
+        LikePredicate<SampleContext> startsWith = StandardPredicates.startsWith(SampleColumns.NAME, "5%_!");
+        LikePredicate<SampleContext> prefixLike = StandardPredicates.like(SampleColumns.NAME, "a!_b%");
+        LikePredicate<SampleContext> like = StandardPredicates.like(SampleColumns.NAME, "a_b%");
+        LikePredicate<SampleContext> exactLike = StandardPredicates.like(SampleColumns.NAME, "ab!%");
+
+        // then
+        assertThat(startsWith.getPattern(), equalTo("5!%!_!!%"));
+        assertThat(startsWith.getPrefix(), equalTo("5%_!"));
+        assertThat(prefixLike.getPrefix(), equalTo("a_b"));
+        assertThat(like.getPrefix(), nullValue());
+        assertThat(exactLike.getPrefix(), nullValue());
+        assertThrows(IllegalArgumentException.class, () -> StandardPredicates.like(SampleColumns.NAME, "a%!"));
+    }
+}
@@ -1,7 +1,9 @@
 package ch.jalu.datasourcecolumns.sqlimplementation;
 
 import ch.jalu.datasourcecolumns.Column;
+import ch.jalu.datasourcecolumns.ColumnLayout;
 import ch.jalu.datasourcecolumns.ColumnType;
+import ch.jalu.datasourcecolumns.ColumnsHandler;
 import ch.jalu.datasourcecolumns.SampleColumns;
 import ch.jalu.datasourcecolumns.SampleContext;
 import ch.jalu.datasourcecolumns.SampleDependent;
@@ -9,8 +11,16 @@ import ch.jalu.datasourcecolumns.StandardTypes;
 import ch.jalu.datasourcecolumns.TestUtils;
 import ch.jalu.datasourcecolumns.data.DataSourceValue;
 import ch.jalu.datasourcecolumns.data.DataSourceValues;
+import ch.jalu.datasourcecolumns.data.DoubleColumnValues;
+import ch.jalu.datasourcecolumns.data.IntColumnValues;
+import ch.jalu.datasourcecolumns.data.LongColumnValues;
 import ch.jalu.datasourcecolumns.data.UpdateValues;
 import ch.jalu.datasourcecolumns.predicate.Predicate;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationEvent;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationMetrics;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationPhase;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationStats;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationType;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,36 +29,54 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static ch.jalu.datasourcecolumns.data.UpdateValues.with;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.and;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.between;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eqIgnoreCase;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThan;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThanEquals;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.in;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.inRange;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.isNotNull;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.isNull;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.like;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.not;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notEq;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notEqIgnoreCase;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notIn;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.or;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
- * Integration test for {@link SqlColumnsHandler}.
+ * Integration test for {@link SqlColumnsHandler}. Subclasses may test another {@link ColumnsHandler} implementation
+ * with the same data by overriding {@link #createHandler}; tests of SQL-specific features are then skipped.
  */
-abstract class AbstractSqlColumnsHandlerTest {
+public abstract class AbstractSqlColumnsHandlerTest {
 
     private static final String TABLE_NAME = "testingdata";
     private static final String ID_COLUMN = "id";
@@ -64,7 +92,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     private static final ColumnImpl<Double> COL_RATIO_DOUBLE = new ColumnImpl<>("ratio", StandardTypes.DOUBLE);
 
     private ConnectionInfo connectionInfo;
-    private SqlColumnsHandler<SampleContext, Integer> handler;
+    private ColumnsHandler<SampleContext, Integer> handler;
     private SampleContext context;
 
     @BeforeEach
@@ -85,11 +113,14 @@ abstract class AbstractSqlColumnsHandlerTest {
         if (useNoCaseCollationForIgnoreCasePredicate()) {
             config.setPredicateSqlGenerator(new PredicateSqlGenerator<>(context, true));
         }
-        handler = new SqlColumnsHandler<>(config);
+        handler = createHandler(config);
     }
 
     @AfterEach
     void tearDownConnection() throws Exception {
+        if (handler instanceof AutoCloseable) {
+            ((AutoCloseable) handler).close();
+        }
         if (connectionInfo != null) {
             connectionInfo.closeConnection();
         }
@@ -97,6 +128,34 @@ abstract class AbstractSqlColumnsHandlerTest {
 
     protected abstract ConnectionInfo createConnection() throws Exception;
 
+    /**
+     * Creates the handler to test. The table of the given config has been set up with the sample data.
+     *
+     * @param config the config for a SQL handler of the table with the sample data
+     * @return the handler to test
+     */
+    protected ColumnsHandler<SampleContext, Integer> createHandler(SqlColumnsHandlerConfig<SampleContext> config)
+                                                                                                throws Exception {
+        return new SqlColumnsHandler<>(config);
+    }
+
+    /**
+     * Returns the tested handler as {@link SqlColumnsHandler}, skipping the test if another implementation is tested.
+     *
+     * @return the SQL handler
+     */
+    protected SqlColumnsHandler<SampleContext, Integer> sqlHandler() {
+        assumeSqlColumnsHandlerIsTested();
+        return (SqlColumnsHandler<SampleContext, Integer>) handler;
+    }
+
+    /**
+     * Skips the test if another implementation than {@link SqlColumnsHandler} is tested.
+     */
+    protected void assumeSqlColumnsHandlerIsTested() {
+        assumeTrue(handler instanceof SqlColumnsHandler, "Test requires SqlColumnsHandler");
+    }
+
     protected boolean hasSupportForDefaultKeyword() {
         return true;
     }
@@ -105,8 +164,12 @@ abstract class AbstractSqlColumnsHandlerTest {
         return false;
     }
 
+    protected boolean hasSupportForArrayBinding() {
+        return false;
+    }
+
     @Test
-    void shouldRetrieveSingleValue() throws SQLException {
+    void shouldRetrieveSingleValue() throws Exception {
         // given / when
         DataSourceValue<String> alexIp = handler.retrieve(1, SampleColumns.IP);
         DataSourceValue<String> emilyIp = handler.retrieve(5, SampleColumns.IP);
@@ -122,7 +185,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldHandleEmptyColumnRetrieval() throws SQLException {
+    void shouldHandleEmptyColumnRetrieval() throws Exception {
         // given
         context.setEmptyOptions(true, false, false);
 
@@ -138,7 +201,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldRetrieveMultipleValues() throws SQLException {
+    void shouldRetrieveMultipleValues() throws Exception {
         // given
         SampleColumns<?>[] columns = { SampleColumns.NAME, SampleColumns.IS_LOCKED, SampleColumns.LAST_LOGIN };
 
@@ -163,7 +226,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldHandleRetrievalOfMultipleValuesIncludingEmpty() throws SQLException {
+    void shouldHandleRetrievalOfMultipleValuesIncludingEmpty() throws Exception {
         // given
         context.setEmptyOptions(true, false, true);
         SampleColumns<?>[] columns = { SampleColumns.NAME, SampleColumns.IS_LOCKED, SampleColumns.LAST_LOGIN };
@@ -189,7 +252,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldRetrieveMultipleAllEmptyColumnsSuccessfully() throws SQLException {
+    void shouldRetrieveMultipleAllEmptyColumnsSuccessfully() throws Exception {
         // given
         context.setEmptyOptions(true, false, true);
         SampleColumns<?>[] columns = { SampleColumns.EMAIL, SampleColumns.LAST_LOGIN };
@@ -209,7 +272,81 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldRetrieveValueOfRowsMatchingPredicate() throws SQLException {
+    void shouldRetrieveValuesForMultipleIds() throws Exception {
+        // given
+        context.setEmptyOptions(true, false, false);
+        List<Integer> ids = Arrays.asList(4, 2, 99, 11);
+
+        // when
+        Map<Integer, DataSourceValues> result = handler.retrieveAll(ids, SampleColumns.NAME, SampleColumns.EMAIL);
+
+        // then
+        assertThat(result.keySet(), contains(4, 2, 99, 11));
+        assertThat(result.get(4).get(SampleColumns.NAME), equalTo("Dan"));
+        assertThat(result.get(2).get(SampleColumns.NAME), equalTo("Brett"));
+        assertThat(result.get(2).get(SampleColumns.EMAIL), nullValue());
+        assertThat(result.get(11).get(SampleColumns.NAME), equalTo("Keane"));
+        assertThat(result.get(99).rowExists(), equalTo(false));
+    }
+
+    @Test
+    void shouldRetrieveValuesForMultipleIdsInChunks() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setMaxBindParameters(3);
+        SqlColumnsHandler<SampleContext, Integer> chunkingHandler = new SqlColumnsHandler<>(config);
+        List<Integer> ids = Arrays.asList(1, 3, 5, 7, 9, 11, 13, 3);
+
+        // when
+        Map<Integer, DataSourceValues> result = chunkingHandler.retrieveAll(ids, SampleColumns.IP);
+
+        // then
+        assertThat(result.keySet(), contains(1, 3, 5, 7, 9, 11, 13));
+        assertThat(result.get(1).get(SampleColumns.IP), equalTo("111.111.111.111"));
+        assertThat(result.get(5).get(SampleColumns.IP), nullValue());
+        assertThat(result.get(5).rowExists(), equalTo(true));
+        assertThat(result.get(7).get(SampleColumns.IP), equalTo("44.144.41.144"));
+        assertThat(result.get(11).get(SampleColumns.IP), equalTo("22.22.22.22"));
+        assertThat(result.get(13).rowExists(), equalTo(false));
+    }
+
+    @Test
+    void shouldMatchStringIdsLikeSingleRetrieval() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, "username", context);
+        SqlColumnsHandler<SampleContext, String> nameHandler = new SqlColumnsHandler<>(config);
+        List<String> names = Arrays.asList("brett", "Cody", "nobody");
+
+        // when
+        Map<String, DataSourceValues> result = nameHandler.retrieveAll(names, SampleColumns.ID);
+
+        // then
+        assertThat(result.keySet(), contains("brett", "Cody", "nobody"));
+        // depends on the database's collation, but must be the same as when the row is retrieved individually
+        DataSourceValue<Integer> brett = nameHandler.retrieve("brett", SampleColumns.ID);
+        assertThat(result.get("brett").rowExists(), equalTo(brett.rowExists()));
+        if (brett.rowExists()) {
+            assertThat(result.get("brett").get(SampleColumns.ID), equalTo(2));
+        }
+        assertThat(result.get("Cody").get(SampleColumns.ID), equalTo(3));
+        assertThat(result.get("nobody").rowExists(), equalTo(false));
+    }
+
+    @Test
+    void shouldReturnEmptyMapForNoIds() throws Exception {
+        // given / when
+        Map<Integer, DataSourceValues> result = handler.retrieveAll(Collections.emptyList(), SampleColumns.NAME);
+
+        // then
+        assertThat(result.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void shouldRetrieveValueOfRowsMatchingPredicate() throws Exception {
         // given
         Predicate<SampleContext> predicate = or(eq(SampleColumns.IP, "22.22.22.22"), eq(SampleColumns.IP, "111.111.111.111"))
             .and(isNotNull(SampleColumns.EMAIL));
@@ -222,7 +359,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldHandleOptionalColumnForPredicateRetrieval() throws SQLException {
+    void shouldHandleOptionalColumnForPredicateRetrieval() throws Exception {
         // given
         context.setEmptyOptions(true, true, false);
         Predicate<SampleContext> predicate = greaterThan(SampleColumns.LAST_LOGIN, 123456L);
@@ -235,7 +372,100 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldReturnEmptyListForNoRowsFulfillingPredicate() throws SQLException {
+    void shouldRetrieveRowsMatchingInPredicates() throws Exception {
+        // given
+        List<Integer> manyIds = IntStream.rangeClosed(5, 1204).boxed().collect(Collectors.toList());
+        Predicate<SampleContext> predicate1 = in(SampleColumns.ID, Arrays.asList(2, 4, 9))
+            .or(in(SampleColumns.NAME, Collections.emptyList()));
+        Predicate<SampleContext> predicate2 = in(SampleColumns.ID, manyIds)
+            .and(notIn(SampleColumns.IP, Arrays.asList("22.22.22.22", "44.144.41.144")));
+
+        // when
+        List<String> names1 = handler.retrieve(predicate1, SampleColumns.NAME);
+        List<String> names2 = handler.retrieve(predicate2, SampleColumns.NAME);
+
+        // then
+        assertThat(names1, containsInAnyOrder("Brett", "Dan", "Igor"));
+        assertThat(names2, containsInAnyOrder("Finn"));
+    }
+
+    @Test
+    void shouldRetrieveRowsMatchingRangePredicates() throws Exception {
+        // given
+        Predicate<SampleContext> predicate1 = between(SampleColumns.LAST_LOGIN, 123456L, 725124L);
+        Predicate<SampleContext> predicate2 = inRange(SampleColumns.LAST_LOGIN, 123456L, 725124L)
+            .and(inRange(SampleColumns.ID, 2, 10));
+
+        // when
+        List<String> names1 = handler.retrieve(predicate1, SampleColumns.NAME);
+        List<String> names2 = handler.retrieve(predicate2, SampleColumns.NAME);
+
+        // then
+        assertThat(names1, containsInAnyOrder("Alex", "Brett", "Gary", "Igor", "Jake"));
+        assertThat(names2, containsInAnyOrder("Brett", "Gary"));
+    }
+
+    @Test
+    void shouldRetrieveRowsMatchingLikePredicates() throws Exception {
+        // given
+        Predicate<SampleContext> predicate1 = startsWith(SampleColumns.IP, "22.22.")
+            .or(startsWith(SampleColumns.NAME, "Ha"));
+        Predicate<SampleContext> predicate2 = like(SampleColumns.EMAIL, "%@test.tld")
+            .and(like(SampleColumns.NAME, "_o%"));
+        Predicate<SampleContext> predicate3 = startsWith(SampleColumns.EMAIL, "test@example_");
+
+        // when
+        List<String> names1 = handler.retrieve(predicate1, SampleColumns.NAME);
+        List<String> names2 = handler.retrieve(predicate2, SampleColumns.NAME);
+        List<String> names3 = handler.retrieve(predicate3, SampleColumns.NAME);
+
+        // then
+        assertThat(names1, containsInAnyOrder("Cody", "Dan", "Hans", "Igor", "Keane"));
+        assertThat(names2, containsInAnyOrder("Louis"));
+        assertThat(names3, empty());
+    }
+
+    @Test
+    void shouldRetrieveRowsMatchingNegatedPredicates() throws Exception {
+        // given
+        context.setEmptyOptions(false, true, false);
+        Predicate<SampleContext> predicate1 = not(or(eq(SampleColumns.IP, "22.22.22.22"), isNull(SampleColumns.EMAIL)))
+            .and(not(startsWith(SampleColumns.NAME, "G")));
+        Predicate<SampleContext> predicate2 = not(eq(SampleColumns.IS_LOCKED, 1))
+            .and(not(between(SampleColumns.ID, 2, 11)));
+
+        // when
+        List<String> names1 = handler.retrieve(predicate1, SampleColumns.NAME);
+        List<String> names2 = handler.retrieve(predicate2, SampleColumns.NAME);
+
+        // then
+        assertThat(names1, containsInAnyOrder("Brett", "Finn"));
+        assertThat(names2, containsInAnyOrder("Alex", "Louis"));
+    }
+
+    @Test
+    void shouldRetrieveRowsMatchingInPredicatesWithArrayBinding() throws Exception {
+        assumeTrue(hasSupportForArrayBinding());
+
+        // given
+        sqlHandler().close();
+        handler = new SqlColumnsHandler<>(connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setInListBinding(InListBinding.ARRAY));
+        Predicate<SampleContext> predicate1 = in(SampleColumns.ID, Arrays.asList(2, 4, 9));
+        Predicate<SampleContext> predicate2 = notIn(SampleColumns.IP, Arrays.asList("22.22.22.22", "44.144.41.144"))
+            .and(notIn(SampleColumns.ID, Arrays.asList(1, 2)));
+
+        // when
+        List<String> names1 = handler.retrieve(predicate1, SampleColumns.NAME);
+        List<String> names2 = handler.retrieve(predicate2, SampleColumns.NAME);
+
+        // then
+        assertThat(names1, containsInAnyOrder("Brett", "Dan", "Igor"));
+        assertThat(names2, containsInAnyOrder("Finn"));
+    }
+
+    @Test
+    void shouldReturnEmptyListForNoRowsFulfillingPredicate() throws Exception {
         // given
         Predicate<SampleContext> predicate = eq(SampleColumns.IP, "111.111.111.111")
             .and(eqIgnoreCase(SampleColumns.EMAIL, "other@test.tld"));
@@ -248,7 +478,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldRetrieveValuesOfRowsMatchingPredicate() throws SQLException {
+    void shouldRetrieveValuesOfRowsMatchingPredicate() throws Exception {
         // given
         Predicate<SampleContext> predicate = or(eq(SampleColumns.IP, "22.22.22.22"), eq(SampleColumns.IP, "111.111.111.111"))
             .and(isNotNull(SampleColumns.EMAIL));
@@ -271,7 +501,83 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldReturnEmptyListForNoRowsMatchingPredicate() throws SQLException {
+    void shouldStreamValuesOfRowsMatchingPredicate() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given
+        context.setEmptyOptions(false, false, true);
+        Predicate<SampleContext> predicate = eq(SampleColumns.IP, "22.22.22.22");
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setFetchSize(2);
+        SqlColumnsHandler<SampleContext, Integer> streamingHandler = new SqlColumnsHandler<>(config);
+
+        // when
+        List<String> names;
+        List<Long> lastLogins;
+        try (Stream<DataSourceValues> stream = streamingHandler.stream(predicate,
+            SampleColumns.NAME, SampleColumns.LAST_LOGIN)) {
+            List<DataSourceValues> rows = stream.collect(Collectors.toList());
+            names = rows.stream().map(row -> row.get(SampleColumns.NAME)).collect(Collectors.toList());
+            lastLogins = rows.stream().map(row -> row.get(SampleColumns.LAST_LOGIN)).collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(names, containsInAnyOrder("Cody", "Dan", "Igor", "Keane"));
+        assertThat(lastLogins, contains(null, null, null, null));
+        // check that the handler can be used normally after closing the stream
+        assertThat(streamingHandler.retrieve(3, SampleColumns.NAME).getValue(), equalTo("Cody"));
+    }
+
+    @Test
+    void shouldStreamRowsPartially() throws Exception {
+        // given / when
+        List<String> firstNames;
+        try (Stream<DataSourceValues> stream = sqlHandler().stream(eq(SampleColumns.IS_LOCKED, 0), SampleColumns.NAME)) {
+            firstNames = stream.limit(2).map(row -> row.get(SampleColumns.NAME)).collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(firstNames, hasSize(2));
+        assertThat(handler.count(eq(SampleColumns.IS_LOCKED, 0)), equalTo(9));
+    }
+
+    @Test
+    void shouldProcessRowsMatchingPredicateWithCursor() throws Exception {
+        // given
+        context.setEmptyOptions(true, false, false);
+        Predicate<SampleContext> predicate = eq(SampleColumns.IS_ACTIVE, 1);
+        List<String> names = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        long[] lastLoginSum = new long[1];
+        Set<DataSourceValues> cursors = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // when
+        sqlHandler().forEach(predicate, row -> {
+            names.add(row.get(SampleColumns.NAME));
+            emails.add(row.get(SampleColumns.EMAIL));
+            Long lastLogin = row.get(SampleColumns.LAST_LOGIN);
+            lastLoginSum[0] += lastLogin == null ? 0 : lastLogin;
+            cursors.add(row);
+        }, SampleColumns.NAME, SampleColumns.EMAIL, SampleColumns.LAST_LOGIN);
+
+        // then
+        assertThat(names, containsInAnyOrder("Brett", "Dan", "Emily", "Gary", "Igor", "Keane", "Louis"));
+        assertThat(emails, everyItem(nullValue()));
+        assertThat(lastLoginSum[0], equalTo(123456L + 888888L + 123456L + 725124L + 888888L + 732452L));
+        assertThat(cursors, hasSize(1));
+    }
+
+    @Test
+    void shouldThrowForColumnNotRequestedFromCursor() throws Exception {
+        // given / when / then
+        sqlHandler().forEach(eq(SampleColumns.ID, 3), row -> {
+            assertThat(row.get(SampleColumns.NAME), equalTo("Cody"));
+            verifyThrowsNoValueAvailableException(() -> row.get(SampleColumns.IP));
+        }, SampleColumns.NAME);
+    }
+
+    @Test
+    void shouldReturnEmptyListForNoRowsMatchingPredicate() throws Exception {
         // given
         Predicate<SampleContext> predicate = greaterThan(SampleColumns.ID, 20);
 
@@ -283,7 +589,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldPerformSingleValueUpdate() throws SQLException {
+    void shouldPerformSingleValueUpdate() throws Exception {
         // given / when
         boolean result1 = handler.update(1, SampleColumns.EMAIL, "mailForAlex@example.org");
         boolean result2 = handler.update(2, SampleColumns.EMAIL, (String) null);
@@ -298,7 +604,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldHandleSingleValueUpdateWithEmptyColumn() throws SQLException {
+    void shouldHandleSingleValueUpdateWithEmptyColumn() throws Exception {
         // given
         context.setEmptyOptions(true, false, false);
 
@@ -315,7 +621,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldPerformMultiValueUpdate() throws SQLException {
+    void shouldPerformMultiValueUpdate() throws Exception {
         // given / when
         boolean result1 = handler.update(9,
             with(SampleColumns.IS_LOCKED, 1)
@@ -347,7 +653,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldPerformMultiUpdateWithEmptyColumns() throws SQLException {
+    void shouldPerformMultiUpdateWithEmptyColumns() throws Exception {
         // given
         context.setEmptyOptions(true, false, true);
 
@@ -372,7 +678,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldPerformMultiUpdateWithAllEmptyColumns() throws SQLException {
+    void shouldPerformMultiUpdateWithAllEmptyColumns() throws Exception {
         // given
         context.setEmptyOptions(true, true, true);
 
@@ -397,7 +703,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldUpdateWithDependentObject() throws SQLException {
+    void shouldUpdateWithDependentObject() throws Exception {
         // given
         context.setEmptyOptions(true, false, false);
         SampleDependent dependent = new SampleDependent();
@@ -419,7 +725,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldPerformUpdateWithDefaultForNullValue() throws SQLException {
+    void shouldPerformUpdateWithDefaultForNullValue() throws Exception {
         assumeTrue(hasSupportForDefaultKeyword());
 
         // given
@@ -437,7 +743,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldPerformMultiUpdateWithDefaultValueForNull() throws SQLException {
+    void shouldPerformMultiUpdateWithDefaultValueForNull() throws Exception {
         assumeTrue(hasSupportForDefaultKeyword());
 
         // given
@@ -459,7 +765,29 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldInsertValues() throws SQLException {
+    void shouldUpdateMultipleRowsInBatches() throws Exception {
+        // given
+        context.setEmptyOptions(false, false, true);
+        Map<Integer, UpdateValues<SampleContext>> valuesById = new LinkedHashMap<>();
+        valuesById.put(2, with(SampleColumns.EMAIL, "two@example.org").and(SampleColumns.IS_LOCKED, 1).build());
+        valuesById.put(5, with(SampleColumns.LAST_LOGIN, 555L).build());
+        valuesById.put(7, with(SampleColumns.EMAIL, "seven@example.org").and(SampleColumns.IS_LOCKED, 0).build());
+        valuesById.put(999, with(SampleColumns.EMAIL, "none@example.org").and(SampleColumns.IS_LOCKED, 0).build());
+
+        // when
+        int updatedRows = handler.updateAll(valuesById);
+
+        // then
+        assertThat(updatedRows, equalTo(2));
+        assertThat(handler.retrieve(2, COL_EMAIL, COL_IS_LOCKED).get(COL_EMAIL), equalTo("two@example.org"));
+        assertThat(handler.retrieve(2, COL_IS_LOCKED).getValue(), equalTo(1));
+        assertThat(handler.retrieve(7, COL_EMAIL).getValue(), equalTo("seven@example.org"));
+        assertThat(handler.retrieve(5, COL_LAST_LOGIN).getValue(), not(equalTo(555L)));
+        assertThat(handler.count(eq(SampleColumns.ID, 999)), equalTo(0));
+    }
+
+    @Test
+    void shouldInsertValues() throws Exception {
         // given
         UpdateValues<SampleContext> values =
             with(SampleColumns.ID, 414)
@@ -482,7 +810,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldHandleInsertWithEmptyColumns() throws SQLException {
+    void shouldHandleInsertWithEmptyColumns() throws Exception {
         // given
         context.setEmptyOptions(true, false, true);
         UpdateValues<SampleContext> values =
@@ -526,7 +854,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldPerformInsertWithDependentObject() throws SQLException {
+    void shouldPerformInsertWithDependentObject() throws Exception {
         // given
         context.setEmptyOptions(true, false, false);
         SampleDependent dependent = new SampleDependent();
@@ -553,7 +881,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldInsertUsingDefaultKeywordForNullValues() throws SQLException {
+    void shouldInsertUsingDefaultKeywordForNullValues() throws Exception {
         assumeTrue(hasSupportForDefaultKeyword());
 
         // given
@@ -582,7 +910,207 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldCountWithPredicates() throws SQLException {
+    void shouldInsertMultipleRows() throws Exception {
+        // given
+        context.setEmptyOptions(false, false, true);
+        List<UpdateValues<SampleContext>> rows = Arrays.asList(
+            with(SampleColumns.ID, 501).and(SampleColumns.NAME, "Anna").and(SampleColumns.IS_LOCKED, 0)
+                .and(SampleColumns.IS_ACTIVE, 1).build(),
+            with(SampleColumns.ID, 502).and(SampleColumns.NAME, "Bert").and(SampleColumns.IS_LOCKED, 1)
+                .and(SampleColumns.EMAIL, "b@example.org").build(),
+            with(SampleColumns.ID, 503).and(SampleColumns.NAME, "Cleo").and(SampleColumns.IS_LOCKED, 0)
+                .and(SampleColumns.IS_ACTIVE, 0).build(),
+            with(SampleColumns.ID, 504).and(SampleColumns.NAME, "Dirk").and(SampleColumns.IS_LOCKED, 0)
+                .and(SampleColumns.LAST_LOGIN, 77L).build());
+
+        // when
+        int[] result = handler.insertAll(rows);
+
+        // then
+        assertThat(result, equalTo(new int[]{ 1, 1, 1, 1 }));
+        assertThat(handler.retrieve(501, SampleColumns.NAME).getValue(), equalTo("Anna"));
+        assertThat(handler.retrieve(502, SampleColumns.EMAIL).getValue(), equalTo("b@example.org"));
+        assertThat(handler.retrieve(503, SampleColumns.IS_ACTIVE).getValue(), equalTo(0));
+        assertThat(handler.retrieve(504, SampleColumns.LAST_LOGIN).getValue(), nullValue());
+        assertThat(handler.retrieve(504, SampleColumns.NAME).getValue(), equalTo("Dirk"));
+    }
+
+    @Test
+    void shouldInsertMultipleRowsInSmallBatches() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setBatchSize(2);
+        SqlColumnsHandler<SampleContext, Integer> batchHandler = new SqlColumnsHandler<>(config);
+        List<UpdateValues<SampleContext>> rows = new ArrayList<>();
+        for (int id = 600; id < 605; ++id) {
+            rows.add(with(SampleColumns.ID, id).and(SampleColumns.NAME, "user" + id).and(SampleColumns.IS_LOCKED, 0)
+                .build());
+        }
+
+        // when
+        int[] result = batchHandler.insertAll(rows);
+
+        // then
+        assertThat(result, equalTo(new int[]{ 1, 1, 1, 1, 1 }));
+        assertThat(handler.count(greaterThanEquals(SampleColumns.ID, 600)), equalTo(5));
+        assertThat(handler.retrieve(604, SampleColumns.NAME).getValue(), equalTo("user604"));
+    }
+
+    @Test
+    void shouldInsertMultipleRowsWithMultiRowValues() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setBulkInsertMode(BulkInsertMode.MULTI_ROW_VALUES)
+            .setMaxBindParameters(7);
+        SqlColumnsHandler<SampleContext, Integer> multiRowHandler = new SqlColumnsHandler<>(config);
+        List<UpdateValues<SampleContext>> rows = new ArrayList<>();
+        for (int id = 650; id < 655; ++id) {
+            rows.add(with(SampleColumns.ID, id).and(SampleColumns.NAME, "user" + id).and(SampleColumns.IS_LOCKED, 1)
+                .build());
+        }
+        rows.add(2, with(SampleColumns.ID, 660).and(SampleColumns.NAME, "Ivy").and(SampleColumns.IS_LOCKED, 0)
+            .and(SampleColumns.EMAIL, "ivy@example.org").build());
+
+        // when
+        int[] result = multiRowHandler.insertAll(rows);
+
+        // then
+        assertThat(result, equalTo(new int[]{ 1, 1, 1, 1, 1, 1 }));
+        assertThat(handler.count(eq(SampleColumns.IS_LOCKED, 1)), equalTo(8));
+        assertThat(handler.retrieve(654, SampleColumns.NAME).getValue(), equalTo("user654"));
+        assertThat(handler.retrieve(660, SampleColumns.EMAIL).getValue(), equalTo("ivy@example.org"));
+    }
+
+    @Test
+    void shouldInsertRemainingRowsWithMultiRowValuesInPowersOfTwo() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given
+        List<OperationEvent> events = new ArrayList<>();
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setBulkInsertMode(BulkInsertMode.MULTI_ROW_VALUES)
+            .setMaxBindParameters(30)
+            .setOperationListener(events::add);
+        SqlColumnsHandler<SampleContext, Integer> multiRowHandler = new SqlColumnsHandler<>(config);
+        List<UpdateValues<SampleContext>> rows = new ArrayList<>();
+        for (int id = 680; id < 693; ++id) {
+            rows.add(with(SampleColumns.ID, id).and(SampleColumns.NAME, "user" + id).and(SampleColumns.IS_LOCKED, 0)
+                .build());
+        }
+
+        // when
+        int[] result = multiRowHandler.insertAll(rows);
+
+        // then
+        assertThat(result.length, equalTo(13));
+        assertThat(Arrays.stream(result).allMatch(count -> count == 1), equalTo(true));
+        assertThat(handler.count(greaterThanEquals(SampleColumns.ID, 680)), equalTo(13));
+        // 10 rows per statement, then 2 rows and 1 row
+        assertThat(events, hasSize(1));
+        assertThat(events.get(0).getStatementCount(), equalTo(3));
+    }
+
+    @Test
+    void shouldInsertRowsExceedingBindParameterLimitWithBatch() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setBulkInsertMode(BulkInsertMode.MULTI_ROW_VALUES)
+            .setMaxBindParameters(2);
+        SqlColumnsHandler<SampleContext, Integer> multiRowHandler = new SqlColumnsHandler<>(config);
+        List<UpdateValues<SampleContext>> rows = Arrays.asList(
+            with(SampleColumns.ID, 695).and(SampleColumns.NAME, "Pia").and(SampleColumns.IS_LOCKED, 1).build(),
+            with(SampleColumns.ID, 696).and(SampleColumns.NAME, "Rex").and(SampleColumns.IS_LOCKED, 0).build());
+
+        // when
+        int[] result = multiRowHandler.insertAll(rows);
+
+        // then
+        assertThat(result, equalTo(new int[]{ 1, 1 }));
+        assertThat(handler.retrieve(695, SampleColumns.NAME).getValue(), equalTo("Pia"));
+        assertThat(handler.retrieve(696, SampleColumns.NAME).getValue(), equalTo("Rex"));
+    }
+
+    @Test
+    void shouldInsertMultipleRowsWithMultiRowValuesAndDefaultKeyword() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+        assumeTrue(hasSupportForDefaultKeyword());
+
+        // given
+        context.setUseDefaults(true, false);
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setBulkInsertMode(BulkInsertMode.MULTI_ROW_VALUES);
+        SqlColumnsHandler<SampleContext, Integer> multiRowHandler = new SqlColumnsHandler<>(config);
+        List<UpdateValues<SampleContext>> rows = Arrays.asList(
+            with(SampleColumns.ID, 670).and(SampleColumns.IS_LOCKED, 0).and(SampleColumns.IS_ACTIVE, null).build(),
+            with(SampleColumns.ID, 671).and(SampleColumns.IS_LOCKED, 0).and(SampleColumns.IS_ACTIVE, null).build());
+
+        // when
+        int[] result = multiRowHandler.insertAll(rows);
+
+        // then
+        assertThat(result, equalTo(new int[]{ 1, 1 }));
+        assertThat(handler.retrieve(670, SampleColumns.IS_ACTIVE).getValue(), equalTo(IS_ACTIVE_DEFAULT));
+        assertThat(handler.retrieve(671, SampleColumns.IS_ACTIVE).getValue(), equalTo(IS_ACTIVE_DEFAULT));
+    }
+
+    @Test
+    void shouldInsertMultipleDependents() throws Exception {
+        // given
+        SampleDependent dependent1 = new SampleDependent();
+        dependent1.setId(711);
+        dependent1.setName("Kai");
+        dependent1.setIsLocked(0);
+        dependent1.setIsActive(1);
+        SampleDependent dependent2 = new SampleDependent();
+        dependent2.setId(712);
+        dependent2.setName("Lou");
+        dependent2.setIsLocked(0);
+        dependent2.setIsActive(0);
+
+        // when
+        int[] result = handler.insertAll(Arrays.asList(dependent1, dependent2),
+            SampleColumns.ID, SampleColumns.NAME, SampleColumns.IS_LOCKED, SampleColumns.IS_ACTIVE);
+
+        // then
+        assertThat(result, equalTo(new int[]{ 1, 1 }));
+        assertThat(handler.retrieve(711, SampleColumns.NAME).getValue(), equalTo("Kai"));
+        assertThat(handler.retrieve(712, SampleColumns.IS_ACTIVE).getValue(), equalTo(0));
+    }
+
+    @Test
+    void shouldReturnEmptyArrayForNoRowsToInsert() throws Exception {
+        // given / when
+        int[] result = handler.insertAll(Collections.emptyList());
+
+        // then
+        assertThat(result.length, equalTo(0));
+    }
+
+    @Test
+    void shouldNotInsertAnyRowIfOneHasNoNonEmptyColumns() throws Exception {
+        // given
+        context.setEmptyOptions(true, true, false);
+        List<UpdateValues<SampleContext>> rows = Arrays.asList(
+            with(SampleColumns.ID, 801).and(SampleColumns.NAME, "Finn").build(),
+            with(SampleColumns.EMAIL, "test@example.com").and(SampleColumns.IS_LOCKED, 0).build());
+
+        // when
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> handler.insertAll(rows));
+
+        // then
+        assertThat(ex.getMessage(), startsWith("Cannot perform insert when all columns are empty"));
+        assertThat(handler.retrieve(801, SampleColumns.NAME).rowExists(), equalTo(false));
+    }
+
+    @Test
+    void shouldCountWithPredicates() throws Exception {
         // given / when
         int emailCount = handler.count(eq(SampleColumns.EMAIL, "other@test.tld"));
         int ipLastLoginCount = handler.count(isNull(SampleColumns.IP).and(
@@ -601,7 +1129,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldCountWithCaseInsensitivePredicate() throws SQLException {
+    void shouldCountWithCaseInsensitivePredicate() throws Exception {
         // given
         Predicate<SampleContext> predicate = eqIgnoreCase(SampleColumns.EMAIL, "TEST@example.com")
             .or(eqIgnoreCase(SampleColumns.NAME, "louis"));
@@ -614,7 +1142,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldRetrieveValuesAfterCaseInsensitiveCheck() throws SQLException {
+    void shouldRetrieveValuesAfterCaseInsensitiveCheck() throws Exception {
         // given
         Predicate<SampleContext> predicate = or( // TODO: create or() with varargs
             notEqIgnoreCase(SampleColumns.NAME, "HANS").and(eqIgnoreCase(SampleColumns.EMAIL, "OTHER@test.tld")),
@@ -630,7 +1158,44 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldRetrieveFloatsAndDoubles() throws SQLException {
+    void shouldRetrievePrimitiveValues() throws Exception {
+        // given
+        Predicate<SampleContext> predicate = greaterThan(SampleColumns.ID, 5);
+
+        // when
+        LongColumnValues lastLogins = sqlHandler().retrieveLongs(predicate, COL_LAST_LOGIN);
+        IntColumnValues isActive = sqlHandler().retrieveInts(predicate, SampleColumns.IS_ACTIVE);
+        DoubleColumnValues ratios = sqlHandler().retrieveDoubles(eq(SampleColumns.ID, 4), COL_RATIO_DOUBLE);
+
+        // then
+        List<Long> lastLoginList = new ArrayList<>();
+        for (int i = 0; i < lastLogins.size(); ++i) {
+            lastLoginList.add(lastLogins.isNull(i) ? null : lastLogins.get(i));
+        }
+        assertThat(lastLoginList, containsInAnyOrder(null, 123456L, 77665544L, 725124L, 123456L, 888888L, 732452L));
+        assertThat(Arrays.stream(isActive.getValues()).sum(), equalTo(4));
+        assertThat(isActive.getNulls().isEmpty(), equalTo(true));
+        assertThat(ratios.size(), equalTo(1));
+        assertThat(ratios.get(0), equalTo(-4.04));
+    }
+
+    @Test
+    void shouldReturnNullPrimitiveValuesForEmptyColumn() throws Exception {
+        // given
+        context.setEmptyOptions(false, false, true);
+
+        // when
+        LongColumnValues lastLogins = sqlHandler().retrieveLongs(greaterThan(SampleColumns.ID, 9), SampleColumns.LAST_LOGIN);
+
+        // then
+        assertThat(lastLogins.size(), equalTo(3));
+        assertThat(lastLogins.getNulls().cardinality(), equalTo(3));
+    }
+
+    @Test
+    void shouldRetrieveFloatsAndDoubles() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
         // given / when
         DataSourceValue<Double> ratioDouble = handler.retrieve(4, COL_RATIO_DOUBLE);
         DataSourceValue<Float> ratioFloat = handler.retrieve(4, COL_RATIO_FLOAT);
@@ -645,7 +1210,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldUpdateByPredicate() throws SQLException {
+    void shouldUpdateByPredicate() throws Exception {
         // given
         Predicate<SampleContext> predicate = eq(SampleColumns.IP, "22.22.22.22").and(isNotNull(SampleColumns.EMAIL));
 
@@ -662,7 +1227,7 @@ abstract class AbstractSqlColumnsHandlerTest {
     }
 
     @Test
-    void shouldUpdateMultipleValuesByPredicate() throws SQLException {
+    void shouldUpdateMultipleValuesByPredicate() throws Exception {
         // given
         Predicate<SampleContext> predicate = and(
             greaterThanEquals(SampleColumns.LAST_LOGIN, 732452L),
@@ -687,6 +1252,148 @@ abstract class AbstractSqlColumnsHandlerTest {
         assertThat(handler.retrieve(5, SampleColumns.IP).getValue(), nullValue());
     }
 
+    @Test
+    void shouldGenerateNewSqlWhenColumnUsageChanges() throws Exception {
+        // given
+        SampleColumns<?>[] columns = { SampleColumns.NAME, SampleColumns.EMAIL };
+        DataSourceValues valuesBefore = handler.retrieve(2, columns);
+        boolean updateBefore = handler.update(2, with(SampleColumns.EMAIL, "changed@example.org").build());
+
+        // when
+        context.setEmptyOptions(true, false, false);
+        DataSourceValues valuesAfter = handler.retrieve(2, columns);
+        boolean updateAfter = handler.update(2, with(SampleColumns.EMAIL, "ignored@example.org").build());
+
+        // then
+        assertThat(valuesBefore.get(SampleColumns.EMAIL), equalTo("test@example.com"));
+        assertThat(updateBefore, equalTo(true));
+        assertThat(valuesAfter.get(SampleColumns.NAME), equalTo("Brett"));
+        assertThat(valuesAfter.get(SampleColumns.EMAIL), nullValue());
+        assertThat(updateAfter, equalTo(false));
+        assertThat(handler.retrieve(2, COL_EMAIL).getValue(), equalTo("changed@example.org"));
+    }
+
+    @Test
+    void shouldUseColumnSnapshotUntilRefresh() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given
+        ColumnLayout<SampleContext> layout = ColumnLayout.snapshot(context);
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setColumnLayout(layout);
+        SqlColumnsHandler<SampleContext, Integer> snapshotHandler = new SqlColumnsHandler<>(config);
+        DataSourceValues valuesBefore = snapshotHandler.retrieve(2, SampleColumns.NAME, SampleColumns.EMAIL);
+        context.setEmptyOptions(true, false, false);
+
+        // when
+        DataSourceValues valuesBeforeRefresh = snapshotHandler.retrieve(2, SampleColumns.NAME, SampleColumns.EMAIL);
+        int countBeforeRefresh = snapshotHandler.count(eq(SampleColumns.EMAIL, "test@example.com"));
+        layout.refresh();
+        DataSourceValues valuesAfterRefresh = snapshotHandler.retrieve(2, SampleColumns.NAME, SampleColumns.EMAIL);
+        int countAfterRefresh = snapshotHandler.count(eq(SampleColumns.EMAIL, "test@example.com"));
+
+        // then
+        assertThat(valuesBefore.get(SampleColumns.EMAIL), equalTo("test@example.com"));
+        assertThat(valuesBeforeRefresh.get(SampleColumns.EMAIL), equalTo("test@example.com"));
+        assertThat(countBeforeRefresh, equalTo(4));
+        assertThat(valuesAfterRefresh.get(SampleColumns.NAME), equalTo("Brett"));
+        assertThat(valuesAfterRefresh.get(SampleColumns.EMAIL), nullValue());
+        assertThat(countAfterRefresh, equalTo(12));
+    }
+
+    @Test
+    void shouldOnlyCacheSqlByDefaultForSnapshotLayout() {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given / when
+        SqlColumnsHandlerConfig<SampleContext> liveConfig =
+            connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context);
+        SqlColumnsHandlerConfig<SampleContext> snapshotConfig =
+            connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+                .setColumnLayout(ColumnLayout.snapshot(context));
+        SqlColumnsHandlerConfig<SampleContext> explicitConfig =
+            connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+                .setSqlCacheEnabled(true);
+
+        // then
+        assertThat(liveConfig.isSqlCacheEnabled(), equalTo(false));
+        assertThat(snapshotConfig.isSqlCacheEnabled(), equalTo(true));
+        assertThat(explicitConfig.isSqlCacheEnabled(), equalTo(true));
+    }
+
+    @Test
+    void shouldPerformOperationsWithoutSqlCache() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setSqlCacheEnabled(false);
+        SqlColumnsHandler<SampleContext, Integer> uncachedHandler = new SqlColumnsHandler<>(config);
+
+        // when
+        boolean updateResult = uncachedHandler.update(3, SampleColumns.IP, "33.33.33.33");
+        DataSourceValues values = uncachedHandler.retrieve(3, SampleColumns.NAME, SampleColumns.IP);
+        int count = uncachedHandler.count(eq(SampleColumns.IP, "33.33.33.33"));
+
+        // then
+        assertThat(updateResult, equalTo(true));
+        assertThat(values.get(SampleColumns.NAME), equalTo("Cody"));
+        assertThat(values.get(SampleColumns.IP), equalTo("33.33.33.33"));
+        assertThat(count, equalTo(1));
+    }
+
+    @Test
+    void shouldReportOperationsToListener() throws Exception {
+        assumeSqlColumnsHandlerIsTested();
+
+        // given
+        List<OperationEvent> events = new ArrayList<>();
+        OperationMetrics metrics = new OperationMetrics();
+        SqlColumnsHandlerConfig<SampleContext> config = connectionInfo.createHandlerConfig(TABLE_NAME, ID_COLUMN, context)
+            .setOperationListener(event -> {
+                events.add(event);
+                metrics.onOperation(event);
+            });
+        SqlColumnsHandler<SampleContext, Integer> measuredHandler = new SqlColumnsHandler<>(config);
+
+        // when
+        measuredHandler.retrieve(3, SampleColumns.NAME, SampleColumns.IP);
+        measuredHandler.update(3, SampleColumns.IP, "33.33.33.33");
+        measuredHandler.retrieve(and(eq(SampleColumns.IS_LOCKED, 1), greaterThan(SampleColumns.ID, 1)),
+            SampleColumns.NAME);
+        assertThrows(SQLException.class,
+            () -> measuredHandler.insert(with(SampleColumns.ID, 3).and(SampleColumns.IS_LOCKED, 0).build()));
+
+        // then
+        assertThat(events, hasSize(4));
+        OperationEvent retrieveEvent = events.get(0);
+        assertThat(retrieveEvent.getType(), equalTo(OperationType.RETRIEVE_BY_ID));
+        assertThat(retrieveEvent.getSql(), equalTo("SELECT username, ip FROM testingdata WHERE id = ?;"));
+        assertThat(retrieveEvent.getRowCount(), equalTo(1));
+        assertThat(retrieveEvent.getBindCount(), equalTo(1));
+        assertThat(retrieveEvent.isSuccessful(), equalTo(true));
+
+        OperationEvent predicateEvent = events.get(2);
+        assertThat(predicateEvent.getType(), equalTo(OperationType.RETRIEVE_BY_PREDICATE));
+        assertThat(predicateEvent.getRowCount(), equalTo(2));
+        assertThat(predicateEvent.getBindCount(), equalTo(2));
+
+        OperationEvent failedEvent = events.get(3);
+        assertThat(failedEvent.getType(), equalTo(OperationType.INSERT));
+        assertThat(failedEvent.isSuccessful(), equalTo(false));
+
+        OperationStats updateStats = metrics.getStats(OperationType.UPDATE_BY_ID);
+        assertThat(updateStats.getCount(), equalTo(1L));
+        assertThat(updateStats.getRowCount(), equalTo(1L));
+        assertThat(updateStats.getBindCount(), equalTo(2L));
+        assertThat(updateStats.getLatencies().getTotalCount(), equalTo(1L));
+        assertThat(metrics.getStats(OperationType.INSERT).getFailureCount(), equalTo(1L));
+        for (OperationEvent event : events) {
+            long phaseSum = Arrays.stream(OperationPhase.values()).mapToLong(event::getPhaseNanos).sum();
+            assertThat(phaseSum <= event.getTotalNanos(), equalTo(true));
+        }
+    }
+
     private static void verifyThrowsNoValueAvailableException(Runnable runnable) {
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, runnable::run);
         assertThat(ex.getMessage(), containsString("No value available for column"));
@@ -1,9 +1,34 @@
 package ch.jalu.datasourcecolumns.sqlimplementation;
 
+import ch.jalu.datasourcecolumns.SampleColumns;
+import ch.jalu.datasourcecolumns.SampleContext;
+import ch.jalu.datasourcecolumns.data.UpdateValues;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationEvent;
+import ch.jalu.datasourcecolumns.sqlimplementation.metrics.OperationType;
 import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static ch.jalu.datasourcecolumns.data.UpdateValues.with;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThanEquals;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
 
 /**
  * Test for {@link SqlColumnsHandler}, using an in-memory H2 database.
@@ -16,10 +41,76 @@ class H2SqlColumnsHandlerTest extends AbstractSqlColumnsHandlerTest {
         return new ConnectionInfo(dataSource.getConnection());
     }
 
+    @Override
+    protected boolean hasSupportForArrayBinding() {
+        return true;
+    }
+
+    @Test
+    void shouldNotKeepRowsOfFailedBatchInCachedStatement() throws Exception {
+        // given
+        Connection connection = spy(createDataSource().getConnection());
+        willAnswer(invocation -> {
+            PreparedStatement statement = spy((PreparedStatement) invocation.callRealMethod());
+            doThrow(new SQLException("Cannot bind value")).when(statement).setObject(anyInt(), eq("<fail>"));
+            return statement;
+        }).given(connection).prepareStatement(anyString());
+        SqlColumnsHandlerConfig<SampleContext> config =
+            SqlColumnsHandlerConfig.forSingleConnection(connection, "testingdata", "id", new SampleContext());
+        try (SqlColumnsHandler<SampleContext, Integer> cachingHandler = new SqlColumnsHandler<>(config)) {
+            // when
+            assertThrows(SQLException.class, () -> cachingHandler.insertAll(Arrays.asList(
+                createRow(700, "Ann"), createRow(701, "<fail>"))));
+            int[] result = cachingHandler.insertAll(Collections.singletonList(createRow(702, "Bo")));
+
+            // then
+            assertThat(result, equalTo(new int[]{ 1 }));
+            assertThat(cachingHandler.count(greaterThanEquals(SampleColumns.ID, 700)), equalTo(1));
+            assertThat(cachingHandler.retrieve(702, SampleColumns.NAME).getValue(), equalTo("Bo"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    void shouldReportOnlyAffectedRowsOfBatchInsert() throws Exception {
+        // given
+        Connection connection = spy(createDataSource().getConnection());
+        willAnswer(invocation -> {
+            PreparedStatement statement = spy((PreparedStatement) invocation.callRealMethod());
+            willAnswer(batchInvocation -> {
+                int[] counts = (int[]) batchInvocation.callRealMethod();
+                counts[counts.length - 1] = 0;
+                return counts;
+            }).given(statement).executeBatch();
+            return statement;
+        }).given(connection).prepareStatement(anyString());
+        List<OperationEvent> events = new ArrayList<>();
+        SqlColumnsHandlerConfig<SampleContext> config = SqlColumnsHandlerConfig
+            .forSingleConnection(connection, "testingdata", "id", new SampleContext())
+            .setOperationListener(events::add);
+        try (SqlColumnsHandler<SampleContext, Integer> measuredHandler = new SqlColumnsHandler<>(config)) {
+            // when
+            int[] result = measuredHandler.insertAll(Arrays.asList(createRow(710, "Cy"), createRow(711, "Di")));
+
+            // then
+            assertThat(result, equalTo(new int[]{ 1, 0 }));
+            assertThat(events, hasSize(1));
+            assertThat(events.get(0).getType(), equalTo(OperationType.INSERT_BATCH));
+            assertThat(events.get(0).getRowCount(), equalTo(1));
+        } finally {
+            connection.close();
+        }
+    }
+
     protected DataSource createDataSource() {
         JdbcDataSource dataSource = new JdbcDataSource();
         // Note "ignorecase=true": H2 does not support `COLLATE NOCASE` for case-insensitive equals queries.
         dataSource.setURL("jdbc:h2:mem:test;ignorecase=true");
         return dataSource;
     }
+
+    private static UpdateValues<SampleContext> createRow(int id, String name) {
+        return with(SampleColumns.ID, id).and(SampleColumns.NAME, name).and(SampleColumns.IS_LOCKED, 0).build();
+    }
 }
@@ -1,27 +1,46 @@
 package ch.jalu.datasourcecolumns.sqlimplementation;
 
+import ch.jalu.datasourcecolumns.ColumnLayout;
 import ch.jalu.datasourcecolumns.SampleColumns;
 import ch.jalu.datasourcecolumns.SampleContext;
 import ch.jalu.datasourcecolumns.predicate.AlwaysTruePredicate;
 import ch.jalu.datasourcecolumns.predicate.Predicate;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.and;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.between;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eq;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.eqIgnoreCase;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThan;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.greaterThanEquals;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.in;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.inRange;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.isNotNull;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.isNull;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.lessThan;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.lessThanEquals;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.not;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.like;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notEq;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notEqIgnoreCase;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.notIn;
 import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.or;
+import static ch.jalu.datasourcecolumns.predicate.StandardPredicates.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 
@@ -31,7 +50,8 @@ import static org.mockito.Mockito.mock;
 class PredicateSqlGeneratorTest {
 
     private final SampleContext context = new SampleContext();
-    private final PredicateSqlGenerator<SampleContext> predicateGenerator = new PredicateSqlGenerator<>(context);
+    private final PredicateSqlGenerator<SampleContext> predicateGenerator =
+        new PredicateSqlGenerator<>(context, false, true);
 
     @Test
     void shouldGenerateSqlForComparingPredicates() {
@@ -75,14 +95,113 @@ class PredicateSqlGeneratorTest {
         GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(predicate3);
 
         // then
-        assertThat(result1.getGeneratedSql(), equalTo("(1 = 1) AND (last_login >= ?)"));
+        assertThat(result1.getGeneratedSql(), equalTo("last_login >= ?"));
         assertThat(result1.getBindings(), contains(1000L));
-        assertThat(result2.getGeneratedSql(), equalTo("(is_active < ?) OR (1 = 1)"));
-        assertThat(result2.getBindings(), contains(-5));
-        assertThat(result3.getGeneratedSql(), equalTo("(1 = 1) AND (last_login <> ?)"));
+        assertThat(result2.getGeneratedSql(), equalTo("1 = 1"));
+        assertThat(result2.getBindings(), empty());
+        assertThat(result3.getGeneratedSql(), equalTo("last_login <> ?"));
         assertThat(result3.getBindings(), contains(13L));
     }
 
+    @Test
+    void shouldGenerateSqlForRangePredicates() {
+        // given
+        context.setEmptyOptions(true, false, false);
+        Predicate<SampleContext> predicate1 = between(SampleColumns.IS_LOCKED, 1, 3)
+            .and(inRange(SampleColumns.LAST_LOGIN, 1000L, 2000L));
+        Predicate<SampleContext> predicate2 = between(SampleColumns.IS_LOCKED, 0, 0)
+            .and(inRange(SampleColumns.LAST_LOGIN, 2000L, 3000L));
+        Predicate<SampleContext> predicate3 = between(SampleColumns.EMAIL, "a", "b")
+            .or(inRange(SampleColumns.NAME, "Al", "Am"));
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(predicate1);
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(predicate2);
+        GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(predicate3);
+
+        // then
+        assertThat(result1.getGeneratedSql(),
+            equalTo("(is_locked BETWEEN ? AND ?) AND (last_login >= ? AND last_login < ?)"));
+        assertThat(result1.getBindings(), contains(1, 3, 1000L, 2000L));
+        assertThat(result2.getGeneratedSql(), sameInstance(result1.getGeneratedSql()));
+        assertThat(result2.getBindings(), contains(0, 0, 2000L, 3000L));
+        assertThat(result3.getGeneratedSql(), equalTo("1 = 1"));
+        assertThat(result3.getBindings(), empty());
+    }
+
+    @Test
+    void shouldGenerateSqlForLikePredicates() {
+        // given
+        context.setEmptyOptions(true, false, false);
+        PredicateSqlGenerator<SampleContext> predicateGenerator = new PredicateSqlGenerator<>(
+            ColumnLayout.live(context), false, true, InListBinding.PLACEHOLDERS, 999, true);
+        Predicate<SampleContext> predicate1 = startsWith(SampleColumns.NAME, "50%_off!")
+            .or(startsWith(SampleColumns.EMAIL, "test"));
+        Predicate<SampleContext> predicate2 = like(SampleColumns.NAME, "J_n%")
+            .and(like(SampleColumns.IP, "%.1!%"));
+        Predicate<SampleContext> predicate3 = startsWith(SampleColumns.NAME, "")
+            .and(startsWith(SampleColumns.IP, "1" + Character.MAX_VALUE));
+        String maxCodePoint = new String(Character.toChars(Character.MAX_CODE_POINT));
+        Predicate<SampleContext> predicate4 = startsWith(SampleColumns.NAME, maxCodePoint);
+        Predicate<SampleContext> predicate5 = startsWith(SampleColumns.NAME, "50%_off!");
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(predicate1);
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(predicate2);
+        GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(predicate3);
+        GeneratedSqlWithBindings result4 = predicateGenerator.generateWhereClause(predicate4);
+        GeneratedSqlWithBindings result5 = predicateGenerator.generateWhereClause(predicate5);
+
+        // then
+        assertThat(result1.getGeneratedSql(), equalTo("1 = 1"));
+        assertThat(result1.getBindings(), empty());
+        assertThat(result2.getGeneratedSql(),
+            equalTo("(username LIKE ? ESCAPE '!') AND (ip LIKE ? ESCAPE '!')"));
+        assertThat(result2.getBindings(), contains("J_n%", "%.1!%"));
+        assertThat(result3.getGeneratedSql(), equalTo("(username >= ?) AND (ip >= ? AND ip < ?)"));
+        assertThat(result3.getBindings(), contains("", "1\uFFFF", "1\uD800\uDC00"));
+        assertThat(result4.getGeneratedSql(), equalTo("username >= ?"));
+        assertThat(result4.getBindings(), contains(maxCodePoint));
+        assertThat(result5.getGeneratedSql(), equalTo("username >= ? AND username < ?"));
+        assertThat(result5.getBindings(), contains("50%_off!", "50%_off\""));
+    }
+
+    @Test
+    void shouldUseLikeForPrefixPatternsUnlessRangesAreEnabled() {
+        // given
+        PredicateSqlGenerator<SampleContext> rangeGenerator = new PredicateSqlGenerator<>(
+            ColumnLayout.live(context), false, true, InListBinding.PLACEHOLDERS, 999, true);
+        Predicate<SampleContext> predicate1 = startsWith(SampleColumns.NAME, "Liz");
+        Predicate<SampleContext> predicate2 = not(startsWith(SampleColumns.NAME, "Liz"));
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(predicate1);
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(predicate2);
+        GeneratedSqlWithBindings result3 = rangeGenerator.generateWhereClause(predicate1);
+
+        // then
+        assertThat(result1.getGeneratedSql(), equalTo("username LIKE ? ESCAPE '!'"));
+        assertThat(result1.getBindings(), contains("Liz%"));
+        assertThat(result2.getGeneratedSql(), equalTo("username NOT LIKE ? ESCAPE '!'"));
+        assertThat(result2.getBindings(), contains("Liz%"));
+        assertThat(result3.getGeneratedSql(), equalTo("username >= ? AND username < ?"));
+        assertThat(result3.getBindings(), contains("Liz", "Li{"));
+    }
+
+    @Test
+    void shouldDetermineSuccessorOfPrefix() {
+        // given
+        String maxCodePoint = new String(Character.toChars(Character.MAX_CODE_POINT));
+
+        // when / then
+        assertThat(PredicateSqlGenerator.getPrefixSuccessor("abc"), equalTo("abd"));
+        assertThat(PredicateSqlGenerator.getPrefixSuccessor("a" + maxCodePoint), equalTo("b"));
+        assertThat(PredicateSqlGenerator.getPrefixSuccessor("a\uD7FF"), equalTo("a\uE000"));
+        assertThat(PredicateSqlGenerator.getPrefixSuccessor("a\uFFFF"), equalTo("a\uD800\uDC00"));
+        assertThat(PredicateSqlGenerator.getPrefixSuccessor(maxCodePoint), nullValue());
+        assertThat(PredicateSqlGenerator.getPrefixSuccessor(""), nullValue());
+    }
+
     @Test
     void shouldGenerateSqlForNullPredicates() {
         // given
@@ -103,9 +222,9 @@ class PredicateSqlGeneratorTest {
         // then
         assertThat(result1.getGeneratedSql(), equalTo("(id IS NULL) OR (username IS NOT NULL)"));
         assertThat(result1.getBindings(), empty());
-        assertThat(result2.getGeneratedSql(), equalTo("((1 = 1) OR (is_locked IS NOT NULL)) AND (ip IS NULL)"));
+        assertThat(result2.getGeneratedSql(), equalTo("ip IS NULL"));
         assertThat(result2.getBindings(), empty());
-        assertThat(result3.getGeneratedSql(), equalTo("((ip IS NOT NULL) OR (1 = 1)) AND (is_locked IS NULL)"));
+        assertThat(result3.getGeneratedSql(), equalTo("is_locked IS NULL"));
         assertThat(result3.getBindings(), empty());
     }
 
@@ -151,9 +270,9 @@ class PredicateSqlGeneratorTest {
         GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(predicate3);
 
         // then
-        assertThat(result1.getGeneratedSql(), equalTo("(username = ?) OR (1 = 1)"));
-        assertThat(result1.getBindings(), contains("TEST"));
-        assertThat(result2.getGeneratedSql(), equalTo("(1 = 1) AND (username <> ?)"));
+        assertThat(result1.getGeneratedSql(), equalTo("1 = 1"));
+        assertThat(result1.getBindings(), empty());
+        assertThat(result2.getGeneratedSql(), equalTo("username <> ?"));
         assertThat(result2.getBindings(), contains("bob"));
         assertThat(result3.getGeneratedSql(), equalTo("((username = ?) OR (username = ?)) AND (username <> ?)"));
         assertThat(result3.getBindings(), contains("_name", "_Name2", "_ForbiddenName"));
@@ -179,11 +298,293 @@ class PredicateSqlGeneratorTest {
         GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(predicate3);
 
         // then
-        assertThat(result1.getGeneratedSql(), equalTo("(username = ? COLLATE NOCASE) OR (1 = 1)"));
-        assertThat(result1.getBindings(), contains("TEST"));
-        assertThat(result2.getGeneratedSql(), equalTo("(1 = 1) AND (username <> ? COLLATE NOCASE)"));
+        assertThat(result1.getGeneratedSql(), equalTo("1 = 1"));
+        assertThat(result1.getBindings(), empty());
+        assertThat(result2.getGeneratedSql(), equalTo("username <> ? COLLATE NOCASE"));
         assertThat(result2.getBindings(), contains("bob"));
         assertThat(result3.getGeneratedSql(), equalTo("((username = ? COLLATE NOCASE) OR (username = ?)) AND (username <> ? COLLATE NOCASE)"));
         assertThat(result3.getBindings(), contains("_name", "_Name2", "_ForbiddenName"));
     }
+
+    @Test
+    void shouldReuseSqlForPredicatesWithSameShape() {
+        // given
+        Predicate<SampleContext> predicate1 = eq(SampleColumns.NAME, "Bob")
+            .and(lessThan(SampleColumns.LAST_LOGIN, 400L).or(eqIgnoreCase(SampleColumns.EMAIL, "bob@example.org")));
+        Predicate<SampleContext> predicate2 = eq(SampleColumns.NAME, "Alice")
+            .and(lessThan(SampleColumns.LAST_LOGIN, 9L).or(eqIgnoreCase(SampleColumns.EMAIL, "a@example.org")));
+        Predicate<SampleContext> otherShape = eq(SampleColumns.NAME, "Alice")
+            .and(lessThanEquals(SampleColumns.LAST_LOGIN, 9L).or(eqIgnoreCase(SampleColumns.EMAIL, "a@example.org")));
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(predicate1);
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(predicate2);
+        GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(otherShape);
+
+        // then
+        assertThat(result1.getGeneratedSql(), equalTo("(username = ?) AND ((last_login < ?) OR (email = ?))"));
+        assertThat(result1.getBindings(), contains("Bob", 400L, "bob@example.org"));
+        assertThat(result2.getGeneratedSql(), sameInstance(result1.getGeneratedSql()));
+        assertThat(result2.getBindings(), contains("Alice", 9L, "a@example.org"));
+        assertThat(result3.getGeneratedSql(), equalTo("(username = ?) AND ((last_login <= ?) OR (email = ?))"));
+        assertThat(result3.getBindings(), contains("Alice", 9L, "a@example.org"));
+    }
+
+    @Test
+    void shouldHandleChangedColumnUsageForSameShape() {
+        // given
+        Predicate<SampleContext> predicate1 = eq(SampleColumns.EMAIL, "test@example.org")
+            .or(isNull(SampleColumns.IS_LOCKED).and(eq(SampleColumns.NAME, "Ted")));
+        Predicate<SampleContext> predicate2 = eq(SampleColumns.EMAIL, "other@example.org")
+            .or(isNull(SampleColumns.IS_LOCKED).and(eq(SampleColumns.NAME, "Tom")));
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(predicate1);
+        context.setEmptyOptions(true, true, false);
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(predicate2);
+
+        // then
+        assertThat(result1.getGeneratedSql(), equalTo("(email = ?) OR ((is_locked IS NULL) AND (username = ?))"));
+        assertThat(result1.getBindings(), contains("test@example.org", "Ted"));
+        assertThat(result2.getGeneratedSql(), equalTo("1 = 1"));
+        assertThat(result2.getBindings(), empty());
+    }
+
+    @Test
+    void shouldNormalizePredicatesBeforeGeneratingSql() {
+        // given
+        context.setEmptyOptions(true, false, false);
+        Predicate<SampleContext> predicate1 = not(or(eq(SampleColumns.NAME, "Ted"), isNull(SampleColumns.IP)))
+            .and(eq(SampleColumns.IS_LOCKED, 0).and(eq(SampleColumns.EMAIL, "ted@example.org")));
+        Predicate<SampleContext> predicate2 = notEq(SampleColumns.NAME, "Tom")
+            .and(isNotNull(SampleColumns.IP).and(eq(SampleColumns.IS_LOCKED, 1)))
+            .and(isNotNull(SampleColumns.IP));
+        Predicate<SampleContext> predicate3 = not(like(SampleColumns.NAME, "T_m").or(startsWith(SampleColumns.IP, "1")))
+            .or(not(startsWith(SampleColumns.NAME, "Tim")));
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(predicate1);
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(predicate2);
+        GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(predicate3);
+
+        // then
+        assertThat(result1.getGeneratedSql(), equalTo("(username <> ?) AND (ip IS NOT NULL) AND (is_locked = ?)"));
+        assertThat(result1.getBindings(), contains("Ted", 0));
+        assertThat(result2.getGeneratedSql(), sameInstance(result1.getGeneratedSql()));
+        assertThat(result2.getBindings(), contains("Tom", 1));
+        assertThat(result3.getGeneratedSql(), equalTo("((username NOT LIKE ? ESCAPE '!')"
+            + " AND (ip NOT LIKE ? ESCAPE '!')) OR (username NOT LIKE ? ESCAPE '!')"));
+        assertThat(result3.getBindings(), contains("T_m", "1%", "Tim%"));
+    }
+
+    @Test
+    void shouldFoldConstantOperands() {
+        // given
+        context.setEmptyOptions(true, false, false);
+        Predicate<SampleContext> predicate1 = between(SampleColumns.EMAIL, "a", "b")
+            .and(inRange(SampleColumns.NAME, "Al", "Am"));
+        Predicate<SampleContext> predicate2 = startsWith(SampleColumns.EMAIL, "test")
+            .and(like(SampleColumns.NAME, "J_n%"));
+        Predicate<SampleContext> predicate3 = in(SampleColumns.NAME, Arrays.asList("Hu", "Ian"))
+            .or(in(SampleColumns.IS_ACTIVE, Collections.emptyList()))
+            .and(notIn(SampleColumns.IS_LOCKED, Collections.emptyList()));
+        Predicate<SampleContext> predicate4 = eq(SampleColumns.NAME, null)
+            .or(in(SampleColumns.IS_LOCKED, Arrays.asList(1, null)));
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(predicate1);
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(predicate2);
+        GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(predicate3);
+        GeneratedSqlWithBindings result4 = predicateGenerator.generateWhereClause(predicate4);
+
+        // then
+        assertThat(result1.getGeneratedSql(), equalTo("username >= ? AND username < ?"));
+        assertThat(result1.getBindings(), contains("Al", "Am"));
+        assertThat(result2.getGeneratedSql(), equalTo("username LIKE ? ESCAPE '!'"));
+        assertThat(result2.getBindings(), contains("J_n%"));
+        assertThat(result3.getGeneratedSql(), equalTo("username IN (?, ?)"));
+        assertThat(result3.getBindings(), contains("Hu", "Ian"));
+        assertThat(result4.getGeneratedSql(), equalTo("is_locked IN (?)"));
+        assertThat(result4.getBindings(), contains(1));
+    }
+
+    @Test
+    void shouldOnlyNormalizePredicatesWithUnknownShape() {
+        // given
+        AtomicInteger normalizeCalls = new AtomicInteger();
+        PredicateSqlGenerator<SampleContext> predicateGenerator =
+            new PredicateSqlGenerator<SampleContext>(context, false, true) {
+                @Override
+                protected Predicate<SampleContext> normalize(Predicate<SampleContext> predicate) {
+                    normalizeCalls.incrementAndGet();
+                    return super.normalize(predicate);
+                }
+            };
+        Predicate<SampleContext> predicate1 = eq(SampleColumns.NAME, "Ann").and(greaterThan(SampleColumns.ID, 3));
+        Predicate<SampleContext> predicate2 = eq(SampleColumns.NAME, "Bob").and(greaterThan(SampleColumns.ID, 7));
+        Predicate<SampleContext> predicate3 = not(eq(SampleColumns.NAME, "Cid"));
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(predicate1);
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(predicate2);
+        GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(predicate3);
+        GeneratedSqlWithBindings result4 = predicateGenerator.generateWhereClause(predicate3);
+
+        // then
+        assertThat(result1.getGeneratedSql(), equalTo("(username = ?) AND (id > ?)"));
+        assertThat(result2.getGeneratedSql(), sameInstance(result1.getGeneratedSql()));
+        assertThat(result2.getBindings(), contains("Bob", 7));
+        assertThat(result3.getGeneratedSql(), equalTo("username <> ?"));
+        assertThat(result4.getGeneratedSql(), sameInstance(result3.getGeneratedSql()));
+        assertThat(result4.getBindings(), contains("Cid"));
+        // predicate3 is normalized on every call since its negation gives it another shape than its normalized form
+        assertThat(normalizeCalls.get(), equalTo(3));
+    }
+
+    @Test
+    void shouldGenerateSqlForNegatedUnknownPredicate() {
+        // given
+        PredicateSqlGenerator<SampleContext> predicateGenerator = new PredicateSqlGenerator<SampleContext>(context) {
+            @Override
+            protected void generateWhereClause(Predicate<SampleContext> predicate, StringBuilder sqlResult,
+                                               List<Object> objects) {
+                if (predicate instanceof AlwaysTruePredicate) {
+                    sqlResult.append("custom");
+                } else {
+                    super.generateWhereClause(predicate, sqlResult, objects);
+                }
+            }
+        };
+        Predicate<SampleContext> custom = new AlwaysTruePredicate<SampleContext>() { };
+
+        // when
+        GeneratedSqlWithBindings result = predicateGenerator.generateWhereClause(
+            not(custom.and(eq(SampleColumns.NAME, "Ted"))));
+
+        // then
+        assertThat(result.getGeneratedSql(), equalTo("(NOT (custom)) OR (username <> ?)"));
+        assertThat(result.getBindings(), contains("Ted"));
+    }
+
+    @Test
+    void shouldNotCacheSqlIfDisabled() {
+        // given
+        PredicateSqlGenerator<SampleContext> predicateGenerator = new PredicateSqlGenerator<>(context, false, false);
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(eq(SampleColumns.NAME, "Bob"));
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(eq(SampleColumns.NAME, "Ben"));
+
+        // then
+        assertThat(result1.getGeneratedSql(), equalTo("username = ?"));
+        assertThat(result2.getGeneratedSql(), equalTo(result1.getGeneratedSql()));
+        assertThat(result2.getGeneratedSql(), not(sameInstance(result1.getGeneratedSql())));
+        assertThat(result2.getBindings(), contains("Ben"));
+    }
+
+    @Test
+    void shouldNotCacheSqlByDefault() {
+        // given
+        PredicateSqlGenerator<SampleContext> predicateGenerator = new PredicateSqlGenerator<>(context);
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(eq(SampleColumns.NAME, "Bob"));
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(eq(SampleColumns.NAME, "Ben"));
+
+        // then
+        assertThat(result2.getGeneratedSql(), equalTo(result1.getGeneratedSql()));
+        assertThat(result2.getGeneratedSql(), not(sameInstance(result1.getGeneratedSql())));
+    }
+
+    @Test
+    void shouldGenerateInPredicateWithBucketedPlaceholders() {
+        // given
+        context.setEmptyOptions(true, false, false);
+        Predicate<SampleContext> predicate1 = in(SampleColumns.NAME, Arrays.asList("Al", "Bo", "Cy"))
+            .and(notIn(SampleColumns.IS_LOCKED, Collections.singletonList(1)));
+        Predicate<SampleContext> predicate2 = in(SampleColumns.NAME, Arrays.asList("Di", "Ed", "Fa", "Gi"))
+            .and(notIn(SampleColumns.IS_LOCKED, Collections.singletonList(0)));
+        Predicate<SampleContext> predicate3 = in(SampleColumns.EMAIL, Arrays.asList("a@b.c", "d@e.f"))
+            .or(in(SampleColumns.IS_ACTIVE, Collections.emptyList()))
+            .or(notIn(SampleColumns.IS_LOCKED, Collections.emptyList()));
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(predicate1);
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(predicate2);
+        GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(predicate3);
+
+        // then
+        assertThat(result1.getGeneratedSql(), equalTo("(username IN (?, ?, ?, ?)) AND (is_locked NOT IN (?))"));
+        assertThat(result1.getBindings(), contains("Al", "Bo", "Cy", "Cy", 1));
+        assertThat(result2.getGeneratedSql(), sameInstance(result1.getGeneratedSql()));
+        assertThat(result2.getBindings(), contains("Di", "Ed", "Fa", "Gi", 0));
+        assertThat(result3.getGeneratedSql(), equalTo("1 = 1"));
+        assertThat(result3.getBindings(), empty());
+    }
+
+    @Test
+    void shouldSplitLargeInLists() {
+        // given
+        PredicateSqlGenerator<SampleContext> predicateGenerator = new PredicateSqlGenerator<>(
+            ColumnLayout.live(context), false, true, InListBinding.PLACEHOLDERS, BindParameterLimits.MYSQL);
+        List<Long> values = IntStream.range(0, 1300).mapToObj(i -> (long) i).collect(Collectors.toList());
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(in(SampleColumns.LAST_LOGIN, values));
+        GeneratedSqlWithBindings result2 =
+            predicateGenerator.generateWhereClause(notIn(SampleColumns.LAST_LOGIN, values.subList(0, 1000)));
+
+        // then
+        String list1000 = String.join(", ", Collections.nCopies(1000, "?"));
+        String list512 = String.join(", ", Collections.nCopies(512, "?"));
+        assertThat(result1.getGeneratedSql(),
+            equalTo("(last_login IN (" + list1000 + ") OR last_login IN (" + list512 + "))"));
+        assertThat(result1.getBindings(), hasSize(1512));
+        assertThat(result1.getBindings().get(1511), equalTo(1299L));
+        assertThat(result2.getGeneratedSql(), equalTo("last_login NOT IN (" + list1000 + ")"));
+        assertThat(result2.getBindings(), equalTo(values.subList(0, 1000)));
+    }
+
+    @Test
+    void shouldNotPadInListBeyondMaxBindParameters() {
+        // given
+        PredicateSqlGenerator<SampleContext> predicateGenerator = new PredicateSqlGenerator<>(
+            ColumnLayout.live(context), false, true, InListBinding.PLACEHOLDERS, 10);
+        List<Integer> values = IntStream.rangeClosed(1, 12).boxed().collect(Collectors.toList());
+
+        // when
+        GeneratedSqlWithBindings result1 =
+            predicateGenerator.generateWhereClause(in(SampleColumns.ID, values.subList(0, 6)));
+        GeneratedSqlWithBindings result2 =
+            predicateGenerator.generateWhereClause(in(SampleColumns.ID, values.subList(0, 9)));
+        GeneratedSqlWithBindings result3 = predicateGenerator.generateWhereClause(in(SampleColumns.ID, values));
+
+        // then
+        assertThat(result1.getBindings(), hasSize(8));
+        assertThat(result2.getGeneratedSql(),
+            equalTo("id IN (" + String.join(", ", Collections.nCopies(10, "?")) + ")"));
+        assertThat(result2.getBindings(), contains(1, 2, 3, 4, 5, 6, 7, 8, 9, 9));
+        assertThat(result3.getBindings(), equalTo(values));
+    }
+
+    @Test
+    void shouldGenerateInPredicateWithArrayBinding() {
+        // given
+        PredicateSqlGenerator<SampleContext> predicateGenerator = new PredicateSqlGenerator<>(
+            ColumnLayout.live(context), false, true, InListBinding.ARRAY);
+        Predicate<SampleContext> predicate1 = in(SampleColumns.NAME, Arrays.asList("Al", "Bo", "Cy"))
+            .or(notIn(SampleColumns.ID, Arrays.asList(3, 4)));
+        Predicate<SampleContext> predicate2 = in(SampleColumns.NAME, Collections.singletonList("Di"))
+            .or(notIn(SampleColumns.ID, Arrays.asList(1, 2, 3, 4, 5, 6)));
+
+        // when
+        GeneratedSqlWithBindings result1 = predicateGenerator.generateWhereClause(predicate1);
+        GeneratedSqlWithBindings result2 = predicateGenerator.generateWhereClause(predicate2);
+
+        // then
+        assertThat(result1.getGeneratedSql(), equalTo("(username = ANY(?)) OR (NOT (id = ANY(?)))"));
+        assertThat(result1.getBindings(), contains(new Object[]{ "Al", "Bo", "Cy" }, new Object[]{ 3, 4 }));
+        assertThat(result2.getGeneratedSql(), sameInstance(result1.getGeneratedSql()));
+        assertThat(result2.getBindings(), contains(new Object[]{ "Di" }, new Object[]{ 1, 2, 3, 4, 5, 6 }));
+    }
 }
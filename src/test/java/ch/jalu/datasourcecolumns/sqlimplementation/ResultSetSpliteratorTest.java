@@ -0,0 +1,69 @@
+package ch.jalu.datasourcecolumns.sqlimplementation;
+
+import ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator.PreparedStatementGenerator;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Test for {@link ResultSetSpliterator}.
+ */
+class ResultSetSpliteratorTest {
+
+    @Test
+    void shouldReadRowsLazilyAndCloseResources() throws Exception {
+        // given
+        PreparedStatementGenerator generator = mock(PreparedStatementGenerator.class);
+        ResultSet rs = mock(ResultSet.class);
+        given(rs.next()).willReturn(true, true, false);
+        given(rs.getString(1)).willReturn("a", "b");
+
+        // when
+        Stream<String> stream = ResultSetSpliterator.stream(generator, rs, resultSet -> resultSet.getString(1));
+
+        // then
+        verifyNoInteractions(rs, generator);
+        List<String> rows = stream.collect(Collectors.toList());
+        assertThat(rows, contains("a", "b"));
+
+        stream.close();
+        InOrder inOrder = inOrder(rs, generator);
+        inOrder.verify(rs).close();
+        inOrder.verify(generator).close();
+    }
+
+    @Test
+    void shouldWrapSqlException() throws Exception {
+        // given
+        PreparedStatementGenerator generator = mock(PreparedStatementGenerator.class);
+        ResultSet rs = mock(ResultSet.class);
+        SQLException sqlException = new SQLException("Connection lost");
+        given(rs.next()).willThrow(sqlException);
+
+        // when
+        IllegalStateException ex;
+        try (Stream<String> stream = ResultSetSpliterator.stream(generator, rs, resultSet -> "row")) {
+            ex = assertThrows(IllegalStateException.class, () -> stream.findFirst());
+        }
+
+        // then
+        assertThat(ex.getCause(), sameInstance(sqlException));
+        verify(rs).close();
+        verify(generator).close();
+    }
+}
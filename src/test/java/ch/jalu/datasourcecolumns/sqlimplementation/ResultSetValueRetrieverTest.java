@@ -8,6 +8,7 @@ import ch.jalu.datasourcecolumns.StandardTypes;
 import org.junit.jupiter.api.Test;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -15,8 +16,12 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Test for {@link ResultSetValueRetriever}.
@@ -91,6 +96,97 @@ class ResultSetValueRetrieverTest {
         assertThat(isAdmin2, nullValue());
     }
 
+    @Test
+    void shouldRetrieveValuesByIndex() throws SQLException {
+        // given
+        ResultSet rs = mock(ResultSet.class);
+        given(rs.getLong(1)).willReturn(355L).willReturn(0L);
+        given(rs.getString(2)).willReturn("Test3");
+        given(rs.getInt(3)).willReturn(0);
+        given(rs.wasNull()).willReturn(true);
+
+        // when
+        Long lastLogin1 = valueRetriever.get(rs, 1, SampleColumns.LAST_LOGIN);
+        Long lastLogin2 = valueRetriever.get(rs, 1, SampleColumns.LAST_LOGIN);
+        String name = valueRetriever.get(rs, 2, SampleColumns.NAME);
+        Integer isLocked = valueRetriever.get(rs, 3, SampleColumns.IS_LOCKED);
+
+        // then
+        assertThat(lastLogin1, equalTo(355L));
+        assertThat(lastLogin2, nullValue());
+        assertThat(name, equalTo("Test3"));
+        assertThat(isLocked, nullValue());
+        verify(rs, never()).getLong(anyString());
+    }
+
+    @Test
+    void shouldRetrieveCustomTypeByIndexWithColumnLabel() throws SQLException {
+        // given
+        ColumnType<String> customType = mock(ColumnType.class);
+        Column<String, SampleContext> column = mock(Column.class);
+        given(column.getType()).willReturn(customType);
+        SampleContext context = new SampleContext();
+        ResultSetValueRetriever<SampleContext> retriever = new ResultSetValueRetriever<SampleContext>(context) {
+            @Override
+            protected <T> ResultSetGetter<T> createResultSetGetter(ColumnType<T> type) {
+                return type == customType
+                    ? (rs, col) -> (T) rs.getString(col).toUpperCase()
+                    : super.createResultSetGetter(type);
+            }
+        };
+        ResultSet rs = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        given(rs.getMetaData()).willReturn(metaData);
+        given(metaData.getColumnCount()).willReturn(2);
+        given(metaData.getColumnLabel(2)).willReturn("custom");
+        given(rs.getString("custom")).willReturn("value").willReturn("other");
+
+        // when
+        String value1 = retriever.get(rs, 2, column);
+        String value2 = retriever.get(rs, 2, column);
+
+        // then
+        assertThat(value1, equalTo("VALUE"));
+        assertThat(value2, equalTo("OTHER"));
+        verify(rs, times(1)).getMetaData();
+    }
+
+    @Test
+    void shouldUseOverriddenGetterOfStandardTypeByIndex() throws SQLException {
+        // given
+        ResultSetValueRetriever<SampleContext> retriever = new ResultSetValueRetriever<SampleContext>(
+            new SampleContext()) {
+            @Override
+            protected <T> ResultSetGetter<T> createResultSetGetter(ColumnType<T> type) {
+                return type == StandardTypes.STRING
+                    ? (rs, col) -> (T) rs.getString(col).trim()
+                    : super.createResultSetGetter(type);
+            }
+        };
+        ResultSet rs1 = mock(ResultSet.class);
+        ResultSet rs2 = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        given(rs1.getMetaData()).willReturn(metaData);
+        given(rs2.getMetaData()).willReturn(metaData);
+        given(metaData.getColumnCount()).willReturn(1);
+        given(metaData.getColumnLabel(1)).willReturn("username");
+        given(rs1.getString("username")).willReturn(" Test3 ");
+        given(rs2.getString("username")).willReturn("Test4  ");
+        given(rs1.getLong(1)).willReturn(355L);
+
+        // when
+        String name1 = retriever.get(rs1, 1, SampleColumns.NAME);
+        String name2 = retriever.get(rs2, 1, SampleColumns.NAME);
+        Long lastLogin = retriever.get(rs1, 1, SampleColumns.LAST_LOGIN);
+
+        // then
+        assertThat(name1, equalTo("Test3"));
+        assertThat(name2, equalTo("Test4"));
+        assertThat(lastLogin, equalTo(355L));
+        verify(rs1, never()).getString(1);
+        verify(rs1, never()).getLong(anyString());
+    }
+
     @Test
     void shouldThrowForUnknownType() {
         // given
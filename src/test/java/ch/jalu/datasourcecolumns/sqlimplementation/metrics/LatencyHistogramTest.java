@@ -0,0 +1,54 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link LatencyHistogram}.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void shouldRecordInPowerOfTwoBuckets() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(5);
+        histogram.record(7);
+        histogram.record(8);
+        histogram.record(Long.MAX_VALUE);
+
+        // then
+        assertThat(histogram.getBucketCount(0), equalTo(1L));
+        assertThat(histogram.getBucketCount(1), equalTo(1L));
+        assertThat(histogram.getBucketCount(3), equalTo(2L));
+        assertThat(histogram.getBucketCount(4), equalTo(1L));
+        assertThat(histogram.getBucketCount(LatencyHistogram.BUCKET_COUNT - 1), equalTo(1L));
+        assertThat(histogram.getTotalCount(), equalTo(6L));
+        assertThat(LatencyHistogram.getBucketUpperBound(3), equalTo(7L));
+    }
+
+    @Test
+    void shouldReturnPercentileUpperBounds() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; ++i) {
+            histogram.record(1000); // bucket 10: 512 - 1023
+        }
+        histogram.record(100_000); // bucket 17: 65536 - 131071
+
+        // when / then
+        assertThat(histogram.getPercentile(50), equalTo(1023L));
+        assertThat(histogram.getPercentile(99), equalTo(1023L));
+        assertThat(histogram.getPercentile(99.5), equalTo(131071L));
+        assertThat(histogram.getPercentile(100), equalTo(131071L));
+        assertThat(new LatencyHistogram().getPercentile(50), equalTo(0L));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+    }
+}
@@ -0,0 +1,56 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.only;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Test for {@link CachingPreparedStatementGenerator}.
+ */
+class CachingPreparedStatementGeneratorTest {
+
+    @Test
+    void shouldBorrowAndReleaseSingleStatement() throws SQLException {
+        // given
+        String sql = "sql code";
+        PreparedStatementCache cache = mock(PreparedStatementCache.class);
+        PreparedStatement pst = mock(PreparedStatement.class);
+        given(cache.borrow(sql)).willReturn(pst);
+        CachingPreparedStatementGenerator generator = new CachingPreparedStatementGenerator(cache, sql);
+
+        // when
+        PreparedStatement statement1 = generator.createStatement();
+        PreparedStatement statement2 = generator.createStatement();
+        generator.close();
+        generator.close();
+
+        // then
+        assertThat(statement1, sameInstance(pst));
+        assertThat(statement2, sameInstance(pst));
+        verify(cache).borrow(sql);
+        verify(cache).release(sql, pst);
+        verifyNoInteractions(pst);
+    }
+
+    @Test
+    void shouldHandleNullStatement() throws SQLException {
+        // given
+        PreparedStatementCache cache = mock(PreparedStatementCache.class);
+        CachingPreparedStatementGenerator generator = new CachingPreparedStatementGenerator(cache, "sql");
+
+        // when
+        generator.close();
+
+        // then
+        verifyNoInteractions(cache);
+    }
+}
@@ -0,0 +1,176 @@
+package ch.jalu.datasourcecolumns.sqlimplementation.statementgenerator;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test for {@link PreparedStatementCache}.
+ */
+class PreparedStatementCacheTest {
+
+    @Test
+    void shouldReuseReleasedStatement() throws SQLException {
+        // given
+        Connection connection = mockConnectionCreatingNewStatements();
+        PreparedStatementCache cache = new PreparedStatementCache(connection, 3);
+        String sql = "SELECT 1 FROM tbl WHERE id = ?";
+
+        // when
+        PreparedStatement pst1 = cache.borrow(sql);
+        cache.release(sql, pst1);
+        PreparedStatement pst2 = cache.borrow(sql);
+
+        // then
+        assertThat(pst2, sameInstance(pst1));
+        verify(connection, times(1)).prepareStatement(sql);
+        verify(pst1).clearParameters();
+        verify(pst1).clearBatch();
+        verify(pst1, never()).close();
+    }
+
+    @Test
+    void shouldRestoreFetchSizeOnRelease() throws SQLException {
+        // given
+        Connection connection = mockConnectionCreatingNewStatements();
+        PreparedStatementCache cache = new PreparedStatementCache(connection, 3);
+        String sql = "SELECT 1 FROM tbl WHERE id > ?";
+        PreparedStatement pst = cache.borrow(sql);
+        given(pst.getFetchSize()).willReturn(Integer.MIN_VALUE);
+
+        // when
+        cache.release(sql, pst);
+
+        // then
+        verify(pst).setFetchSize(0);
+        assertThat(cache.borrow(sql), sameInstance(pst));
+    }
+
+    @Test
+    void shouldNotResetUnchangedFetchSize() throws SQLException {
+        // given
+        Connection connection = mockConnectionCreatingNewStatements();
+        PreparedStatementCache cache = new PreparedStatementCache(connection, 3);
+        String sql = "SELECT 1 FROM tbl WHERE id > ?";
+
+        // when
+        PreparedStatement pst = cache.borrow(sql);
+        cache.release(sql, pst);
+
+        // then
+        verify(pst, never()).setFetchSize(anyInt());
+    }
+
+    @Test
+    void shouldNotHandOutBorrowedStatementTwice() throws SQLException {
+        // given
+        Connection connection = mockConnectionCreatingNewStatements();
+        PreparedStatementCache cache = new PreparedStatementCache(connection, 3);
+        String sql = "SELECT 1 FROM tbl";
+
+        // when
+        PreparedStatement pst1 = cache.borrow(sql);
+        PreparedStatement pst2 = cache.borrow(sql);
+        cache.release(sql, pst1);
+        cache.release(sql, pst2);
+
+        // then
+        assertThat(pst2, not(sameInstance(pst1)));
+        assertThat(cache.size(), equalTo(1));
+        verify(pst1, never()).close();
+        verify(pst2).close(); // statement for the same SQL was already cached
+    }
+
+    @Test
+    void shouldCloseLeastRecentlyUsedStatement() throws SQLException {
+        // given
+        Connection connection = mockConnectionCreatingNewStatements();
+        PreparedStatementCache cache = new PreparedStatementCache(connection, 2);
+        PreparedStatement pstA = cache.borrow("a");
+        PreparedStatement pstB = cache.borrow("b");
+        PreparedStatement pstC = cache.borrow("c");
+        cache.release("a", pstA);
+        cache.release("b", pstB);
+
+        // when
+        cache.release("a", cache.borrow("a")); // "a" is now more recently used than "b"
+        cache.release("c", pstC);
+
+        // then
+        assertThat(cache.size(), equalTo(2));
+        verify(pstB).close();
+        verify(pstA, never()).close();
+        verify(pstC, never()).close();
+        assertThat(cache.borrow("a"), sameInstance(pstA));
+        assertThat(cache.borrow("c"), sameInstance(pstC));
+    }
+
+    @Test
+    void shouldCloseAllStatements() throws SQLException {
+        // given
+        Connection connection = mockConnectionCreatingNewStatements();
+        PreparedStatementCache cache = new PreparedStatementCache(connection, 5);
+        PreparedStatement pstA = cache.borrow("a");
+        PreparedStatement pstB = cache.borrow("b");
+        PreparedStatement pstC = cache.borrow("c");
+        cache.release("a", pstA);
+        cache.release("b", pstB);
+        doThrow(SQLException.class).when(pstA).close();
+
+        // when
+        assertThrows(SQLException.class, cache::close);
+        cache.release("c", pstC);
+
+        // then
+        assertThat(cache.size(), equalTo(0));
+        verify(pstA).close();
+        verify(pstB).close();
+        verify(pstC).close(); // released after cache was closed
+    }
+
+    @Test
+    void shouldNotCacheClosedStatement() throws SQLException {
+        // given
+        Connection connection = mockConnectionCreatingNewStatements();
+        PreparedStatementCache cache = new PreparedStatementCache(connection, 5);
+        PreparedStatement pst = cache.borrow("sql");
+        given(pst.isClosed()).willReturn(true);
+
+        // when
+        cache.release("sql", pst);
+
+        // then
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    void shouldRejectInvalidSize() {
+        // given
+        Connection connection = mock(Connection.class);
+
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> new PreparedStatementCache(connection, 0));
+    }
+
+    private static Connection mockConnectionCreatingNewStatements() throws SQLException {
+        Connection connection = mock(Connection.class);
+        given(connection.prepareStatement(anyString())).willAnswer(invocation -> mock(PreparedStatement.class));
+        return connection;
+    }
+}
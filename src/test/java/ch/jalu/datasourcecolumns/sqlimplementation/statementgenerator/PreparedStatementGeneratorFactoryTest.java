@@ -11,6 +11,8 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.only;
+import static org.mockito.Mockito.verify;
 
 /**
  * Test for {@link PreparedStatementGeneratorFactory}.
@@ -51,4 +53,32 @@ class PreparedStatementGeneratorFactoryTest {
         assertThat(generator, instanceOf(ConnectionPoolPreparedStatementGenerator.class));
         assertThat(generator.createStatement(), equalTo(pst));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCreateFromConnectionWithStatementCache() throws SQLException {
+        // given
+        Connection connection = mock(Connection.class);
+        PreparedStatement pst = mock(PreparedStatement.class);
+        String sql = "SELECT 1 FROM table";
+        given(connection.prepareStatement(sql)).willReturn(pst);
+        PreparedStatementGeneratorFactory generatorFactory = PreparedStatementGeneratorFactory.fromConnection(connection, 10);
+
+        // when
+        PreparedStatement statement1;
+        try (PreparedStatementGenerator generator = generatorFactory.create(sql)) {
+            assertThat(generator, instanceOf(CachingPreparedStatementGenerator.class));
+            statement1 = generator.createStatement();
+        }
+        PreparedStatement statement2;
+        try (PreparedStatementGenerator generator = generatorFactory.create(sql)) {
+            statement2 = generator.createStatement();
+        }
+        generatorFactory.close();
+
+        // then
+        assertThat(statement1, equalTo(pst));
+        assertThat(statement2, equalTo(pst));
+        verify(connection, only()).prepareStatement(sql);
+        verify(pst).close();
+    }
+}